@@ -5,15 +5,23 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource.PredictableTickListener;
+import org.jdesktop.core.animation.timing.TimingSource.ThreadAffineTickListener;
 import org.jdesktop.core.animation.timing.TimingSource.TickListener;
 import org.jdesktop.core.animation.timing.interpolators.LinearInterpolator;
 
@@ -49,19 +57,30 @@ import org.jdesktop.core.animation.timing.interpolators.LinearInterpolator;
  * Instances can be started again after they complete, however, ensure that they are not running, via
  * <tt>!</tt>{@link #isRunning()} or {@link #await()}, before {@link #start()} or {@link #startReverse()} is called.
  * Even if you successfully invoked {@link #stop()} or {@link #cancel()} it can take some time for all the calls to
- * registered {@link TimingTarget}s to complete. Use of {@link #await()} is far more efficient than polling the state of
- * the animation with {@link #isRunning()}. However, do not call {@link #await()} in the thread context of the timing
- * source for this animation or it will block forever.
+ * registered {@link TimingTarget}s to complete. Use of {@link #await()}, or of the future returned by
+ * {@link #completion()}, is far more efficient than polling the state of the animation with {@link #isRunning()}.
+ * However, do not call {@link #await()} in the thread context of the timing source for this animation or it will block
+ * forever.
  * <p>
- * This class is thread-safe. Synchronizing on the instance(<tt>this</tt>) may be used to protect state changes over
- * several calls.
+ * This class is thread-safe and does not lock. The run state of an animation is held in an immutable snapshot that is
+ * replaced with a compare-and-set, so methods that query the state, such as {@link #isRunning()} and
+ * {@link #getCurrentDirection()}, never block and methods that change it, such as {@link #pause()} and
+ * {@link #reverseNow()}, never wait for the thread context of the timing source. Because this class does not
+ * synchronize on the instance(<tt>this</tt>), client code may synchronize on it to make several calls atomic with
+ * respect to other client code that does the same, without contending with the timing source.
+ * <p>
+ * Calls to registered {@link TimingTarget}s are made in the thread context of the timing source for this animation,
+ * even if parallel dispatch has been turned on for the timing source via
+ * {@link TimingSource#setParallelDispatch(java.util.concurrent.Executor, int)}. An animation whose timing targets are
+ * safe to call in any thread can opt out of this via {@link Builder#setThreadAffine(boolean)}, which allows it to be
+ * notified in parallel with other tick listeners.
  * 
  * @author Chet Haase
  * @author Tim Halloran
  * 
  * @see Builder
  */
-public final class Animator implements TickListener {
+public final class Animator implements PredictableTickListener, ThreadAffineTickListener {
 
     /**
      * EndBehavior determines what happens at the end of the animation.
@@ -189,6 +208,12 @@ public final class Animator implements TickListener {
      * <td align="right">{@code false}</td>
      * </tr>
      * <tr>
+     * <td>{@link #setThreadAffine(boolean)}</td>
+     * <td>if timing targets are always called in the thread context of the timing source, even when it notifies its
+     * tick listeners in parallel</td>
+     * <td align="right">{@code true}</td>
+     * </tr>
+     * <tr>
      * <td>{@link #setEndBehavior(Animator.EndBehavior)}</td>
      * <td>what happens at the end of the animation</td>
      * <td align="right">{@link Animator.EndBehavior#HOLD}</td>
@@ -294,6 +319,8 @@ public final class Animator implements TickListener {
 
         private boolean f_disposeTimingSource = false;
 
+        private boolean f_threadAffine = true;
+
         /**
          * Constructs an animation builder instance.
          * 
@@ -393,6 +420,26 @@ public final class Animator implements TickListener {
             return this;
         }
 
+        /**
+         * Sets if the animation calls its timing targets only in the thread context of its timing source. The default
+         * value is {@code true}.
+         * <p>
+         * This only matters if parallel dispatch has been turned on for the timing source via
+         * {@link TimingSource#setParallelDispatch(java.util.concurrent.Executor, int)}. A thread-affine animation is
+         * always notified in the thread context of the timing source, otherwise it may be notified, and call its timing
+         * targets, in any thread the timing source dispatches to. Only turn this off if every timing target of the
+         * animation is safe to call in any thread.
+         * 
+         * @param value
+         *            {@code true} if the animation must call its timing targets in the thread context of its timing
+         *            source, {@code false} if it may call them in any thread.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder setThreadAffine(boolean value) {
+            f_threadAffine = value;
+            return this;
+        }
+
         /**
          * Sets the duration of one cycle of the animation. The default value is one second.
          * 
@@ -557,6 +604,7 @@ public final class Animator implements TickListener {
                 setStartDirection(from.getStartDirection());
                 setStartDelay(from.getStartDelay(), from.getStartDelayTimeUnit());
                 setDisposeTimingSource(from.getDisposeTimingSource());
+                setThreadAffine(from.isThreadAffine());
                 // Warn the user if the auto-dispose setting makes no sense.
                 if (f_disposeTimingSource && from.getTimingSource() == f_timingSource) {
                     Logger
@@ -613,6 +661,7 @@ public final class Animator implements TickListener {
                 setStartDirection(from.f_startDirection);
                 setStartDelay(from.f_startDelay, from.f_startDelayTimeUnit);
                 setDisposeTimingSource(from.f_disposeTimingSource);
+                setThreadAffine(from.f_threadAffine);
                 // Warn the user if the auto-dispose setting makes no sense.
                 if (f_disposeTimingSource && from.f_timingSource == f_timingSource) {
                     Logger
@@ -632,45 +681,36 @@ public final class Animator implements TickListener {
          * @return an animation.
          */
         public Animator build() {
-            final Animator result =
-                new Animator(f_debugName, f_duration, f_durationTimeUnit, f_endBehavior, f_interpolator,
-                    f_repeatBehavior, f_repeatCount, f_startDirection, f_startDelay, f_startDelayTimeUnit,
-                    f_timingSource, f_disposeTimingSource, f_targets);
-            return result;
+            return buildSpec().newAnimator();
+        }
+
+        /**
+         * Constructs an immutable specification with the settings defined by this builder. Any number of animations
+         * can be created from the specification, via {@link AnimatorSpec#newAnimator()}, and they all share it.
+         * 
+         * @return an animation specification.
+         */
+        public AnimatorSpec buildSpec() {
+            return new AnimatorSpec(f_debugName, f_duration, f_durationTimeUnit, f_endBehavior, f_interpolator,
+                f_repeatBehavior, f_repeatCount, f_startDirection, f_startDelay, f_startDelayTimeUnit, f_timingSource,
+                f_disposeTimingSource, f_threadAffine, f_targets);
         }
     }
 
-    /*
-     * Immutable state set by the builder. We use "default" to avoid synthetic accessors being generated.
+    /**
+     * The immutable configuration of this animation, which may be shared with other animations.
      */
+    final AnimatorSpec f_spec;
 
-    final String f_debugName;
-
-    final long f_duration;
-
-    final TimeUnit f_durationTimeUnit;
-
-    final long f_durationNanos; // calculated
-
-    final EndBehavior f_endBehavior;
-
-    final Interpolator f_interpolator;
-
-    final RepeatBehavior f_repeatBehavior;
-
-    final long f_repeatCount;
-
-    final Direction f_startDirection;
-
-    final long f_startDelay;
-
-    final TimeUnit f_startDelayTimeUnit;
-
-    final long f_startDelayNanos; // calculated
-
-    final TimingSource f_timingSource;
-
-    final boolean f_disposeTimingSource; // at end
+    /**
+     * Gets the immutable specification of this animation. It can be used to create more animations like this one via
+     * {@link AnimatorSpec#newAnimator()}.
+     * 
+     * @return the specification of this animation.
+     */
+    public AnimatorSpec getSpec() {
+        return f_spec;
+    }
 
     /**
      * Gets the "debug" name of this animation.
@@ -678,7 +718,7 @@ public final class Animator implements TickListener {
      * @return the "debug" name of this animation. May be {@code null}.
      */
     public String getDebugName() {
-        return f_debugName;
+        return f_spec.f_debugName;
     }
 
     /**
@@ -691,7 +731,7 @@ public final class Animator implements TickListener {
      * @see #getDurationTimeUnit()
      */
     public long getDuration() {
-        return f_duration;
+        return f_spec.f_duration;
     }
 
     /**
@@ -703,7 +743,7 @@ public final class Animator implements TickListener {
      * @see #getDuration()
      */
     public TimeUnit getDurationTimeUnit() {
-        return f_durationTimeUnit;
+        return f_spec.f_durationTimeUnit;
     }
 
     /**
@@ -712,7 +752,7 @@ public final class Animator implements TickListener {
      * @return the behavior at the end of the animation.
      */
     public EndBehavior getEndBehavior() {
-        return f_endBehavior;
+        return f_spec.f_endBehavior;
     }
 
     /**
@@ -721,7 +761,7 @@ public final class Animator implements TickListener {
      * @return the interpolation to use each animation cycle.
      */
     public Interpolator getInterpolator() {
-        return f_interpolator;
+        return f_spec.f_interpolator;
     }
 
     /**
@@ -730,7 +770,7 @@ public final class Animator implements TickListener {
      * @return the behavior for each successive animation cycle.
      */
     public RepeatBehavior getRepeatBehavior() {
-        return f_repeatBehavior;
+        return f_spec.f_repeatBehavior;
     }
 
     /**
@@ -740,7 +780,7 @@ public final class Animator implements TickListener {
      *         animations that repeat indefinitely.
      */
     public long getRepeatCount() {
-        return f_repeatCount;
+        return f_spec.f_repeatCount;
     }
 
     /**
@@ -749,7 +789,7 @@ public final class Animator implements TickListener {
      * @return initial animation cycle direction.
      */
     public Direction getStartDirection() {
-        return f_startDirection;
+        return f_spec.f_startDirection;
     }
 
     /**
@@ -762,7 +802,7 @@ public final class Animator implements TickListener {
      * @see #getStartDelayTimeUnit()
      */
     public long getStartDelay() {
-        return f_startDelay;
+        return f_spec.f_startDelay;
     }
 
     /**
@@ -775,7 +815,7 @@ public final class Animator implements TickListener {
      * @see #getStartDelay()
      */
     public TimeUnit getStartDelayTimeUnit() {
-        return f_startDelayTimeUnit;
+        return f_spec.f_startDelayTimeUnit;
     }
 
     /**
@@ -784,7 +824,7 @@ public final class Animator implements TickListener {
      * @return a timing source.
      */
     public TimingSource getTimingSource() {
-        return f_timingSource;
+        return f_spec.f_timingSource;
     }
 
     /**
@@ -794,7 +834,19 @@ public final class Animator implements TickListener {
      *         ends, {@code false} if not.
      */
     public boolean getDisposeTimingSource() {
-        return f_disposeTimingSource;
+        return f_spec.f_disposeTimingSource;
+    }
+
+    /**
+     * Gets if this animation calls its timing targets only in the thread context of its timing source.
+     * 
+     * @return {@code true} if this animation calls its timing targets only in the thread context of its timing source,
+     *         {@code false} if it may call them in any thread when its timing source notifies its tick listeners in
+     *         parallel.
+     */
+    @Override
+    public boolean isThreadAffine() {
+        return f_spec.f_threadAffine;
     }
 
     /*
@@ -802,108 +854,350 @@ public final class Animator implements TickListener {
      */
 
     /**
-     * This animation may have multiple {@link TimingTarget} listeners.
-     * <p>
-     * Protects the mutable state of this animation (rather than creating a new Object).
-     * <p>
-     * Do not hold this lock when invoking any callbacks, e.g., looping through {@link #f_targets}.
-     * <p>
-     * Do not hold this lock when invoking any method on {@link #f_timingSource}.
+     * This animation may have multiple {@link TimingTarget} listeners. The array is never mutated, changes replace it
+     * with a compare-and-set. Initially the array is shared with the specification of this animation.
      */
-    final CopyOnWriteArrayList<TimingTarget> f_targets = new CopyOnWriteArrayList<TimingTarget>();
+    volatile TimingTarget[] f_targets;
+
+    static final TimingTarget[] NO_TARGETS = new TimingTarget[0];
+
+    static final AtomicReferenceFieldUpdater<Animator, TimingTarget[]> TARGETS =
+        AtomicReferenceFieldUpdater.newUpdater(Animator.class, TimingTarget[].class, "f_targets");
 
     /**
-     * Tracks the original start time in nanoseconds of the animation.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * An immutable snapshot of the run state of an animation. Every change to the run state publishes a new snapshot
+     * with a compare-and-set on {@link Animator#f_state}, so readers never block and see a consistent set of values.
+     */
+    static final class RunState {
+
+        /**
+         * Indicates the animation is running (note that a paused animation is still considered to be running).
+         * <p>
+         * This flag may be {@code true} long after {@link Animator#stop()} or {@link Animator#cancel()} are called
+         * because it is not cleared until all callbacks to registered {@link TimingTarget}s have completed. The flag
+         * {@link #f_stopping} indicates the animation is in the process of stopping.
+         */
+        final boolean f_running;
+
+        /**
+         * The future completed when this run of the animation completes, or {@code null} if no caller has asked for
+         * it. The future is only created by {@link Animator#runningCompletion()}, so that runs nobody waits for do not
+         * allocate one.
+         */
+        final CompletableFuture<Animator> f_completion;
+
+        /**
+         * Indicates the animation is stopping &mdash; it is in a shutdown phase. This gets set when the animation
+         * completes normally or when {@link Animator#stop()} / {@link Animator#cancel()} are invoked by the client. A
+         * value of {@code true} indicates that a running animation is in a shutdown phase and is finishing up any
+         * needed callbacks to registered {@link TimingTarget}s.
+         * <p>
+         * This flag is used as a guard so that we don't try to stop the animation multiple times. It is needed because
+         * a long period of time can elapse between when the animation knows it is trying to stop and when the
+         * callbacks to the client code complete.
+         */
+        final boolean f_stopping;
+
+        /**
+         * Indicates that the {@link TimingTarget#begin(Animator)} callbacks for this run of the animation have not yet
+         * been made. They are made by whichever lifecycle task runs first, so that they always precede the
+         * {@link TimingTarget#end(Animator)} callbacks.
+         */
+        final boolean f_beginPending;
+
+        /**
+         * Tracks the original start time in nanoseconds of the animation.
+         */
+        final long f_startTimeNanos;
+
+        /**
+         * Tracks start time of current cycle. For the first cycle this time may be in the future if and only if the
+         * user set a start delay.
+         */
+        final long f_cycleStartTimeNanos;
+
+        /**
+         * Used for pause/resume. If this value is non-zero and the animation is running, then the animation is paused.
+         */
+        final long f_pauseBeginTimeNanos;
+
+        /**
+         * The current direction of the animation.
+         */
+        final Direction f_currentDirection;
+
+        /**
+         * Indicates that {@link Animator#reverseNow()} was invoked <i>x</i> times. The actual reverse occurs during
+         * the next call to the animation's {@link Animator#timingSourceTick(TimingSource, long)} method so we need to
+         * remember how many calls were made.
+         */
+        final int f_reverseNowCallCount;
+
+        RunState(boolean running, CompletableFuture<Animator> completion, boolean stopping, boolean beginPending,
+            long startTimeNanos, long cycleStartTimeNanos, long pauseBeginTimeNanos, Direction currentDirection,
+            int reverseNowCallCount) {
+            f_running = running;
+            f_completion = completion;
+            f_stopping = stopping;
+            f_beginPending = beginPending;
+            f_startTimeNanos = startTimeNanos;
+            f_cycleStartTimeNanos = cycleStartTimeNanos;
+            f_pauseBeginTimeNanos = pauseBeginTimeNanos;
+            f_currentDirection = currentDirection;
+            f_reverseNowCallCount = reverseNowCallCount;
+        }
+
+        /**
+         * Checks if the animation is running and is not stopping or paused, in which case it needs to be registered
+         * with its timing source.
+         */
+        boolean isActive() {
+            return f_running && !f_stopping && f_pauseBeginTimeNanos == 0;
+        }
+    }
+
+    /**
+     * The current run state of this animation. Changes are made with compare-and-set loops, never under a lock.
+     * Initially the run state is shared with the specification of this animation.
      */
-    long f_startTimeNanos;
+    volatile RunState f_state;
+
+    static final AtomicReferenceFieldUpdater<Animator, RunState> STATE =
+        AtomicReferenceFieldUpdater.newUpdater(Animator.class, RunState.class, "f_state");
 
     /**
-     * Tracks start time of current cycle. For the first cycle this time may be in the future if and only if the user
-     * set a start delay.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * Replaces the run state of this animation if it is the expected state.
      */
-    long f_cycleStartTimeNanos;
+    boolean casState(RunState expect, RunState update) {
+        return STATE.compareAndSet(this, expect, update);
+    }
 
     /**
-     * Used for pause/resume. If this value is non-zero and the animation is running, then the animation is paused.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * The mapping from the scaled clock of the timing source to the clock of this animation, or {@code null} if the
+     * rate of this animation has never been changed. All the times in the run state are measured by the clock of this
+     * animation.
      */
-    long f_pauseBeginTimeNanos;
+    volatile RateClock f_rateClock;
+
+    static final AtomicReferenceFieldUpdater<Animator, RateClock> RATE_CLOCK =
+        AtomicReferenceFieldUpdater.newUpdater(Animator.class, RateClock.class, "f_rateClock");
 
     /**
-     * The current direction of the animation.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * Maps a time returned by {@link TimingSource#getNanoTime()} to the clock of this animation.
      */
-    Direction f_currentDirection;
+    long toLocalNanoTime(long sourceNanoTime) {
+        return RateClock.scale(f_rateClock, f_spec.f_timingSource.toScaledNanoTime(sourceNanoTime));
+    }
 
     /**
-     * Indicates that {@link #reverseNow()} was invoked <i>x</i> times. The actual reverse occurs during the next call
-     * to this animation's {@link #timingSourceTick(TimingSource, long)} method so we need to remember how many calls
-     * were made.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * Maps a time of the clock of this animation to the clock returned by {@link TimingSource#getNanoTime()}, at the
+     * current rates.
+     */
+    long fromLocalNanoTime(long nanoTime) {
+        return f_spec.f_timingSource.fromScaledNanoTime(RateClock.unscale(f_rateClock, nanoTime));
+    }
+
+    /**
+     * Gets the current time of the clock of this animation.
      */
-    int f_reverseNowCallCount;
+    long localNanoTime() {
+        return toLocalNanoTime(f_spec.f_timingSource.getNanoTime());
+    }
 
     /**
-     * A latch used to indicate the animation is running and to allow client code to wait until the animation is
-     * completed. When this field is non- {@code null} then the animation is running (note that a paused animation is
-     * still considered to be running).
-     * <p>
-     * This field may be non-{@code null} long after {@link #stop()} or {@link #cancel()} are called because the latch
-     * is not triggered and changed to a {@code null} value until all callbacks to registered {@link TimingTarget}s have
-     * completed. The flag {@link #f_stopping} indicates the animation is in the process of stopping.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * The lifecycle commands of this animation that have been submitted to its timing source but not yet run, oldest
+     * first. Each command is its {@link LifecycleTask} kind plus one, packed into {@link #LIFECYCLE_COMMAND_BITS} bits
+     * starting with the least significant bits, so that a value of zero means there are none.
+     */
+    volatile long f_lifecycleCommands;
+
+    static final AtomicLongFieldUpdater<Animator> LIFECYCLE_COMMANDS =
+        AtomicLongFieldUpdater.newUpdater(Animator.class, "f_lifecycleCommands");
+
+    static final int LIFECYCLE_COMMAND_BITS = 3;
+
+    static final int MAX_LIFECYCLE_COMMANDS = Long.SIZE / LIFECYCLE_COMMAND_BITS;
+
+    /**
+     * Runs the lifecycle commands of this animation in the thread context of its timing source. It is created once,
+     * with the animation, and submitted once per command, so that starting, stopping, and restarting this animation
+     * does not allocate. Each run performs the oldest command in {@link #f_lifecycleCommands}, so the commands are run
+     * in the order they were made, and in the same order relative to other tasks submitted to the timing source as if
+     * each had been submitted as a task of its own.
      */
-    CountDownLatch f_runningAnimationLatch;
+    final LifecycleTask f_lifecycleTask = new LifecycleTask(LifecycleTask.NEXT);
 
     /**
-     * Indicates the animation is stopping &mdash; it is in a shutdown phase. This gets set when the animation completes
-     * normally or when {@link #stop()} / {@link #cancel()} are invoked by the client. A value of {@code true} indicates
-     * that a running animation is in a shutdown phase and is finishing up any needed callbacks to registered
-     * {@link TimingSource}s.
-     * <p>
-     * This flag is used as a guard so that we don't run try to stop the animation multiple times.
-     * <p>
-     * This guard is needed because a long period of time can elapse between when the animation knows it is trying to
-     * stop and when the callbacks to the client code complete. The animation is still running but should not try to
-     * stop again &mdash; avoiding this problem is the purpose of this guard.
-     * <p>
-     * Accesses must be guarded by a lock on {@code this}.
+     * Submits a lifecycle command of this animation to its timing source.
+     * 
+     * @param kind
+     *            the kind of {@link LifecycleTask} to run.
+     * 
+     * @throws IllegalStateException
+     *             if the queue of the timing source is full and its overflow policy is
+     *             {@link TimingSource.OverflowPolicy#REJECT}. The command is not run.
+     */
+    void submitLifecycle(int kind) {
+        long commands;
+        int count;
+        do {
+            commands = f_lifecycleCommands;
+            count = (Long.SIZE - Long.numberOfLeadingZeros(commands) + LIFECYCLE_COMMAND_BITS - 1)
+                / LIFECYCLE_COMMAND_BITS;
+            if (count == MAX_LIFECYCLE_COMMANDS) {
+                /*
+                 * A task of its own is queued behind the submissions of the commands that are pending, so it still runs
+                 * after them.
+                 */
+                f_spec.f_timingSource.submit(new LifecycleTask(kind));
+                return;
+            }
+        } while (!LIFECYCLE_COMMANDS.compareAndSet(this, commands,
+            commands | (long) (kind + 1) << (count * LIFECYCLE_COMMAND_BITS)));
+        try {
+            f_spec.f_timingSource.submit(f_lifecycleTask);
+        }
+        catch (IllegalStateException e) {
+            /*
+             * Rejected, so one fewer run of the lifecycle task is queued. The newest command is dropped so that every
+             * pending command still has a run.
+             */
+            do {
+                commands = f_lifecycleCommands;
+                count = (Long.SIZE - Long.numberOfLeadingZeros(commands) + LIFECYCLE_COMMAND_BITS - 1)
+                    / LIFECYCLE_COMMAND_BITS;
+            } while (!LIFECYCLE_COMMANDS.compareAndSet(this, commands,
+                commands & ~(-1L << ((count - 1) * LIFECYCLE_COMMAND_BITS))));
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the oldest pending lifecycle command of this animation. Only invoked in the thread context of the timing
+     * source.
+     * 
+     * @return the kind of {@link LifecycleTask} to run.
      */
-    boolean f_stopping;
+    int takeLifecycleCommand() {
+        long commands;
+        do {
+            commands = f_lifecycleCommands;
+        } while (!LIFECYCLE_COMMANDS.compareAndSet(this, commands, commands >>> LIFECYCLE_COMMAND_BITS));
+        return (int) (commands & ((1 << LIFECYCLE_COMMAND_BITS) - 1)) - 1;
+    }
+
+    /**
+     * A lifecycle command of this animation that is run in the thread context of its timing source.
+     */
+    final class LifecycleTask implements Runnable {
+
+        /**
+         * Runs the oldest pending command in {@link Animator#f_lifecycleCommands}.
+         */
+        static final int NEXT = -1;
+
+        static final int BEGIN = 0;
+
+        static final int END = 1;
+
+        static final int CANCEL = 2;
+
+        static final int RESTART = 3;
+
+        static final int RESTART_REVERSE = 4;
+
+        final int f_kind;
+
+        LifecycleTask(int kind) {
+            f_kind = kind;
+        }
+
+        @Override
+        public void run() {
+            final int kind = f_kind == NEXT ? takeLifecycleCommand() : f_kind;
+            switch (kind) {
+                case BEGIN:
+                    notifyBegin();
+                    break;
+                case END:
+                case CANCEL:
+                    finishRun(kind == END);
+                    break;
+                case RESTART:
+                    /*
+                     * If the animation is running then it has been started by another restart() or restartReverse()
+                     * call. In effect this call is ignored.
+                     */
+                    tryStart(f_spec.f_startDirection);
+                    break;
+                case RESTART_REVERSE:
+                    tryStart(f_spec.f_startDirection.getOppositeDirection());
+                    break;
+                default:
+                    throw new IllegalStateException(I18N.err(2, "f_kind", kind));
+            }
+        }
+    }
+
+    /**
+     * Makes the {@link TimingTarget#begin(Animator)} callbacks for the current run of this animation, unless they have
+     * already been made. Only invoked in the thread context of the timing source.
+     */
+    void notifyBegin() {
+        if (consumeBeginPending()) {
+            for (TimingTarget target : f_targets) {
+                target.begin(this);
+            }
+        }
+    }
+
+    /**
+     * Ends the current run of this animation, which must be stopping. Only invoked in the thread context of the timing
+     * source.
+     * 
+     * @param notify
+     *            {@code true} if the {@link TimingTarget#end(Animator)} method should be called for registered timing
+     *            targets, {@code false} if calls should not be made.
+     */
+    void finishRun(boolean notify) {
+        try {
+            if (f_spec.f_disposeTimingSource) {
+                f_spec.f_timingSource.dispose();
+            }
+            /*
+             * If the run is ended before the begin task was run, because the animation was stopped while it was being
+             * started, the begin callbacks are made here.
+             */
+            notifyBegin();
+            if (notify) {
+                for (TimingTarget target : f_targets) {
+                    target.end(this);
+                }
+            }
+        }
+        finally {
+            RunState state;
+            do {
+                state = f_state;
+            }
+            while (!casState(state, new RunState(false, null, state.f_stopping, false, state.f_startTimeNanos,
+                state.f_cycleStartTimeNanos, state.f_pauseBeginTimeNanos, state.f_currentDirection, 0)));
+            final CompletableFuture<Animator> completion = state.f_completion;
+            if (completion != null) {
+                completion.complete(this);
+            }
+        }
+    }
 
     /**
      * Constructs an animation.
      * <p>
-     * This constructor should only be called from {@link Builder#build()}.
-     */
-    Animator(String debugName, long duration, TimeUnit durationTimeUnit, EndBehavior endBehavior,
-        Interpolator interpolator, RepeatBehavior repeatBehavior, long repeatCount, Direction startDirection,
-        long startDelay, TimeUnit startDelayTimeUnit, TimingSource timingSource, boolean disposeTimingSource,
-        Collection<TimingTarget> targets) {
-        f_debugName = debugName;
-        f_duration = duration;
-        f_durationTimeUnit = durationTimeUnit;
-        f_endBehavior = endBehavior;
-        f_interpolator = interpolator;
-        f_repeatBehavior = repeatBehavior;
-        f_repeatCount = repeatCount;
-        f_startDirection = f_currentDirection = startDirection;
-        f_startDelay = startDelay;
-        f_startDelayTimeUnit = startDelayTimeUnit;
-        f_timingSource = timingSource;
-        f_disposeTimingSource = disposeTimingSource;
-        f_targets.addAll(targets);
-
-        f_durationNanos = f_durationTimeUnit.toNanos(f_duration);
-        f_startDelayNanos = f_startDelayTimeUnit.toNanos(f_startDelay);
+     * This constructor should only be called from {@link AnimatorSpec#newAnimator()}.
+     */
+    Animator(AnimatorSpec spec) {
+        f_spec = spec;
+        f_targets = spec.f_targets;
+        f_state = spec.f_idleState;
     }
 
     /**
@@ -923,36 +1217,57 @@ public final class Animator implements TickListener {
          * This is complicated because a target can be added after the animation has started. In this case we need to
          * call its begin(Animator) method via a submit(Runnable) call on the timing source.
          */
-        synchronized (this) {
-            if (target != null && !f_targets.contains(target)) {
-                if (isRunning()) {
-                    final Runnable task = new Runnable() {
-                        @Override
-                        public void run() {
-                            final boolean beginAndAddToTargets;
-                            synchronized (Animator.this) {
-                                /*
-                                 * Check if we are running and not in the process of stopping. We must release the lock
-                                 * before we make the calls below or deadlock could occur.
-                                 */
-                                beginAndAddToTargets = isRunning() && !f_stopping;
-                            }
-                            if (beginAndAddToTargets) {
-                                target.begin(Animator.this);
-                                f_targets.add(target);
-                            }
-                        }
-                    };
-                    f_timingSource.submit(task);
-                }
-                else {
+        if (target == null || indexOfTarget(f_targets, target) != -1) {
+            return;
+        }
+        if (isRunning()) {
+            final Runnable task = new Runnable() {
+                @Override
+                public void run() {
                     /*
-                     * This is the more typical case where the target is added before the animation is started.
+                     * Check if we are running and not in the process of stopping.
                      */
-                    f_targets.add(target);
+                    final RunState state = f_state;
+                    if (state.f_running && !state.f_stopping && indexOfTarget(f_targets, target) == -1) {
+                        target.begin(Animator.this);
+                        addTargetIfAbsent(target);
+                    }
                 }
+            };
+            f_spec.f_timingSource.submit(task);
+        }
+        else {
+            /*
+             * This is the more typical case where the target is added before the animation is started.
+             */
+            addTargetIfAbsent(target);
+        }
+    }
+
+    /**
+     * Adds the passed target to the end of the array of targets unless it is already in it.
+     */
+    void addTargetIfAbsent(TimingTarget target) {
+        TimingTarget[] targets;
+        TimingTarget[] added;
+        do {
+            targets = f_targets;
+            if (indexOfTarget(targets, target) != -1) {
+                return;
+            }
+            added = Arrays.copyOf(targets, targets.length + 1);
+            added[targets.length] = target;
+        }
+        while (!TARGETS.compareAndSet(this, targets, added));
+    }
+
+    static int indexOfTarget(TimingTarget[] targets, Object target) {
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i].equals(target)) {
+                return i;
             }
         }
+        return -1;
     }
 
     /**
@@ -969,10 +1284,8 @@ public final class Animator implements TickListener {
      */
     public void addTargets(Collection<TimingTarget> targets) {
         if (targets != null) {
-            synchronized (this) {
-                for (TimingTarget target : targets) {
-                    addTarget(target);
-                }
+            for (TimingTarget target : targets) {
+                addTarget(target);
             }
         }
     }
@@ -1004,7 +1317,19 @@ public final class Animator implements TickListener {
      *            a {@link TimingTarget} object.
      */
     public void removeTarget(TimingTarget target) {
-        f_targets.remove(target);
+        TimingTarget[] targets;
+        TimingTarget[] removed;
+        do {
+            targets = f_targets;
+            final int index = indexOfTarget(targets, target);
+            if (index == -1) {
+                return;
+            }
+            removed = new TimingTarget[targets.length - 1];
+            System.arraycopy(targets, 0, removed, 0, index);
+            System.arraycopy(targets, index + 1, removed, index, removed.length - index);
+        }
+        while (!TARGETS.compareAndSet(this, targets, removed));
     }
 
     /**
@@ -1019,7 +1344,9 @@ public final class Animator implements TickListener {
      */
     public void removeTargets(Collection<TimingTarget> targets) {
         if (targets != null) {
-            f_targets.removeAll(targets);
+            for (TimingTarget target : targets) {
+                removeTarget(target);
+            }
         }
     }
 
@@ -1045,7 +1372,7 @@ public final class Animator implements TickListener {
      * @return the {@link TimingTarget}s of this animation.
      */
     public ArrayList<TimingTarget> getTargets() {
-        return new ArrayList<TimingTarget>(f_targets);
+        return new ArrayList<TimingTarget>(Arrays.asList(f_targets));
     }
 
     /**
@@ -1055,7 +1382,7 @@ public final class Animator implements TickListener {
      * The set of registered {@link TimingTarget} objects will be empty after this call returns.
      */
     public void clearTargets() {
-        f_targets.clear();
+        f_targets = NO_TARGETS;
     }
 
     /**
@@ -1066,7 +1393,7 @@ public final class Animator implements TickListener {
      *             after the animation has ended.
      */
     public void start() {
-        startHelper(f_startDirection, "start()");
+        startHelper(f_spec.f_startDirection, "start()");
     }
 
     /**
@@ -1080,28 +1407,9 @@ public final class Animator implements TickListener {
      * this is done then only the first call takes effect, any others are ignored.
      */
     public void restart() {
-        synchronized (this) {
-            if (isRunning()) {
-                stopHelper(true);
-                f_timingSource.submit(new Runnable() {
-                    @Override
-                    public void run() {
-                        synchronized (Animator.this) {
-                            /*
-                             * If the animation is running then it has been started by another restart() or
-                             * restartReverse() call. Guard against throwing an exception in this case, in effect this
-                             * call is ignored.
-                             */
-                            if (!isRunning()) {
-                                startHelper(f_startDirection, "restart()");
-                            }
-                        }
-                    }
-                });
-            }
-            else {
-                startHelper(f_startDirection, "restart()");
-            }
+        if (!tryStart(f_spec.f_startDirection)) {
+            stopHelper(true);
+            submitLifecycle(LifecycleTask.RESTART);
         }
     }
 
@@ -1113,7 +1421,7 @@ public final class Animator implements TickListener {
      *             after the animation has ended.
      */
     public void startReverse() {
-        startHelper(f_startDirection.getOppositeDirection(), "startReverse()");
+        startHelper(f_spec.f_startDirection.getOppositeDirection(), "startReverse()");
     }
 
     /**
@@ -1128,28 +1436,9 @@ public final class Animator implements TickListener {
      * this is done then only the first call takes effect, any others are ignored.
      */
     public void restartReverse() {
-        synchronized (this) {
-            if (isRunning()) {
-                stopHelper(true);
-                f_timingSource.submit(new Runnable() {
-                    @Override
-                    public void run() {
-                        synchronized (Animator.this) {
-                            /*
-                             * If the animation is running then it has been started by another restart() or
-                             * restartReverse() call. Guard against throwing an exception in this case, in effect this
-                             * call is ignored.
-                             */
-                            if (!isRunning()) {
-                                startHelper(f_startDirection.getOppositeDirection(), "restartReverse()");
-                            }
-                        }
-                    }
-                });
-            }
-            else {
-                startHelper(f_startDirection.getOppositeDirection(), "restartReverse()");
-            }
+        if (!tryStart(f_spec.f_startDirection.getOppositeDirection())) {
+            stopHelper(true);
+            submitLifecycle(LifecycleTask.RESTART_REVERSE);
         }
     }
 
@@ -1164,9 +1453,7 @@ public final class Animator implements TickListener {
      * @return {@code true} if the animation is running, {@code false} if it is not.
      */
     public boolean isRunning() {
-        synchronized (this) {
-            return f_runningAnimationLatch != null;
-        }
+        return f_state.f_running;
     }
 
     /**
@@ -1176,9 +1463,7 @@ public final class Animator implements TickListener {
      * @return the current direction of the animation.
      */
     public Direction getCurrentDirection() {
-        synchronized (this) {
-            return f_currentDirection;
-        }
+        return f_state.f_currentDirection;
     }
 
     /**
@@ -1216,7 +1501,8 @@ public final class Animator implements TickListener {
      * try {
      *     a.await();
      * }
-     * catch (InterruptedException ignore) {
+     * catch (InterruptedException e) {
+     *     Thread.currentThread().interrupt();
      * }
      * </pre>
      * 
@@ -1233,11 +1519,30 @@ public final class Animator implements TickListener {
      */
     public void stopAndAwait() {
         stop();
-        try {
-            await();
-        }
-        catch (InterruptedException ignore) {
-        }
+        awaitUninterruptibly();
+    }
+
+    /**
+     * Stops the animation, as {@link #stop()} does, and waits until it completes or the passed amount of time has
+     * elapsed. If the current thread is interrupted while waiting this method returns {@code false} with the thread's
+     * interrupted status set.
+     * <p>
+     * <b>Never invoke this method within the thread context of this animation's timing source&mdash;doing so will cause
+     * this call to always time out.</b>
+     * 
+     * @param timeout
+     *            the maximum amount of time to wait.
+     * @param unit
+     *            the time unit of timeout parameter.
+     * @return {@code true} if the animation is not running, {@code false} if the time elapsed, or the thread was
+     *         interrupted, before the animation completed.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>unit</tt> is {@code null}.
+     */
+    public boolean stopAndAwait(long timeout, TimeUnit unit) {
+        stop();
+        return awaitUninterruptibly(timeout, unit);
     }
 
     /**
@@ -1272,7 +1577,8 @@ public final class Animator implements TickListener {
      * try {
      *     a.await();
      * }
-     * catch (InterruptedException ignore) {
+     * catch (InterruptedException e) {
+     *     Thread.currentThread().interrupt();
      * }
      * </pre>
      * 
@@ -1285,10 +1591,56 @@ public final class Animator implements TickListener {
      */
     public void cancelAndAwait() {
         cancel();
+        awaitUninterruptibly();
+    }
+
+    /**
+     * Cancels the animation, as {@link #cancel()} does, and waits until it completes or the passed amount of time has
+     * elapsed. If the current thread is interrupted while waiting this method returns {@code false} with the thread's
+     * interrupted status set.
+     * <p>
+     * <b>Never invoke this method within the thread context of this animation's timing source&mdash;doing so will cause
+     * this call to always time out.</b>
+     * 
+     * @param timeout
+     *            the maximum amount of time to wait.
+     * @param unit
+     *            the time unit of timeout parameter.
+     * @return {@code true} if the animation is not running, {@code false} if the time elapsed, or the thread was
+     *         interrupted, before the animation completed.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>unit</tt> is {@code null}.
+     */
+    public boolean cancelAndAwait(long timeout, TimeUnit unit) {
+        cancel();
+        return awaitUninterruptibly(timeout, unit);
+    }
+
+    /**
+     * Waits for the animation to complete, restoring the interrupted status of the current thread if it is
+     * interrupted while waiting.
+     */
+    void awaitUninterruptibly() {
         try {
             await();
         }
-        catch (InterruptedException ignore) {
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the animation to complete, or the passed amount of time to elapse, restoring the interrupted status of
+     * the current thread if it is interrupted while waiting.
+     */
+    boolean awaitUninterruptibly(long timeout, TimeUnit unit) {
+        try {
+            return await(timeout, unit);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
@@ -1303,13 +1655,33 @@ public final class Animator implements TickListener {
      * @see #isPaused()
      */
     public void pause() {
-        synchronized (this) {
-            final boolean canPause = isRunning() && !f_stopping && f_pauseBeginTimeNanos == 0;
-            if (canPause) {
-                f_timingSource.removeTickListener(this);
-                f_pauseBeginTimeNanos = f_timingSource.getNanoTime();
+        if (casPause(localNanoTime())) {
+            syncTimingSourceRegistration();
+        }
+    }
+
+    /**
+     * Pauses the animation, if it can be paused, by changing its run state. The caller must then make its registration
+     * with the timing source match.
+     * 
+     * @param nanoTime
+     *            the time of the timing source the animation is paused at.
+     * @return {@code true} if the animation was paused, {@code false} if it is not running, is stopping, or is already
+     *         paused.
+     */
+    boolean casPause(long nanoTime) {
+        RunState state;
+        do {
+            state = f_state;
+            final boolean canPause = state.isActive();
+            if (!canPause) {
+                return false;
             }
         }
+        while (!casState(state, new RunState(state.f_running, state.f_completion, false, state.f_beginPending,
+            state.f_startTimeNanos, state.f_cycleStartTimeNanos, nanoTime, state.f_currentDirection,
+            state.f_reverseNowCallCount)));
+        return true;
     }
 
     /**
@@ -1319,9 +1691,8 @@ public final class Animator implements TickListener {
      * @return {@code true} if the animation is currently running &mdash; but paused, {@code false} otherwise.
      */
     public boolean isPaused() {
-        synchronized (this) {
-            return isRunning() && !f_stopping && f_pauseBeginTimeNanos > 0;
-        }
+        final RunState state = f_state;
+        return state.f_running && !state.f_stopping && state.f_pauseBeginTimeNanos > 0;
     }
 
     /**
@@ -1330,16 +1701,35 @@ public final class Animator implements TickListener {
      * @see #pause()
      */
     public void resume() {
-        synchronized (this) {
-            final boolean paused = isPaused();
-            if (paused) {
-                long pauseDeltaNanos = f_timingSource.getNanoTime() - f_pauseBeginTimeNanos;
-                f_startTimeNanos += pauseDeltaNanos;
-                f_cycleStartTimeNanos += pauseDeltaNanos;
-                f_pauseBeginTimeNanos = 0;
-                f_timingSource.addTickListener(this);
+        if (casResume(localNanoTime())) {
+            syncTimingSourceRegistration();
+        }
+    }
+
+    /**
+     * Resumes the animation, if it is paused, by changing its run state. The caller must then make its registration
+     * with the timing source match.
+     * 
+     * @param nanoTime
+     *            the time of the timing source the animation is resumed at.
+     * @return {@code true} if the animation was resumed, {@code false} if it is not paused.
+     */
+    boolean casResume(long nanoTime) {
+        RunState state;
+        RunState resumed;
+        do {
+            state = f_state;
+            final boolean paused = state.f_running && !state.f_stopping && state.f_pauseBeginTimeNanos > 0;
+            if (!paused) {
+                return false;
             }
+            final long pauseDeltaNanos = nanoTime - state.f_pauseBeginTimeNanos;
+            resumed = new RunState(state.f_running, state.f_completion, false, state.f_beginPending,
+                state.f_startTimeNanos + pauseDeltaNanos, state.f_cycleStartTimeNanos + pauseDeltaNanos, 0,
+                state.f_currentDirection, state.f_reverseNowCallCount);
         }
+        while (!casState(state, resumed));
+        return true;
     }
 
     /**
@@ -1353,16 +1743,402 @@ public final class Animator implements TickListener {
      *         animation failed.
      */
     public boolean reverseNow() {
-        synchronized (this) {
-            final boolean canReverse = isRunning() && !f_stopping && f_pauseBeginTimeNanos == 0;
-            if (canReverse) {
-                f_reverseNowCallCount++;
-                return true;
+        RunState state;
+        do {
+            state = f_state;
+            final boolean canReverse = state.isActive();
+            if (!canReverse) {
+                return false;
+            }
+        }
+        while (!casState(state,
+            new RunState(state.f_running, state.f_completion, false, state.f_beginPending, state.f_startTimeNanos,
+                state.f_cycleStartTimeNanos, 0, state.f_currentDirection, state.f_reverseNowCallCount + 1)));
+        return true;
+    }
+
+    /**
+     * Sets the playback rate of this animation. For example, a rate of 0.1 plays this animation in slow motion and a
+     * rate of 4 plays it four times as fast. The default rate is 1. The rate is multiplied by the global rate of the
+     * timing source, set with {@link TimingSource#setRate(double)}.
+     * <p>
+     * The rate may be changed at any time, whether or not this animation is running, and it is kept from one run to
+     * the next. Changing the rate of a running animation does not restart it: the animation continues from the same
+     * fraction, in the same direction, and only the remaining time is stretched or shortened. This holds while the
+     * animation is paused or waiting for its start delay to elapse, and for reversals made with {@link #reverseNow()}.
+     * Elapsed times, such as those returned by {@link #getCycleElapsedTime()}, are measured at this rate.
+     * <p>
+     * This call does not block and does not cause any callbacks.
+     * 
+     * @param rate
+     *            the rate, a positive finite number.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>rate</tt> is not a positive finite number.
+     */
+    public void setRate(double rate) {
+        RateClock.checkRate(rate);
+        final long nanoTime = f_spec.f_timingSource.getScaledNanoTime();
+        RateClock rateClock;
+        do {
+            rateClock = f_rateClock;
+        }
+        while (!RATE_CLOCK.compareAndSet(this, rateClock, RateClock.rebase(rateClock, nanoTime, rate)));
+        /*
+         * The time at which the start delay elapses has moved.
+         */
+        syncTimingSourceRegistration();
+    }
+
+    /**
+     * Gets the playback rate of this animation.
+     * 
+     * @return the rate.
+     * 
+     * @see #setRate(double)
+     */
+    public double getRate() {
+        return RateClock.rateOf(f_rateClock);
+    }
+
+    /*
+     * Bulk operations on many animations. Each is applied per timing source: the time is read once, the registration
+     * changes are queued as one change, and any callbacks are made by one task.
+     */
+
+    static final int BULK_START = 0;
+
+    static final int BULK_STOP = 1;
+
+    static final int BULK_CANCEL = 2;
+
+    static final int BULK_PAUSE = 3;
+
+    static final int BULK_RESUME = 4;
+
+    static final int BULK_REVERSE = 5;
+
+    /**
+     * Starts each of the passed animations that is not running, in its start direction. Animations that use the same
+     * timing source are started at the same time, read once from the timing source, so they run in step. For each
+     * timing source the registration of the started animations is made as one change and their
+     * {@link TimingTarget#begin(Animator)} callbacks are made, in the order the animations were passed, by one task.
+     * <p>
+     * Unlike {@link #start()}, an animation that is already running is skipped rather than causing an exception.
+     * {@code null} elements are ignored.
+     * <p>
+     * This call does not block.
+     * 
+     * @param animators
+     *            the animations to start. May be {@code null}.
+     * @return the number of animations started.
+     */
+    public static int startAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_START);
+    }
+
+    /**
+     * Stops each of the passed animations that is running and not already stopping, as if {@link #stop()} was called
+     * on each. For each timing source the registration of the stopped animations is removed as one change and their
+     * {@link TimingTarget#end(Animator)} callbacks are made, in the order the animations were passed, by one task.
+     * {@code null} elements are ignored.
+     * <p>
+     * This call does not block.
+     * 
+     * @param animators
+     *            the animations to stop. May be {@code null}.
+     * @return the number of animations stopped.
+     */
+    public static int stopAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_STOP);
+    }
+
+    /**
+     * Cancels each of the passed animations that is running and not already stopping, as if {@link #cancel()} was
+     * called on each. For each timing source the registration of the cancelled animations is removed as one change
+     * and they are ended by one task. {@code null} elements are ignored.
+     * <p>
+     * This call does not block.
+     * 
+     * @param animators
+     *            the animations to cancel. May be {@code null}.
+     * @return the number of animations cancelled.
+     */
+    public static int cancelAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_CANCEL);
+    }
+
+    /**
+     * Pauses each of the passed animations that is running, not stopping, and not already paused. Animations that use
+     * the same timing source are paused at the same time, read once from the timing source, and their registration is
+     * removed as one change. {@code null} elements are ignored.
+     * 
+     * @param animators
+     *            the animations to pause. May be {@code null}.
+     * @return the number of animations paused.
+     * 
+     * @see #pause()
+     */
+    public static int pauseAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_PAUSE);
+    }
+
+    /**
+     * Resumes each of the passed animations that is paused. Animations that use the same timing source are resumed at
+     * the same time, read once from the timing source, and their registration is made as one change. {@code null}
+     * elements are ignored.
+     * 
+     * @param animators
+     *            the animations to resume. May be {@code null}.
+     * @return the number of animations resumed.
+     * 
+     * @see #resume()
+     */
+    public static int resumeAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_RESUME);
+    }
+
+    /**
+     * Reverses the direction of each of the passed animations that is running and is not paused or stopping, as if
+     * {@link #reverseNow()} was called on each. The reversals of animations that use the same timing source take
+     * effect at its next tick. {@code null} elements are ignored.
+     * 
+     * @param animators
+     *            the animations to reverse. May be {@code null}.
+     * @return the number of animations reversed.
+     */
+    public static int reverseAll(Collection<? extends Animator> animators) {
+        return bulk(animators, BULK_REVERSE);
+    }
+
+    /**
+     * Applies a bulk operation to the passed animations, grouped by timing source in the order they are first seen.
+     */
+    static int bulk(Collection<? extends Animator> animators, int operation) {
+        if (animators == null) {
+            return 0;
+        }
+        final Map<TimingSource, ArrayList<Animator>> bySource = new LinkedHashMap<TimingSource, ArrayList<Animator>>();
+        for (Animator animator : animators) {
+            if (animator == null) {
+                continue;
+            }
+            ArrayList<Animator> group = bySource.get(animator.f_spec.f_timingSource);
+            if (group == null) {
+                group = new ArrayList<Animator>();
+                bySource.put(animator.f_spec.f_timingSource, group);
+            }
+            group.add(animator);
+        }
+        int changed = 0;
+        for (Map.Entry<TimingSource, ArrayList<Animator>> entry : bySource.entrySet()) {
+            changed += bulk(entry.getKey(), entry.getValue(), operation);
+        }
+        return changed;
+    }
+
+    /**
+     * Applies a bulk operation to the passed animations, all of which use the passed timing source.
+     */
+    static int bulk(TimingSource source, ArrayList<Animator> group, int operation) {
+        final long nanoTime = source.getNanoTime();
+        final Animator[] changed = new Animator[group.size()];
+        final RunState[] states = new RunState[group.size()];
+        int count = 0;
+        boolean beginPending = false;
+        for (Animator animator : group) {
+            final boolean applied;
+            switch (operation) {
+                case BULK_START:
+                    final RunState started =
+                        animator.casStart(animator.f_spec.f_startDirection, animator.toLocalNanoTime(nanoTime));
+                    applied = started != null;
+                    beginPending |= applied && started.f_beginPending;
+                    break;
+                case BULK_STOP:
+                case BULK_CANCEL:
+                    applied = animator.casStop();
+                    break;
+                case BULK_PAUSE:
+                    applied = animator.casPause(animator.toLocalNanoTime(nanoTime));
+                    break;
+                case BULK_RESUME:
+                    applied = animator.casResume(animator.toLocalNanoTime(nanoTime));
+                    break;
+                case BULK_REVERSE:
+                    applied = animator.reverseNow();
+                    break;
+                default:
+                    throw new IllegalStateException(I18N.err(2, "operation", operation));
+            }
+            if (applied) {
+                states[count] = animator.f_state;
+                changed[count] = animator;
+                count++;
+            }
+        }
+        if (count == 0 || operation == BULK_REVERSE) {
+            return count;
+        }
+        if (beginPending) {
+            source.submit(new BulkTask(LifecycleTask.BEGIN, changed, count));
+        }
+        syncTimingSourceRegistration(source, changed, states, count, nanoTime);
+        if (operation == BULK_STOP) {
+            source.submit(new BulkTask(LifecycleTask.END, changed, count));
+        }
+        else if (operation == BULK_CANCEL) {
+            source.submit(new BulkTask(LifecycleTask.CANCEL, changed, count));
+        }
+        return count;
+    }
+
+    /**
+     * A lifecycle command of many animations that is run in the thread context of their timing source. A failure of
+     * the command for one animation is logged and does not prevent the command from being run for the others.
+     */
+    static final class BulkTask implements Runnable {
+
+        final int f_kind;
+
+        final Animator[] f_animators;
+
+        final int f_count;
+
+        BulkTask(int kind, Animator[] animators, int count) {
+            f_kind = kind;
+            f_animators = animators;
+            f_count = count;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < f_count; i++) {
+                try {
+                    if (f_kind == LifecycleTask.BEGIN) {
+                        f_animators[i].notifyBegin();
+                    }
+                    else {
+                        f_animators[i].finishRun(f_kind == LifecycleTask.END);
+                    }
+                }
+                catch (Exception e) {
+                    Logger.getAnonymousLogger().log(Level.SEVERE, I18N.err(4, e.getClass().getSimpleName()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the fraction that this animation reports to its timing targets, via
+     * {@link TimingTarget#timingEvent(Animator, double)}, the passed amount of time after it is started. The start
+     * delay, duration, repeat count, repeat behavior, end behavior, start direction, and interpolator of this animation
+     * are honored. Calls to {@link #reverseNow()} and time spent paused are not considered.
+     * <p>
+     * Before the start delay has elapsed the fraction at the start of the first cycle is returned. After the animation
+     * has ended the fraction it ended at is returned.
+     * <p>
+     * This method has no side effects, does not allocate, and runs in constant time. It may be called at any time,
+     * whether or not this animation is running. It is intended for uses such as scrubbing through an animation in a
+     * timeline editor or exporting an animation frame by frame.
+     * 
+     * @param elapsedNanos
+     *            the time, in nanoseconds, since the animation was started. Negative values are treated as zero.
+     * @return the interpolated fraction at the passed time.
+     */
+    public double fractionAt(long elapsedNanos) {
+        final long cycleElapsedNanos = elapsedNanos - f_spec.f_startDelayNanos;
+        final double fraction;
+        if (cycleElapsedNanos <= 0) {
+            fraction = f_spec.f_startDirection == Direction.BACKWARD ? 1 : 0;
+        }
+        else {
+            final long cycle = cycleElapsedNanos / f_spec.f_durationNanos;
+            if (f_spec.f_repeatCount != INFINITE && cycle >= f_spec.f_repeatCount) {
+                if (f_spec.f_endBehavior == EndBehavior.RESET || isBackwardInCycle(f_spec.f_repeatCount - 1)) {
+                    fraction = 0;
+                }
+                else {
+                    fraction = 1;
+                }
             }
             else {
+                final double cycleFraction =
+                    (double) (cycleElapsedNanos % f_spec.f_durationNanos) / (double) f_spec.f_durationNanos;
+                fraction = isBackwardInCycle(cycle) ? 1.0 - cycleFraction : cycleFraction;
+            }
+        }
+        return f_spec.f_interpolator.interpolate(fraction);
+    }
+
+    /**
+     * Moves a running or paused animation to the passed amount of time after it was started, as if it had been running
+     * without pause since then. The current cycle, direction, and position within the cycle are set to the values
+     * that {@link #fractionAt(long)} would use for the same time, and any pending {@link #reverseNow()} calls are
+     * discarded.
+     * <p>
+     * A running animation reports the new position to its timing targets at the next tick of its timing source. A
+     * paused animation does so after it is resumed. Seeking past the end of the animation causes it to end at the next
+     * tick.
+     * 
+     * @param elapsed
+     *            the amount of time since the animation was started. Negative values are treated as zero.
+     * @param unit
+     *            the time unit of elapsed parameter.
+     * @return {@code true} if the animation was moved, {@code false} if the animation is not running or is stopping.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>unit</tt> is {@code null}.
+     */
+    public boolean seekTo(long elapsed, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        final long elapsedNanos = Math.max(0, unit.toNanos(elapsed));
+        RunState state;
+        RunState moved;
+        do {
+            state = f_state;
+            if (!state.f_running || state.f_stopping) {
                 return false;
             }
+            final long nanoTime =
+                state.f_pauseBeginTimeNanos != 0 ? state.f_pauseBeginTimeNanos : localNanoTime();
+            final long startTimeNanos = nanoTime - elapsedNanos;
+            long cycleStartTimeNanos = startTimeNanos + f_spec.f_startDelayNanos;
+            Direction direction = f_spec.f_startDirection;
+            final long cycleElapsedNanos = elapsedNanos - f_spec.f_startDelayNanos;
+            if (cycleElapsedNanos > 0) {
+                long cycle = cycleElapsedNanos / f_spec.f_durationNanos;
+                if (f_spec.f_repeatCount != INFINITE && cycle >= f_spec.f_repeatCount) {
+                    /*
+                     * Stay in the last cycle so that the end behavior uses its direction.
+                     */
+                    cycle = f_spec.f_repeatCount - 1;
+                }
+                cycleStartTimeNanos += cycle * f_spec.f_durationNanos;
+                if (isBackwardInCycle(cycle) != (f_spec.f_startDirection == Direction.BACKWARD)) {
+                    direction = f_spec.f_startDirection.getOppositeDirection();
+                }
+            }
+            moved = new RunState(state.f_running, state.f_completion, false, state.f_beginPending, startTimeNanos,
+                cycleStartTimeNanos, state.f_pauseBeginTimeNanos, direction, 0);
+        }
+        while (!casState(state, moved));
+        syncTimingSourceRegistration();
+        return true;
+    }
+
+    /**
+     * Determines if the animation runs backward during the passed cycle, counting from zero, ignoring any calls to
+     * {@link #reverseNow()}.
+     */
+    boolean isBackwardInCycle(long cycle) {
+        final boolean backward = f_spec.f_startDirection == Direction.BACKWARD;
+        if (f_spec.f_repeatBehavior == RepeatBehavior.REVERSE && (cycle & 1) == 1) {
+            return !backward;
         }
+        return backward;
     }
 
     /**
@@ -1391,12 +2167,108 @@ public final class Animator implements TickListener {
      *             if the current thread is interrupted while waiting.
      */
     public void await() throws InterruptedException {
-        final CountDownLatch latch;
-        synchronized (this) {
-            latch = f_runningAnimationLatch;
+        final CompletableFuture<Animator> completion = runningCompletion();
+        if (completion != null) {
+            try {
+                completion.get();
+            }
+            catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Causes the current thread to wait until the animation completes, as described for {@link #await()}, or until the
+     * passed amount of time has elapsed.
+     * <p>
+     * <b>Never invoke this method within the thread context of this animation's timing source&mdash;doing so will cause
+     * this call to always time out.</b>
+     * 
+     * @param timeout
+     *            the maximum amount of time to wait.
+     * @param unit
+     *            the time unit of timeout parameter.
+     * @return {@code true} if the animation is not running, {@code false} if the time elapsed before the animation
+     *         completed.
+     * 
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting.
+     * @throws IllegalArgumentException
+     *             if <tt>unit</tt> is {@code null}.
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
         }
-        if (latch != null) {
-            latch.await();
+        final CompletableFuture<Animator> completion = runningCompletion();
+        if (completion != null) {
+            try {
+                completion.get(timeout, unit);
+            }
+            catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+            catch (TimeoutException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a future that is completed, with this animation, when the current run of the animation completes, either
+     * on its own or due to a call to {@link #stop()} or {@link #cancel()}. All callbacks to registered
+     * {@link TimingTarget}s have been completed when the future is completed. If the animation is not running then an
+     * already completed future is returned.
+     * <p>
+     * This method never blocks. The future is completed in the thread context of this animation's timing source, so
+     * actions that depend on it, e.g., via
+     * {@link CompletableFuture#thenRun(Runnable)}, also run in that thread context unless an asynchronous method is
+     * used. This makes it safe to start another animation, on the same timing source, when this one completes:
+     * 
+     * <pre>
+     * a.start();
+     * a.completion().thenRun(() -&gt; b.start());
+     * </pre>
+     * 
+     * Each call returns a new future that depends on a future the animation keeps for the current run, which is only
+     * created the first time this method, or {@link #await()}, is called during the run. Completing or cancelling the
+     * returned future has no effect on the animation, on {@link #await()}, or on the futures returned to other callers.
+     * 
+     * @return a future completed when the current run of this animation completes.
+     */
+    public CompletableFuture<Animator> completion() {
+        final CompletableFuture<Animator> completion = runningCompletion();
+        return completion != null ? completion.thenApply(Function.<Animator> identity())
+            : CompletableFuture.completedFuture(this);
+    }
+
+    /**
+     * Gets the future for the current run of this animation, creating it if needed. This future is never exposed to
+     * callers, so only this animation completes it.
+     * 
+     * @return the future, or {@code null} if the animation is not running.
+     */
+    private CompletableFuture<Animator> runningCompletion() {
+        CompletableFuture<Animator> created = null;
+        while (true) {
+            final RunState state = f_state;
+            if (!state.f_running) {
+                return null;
+            }
+            if (state.f_completion != null) {
+                return state.f_completion;
+            }
+            if (created == null) {
+                created = new CompletableFuture<Animator>();
+            }
+            if (casState(state,
+                new RunState(true, created, state.f_stopping, state.f_beginPending, state.f_startTimeNanos,
+                    state.f_cycleStartTimeNanos, state.f_pauseBeginTimeNanos, state.f_currentDirection,
+                    state.f_reverseNowCallCount))) {
+                return created;
+            }
         }
     }
 
@@ -1411,7 +2283,7 @@ public final class Animator implements TickListener {
      *         time.
      */
     public long getCycleElapsedTime() {
-        return getCycleElapsedTime(f_timingSource.getNanoTime());
+        return getCycleElapsedTime(f_spec.f_timingSource.getNanoTime());
     }
 
     /**
@@ -1421,13 +2293,12 @@ public final class Animator implements TickListener {
      * negative. This situation occurs when the animation has been started but is waiting for the start delay to elapse.
      * 
      * @param currentTimeNanos
-     *            value of current time, from {@link System#nanoTime()}, to use in calculating the elapsed time.
+     *            value of current time, from {@link TimingSource#getNanoTime()}, to use in calculating the elapsed
+     *            time. The elapsed time is measured at the rate of this animation.
      * @return the time elapsed in nanoseconds between the time this cycle started and the passed time.
      */
     public long getCycleElapsedTime(long currentTimeNanos) {
-        synchronized (this) {
-            return (currentTimeNanos - f_cycleStartTimeNanos);
-        }
+        return (toLocalNanoTime(currentTimeNanos) - f_state.f_cycleStartTimeNanos);
     }
 
     /**
@@ -1440,7 +2311,7 @@ public final class Animator implements TickListener {
      * @return the total time elapsed in nanoseconds between the time this animation started and the current time.
      */
     public long getTotalElapsedTime() {
-        return getTotalElapsedTime(f_timingSource.getNanoTime());
+        return getTotalElapsedTime(f_spec.f_timingSource.getNanoTime());
     }
 
     /**
@@ -1450,28 +2321,28 @@ public final class Animator implements TickListener {
      * started until the passed time.
      * 
      * @param currentTimeNanos
-     *            value of current time, from {@link System#nanoTime()}, to use in calculating elapsed time.
+     *            value of current time, from {@link TimingSource#getNanoTime()}, to use in calculating elapsed time.
+     *            The elapsed time is measured at the rate of this animation.
      * @return the total time elapsed between the time this animation started and the passed time.
      */
     public long getTotalElapsedTime(long currentTimeNanos) {
-        synchronized (this) {
-            return (currentTimeNanos - f_startTimeNanos);
-        }
+        return (toLocalNanoTime(currentTimeNanos) - f_state.f_startTimeNanos);
     }
 
     @Override
     public String toString() {
         final StringBuilder b = new StringBuilder();
         b.append(Animator.class.getSimpleName()).append('@');
-        b.append(f_debugName != null ? f_debugName : Integer.toHexString(hashCode()));
-        b.append("(duration=").append(f_duration).append(' ').append(f_durationTimeUnit.toString());
+        b.append(f_spec.f_debugName != null ? f_spec.f_debugName : Integer.toHexString(hashCode()));
+        b.append("(duration=").append(f_spec.f_duration).append(' ').append(f_spec.f_durationTimeUnit.toString());
         b.append(", interpolator=").append(getInterpolator().toString());
-        b.append(", startDirection=").append(f_startDirection.toString());
-        b.append(", repeatBehavior=").append(f_repeatBehavior.toString());
-        b.append(", repeatCount=").append(f_repeatCount);
-        b.append(", endBehavior=").append(f_endBehavior.toString());
-        b.append(", startDelay=").append(f_startDelay).append(' ').append(f_startDelayTimeUnit.toString());
-        b.append(", timingSource=").append(f_timingSource.toString());
+        b.append(", startDirection=").append(f_spec.f_startDirection.toString());
+        b.append(", repeatBehavior=").append(f_spec.f_repeatBehavior.toString());
+        b.append(", repeatCount=").append(f_spec.f_repeatCount);
+        b.append(", endBehavior=").append(f_spec.f_endBehavior.toString());
+        b.append(", startDelay=").append(f_spec.f_startDelay).append(' ')
+            .append(f_spec.f_startDelayTimeUnit.toString());
+        b.append(", timingSource=").append(f_spec.f_timingSource.toString());
         b.append(')');
         return b.toString();
     }
@@ -1488,38 +2359,144 @@ public final class Animator implements TickListener {
      *             if the this animation is already running.
      */
     void startHelper(Direction direction, String methodName) {
-        synchronized (this) {
-            if (isRunning()) {
-                throw new IllegalStateException(I18N.err(12, methodName));
+        if (!tryStart(direction)) {
+            throw new IllegalStateException(I18N.err(12, methodName));
+        }
+    }
+
+    /**
+     * Starts the animation if it is not running.
+     * 
+     * @param direction
+     *            the direction to start the animation going in.
+     * @return {@code true} if the animation was started, {@code false} if it is already running.
+     */
+    boolean tryStart(Direction direction) {
+        final RunState started = casStart(direction, localNanoTime());
+        if (started == null) {
+            return false;
+        }
+        if (started.f_beginPending) {
+            submitLifecycle(LifecycleTask.BEGIN);
+        }
+        syncTimingSourceRegistration();
+        return true;
+    }
+
+    /**
+     * Starts the animation, if it is not running, by changing its run state. The caller must then arrange for the
+     * {@link TimingTarget#begin(Animator)} callbacks to be made, if the returned state has them pending, and make the
+     * registration of the animation with the timing source match.
+     * 
+     * @param direction
+     *            the direction to start the animation going in.
+     * @param nanoTime
+     *            the time of the timing source the animation is started at.
+     * @return the run state the animation was started with, or {@code null} if it is already running.
+     */
+    RunState casStart(Direction direction, long nanoTime) {
+        final RunState started = new RunState(true, null, false, f_targets.length != 0, nanoTime,
+            nanoTime + f_spec.f_startDelayNanos, 0, direction, 0);
+        RunState state;
+        do {
+            state = f_state;
+            if (state.f_running) {
+                return null;
             }
+        }
+        while (!casState(state, started));
+        return started;
+    }
 
-            final long nanoTime = f_timingSource.getNanoTime();
-            f_startTimeNanos = nanoTime;
-            f_cycleStartTimeNanos = nanoTime + f_startDelayNanos;
-            f_currentDirection = direction;
-            f_stopping = false;
-            f_pauseBeginTimeNanos = f_reverseNowCallCount = 0;
-            f_runningAnimationLatch = new CountDownLatch(1);
-            /*
-             * Because the submit() call only places the Runnable into a queue holding the lock below cannot lead to a
-             * deadlock.
-             * 
-             * Holding the lock is not really necessary, but it makes this code similar to reverseNow() (where holding
-             * the lock is critical to correct behavior).
-             */
-            if (!f_targets.isEmpty()) {
-                final Runnable task = new Runnable() {
-                    @Override
-                    public void run() {
-                        for (TimingTarget target : f_targets) {
-                            target.begin(Animator.this);
-                        }
-                    }
-                };
-                f_timingSource.submit(task);
+    /**
+     * Clears the flag indicating that the {@link TimingTarget#begin(Animator)} callbacks for the current run of the
+     * animation have not yet been made. Only invoked in the thread context of the timing source.
+     * 
+     * @return {@code true} if the flag was set, in which case the caller must make the callbacks.
+     */
+    boolean consumeBeginPending() {
+        RunState state;
+        do {
+            state = f_state;
+            if (!state.f_beginPending) {
+                return false;
+            }
+        }
+        while (!casState(state,
+            new RunState(state.f_running, state.f_completion, state.f_stopping, false, state.f_startTimeNanos,
+                state.f_cycleStartTimeNanos, state.f_pauseBeginTimeNanos, state.f_currentDirection,
+                state.f_reverseNowCallCount)));
+        return true;
+    }
+
+    /**
+     * Makes the registration of this animation with its timing source match its current run state. An active
+     * animation is registered, or, if it is waiting for its start delay to elapse, its registration is delayed until
+     * then so that a delayed animation costs nothing each tick. An animation that is not running, is stopping, or is
+     * paused is unregistered.
+     * <p>
+     * Every change to the run state that affects registration is followed by a call to this method. Registration
+     * changes are queued by the timing source in the order they are made, so the run state is read again after the
+     * change is queued and, if another thread changed it in the meantime, the registration is made again. This ensures
+     * that the last registration change queued always matches the final run state, without holding a lock.
+     */
+    void syncTimingSourceRegistration() {
+        while (true) {
+            final RunState state = f_state;
+            if (state.isActive()) {
+                if (state.f_cycleStartTimeNanos > localNanoTime()) {
+                    f_spec.f_timingSource.removeTickListener(this);
+                    f_spec.f_timingSource.addTickListenerAt(this,
+                        RateClock.unscale(f_rateClock, state.f_cycleStartTimeNanos));
+                }
+                else {
+                    f_spec.f_timingSource.addTickListener(this);
+                }
+            }
+            else {
+                f_spec.f_timingSource.removeTickListener(this);
+            }
+            if (f_state == state) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes the registration of the passed animations, all of which use the passed timing source, match the run
+     * states they were just changed to. Like {@link #syncTimingSourceRegistration()}, but the additions and the
+     * removals are each queued as one change. An animation whose run state was changed by another thread in the
+     * meantime is then registered again on its own.
+     */
+    static void syncTimingSourceRegistration(TimingSource source, Animator[] animators, RunState[] states, int count,
+        long nanoTime) {
+        final TickListener[] added = new TickListener[count];
+        int addedCount = 0;
+        final TickListener[] removed = new TickListener[count];
+        int removedCount = 0;
+        for (int i = 0; i < count; i++) {
+            final RunState state = states[i];
+            if (state.isActive()) {
+                if (state.f_cycleStartTimeNanos > animators[i].toLocalNanoTime(nanoTime)) {
+                    source.removeTickListener(animators[i]);
+                    source.addTickListenerAt(animators[i],
+                        RateClock.unscale(animators[i].f_rateClock, state.f_cycleStartTimeNanos));
+                }
+                else {
+                    added[addedCount++] = animators[i];
+                }
+            }
+            else {
+                removed[removedCount++] = animators[i];
+            }
+        }
+        source.addTickListeners(Arrays.copyOf(added, addedCount));
+        source.removeTickListeners(Arrays.copyOf(removed, removedCount));
+        for (int i = 0; i < count; i++) {
+            if (animators[i].f_state != states[i]) {
+                animators[i].syncTimingSourceRegistration();
             }
         }
-        f_timingSource.addTickListener(this);
     }
 
     /**
@@ -1534,65 +2511,85 @@ public final class Animator implements TickListener {
      * @return {@code true} if the animation was running and was successfully stopped, {@code false} if the animation
      *         was not running or was in the process of stopping and didn't need to be stopped.
      */
-    boolean stopHelper(final boolean notify) {
-        final CountDownLatch latch;
-        synchronized (this) {
+    boolean stopHelper(boolean notify) {
+        if (!casStop()) {
+            return false;
+        }
+        syncTimingSourceRegistration();
+        submitLifecycle(notify ? LifecycleTask.END : LifecycleTask.CANCEL);
+        return true;
+    }
+
+    /**
+     * Marks the animation as stopping, if it is running and not already stopping, by changing its run state. The
+     * caller must then make the registration of the animation with the timing source match and arrange for
+     * {@link #finishRun(boolean)} to be invoked.
+     * 
+     * @return {@code true} if the animation is now stopping, {@code false} if it was not running or was already
+     *         stopping.
+     */
+    boolean casStop() {
+        RunState state;
+        do {
+            state = f_state;
             /*
-             * If we are not running at all we return immediately.
+             * If we are not running at all, or are already stopping, we return immediately.
              */
-            latch = f_runningAnimationLatch;
-            if (latch == null) {
+            if (!state.f_running || state.f_stopping) {
                 return false;
             }
+        }
+        while (!casState(state,
+            new RunState(state.f_running, state.f_completion, true, state.f_beginPending, state.f_startTimeNanos,
+                state.f_cycleStartTimeNanos, state.f_pauseBeginTimeNanos, state.f_currentDirection,
+                state.f_reverseNowCallCount)));
+        return true;
+    }
+
+    /**
+     * Not intended for use by client code.
+     */
+    @Override
+    public long getNextTickTime(long sourceNanoTime) {
+        final RunState state = f_state;
+        if (!state.isActive()) {
+            return Long.MAX_VALUE;
+        }
+        if (state.f_reverseNowCallCount > 0) {
+            return sourceNanoTime + 1;
+        }
+        final long nanoTime = toLocalNanoTime(sourceNanoTime);
+        if (state.f_cycleStartTimeNanos >= nanoTime) {
             /*
-             * If we are already stopping we return immediately.
+             * Waiting for the start delay to elapse.
              */
-            if (f_stopping) {
-                return false;
-            }
-
-            f_stopping = true;
+            return fromLocalNanoTime(state.f_cycleStartTimeNanos + 1);
         }
-        f_timingSource.removeTickListener(this);
-        final Runnable task = new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    if (f_disposeTimingSource) {
-                        f_timingSource.dispose();
-                    }
-                    if (notify) {
-                        for (TimingTarget target : f_targets) {
-                            target.end(Animator.this);
-                        }
-                    }
-                }
-                finally {
-                    synchronized (Animator.this) {
-                        f_runningAnimationLatch = null;
-                    }
-                    latch.countDown();
-                }
-            }
-        };
-        f_timingSource.submit(task);
-        return true;
+        final long cycleEndTimeNanos = state.f_cycleStartTimeNanos + f_spec.f_durationNanos;
+        return cycleEndTimeNanos > nanoTime ? fromLocalNanoTime(cycleEndTimeNanos) : sourceNanoTime + 1;
     }
 
     /**
      * Not intended for use by client code.
      */
     @Override
-    public void timingSourceTick(TimingSource source, long nanoTime) {
+    public void timingSourceTick(TimingSource source, long sourceNanoTime) {
+        final long nanoTime = toLocalNanoTime(sourceNanoTime);
         /*
          * Implementation note: This is a big method, however, breaking it up requires the introduction of several
          * fields that are really implementation details of the calculations below and flags about what to do next.
+         * 
+         * The run state is read once and a new run state is computed from it. If the run state changed, e.g., at the
+         * end of a cycle or due to a reverseNow() call, the new state is published with a compare-and-set. If another
+         * thread changed the run state in the meantime the calculation is repeated. A tick in the middle of a cycle
+         * does not change the run state and does not allocate.
          */
-        final double fraction;
-        boolean timeToStop = false;
-        boolean notifyRepeat = false;
-        boolean notifyOfReverse = false;
-        synchronized (this) {
+        double fraction;
+        boolean timeToStop;
+        boolean notifyRepeat;
+        boolean notifyOfReverse;
+        while (true) {
+            final RunState state = f_state;
             /*
              * A guard against running logic within this method if any of the following conditions are true:
              * 
@@ -1604,28 +2601,29 @@ public final class Animator implements TickListener {
              * 
              * o The animation is waiting for its start delay to elapse
              */
-            final boolean skipTick =
-                f_runningAnimationLatch == null || f_stopping || f_pauseBeginTimeNanos != 0
-                    || f_cycleStartTimeNanos >= nanoTime;
+            final boolean skipTick = !state.isActive() || state.f_cycleStartTimeNanos >= nanoTime;
             if (skipTick) {
                 return;
             }
+            timeToStop = notifyRepeat = notifyOfReverse = false;
+            long startTimeNanos = state.f_startTimeNanos;
+            long cycleStartTimeNanos = state.f_cycleStartTimeNanos;
+            Direction currentDirection = state.f_currentDirection;
 
             /*
-             * Note that we need to notify of a reverseNow() call and reset the field.
+             * Note that we need to notify of a reverseNow() call and reset the count.
              */
-            if (f_reverseNowCallCount > 0) {
+            if (state.f_reverseNowCallCount > 0) {
                 notifyOfReverse = true;
-                final boolean reverseCallsCancelOut = /* isEven */(f_reverseNowCallCount & 1) == 0;
-                f_reverseNowCallCount = 0; // reset
+                final boolean reverseCallsCancelOut = /* isEven */(state.f_reverseNowCallCount & 1) == 0;
 
                 if (!reverseCallsCancelOut) {
-                    final long cycleElapsedTimeNanos = getCycleElapsedTime(nanoTime);
-                    final long timeLeft = f_durationNanos - cycleElapsedTimeNanos;
-                    final long deltaNanos = (nanoTime - timeLeft) - f_cycleStartTimeNanos;
-                    f_cycleStartTimeNanos += deltaNanos;
-                    f_startTimeNanos += deltaNanos;
-                    f_currentDirection = f_currentDirection.getOppositeDirection();
+                    final long cycleElapsedTimeNanos = nanoTime - cycleStartTimeNanos;
+                    final long timeLeft = f_spec.f_durationNanos - cycleElapsedTimeNanos;
+                    final long deltaNanos = (nanoTime - timeLeft) - cycleStartTimeNanos;
+                    cycleStartTimeNanos += deltaNanos;
+                    startTimeNanos += deltaNanos;
+                    currentDirection = currentDirection.getOppositeDirection();
                 }
             }
 
@@ -1633,21 +2631,22 @@ public final class Animator implements TickListener {
              * This code calculates and returns the fraction elapsed of the current cycle based on the current time and
              * the {@link Interpolator} used by the animation.
              */
-            final long cycleElapsedTimeNanos = getCycleElapsedTime(nanoTime);
-            final long currentCycleCount = (getTotalElapsedTime(nanoTime) - f_startDelayNanos) / f_durationNanos;
+            final long cycleElapsedTimeNanos = nanoTime - cycleStartTimeNanos;
+            final long currentCycleCount =
+                (nanoTime - startTimeNanos - f_spec.f_startDelayNanos) / f_spec.f_durationNanos;
 
             double fractionScratch;
 
-            if (f_repeatCount != INFINITE && currentCycleCount >= f_repeatCount) {
+            if (f_spec.f_repeatCount != INFINITE && currentCycleCount >= f_spec.f_repeatCount) {
                 /*
                  * Animation End: Stop based on specified end behavior.
                  */
-                switch (f_endBehavior) {
+                switch (f_spec.f_endBehavior) {
                     case HOLD:
                         /*
                          * HOLD requires setting the final end value.
                          */
-                        if (f_currentDirection == Direction.BACKWARD) {
+                        if (currentDirection == Direction.BACKWARD) {
                             fractionScratch = 0;
                         }
                         else {
@@ -1662,28 +2661,28 @@ public final class Animator implements TickListener {
                         break;
                     default:
                         throw new IllegalStateException(
-                            I18N.err(2, EndBehavior.class.getName(), f_endBehavior.toString()));
+                            I18N.err(2, EndBehavior.class.getName(), f_spec.f_endBehavior.toString()));
                 }
                 timeToStop = true;
             }
-            else if (cycleElapsedTimeNanos > f_durationNanos) {
+            else if (cycleElapsedTimeNanos > f_spec.f_durationNanos) {
                 /*
                  * Animation Cycle End: Time to stop or change the behavior of the timer.
                  */
-                final long overCycleTimeNanos = cycleElapsedTimeNanos % f_durationNanos;
-                fractionScratch = (double) overCycleTimeNanos / (double) f_durationNanos;
+                final long overCycleTimeNanos = cycleElapsedTimeNanos % f_spec.f_durationNanos;
+                fractionScratch = (double) overCycleTimeNanos / (double) f_spec.f_durationNanos;
                 /*
                  * Set a new start time for this cycle.
                  */
-                f_cycleStartTimeNanos = nanoTime - overCycleTimeNanos;
+                cycleStartTimeNanos = nanoTime - overCycleTimeNanos;
 
-                if (f_repeatBehavior == RepeatBehavior.REVERSE) {
+                if (f_spec.f_repeatBehavior == RepeatBehavior.REVERSE) {
                     /*
                      * Reverse the direction of the animation.
                      */
-                    f_currentDirection = f_currentDirection.getOppositeDirection();
+                    currentDirection = currentDirection.getOppositeDirection();
                 }
-                if (f_currentDirection == Direction.BACKWARD) {
+                if (currentDirection == Direction.BACKWARD) {
                     fractionScratch = 1 - fractionScratch;
                 }
                 notifyRepeat = true;
@@ -1693,8 +2692,8 @@ public final class Animator implements TickListener {
                  * Animation Mid-Stream: Calculate fraction of animation between start and end times and send fraction
                  * to target.
                  */
-                fractionScratch = (double) cycleElapsedTimeNanos / (double) f_durationNanos;
-                if (f_currentDirection == Direction.BACKWARD) {
+                fractionScratch = (double) cycleElapsedTimeNanos / (double) f_spec.f_durationNanos;
+                if (currentDirection == Direction.BACKWARD) {
                     /*
                      * If this is a backwards cycle, want to send the inverse fraction; how much from start to finish,
                      * not finish to start.
@@ -1707,20 +2706,30 @@ public final class Animator implements TickListener {
                 fractionScratch = Math.min(fractionScratch, 1.0);
                 fractionScratch = Math.max(fractionScratch, 0.0);
             }
-            fraction = f_interpolator.interpolate(fractionScratch);
-        } // lock release
+            fraction = f_spec.f_interpolator.interpolate(fractionScratch);
+
+            final boolean changed =
+                notifyOfReverse || startTimeNanos != state.f_startTimeNanos
+                    || cycleStartTimeNanos != state.f_cycleStartTimeNanos
+                    || currentDirection != state.f_currentDirection;
+            if (!changed || casState(state,
+                new RunState(state.f_running, state.f_completion, false, state.f_beginPending, startTimeNanos,
+                    cycleStartTimeNanos, 0, currentDirection, 0))) {
+                break;
+            }
+        }
 
-        if (notifyOfReverse && !f_targets.isEmpty()) {
+        if (notifyOfReverse && f_targets.length != 0) {
             for (TimingTarget target : f_targets) {
                 target.reverse(this);
             }
         }
-        if (notifyRepeat && !f_targets.isEmpty()) {
+        if (notifyRepeat && f_targets.length != 0) {
             for (TimingTarget target : f_targets) {
                 target.repeat(this);
             }
         }
-        if (!f_targets.isEmpty()) {
+        if (f_targets.length != 0) {
             for (TimingTarget target : f_targets) {
                 target.timingEvent(this, fraction);
             }
@@ -0,0 +1,952 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.Arrays;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.Animator.Direction;
+import org.jdesktop.core.animation.timing.Animator.EndBehavior;
+import org.jdesktop.core.animation.timing.Animator.RepeatBehavior;
+import org.jdesktop.core.animation.timing.TimingSource.PredictableTickListener;
+import org.jdesktop.core.animation.timing.TimingSource.ThreadAffineTickListener;
+import org.jdesktop.core.animation.timing.TimingSource.TickListener;
+
+/**
+ * This class runs a large number of simple animations as a single unit. Each animation in the group is identified by
+ * an index, returned from {@link #add(Animator)}, and is configured from a template {@link Animator}. The group
+ * registers itself as a single {@link TickListener} with its timing source and, each tick, computes the fractions of
+ * all of its running animations in one pass over primitive arrays. This avoids the per-animation monitor, tick
+ * listener registration, and target list iteration that an {@link Animator} has, which matters when many thousands of
+ * animations run at once.
+ * <p>
+ * For example, this code animates 10,000 particles, each using the same one second template:
+ *
+ * <pre>
+ * Animator template = new Animator.Builder(source).setDuration(1, TimeUnit.SECONDS).build();
+ * AnimatorGroup group = new AnimatorGroup(source, particleTarget);
+ * for (int i = 0; i &lt; 10000; i++) {
+ *     group.add(template);
+ * }
+ * group.startAll();
+ * </pre>
+ *
+ * The begin, repeat, reverse, and end semantics of each animation in the group match those of an {@link Animator}
+ * built with the same settings as its template, except that the {@link Target#end(AnimatorGroup, int)} callback is
+ * made on the same tick that the final timing event is sent, rather than on the next tick. Only the settings of the
+ * template are used, its timing source, timing targets, and thread affinity are ignored.
+ * <p>
+ * Callbacks to the group's {@link Target} are made in the thread context of the group's timing source, even if
+ * parallel dispatch has been turned on for the timing source, unless the group was constructed with
+ * {@link #AnimatorGroup(TimingSource, Target, boolean)} to allow them in any thread. For each tick of time the
+ * callbacks for an animation are made in the order: begin, reverse, repeat, timing event, and end. Animations are
+ * visited in index order.
+ * <p>
+ * Animations cannot be removed from a group, however, they may be started and stopped any number of times.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see Animator
+ */
+public final class AnimatorGroup implements PredictableTickListener, ThreadAffineTickListener {
+
+    /**
+     * This interface provides the methods which are called by an {@link AnimatorGroup} during the course of the
+     * timing sequence of each of its animations. It mirrors {@link TimingTarget} but identifies the animation by its
+     * index in the group.
+     */
+    public interface Target {
+
+        /**
+         * Called once when the animation at the passed index begins.
+         *
+         * @param group
+         *            the animation group.
+         * @param index
+         *            the index of the animation in the group.
+         */
+        void begin(AnimatorGroup group, int index);
+
+        /**
+         * Called once when the animation at the passed index ends.
+         *
+         * @param group
+         *            the animation group.
+         * @param index
+         *            the index of the animation in the group.
+         */
+        void end(AnimatorGroup group, int index);
+
+        /**
+         * Called when the animation at the passed index repeats its animation cycle.
+         *
+         * @param group
+         *            the animation group.
+         * @param index
+         *            the index of the animation in the group.
+         */
+        void repeat(AnimatorGroup group, int index);
+
+        /**
+         * Called when the animation at the passed index is reversed via {@link AnimatorGroup#reverseNow(int)}.
+         *
+         * @param group
+         *            the animation group.
+         * @param index
+         *            the index of the animation in the group.
+         */
+        void reverse(AnimatorGroup group, int index);
+
+        /**
+         * Receives all of the timing events of the animation at the passed index.
+         *
+         * @param group
+         *            the animation group.
+         * @param index
+         *            the index of the animation in the group.
+         * @param fraction
+         *            the fraction of completion between the start and end of the current cycle.
+         */
+        void timingEvent(AnimatorGroup group, int index, double fraction);
+    }
+
+    /**
+     * Implements the {@link Target} interface providing stubs for all methods. Subclasses can override only the
+     * methods of interest.
+     */
+    public static class TargetAdapter implements Target {
+
+        @Override
+        public void begin(AnimatorGroup group, int index) {
+            // default is to do nothing
+        }
+
+        @Override
+        public void end(AnimatorGroup group, int index) {
+            // default is to do nothing
+        }
+
+        @Override
+        public void repeat(AnimatorGroup group, int index) {
+            // default is to do nothing
+        }
+
+        @Override
+        public void reverse(AnimatorGroup group, int index) {
+            // default is to do nothing
+        }
+
+        @Override
+        public void timingEvent(AnimatorGroup group, int index, double fraction) {
+            // default is to do nothing
+        }
+    }
+
+    /*
+     * Configuration flags, one byte per animation.
+     */
+
+    static final byte CONFIG_REVERSE_ON_REPEAT = 1;
+
+    static final byte CONFIG_RESET_AT_END = 2;
+
+    static final byte CONFIG_START_BACKWARD = 4;
+
+    /*
+     * Run state flags, one byte per animation.
+     */
+
+    static final byte STATE_RUNNING = 1;
+
+    static final byte STATE_BACKWARD = 2;
+
+    static final byte STATE_STOPPING = 4;
+
+    static final byte STATE_NOTIFY_END = 8;
+
+    static final byte STATE_BEGIN_PENDING = 16;
+
+    /*
+     * Callbacks to make after the per-tick pass, one byte per animation.
+     */
+
+    static final byte EVENT_BEGIN = 1;
+
+    static final byte EVENT_REVERSE = 2;
+
+    static final byte EVENT_REPEAT = 4;
+
+    static final byte EVENT_TIMING = 8;
+
+    static final byte EVENT_END = 16;
+
+    final TimingSource f_timingSource;
+
+    final Target f_target;
+
+    final boolean f_threadAffine;
+
+    /*
+     * Mutable state, all accesses must be guarded by a lock on this. The arrays are replaced, not mutated in place,
+     * when the group grows so that the dispatch loop can safely use arrays it read while holding the lock.
+     */
+
+    int f_size;
+
+    long[] f_durationNanos;
+
+    long[] f_startDelayNanos;
+
+    long[] f_repeatCount;
+
+    Interpolator[] f_interpolators;
+
+    byte[] f_config;
+
+    byte[] f_state;
+
+    long[] f_cycleStartTimeNanos;
+
+    long[] f_cycleIndex;
+
+    long[] f_pauseBeginTimeNanos;
+
+    int[] f_reverseNowCallCount;
+
+    double[] f_fractions;
+
+    /**
+     * The events, and the fractions for {@link Target#timingEvent(AnimatorGroup, int, double)}, to deliver in the
+     * callback pass of a tick. These are only used by {@link #timingSourceTick(TimingSource, long)}, which fills them
+     * holding the lock and reads them after releasing it. A timing source never overlaps its ticks, so nothing else
+     * writes them during the callback pass, even if an animation is started or a fraction is read concurrently.
+     */
+    byte[] f_tickEvents = new byte[0];
+
+    double[] f_tickFractions = new double[0];
+
+    /**
+     * The number of animations in the group that are running.
+     */
+    int f_runningCount;
+
+    /**
+     * {@code true} if this group is registered as a tick listener of its timing source.
+     */
+    boolean f_registered;
+
+    /**
+     * Constructs an empty animation group that makes its callbacks in the thread context of its timing source.
+     *
+     * @param timingSource
+     *            the timing source for all the animations in the group.
+     * @param target
+     *            the target that receives the callbacks for all the animations in the group.
+     *
+     * @throws IllegalArgumentException
+     *             if either parameter is {@code null}.
+     */
+    public AnimatorGroup(TimingSource timingSource, Target target) {
+        this(timingSource, target, true);
+    }
+
+    /**
+     * Constructs an empty animation group.
+     *
+     * @param timingSource
+     *            the timing source for all the animations in the group.
+     * @param target
+     *            the target that receives the callbacks for all the animations in the group.
+     * @param threadAffine
+     *            {@code true} if the group must make its callbacks in the thread context of its timing source,
+     *            {@code false} if it may make them in any thread the timing source dispatches to when parallel
+     *            dispatch is on. Only pass {@code false} if <tt>target</tt> is safe to call in any thread.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>timingSource</tt> or <tt>target</tt> is {@code null}.
+     *
+     * @see TimingSource#setParallelDispatch(java.util.concurrent.Executor, int)
+     */
+    public AnimatorGroup(TimingSource timingSource, Target target, boolean threadAffine) {
+        if (timingSource == null) {
+            throw new IllegalArgumentException(I18N.err(1, "timingSource"));
+        }
+        if (target == null) {
+            throw new IllegalArgumentException(I18N.err(1, "target"));
+        }
+        f_timingSource = timingSource;
+        f_target = target;
+        f_threadAffine = threadAffine;
+        allocate(16);
+    }
+
+    /**
+     * Gets if this group makes its callbacks only in the thread context of its timing source.
+     *
+     * @return {@code true} if callbacks are only made in the thread context of the timing source, {@code false} if
+     *         they may be made in any thread when the timing source notifies its tick listeners in parallel.
+     */
+    @Override
+    public boolean isThreadAffine() {
+        return f_threadAffine;
+    }
+
+    /**
+     * Gets the timing source for this animation group.
+     *
+     * @return a timing source.
+     */
+    public TimingSource getTimingSource() {
+        return f_timingSource;
+    }
+
+    /**
+     * Gets the number of animations in this group.
+     *
+     * @return the number of animations in this group.
+     */
+    public int size() {
+        synchronized (this) {
+            return f_size;
+        }
+    }
+
+    /**
+     * Gets the number of animations in this group that are running.
+     *
+     * @return the number of animations in this group that are running.
+     */
+    public int getRunningCount() {
+        synchronized (this) {
+            return f_runningCount;
+        }
+    }
+
+    /**
+     * Adds a new animation to this group configured with the duration, start delay, repeat count, repeat behavior,
+     * end behavior, start direction, and interpolator of the passed template. The timing source and timing targets of
+     * the template are ignored.
+     *
+     * @param template
+     *            an animation to copy settings from.
+     * @return the index of the new animation in this group.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>template</tt> is {@code null}.
+     */
+    public int add(Animator template) {
+        if (template == null) {
+            throw new IllegalArgumentException(I18N.err(1, "template"));
+        }
+        return add(template.getSpec());
+    }
+
+    /**
+     * Adds a new animation to this group configured with the duration, start delay, repeat count, repeat behavior,
+     * end behavior, start direction, and interpolator of the passed specification. The timing source and timing
+     * targets of the specification are ignored.
+     *
+     * @param spec
+     *            an animation specification to copy settings from.
+     * @return the index of the new animation in this group.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>spec</tt> is {@code null}.
+     */
+    public int add(AnimatorSpec spec) {
+        if (spec == null) {
+            throw new IllegalArgumentException(I18N.err(1, "spec"));
+        }
+        byte config = 0;
+        if (spec.getRepeatBehavior() == RepeatBehavior.REVERSE) {
+            config |= CONFIG_REVERSE_ON_REPEAT;
+        }
+        if (spec.getEndBehavior() == EndBehavior.RESET) {
+            config |= CONFIG_RESET_AT_END;
+        }
+        if (spec.getStartDirection() == Direction.BACKWARD) {
+            config |= CONFIG_START_BACKWARD;
+        }
+        synchronized (this) {
+            if (f_size == f_config.length) {
+                allocate(f_size * 2);
+            }
+            final int index = f_size++;
+            f_durationNanos[index] = spec.f_durationNanos;
+            f_startDelayNanos[index] = spec.f_startDelayNanos;
+            f_repeatCount[index] = spec.getRepeatCount();
+            f_interpolators[index] = spec.getInterpolator();
+            f_config[index] = config;
+            return index;
+        }
+    }
+
+    /**
+     * Starts the animation at the passed index in its start direction.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     *
+     * @throws IllegalStateException
+     *             if the animation is already running.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public void start(int index) {
+        startHelper(index, false, "start(int)");
+    }
+
+    /**
+     * Starts the animation at the passed index in the reverse of its start direction.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     *
+     * @throws IllegalStateException
+     *             if the animation is already running.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public void startReverse(int index) {
+        startHelper(index, true, "startReverse(int)");
+    }
+
+    /**
+     * Starts every animation in this group that is not running. All the animations started by this call share the
+     * same start time.
+     *
+     * @return the number of animations started.
+     */
+    public int startAll() {
+        final long nanoTime = f_timingSource.getScaledNanoTime();
+        int count = 0;
+        synchronized (this) {
+            for (int index = 0; index < f_size; index++) {
+                if ((f_state[index] & STATE_RUNNING) == 0) {
+                    startAt(index, false, nanoTime);
+                    count++;
+                }
+            }
+            registerIfNeeded();
+        }
+        return count;
+    }
+
+    /**
+     * Stops the animation at the passed index. The final {@link Target#end(AnimatorGroup, int)} callback for the
+     * animation is made at the next tick of the timing source.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return {@code true} if the animation was running and was successfully stopped, {@code false} if the animation
+     *         was not running or was in the process of stopping.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public boolean stop(int index) {
+        return stopHelper(index, true);
+    }
+
+    /**
+     * Stops the animation at the passed index without a call to {@link Target#end(AnimatorGroup, int)}.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return {@code true} if the animation was running and was successfully cancelled, {@code false} if the
+     *         animation was not running or was in the process of stopping.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public boolean cancel(int index) {
+        return stopHelper(index, false);
+    }
+
+    /**
+     * Stops every running animation in this group.
+     *
+     * @return the number of animations stopped.
+     */
+    public int stopAll() {
+        int count = 0;
+        synchronized (this) {
+            for (int index = 0; index < f_size; index++) {
+                final byte state = f_state[index];
+                if ((state & STATE_RUNNING) != 0 && (state & STATE_STOPPING) == 0) {
+                    f_state[index] = (byte) (state | STATE_STOPPING | STATE_NOTIFY_END);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pauses the animation at the passed index. Pausing a non-running, stopping, or already paused animation has no
+     * effect.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public void pause(int index) {
+        final long nanoTime = f_timingSource.getScaledNanoTime();
+        synchronized (this) {
+            checkIndex(index);
+            if (canControl(index)) {
+                f_pauseBeginTimeNanos[index] = nanoTime;
+            }
+        }
+    }
+
+    /**
+     * Resumes the paused animation at the passed index. Resuming an animation that is not paused has no effect.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public void resume(int index) {
+        final long nanoTime = f_timingSource.getScaledNanoTime();
+        synchronized (this) {
+            checkIndex(index);
+            if (isPausedHelper(index)) {
+                f_cycleStartTimeNanos[index] += nanoTime - f_pauseBeginTimeNanos[index];
+                f_pauseBeginTimeNanos[index] = 0;
+            }
+        }
+    }
+
+    /**
+     * Reverses the direction of the animation at the passed index if it is running and is not paused or stopping. The
+     * actual reverse occurs at the next tick of the timing source.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return {@code true} if the animation was successfully reversed, {@code false} if the attempt to reverse the
+     *         animation failed.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public boolean reverseNow(int index) {
+        synchronized (this) {
+            checkIndex(index);
+            if (canControl(index)) {
+                f_reverseNowCallCount[index]++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the animation at the passed index has been started and has not yet completed. A paused
+     * animation is still considered to be running.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return {@code true} if the animation is running, {@code false} if it is not.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public boolean isRunning(int index) {
+        synchronized (this) {
+            checkIndex(index);
+            return (f_state[index] & STATE_RUNNING) != 0;
+        }
+    }
+
+    /**
+     * Returns whether the animation at the passed index is currently running&mdash;but paused.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return {@code true} if the animation is currently running&mdash;but paused, {@code false} otherwise.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public boolean isPaused(int index) {
+        synchronized (this) {
+            checkIndex(index);
+            return isPausedHelper(index);
+        }
+    }
+
+    /**
+     * Returns the current direction of the animation at the passed index.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return the current direction of the animation.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public Direction getCurrentDirection(int index) {
+        synchronized (this) {
+            checkIndex(index);
+            final boolean backward;
+            if ((f_state[index] & STATE_RUNNING) != 0) {
+                backward = (f_state[index] & STATE_BACKWARD) != 0;
+            }
+            else {
+                backward = (f_config[index] & CONFIG_START_BACKWARD) != 0;
+            }
+            return backward ? Direction.BACKWARD : Direction.FORWARD;
+        }
+    }
+
+    /**
+     * Gets the most recent fraction computed for the animation at the passed index. This is the value that was passed
+     * to the last {@link Target#timingEvent(AnimatorGroup, int, double)} callback for the animation.
+     *
+     * @param index
+     *            the index of an animation in this group.
+     * @return the most recent fraction computed for the animation.
+     *
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range.
+     */
+    public double getFraction(int index) {
+        synchronized (this) {
+            checkIndex(index);
+            return f_fractions[index];
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(AnimatorGroup.class.getSimpleName()).append('@').append(Integer.toHexString(hashCode()));
+        synchronized (this) {
+            b.append("(size=").append(f_size);
+            b.append(", running=").append(f_runningCount);
+        }
+        b.append(", timingSource=").append(f_timingSource.toString());
+        b.append(')');
+        return b.toString();
+    }
+
+    /**
+     * Not intended for use by client code.
+     */
+    @Override
+    public long getNextTickTime(long sourceNanoTime) {
+        final long nanoTime = f_timingSource.toScaledNanoTime(sourceNanoTime);
+        long next = Long.MAX_VALUE;
+        synchronized (this) {
+            for (int index = 0; index < f_size; index++) {
+                final byte state = f_state[index];
+                if ((state & STATE_RUNNING) == 0) {
+                    continue;
+                }
+                final long time;
+                if ((state & (STATE_STOPPING | STATE_BEGIN_PENDING)) != 0 || f_reverseNowCallCount[index] > 0) {
+                    return sourceNanoTime + 1;
+                }
+                else if (f_pauseBeginTimeNanos[index] != 0) {
+                    continue;
+                }
+                else if (f_cycleStartTimeNanos[index] >= nanoTime) {
+                    time = f_cycleStartTimeNanos[index] + 1;
+                }
+                else {
+                    final long cycleEndTimeNanos = f_cycleStartTimeNanos[index] + f_durationNanos[index];
+                    time = cycleEndTimeNanos > nanoTime ? cycleEndTimeNanos : nanoTime + 1;
+                }
+                if (time < next) {
+                    next = time;
+                }
+            }
+        }
+        return f_timingSource.fromScaledNanoTime(next);
+    }
+
+    /**
+     * Not intended for use by client code.
+     */
+    @Override
+    public void timingSourceTick(TimingSource source, long sourceNanoTime) {
+        final long nanoTime = source.toScaledNanoTime(sourceNanoTime);
+        final int size;
+        final byte[] events;
+        final double[] fractions;
+        synchronized (this) {
+            size = f_size;
+            if (f_tickEvents.length < size) {
+                f_tickEvents = new byte[f_fractions.length];
+                f_tickFractions = new double[f_fractions.length];
+            }
+            events = f_tickEvents;
+            fractions = f_tickFractions;
+            final byte[] state = f_state;
+            final long[] cycleStart = f_cycleStartTimeNanos;
+            final long[] durationNanos = f_durationNanos;
+            for (int index = 0; index < size; index++) {
+                byte s = state[index];
+                if ((s & STATE_RUNNING) == 0) {
+                    events[index] = 0;
+                    continue;
+                }
+                byte e = 0;
+                if ((s & STATE_BEGIN_PENDING) != 0) {
+                    e |= EVENT_BEGIN;
+                    s &= ~STATE_BEGIN_PENDING;
+                }
+                if ((s & STATE_STOPPING) != 0) {
+                    /*
+                     * Stopped by client code: finish up now.
+                     */
+                    if ((s & STATE_NOTIFY_END) != 0) {
+                        e |= EVENT_END;
+                    }
+                    state[index] = 0;
+                    f_runningCount--;
+                    events[index] = e;
+                    continue;
+                }
+                if (f_pauseBeginTimeNanos[index] != 0 || cycleStart[index] >= nanoTime) {
+                    /*
+                     * Paused or waiting for the start delay to elapse.
+                     */
+                    state[index] = s;
+                    events[index] = e;
+                    continue;
+                }
+                final long duration = durationNanos[index];
+                if (f_reverseNowCallCount[index] > 0) {
+                    e |= EVENT_REVERSE;
+                    final boolean reverseCallsCancelOut = (f_reverseNowCallCount[index] & 1) == 0;
+                    f_reverseNowCallCount[index] = 0;
+                    if (!reverseCallsCancelOut) {
+                        final long timeLeft = duration - (nanoTime - cycleStart[index]);
+                        cycleStart[index] = nanoTime - timeLeft;
+                        s ^= STATE_BACKWARD;
+                    }
+                }
+                final long elapsed = nanoTime - cycleStart[index];
+                double fraction;
+                if (elapsed >= duration) {
+                    /*
+                     * Only divide when a cycle boundary has been reached.
+                     */
+                    final long cycles = elapsed / duration;
+                    final long repeatCount = f_repeatCount[index];
+                    if (repeatCount != Animator.INFINITE && f_cycleIndex[index] + cycles >= repeatCount) {
+                        /*
+                         * Animation End: Stop based on specified end behavior.
+                         */
+                        if ((f_config[index] & CONFIG_RESET_AT_END) != 0 || (s & STATE_BACKWARD) != 0) {
+                            fraction = 0;
+                        }
+                        else {
+                            fraction = 1;
+                        }
+                        e |= EVENT_END;
+                        s = 0;
+                        f_runningCount--;
+                    }
+                    else if (elapsed > duration) {
+                        /*
+                         * Animation Cycle End: Set a new start time for this cycle.
+                         */
+                        final long overCycleTimeNanos = elapsed - cycles * duration;
+                        cycleStart[index] = nanoTime - overCycleTimeNanos;
+                        f_cycleIndex[index] += cycles;
+                        if ((f_config[index] & CONFIG_REVERSE_ON_REPEAT) != 0) {
+                            s ^= STATE_BACKWARD;
+                        }
+                        fraction = (double) overCycleTimeNanos / (double) duration;
+                        if ((s & STATE_BACKWARD) != 0) {
+                            fraction = 1 - fraction;
+                        }
+                        e |= EVENT_REPEAT;
+                    }
+                    else {
+                        fraction = (s & STATE_BACKWARD) != 0 ? 0 : 1;
+                    }
+                }
+                else {
+                    /*
+                     * Animation Mid-Stream.
+                     */
+                    fraction = (double) elapsed / (double) duration;
+                    if ((s & STATE_BACKWARD) != 0) {
+                        fraction = 1.0 - fraction;
+                    }
+                    fraction = Math.max(Math.min(fraction, 1.0), 0.0);
+                }
+                fraction = f_interpolators[index].interpolate(fraction);
+                f_fractions[index] = fraction;
+                fractions[index] = fraction;
+                state[index] = s;
+                events[index] = (byte) (e | EVENT_TIMING);
+            }
+            if (f_runningCount == 0 && f_registered) {
+                unregister();
+            }
+        } // lock release
+
+        /*
+         * Make the callbacks without holding the lock.
+         */
+        for (int index = 0; index < size; index++) {
+            final byte e = events[index];
+            if (e == 0) {
+                continue;
+            }
+            if ((e & EVENT_BEGIN) != 0) {
+                f_target.begin(this, index);
+            }
+            if ((e & EVENT_REVERSE) != 0) {
+                f_target.reverse(this, index);
+            }
+            if ((e & EVENT_REPEAT) != 0) {
+                f_target.repeat(this, index);
+            }
+            if ((e & EVENT_TIMING) != 0) {
+                f_target.timingEvent(this, index, fractions[index]);
+            }
+            if ((e & EVENT_END) != 0) {
+                f_target.end(this, index);
+            }
+        }
+    }
+
+    /**
+     * Factors out common code between {@link #start(int)} and {@link #startReverse(int)}.
+     */
+    void startHelper(int index, boolean reverse, String methodName) {
+        final long nanoTime = f_timingSource.getScaledNanoTime();
+        synchronized (this) {
+            checkIndex(index);
+            if ((f_state[index] & STATE_RUNNING) != 0) {
+                throw new IllegalStateException(I18N.err(12, methodName));
+            }
+            startAt(index, reverse, nanoTime);
+            registerIfNeeded();
+        }
+    }
+
+    /**
+     * Sets up the run state of the animation at the passed index. Must be called holding a lock on this.
+     */
+    void startAt(int index, boolean reverse, long nanoTime) {
+        boolean backward = (f_config[index] & CONFIG_START_BACKWARD) != 0;
+        if (reverse) {
+            backward = !backward;
+        }
+        byte state = STATE_RUNNING | STATE_BEGIN_PENDING;
+        if (backward) {
+            state |= STATE_BACKWARD;
+        }
+        f_state[index] = state;
+        f_cycleStartTimeNanos[index] = nanoTime + f_startDelayNanos[index];
+        f_cycleIndex[index] = 0;
+        f_pauseBeginTimeNanos[index] = 0;
+        f_reverseNowCallCount[index] = 0;
+        f_fractions[index] = backward ? 1 : 0;
+        f_runningCount++;
+    }
+
+    /**
+     * Helper routine to stop the animation at the passed index.
+     */
+    boolean stopHelper(int index, boolean notify) {
+        synchronized (this) {
+            checkIndex(index);
+            final byte state = f_state[index];
+            if ((state & STATE_RUNNING) == 0 || (state & STATE_STOPPING) != 0) {
+                return false;
+            }
+            f_state[index] = (byte) (state | STATE_STOPPING | (notify ? STATE_NOTIFY_END : 0));
+            return true;
+        }
+    }
+
+    /**
+     * Must be called holding a lock on this.
+     */
+    boolean canControl(int index) {
+        final byte state = f_state[index];
+        return (state & STATE_RUNNING) != 0 && (state & STATE_STOPPING) == 0 && f_pauseBeginTimeNanos[index] == 0;
+    }
+
+    /**
+     * Must be called holding a lock on this.
+     */
+    boolean isPausedHelper(int index) {
+        final byte state = f_state[index];
+        return (state & STATE_RUNNING) != 0 && (state & STATE_STOPPING) == 0 && f_pauseBeginTimeNanos[index] != 0;
+    }
+
+    /**
+     * Must be called holding a lock on this.
+     */
+    void checkIndex(int index) {
+        if (index < 0 || index >= f_size) {
+            throw new IndexOutOfBoundsException("index " + index + " is not in [0," + f_size + ")");
+        }
+    }
+
+    /**
+     * Registers this group with its timing source if it is not already registered. Must be called holding a lock on
+     * this.
+     * <p>
+     * Registration and unregistration are done while holding the lock so that the registered state cannot be changed
+     * by a tick concurrently with a start. Neither call on the timing source blocks.
+     */
+    void registerIfNeeded() {
+        if (!f_registered && f_runningCount > 0) {
+            f_registered = true;
+            f_timingSource.addTickListener(this);
+        }
+    }
+
+    /**
+     * Must be called holding a lock on this.
+     */
+    void unregister() {
+        f_registered = false;
+        f_timingSource.removeTickListener(this);
+    }
+
+    /**
+     * Sets the capacity of all the per-animation arrays. Must be called holding a lock on this, or from the
+     * constructor.
+     */
+    void allocate(int capacity) {
+        if (f_config == null) {
+            f_durationNanos = new long[capacity];
+            f_startDelayNanos = new long[capacity];
+            f_repeatCount = new long[capacity];
+            f_interpolators = new Interpolator[capacity];
+            f_config = new byte[capacity];
+            f_state = new byte[capacity];
+            f_cycleStartTimeNanos = new long[capacity];
+            f_cycleIndex = new long[capacity];
+            f_pauseBeginTimeNanos = new long[capacity];
+            f_reverseNowCallCount = new int[capacity];
+            f_fractions = new double[capacity];
+        }
+        else {
+            f_durationNanos = Arrays.copyOf(f_durationNanos, capacity);
+            f_startDelayNanos = Arrays.copyOf(f_startDelayNanos, capacity);
+            f_repeatCount = Arrays.copyOf(f_repeatCount, capacity);
+            f_interpolators = Arrays.copyOf(f_interpolators, capacity);
+            f_config = Arrays.copyOf(f_config, capacity);
+            f_state = Arrays.copyOf(f_state, capacity);
+            f_cycleStartTimeNanos = Arrays.copyOf(f_cycleStartTimeNanos, capacity);
+            f_cycleIndex = Arrays.copyOf(f_cycleIndex, capacity);
+            f_pauseBeginTimeNanos = Arrays.copyOf(f_pauseBeginTimeNanos, capacity);
+            f_reverseNowCallCount = Arrays.copyOf(f_reverseNowCallCount, capacity);
+            f_fractions = Arrays.copyOf(f_fractions, capacity);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.jdesktop.core.animation.timing.Animator.Direction;
+import org.jdesktop.core.animation.timing.Animator.EndBehavior;
+import org.jdesktop.core.animation.timing.Animator.RepeatBehavior;
+
+/**
+ * The immutable configuration of an animation. A specification can be shared by any number of {@link Animator}
+ * instances, each of which only holds a reference to it, its own timing targets, and its own run state. This makes
+ * creating many similar animations from a template cheap in both time and memory.
+ * <p>
+ * Instances are obtained from {@link Animator.Builder#buildSpec()} and animations are created from them by calling
+ * {@link #newAnimator()}. The specification of an existing animation is returned by {@link Animator#getSpec()}.
+ * <p>
+ * A typical use, where {@code myTarget} is a {@link TimingTarget} object, would be
+ *
+ * <pre>
+ * AnimatorSpec spec = new Animator.Builder().setDuration(500, TimeUnit.MILLISECONDS).setRepeatCount(4).buildSpec();
+ *
+ * for (int i = 0; i &lt; 10000; i++) {
+ *   Animator animator = spec.newAnimator();
+ *   animator.addTarget(myTarget);
+ *   animator.start();
+ * }
+ * </pre>
+ *
+ * This class is immutable and thread-safe.
+ *
+ * @see Animator.Builder#buildSpec()
+ */
+public final class AnimatorSpec {
+
+    /*
+     * Immutable state set by the builder. We use "default" to avoid synthetic accessors being generated.
+     */
+
+    final String f_debugName;
+
+    final long f_duration;
+
+    final TimeUnit f_durationTimeUnit;
+
+    final long f_durationNanos; // calculated
+
+    final EndBehavior f_endBehavior;
+
+    final Interpolator f_interpolator;
+
+    final RepeatBehavior f_repeatBehavior;
+
+    final long f_repeatCount;
+
+    final Direction f_startDirection;
+
+    final long f_startDelay;
+
+    final TimeUnit f_startDelayTimeUnit;
+
+    final long f_startDelayNanos; // calculated
+
+    final TimingSource f_timingSource;
+
+    final boolean f_disposeTimingSource; // at end
+
+    final boolean f_threadAffine;
+
+    /**
+     * The timing targets that each new animation starts with. This array is shared by the animations and is never
+     * mutated.
+     */
+    final TimingTarget[] f_targets;
+
+    /**
+     * The run state of an animation that has never been started. It is shared by every animation created from this
+     * specification.
+     */
+    final Animator.RunState f_idleState;
+
+    /**
+     * Constructs a specification.
+     * <p>
+     * This constructor should only be called from {@link Animator.Builder#buildSpec()}.
+     */
+    AnimatorSpec(String debugName, long duration, TimeUnit durationTimeUnit, EndBehavior endBehavior,
+        Interpolator interpolator, RepeatBehavior repeatBehavior, long repeatCount, Direction startDirection,
+        long startDelay, TimeUnit startDelayTimeUnit, TimingSource timingSource, boolean disposeTimingSource,
+        boolean threadAffine, Collection<TimingTarget> targets) {
+        f_debugName = debugName;
+        f_duration = duration;
+        f_durationTimeUnit = durationTimeUnit;
+        f_endBehavior = endBehavior;
+        f_interpolator = interpolator;
+        f_repeatBehavior = repeatBehavior;
+        f_repeatCount = repeatCount;
+        f_startDirection = startDirection;
+        f_startDelay = startDelay;
+        f_startDelayTimeUnit = startDelayTimeUnit;
+        f_timingSource = timingSource;
+        f_disposeTimingSource = disposeTimingSource;
+        f_threadAffine = threadAffine;
+        f_targets = targets.toArray(new TimingTarget[targets.size()]);
+
+        f_durationNanos = f_durationTimeUnit.toNanos(f_duration);
+        f_startDelayNanos = f_startDelayTimeUnit.toNanos(f_startDelay);
+        f_idleState = new Animator.RunState(false, null, false, false, 0, 0, 0, startDirection, 0);
+    }
+
+    /**
+     * Constructs a new animation that uses this specification. The new animation starts with the timing targets of
+     * this specification, but targets added to or removed from it do not affect this specification or any other
+     * animation.
+     *
+     * @return an animation.
+     */
+    public Animator newAnimator() {
+        return new Animator(this);
+    }
+
+    /**
+     * Gets the "debug" name of animations that use this specification.
+     *
+     * @return the "debug" name. May be {@code null}.
+     */
+    public String getDebugName() {
+        return f_debugName;
+    }
+
+    /**
+     * Gets the duration of one cycle of animations that use this specification. The units of this value are obtained
+     * by calling {@link #getDurationTimeUnit()}.
+     *
+     * @return the duration of one cycle.
+     */
+    public long getDuration() {
+        return f_duration;
+    }
+
+    /**
+     * Gets the time unit of the duration of one cycle of animations that use this specification.
+     *
+     * @return the time unit of the duration.
+     */
+    public TimeUnit getDurationTimeUnit() {
+        return f_durationTimeUnit;
+    }
+
+    /**
+     * Gets the behavior at the end of animations that use this specification.
+     *
+     * @return the behavior at the end of the animation.
+     */
+    public EndBehavior getEndBehavior() {
+        return f_endBehavior;
+    }
+
+    /**
+     * Gets the interpolator of animations that use this specification.
+     *
+     * @return the interpolation to use each animation cycle.
+     */
+    public Interpolator getInterpolator() {
+        return f_interpolator;
+    }
+
+    /**
+     * Gets the repeat behavior of animations that use this specification.
+     *
+     * @return the behavior for each successive animation cycle.
+     */
+    public RepeatBehavior getRepeatBehavior() {
+        return f_repeatBehavior;
+    }
+
+    /**
+     * Gets the number of times the animation cycle will repeat.
+     *
+     * @return number of times the animation cycle will repeat. This value is >= 1 or {@link Animator#INFINITE}.
+     */
+    public long getRepeatCount() {
+        return f_repeatCount;
+    }
+
+    /**
+     * Gets the start direction for the initial animation cycle.
+     *
+     * @return initial animation cycle direction.
+     */
+    public Direction getStartDirection() {
+        return f_startDirection;
+    }
+
+    /**
+     * Gets the start delay of animations that use this specification. The units of this value are obtained by calling
+     * {@link #getStartDelayTimeUnit()}.
+     *
+     * @return the start delay. A value of 0 means no start delay.
+     */
+    public long getStartDelay() {
+        return f_startDelay;
+    }
+
+    /**
+     * Gets the time unit of the start delay of animations that use this specification.
+     *
+     * @return the time unit of the start delay.
+     */
+    public TimeUnit getStartDelayTimeUnit() {
+        return f_startDelayTimeUnit;
+    }
+
+    /**
+     * Gets the timing source of animations that use this specification.
+     *
+     * @return a timing source.
+     */
+    public TimingSource getTimingSource() {
+        return f_timingSource;
+    }
+
+    /**
+     * Gets if animations that use this specification invoke {@link TimingSource#dispose()} on their timing source when
+     * they end.
+     *
+     * @return {@code true} if the timing source is disposed at the end of the animation, {@code false} if not.
+     */
+    public boolean getDisposeTimingSource() {
+        return f_disposeTimingSource;
+    }
+
+    /**
+     * Gets if animations that use this specification call their timing targets only in the thread context of their
+     * timing source.
+     *
+     * @return {@code true} if timing targets are only called in the thread context of the timing source, {@code false}
+     *         if they may be called in any thread.
+     */
+    public boolean isThreadAffine() {
+        return f_threadAffine;
+    }
+
+    /**
+     * Gets the list of {@link TimingTarget}s that new animations that use this specification start with.
+     * <p>
+     * The returned list is a copy and can be mutated freely.
+     *
+     * @return the initial {@link TimingTarget}s of animations that use this specification.
+     */
+    public ArrayList<TimingTarget> getTargets() {
+        return new ArrayList<TimingTarget>(Arrays.asList(f_targets));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(AnimatorSpec.class.getSimpleName()).append('@');
+        b.append(f_debugName != null ? f_debugName : Integer.toHexString(hashCode()));
+        b.append("(duration=").append(f_duration).append(' ').append(f_durationTimeUnit.toString());
+        b.append(", interpolator=").append(f_interpolator.toString());
+        b.append(", startDirection=").append(f_startDirection.toString());
+        b.append(", repeatBehavior=").append(f_repeatBehavior.toString());
+        b.append(", repeatCount=").append(f_repeatCount);
+        b.append(", endBehavior=").append(f_endBehavior.toString());
+        b.append(", startDelay=").append(f_startDelay).append(' ').append(f_startDelayTimeUnit.toString());
+        b.append(", timingSource=").append(f_timingSource.toString());
+        b.append(')');
+        return b.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package org.jdesktop.core.animation.timing;
+
+/**
+ * This interface provides a mechanism for evaluating between two boundary values of type <tt>int</tt> without boxing
+ * them. It is the primitive counterpart of {@link Evaluator}&lt;{@link Integer}&gt; used by {@link IntKeyFrames}.
+ * 
+ * @see Evaluator
+ */
+public interface IntEvaluator {
+
+    /**
+     * Evaluates between two boundary values. Typically implementations use linear parametric evaluation:
+     * 
+     * <pre>
+     * v = v0 + (v1 - v0) * fraction
+     * </pre>
+     * 
+     * @param v0
+     *            the value at a fraction of zero.
+     * @param v1
+     *            the value at a fraction of one.
+     * @param fraction
+     *            a fraction in the range [0,1].
+     * @return the value at the passed fraction.
+     * 
+     * @see Evaluator#evaluate(Object, Object, double)
+     */
+    int evaluate(int v0, int v1, double fraction);
+
+    /**
+     * Evaluates between each pair of boundary values in a range of two arrays at the same fraction. The result is the
+     * same as passing each pair to {@link #evaluate(int, int, double)}, which is what this default implementation does.
+     * <p>
+     * This is useful to animate many values, each between its own boundary values, at once. The built-in evaluators
+     * override this method with a loop over the arrays that makes no calls, which the JIT compiler can vectorize.
+     * 
+     * @param v0
+     *            the values at a fraction of zero.
+     * @param v1
+     *            the values at a fraction of one.
+     * @param fraction
+     *            a fraction in the range [0,1].
+     * @param out
+     *            the array that the values at the passed fraction are stored into, at the same indices as in
+     *            <tt>v0</tt> and <tt>v1</tt>. It may be the same array as <tt>v0</tt> or <tt>v1</tt>.
+     * @param from
+     *            the index of the first pair of boundary values, inclusive.
+     * @param to
+     *            the index of the last pair of boundary values, exclusive.
+     * 
+     * @throws ArrayIndexOutOfBoundsException
+     *             if the range is not within all three arrays.
+     */
+    default void evaluate(int[] v0, int[] v1, double fraction, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = evaluate(v0[i], v1[i], fraction);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.jdesktop.core.animation.timing;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.evaluators.EvaluatorInteger;
+import org.jdesktop.core.animation.timing.interpolators.LinearInterpolator;
+
+/**
+ * Key frames of <tt>int</tt> values. This class is the primitive counterpart of {@link KeyFrames}&lt;{@link
+ * Integer}&gt;: it is built the same way and returns the same interpolated values, but it holds its values in a
+ * <tt>int[]</tt> and evaluates them with a {@link IntEvaluator}, so no values are boxed. A numeric animation that uses
+ * the timing target returned by {@link PropertySetter#getTarget(IntKeyFrames, IntKeyFrames.Setter)} runs without
+ * allocating on each tick.
+ * <p>
+ * For example, here is an animation of the horizontal position of a shape that moves right and then back part way:
+ * 
+ * <pre>
+ * IntKeyFrames kf = new IntKeyFrames.Builder(0).addFrames(100, 50).build();
+ * TimingTarget tt = PropertySetter.getTarget(kf, x -&gt; shape.x = x);
+ * Animator animator = new Animator.Builder().setDuration(1, TimeUnit.SECONDS).addTarget(tt).build();
+ * animator.start();
+ * </pre>
+ * 
+ * This class is immutable and thread-safe.
+ * 
+ * @see KeyFrames
+ */
+public final class IntKeyFrames extends PrimitiveKeyFrames {
+
+    /**
+     * Receives the values of a key frames instance as an animation runs.
+     * 
+     * @see PropertySetter#getTarget(IntKeyFrames, IntKeyFrames.Setter)
+     */
+    public interface Setter {
+
+        /**
+         * Sets the value at the current time fraction of an animation.
+         * 
+         * @param value
+         *            the interpolated value.
+         */
+        void set(int value);
+    }
+
+    /**
+     * This class is used to construct {@link IntKeyFrames} instances.
+     * <p>
+     * Instances of this class are not thread safe and are intended to be thread-confined. However, the
+     * {@link IntKeyFrames} objects produces are thread-safe.
+     */
+    public static final class Builder {
+
+        private final PrimitiveKeyFrames.FrameList f_frames = new PrimitiveKeyFrames.FrameList();
+
+        private IntEvaluator f_evaluator = null;
+
+        /**
+         * Constructs an key frames builder instance.
+         */
+        public Builder() {
+            // Nothing to do
+        }
+
+        /**
+         * Constructs an key frames builder instance and specifies the first, or starting, key frame.
+         * 
+         * @param startValue
+         *            the key frame value at zero.
+         */
+        public Builder(int startValue) {
+            f_frames.add(startValue, 0, null);
+        }
+
+        /**
+         * Adds a frame to the list of key frames being built.
+         * <p>
+         * The time fraction when this fame occurs will be calculated, linearly, from the previous and next specified
+         * time fractions. The interpolator between the previous key frame and the one being added is set with
+         * {@link #setInterpolator(Interpolator)} or the default {@link LinearInterpolator} will be used.
+         * 
+         * @param value
+         *            the value for the key frame.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder addFrame(int value) {
+            f_frames.add(value, -1, null);
+            return this;
+        }
+
+        /**
+         * Adds a frame to the list of key frames being built.
+         * <p>
+         * The interpolator between the previous key frame and the one being added is set with
+         * {@link #setInterpolator(Interpolator)} or the default {@link LinearInterpolator} will be used.
+         * 
+         * @param value
+         *            the value for the key frame.
+         * @param atTimeFraction
+         *            the time fraction in the range [0,1] when the value should occur. A negative value indicates that
+         *            the time fraction when this fame occurs should be calculated, linearly, from the previous and next
+         *            specified time fractions.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder addFrame(int value, double atTimeFraction) {
+            f_frames.add(value, atTimeFraction, null);
+            return this;
+        }
+
+        /**
+         * Adds a frame to the list of key frames being built.
+         * <p>
+         * The time fraction when this fame occurs will be calculated, linearly, from the previous and next specified
+         * time fractions.
+         * 
+         * @param value
+         *            the value for the key frame.
+         * @param interpolator
+         *            the interpolator that should be used between the previous key frame and the one being added. A
+         *            {@code null} value indicates that either the interpolator set with
+         *            {@link #setInterpolator(Interpolator)} or the default {@link LinearInterpolator} should be used
+         *            for this key frame.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder addFrame(int value, Interpolator interpolator) {
+            f_frames.add(value, -1, interpolator);
+            return this;
+        }
+
+        /**
+         * Adds a frame to the list of key frames being built.
+         * 
+         * @param value
+         *            the value for the key frame.
+         * @param atTimeFraction
+         *            the time fraction in the range [0,1] when the value should occur. A negative value indicates that
+         *            the time fraction when this fame occurs should be calculated, linearly, from the previous and next
+         *            specified time fractions.
+         * @param interpolator
+         *            the interpolator that should be used between the previous key frame and the one being added. A
+         *            {@code null} value indicates that either the interpolator set with
+         *            {@link #setInterpolator(Interpolator)} or the default {@link LinearInterpolator} should be used
+         *            for this key frame.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder addFrame(int value, double atTimeFraction, Interpolator interpolator) {
+            f_frames.add(value, atTimeFraction, interpolator);
+            return this;
+        }
+
+        /**
+         * Adds a series of frames to the list of key frames being built.
+         * <p>
+         * This is a convenience method that invokes {@link #addFrame(int)} for each of the passed values.
+         * 
+         * @param values
+         *            a series values.
+         * @return this builder (to allow chained operations).
+         * 
+         * @throws IllegalArgumentException
+         *             if <tt>values</tt> is {@code null}.
+         */
+        public Builder addFrames(int... values) {
+            if (values == null) {
+                throw new IllegalArgumentException(I18N.err(1, "values"));
+            }
+            for (int value : values) {
+                addFrame(value);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the global interpolator to be used for the list of key frames being built. This value will override any
+         * interpolators set on individual frames.
+         * <p>
+         * A value of {@code null} will clear the global interpolator, if any, that was previously set via a call to
+         * this method and use the interpolators set on individual frames.
+         * 
+         * @param interpolator
+         *            a global interpolator, or {@code null} to clear any previously set global interpolator.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder setInterpolator(Interpolator interpolator) {
+            f_frames.setInterpolator(interpolator);
+            return this;
+        }
+
+        /**
+         * Sets the evaluator between values for the list of key frames being built.
+         * <p>
+         * Typically, this method does not need to be called because {@link #build()} uses linear parametric
+         * evaluation, the same evaluation as {@link EvaluatorInteger}, by default.
+         * <p>
+         * A value of {@code null} will clear the evaluator, if any, that was previously set via a call to this method.
+         * 
+         * @param evaluator
+         *            an evaluator, or {@code null} to clear any previously set evaluator.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder setEvaluator(IntEvaluator evaluator) {
+            f_evaluator = evaluator;
+            return this;
+        }
+
+        /**
+         * Constructs a key frames instance with the settings defined by this builder.
+         * 
+         * @return a key frames instance.
+         * 
+         * @throws IllegalArgumentException
+         *             if the settings defined by this builder are invalid and are not conducive to the construction of
+         *             a valid key frames instance.
+         */
+        public IntKeyFrames build() {
+            final double[] values = f_frames.values();
+            final int[] result = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = (int) values[i];
+            }
+            return new IntKeyFrames(result, f_frames.timeFractions(), f_frames.interpolators(),
+                f_evaluator != null ? f_evaluator : LINEAR);
+        }
+    }
+
+    /**
+     * The evaluator used unless one is set on the builder.
+     */
+    private static final IntEvaluator LINEAR = new EvaluatorInteger();
+
+    /**
+     * The value of each key frame, in order.
+     */
+    private final int[] f_values;
+
+    private final IntEvaluator f_evaluator;
+
+    /**
+     * Constructs a key frames instance.
+     * <p>
+     * This constructor should only be called from {@link Builder#build()}.
+     */
+    IntKeyFrames(int[] values, double[] timeFractions, Interpolator[] interpolators, IntEvaluator evaluator) {
+        super(timeFractions, interpolators);
+        f_values = values;
+        f_evaluator = evaluator;
+    }
+
+    /**
+     * Gets the value of the key frame at the specified position.
+     * 
+     * @param index
+     *            index of a key frame.
+     * @return the value of the key frame at the specified position.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range ( <tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public int getValue(int index) {
+        return f_values[index];
+    }
+
+    /**
+     * Gets the evaluator used between the values of this key frames instance.
+     * 
+     * @return the evaluator.
+     */
+    public IntEvaluator getEvaluator() {
+        return f_evaluator;
+    }
+
+    /**
+     * Gets the interpolated value at the passed time fraction based upon the list of key frames managed by this
+     * instance. The returned value is calculated by the key frames' {@link IntEvaluator} using the two key frames
+     * <tt>fraction</tt> lies between and the {@link Interpolator} set for that interval of time.
+     * 
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @return the evaluated value at the passed time fraction.
+     * 
+     * @see KeyFrames#getInterpolatedValueAt(double)
+     */
+    public int getInterpolatedIntAt(double fraction) {
+        return getInterpolatedIntAt(getFrameIndexAt(fraction), fraction);
+    }
+
+    /**
+     * Gets the interpolated value at the passed time fraction, which is within the passed interval of time.
+     */
+    int getInterpolatedIntAt(int interval, double fraction) {
+        final double iFraction = getIntervalFraction(interval, fraction);
+        return f_evaluator.evaluate(f_values[interval], f_values[interval + 1], iFraction);
+    }
+}
@@ -488,49 +488,8 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
             if (f_interpolators.size() != frameCount) {
                 throw new IllegalArgumentException(I18N.err(22, frameCount, f_interpolators.size()));
             }
-            /*
-             * Change the first key time to zero, unless it already is zero.
-             */
-            if (f_timeFractions.getFirst() == null || f_timeFractions.getFirst() != 0) {
-                f_timeFractions.removeFirst();
-                f_timeFractions.addFirst(Double.valueOf(0));
-            }
-            /*
-             * Change the last key time to one, unless it already is one.
-             */
-            if (f_timeFractions.getLast() == null || f_timeFractions.getLast() != 1) {
-                f_timeFractions.removeLast();
-                f_timeFractions.addLast(Double.valueOf(1));
-            }
-            /*
-             * For any unspecified (null) time fractions we compute a linear interpolated value from the previous and
-             * next specified fractions.
-             */
-            List<Integer> fillList = new ArrayList<Integer>();
-            double prev = -1;
-            for (int i = 0; i < f_timeFractions.size(); i++) {
-                Double curr = f_timeFractions.get(i);
-                if (curr == null) {
-                    if (prev == -1) {
-                        throw new IllegalArgumentException(
-                            I18N.err(3, "Time fraction of the first key frame is null, it should be zero"));
-                    }
-                    fillList.add(i);
-                }
-                else {
-                    if (!fillList.isEmpty()) {
-                        final double delta = (curr.doubleValue() - prev) / (fillList.size() + 1);
-                        int count = 1;
-                        for (int j : fillList) {
-                            final double timeFraction = prev + (count * delta);
-                            f_timeFractions.set(j, timeFraction);
-                            count++;
-                        }
-                        fillList.clear();
-                    }
-                    prev = curr.doubleValue();
-                }
-            }
+            final double[] timeFractions = resolveTimeFractions(f_timeFractions);
+            final Interpolator[] interpolators = resolveInterpolators(f_interpolators, f_interpolator);
 
             /*
              * Construct an array of frames and perform null checks.
@@ -542,32 +501,7 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
                 if (value == null) {
                     throw new IllegalArgumentException(I18N.err(23, i));
                 }
-                final Double atTimeFraction = f_timeFractions.get(i);
-                if (atTimeFraction == null) {
-                    throw new IllegalArgumentException(I18N.err(24, i));
-                }
-                final Interpolator interpolator;
-                if (i == 0) {
-                    interpolator = null;
-                }
-                else {
-                    final Interpolator canidate = f_interpolator == null ? f_interpolators.get(i) : f_interpolator;
-                    interpolator = canidate == null ? LinearInterpolator.getInstance() : canidate;
-                }
-
-                frames[i] = new KeyFrames.Frame<T>(value, atTimeFraction, interpolator);
-            }
-
-            /*
-             * Check that key times are less than one and that they increase.
-             */
-            double prevTime = 0;
-            for (KeyFrames.Frame<T> frame : frames) {
-                final double atTime = frame.getTimeFraction();
-                if (atTime < prevTime) {
-                    throw new IllegalArgumentException(I18N.err(26, f_timeFractions.toString()));
-                }
-                prevTime = atTime;
+                frames[i] = new KeyFrames.Frame<T>(value, timeFractions[i], interpolators[i]);
             }
 
             /*
@@ -584,11 +518,113 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
         }
     }
 
+    /**
+     * Resolves the time fractions set on a builder. The first time fraction is changed to zero and the last to one, and
+     * any unspecified ({@code null}) time fractions are linearly interpolated from the previous and next specified
+     * time fractions.
+     * 
+     * @param timeFractions
+     *            the time fractions set on a builder, one per frame. This list is mutated.
+     * @return the time fractions of the frames.
+     * 
+     * @throws IllegalArgumentException
+     *             if the time fractions do not increase.
+     */
+    static double[] resolveTimeFractions(LinkedList<Double> timeFractions) {
+        /*
+         * Change the first key time to zero, unless it already is zero.
+         */
+        if (timeFractions.getFirst() == null || timeFractions.getFirst() != 0) {
+            timeFractions.removeFirst();
+            timeFractions.addFirst(Double.valueOf(0));
+        }
+        /*
+         * Change the last key time to one, unless it already is one.
+         */
+        if (timeFractions.getLast() == null || timeFractions.getLast() != 1) {
+            timeFractions.removeLast();
+            timeFractions.addLast(Double.valueOf(1));
+        }
+        /*
+         * For any unspecified (null) time fractions we compute a linear interpolated value from the previous and next
+         * specified fractions.
+         */
+        List<Integer> fillList = new ArrayList<Integer>();
+        double prev = -1;
+        for (int i = 0; i < timeFractions.size(); i++) {
+            Double curr = timeFractions.get(i);
+            if (curr == null) {
+                if (prev == -1) {
+                    throw new IllegalArgumentException(
+                        I18N.err(3, "Time fraction of the first key frame is null, it should be zero"));
+                }
+                fillList.add(i);
+            }
+            else {
+                if (!fillList.isEmpty()) {
+                    final double delta = (curr.doubleValue() - prev) / (fillList.size() + 1);
+                    int count = 1;
+                    for (int j : fillList) {
+                        final double timeFraction = prev + (count * delta);
+                        timeFractions.set(j, timeFraction);
+                        count++;
+                    }
+                    fillList.clear();
+                }
+                prev = curr.doubleValue();
+            }
+        }
+        final double[] result = new double[timeFractions.size()];
+        int i = 0;
+        for (Double atTimeFraction : timeFractions) {
+            if (atTimeFraction == null) {
+                throw new IllegalArgumentException(I18N.err(24, i));
+            }
+            result[i++] = atTimeFraction;
+        }
+        /*
+         * Check that key times are less than one and that they increase.
+         */
+        double prevTime = 0;
+        for (double atTime : result) {
+            if (atTime < prevTime) {
+                throw new IllegalArgumentException(I18N.err(26, timeFractions.toString()));
+            }
+            prevTime = atTime;
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the interpolators set on a builder. The first frame has no interpolator, and a frame without an
+     * interpolator uses {@link LinearInterpolator}.
+     * 
+     * @param interpolators
+     *            the interpolators set on a builder, one per frame. May contain {@code null} elements.
+     * @param interpolator
+     *            the interpolator to use for all frames, or {@code null} to use the passed interpolators.
+     * @return the interpolators of the frames.
+     */
+    static Interpolator[] resolveInterpolators(List<Interpolator> interpolators, Interpolator interpolator) {
+        final Interpolator[] result = new Interpolator[interpolators.size()];
+        for (int i = 1; i < result.length; i++) {
+            final Interpolator canidate = interpolator == null ? interpolators.get(i) : interpolator;
+            result[i] = canidate == null ? LinearInterpolator.getInstance() : canidate;
+        }
+        return result;
+    }
+
     /**
      * The ordered list of key frames managed by this instance.
      */
     final Frame<T>[] f_frames;
 
+    /**
+     * The time fraction of each key frame, in order, copied from {@link #f_frames} so that lookups search a primitive
+     * array.
+     */
+    final double[] f_timeFractions;
+
     /**
      * Used to evaluates between two key frame values.
      */
@@ -601,9 +637,104 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
      */
     KeyFrames(Frame<T>[] frames, Evaluator<T> evaluator) {
         f_frames = frames;
+        f_timeFractions = new double[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            f_timeFractions[i] = frames[i].getTimeFraction();
+        }
         f_evaluator = evaluator;
     }
 
+    /**
+     * A position within a key frames instance that speeds up lookups when successive time fractions are close
+     * together, as they are on successive ticks of an animation. The cursor remembers the interval of time found by
+     * the last lookup and searches outward from it, in steps that double in size, before finishing with a binary
+     * search. A lookup costs time logarithmic in the number of key frames between the last interval and the new one,
+     * so a lookup at a time fraction in, or near, the last interval is done in constant time.
+     * <p>
+     * A cursor only holds a hint, so its lookups always return the same result as the lookups of its key frames
+     * instance. It may be used by several threads, although lookups from threads that are not close in time will not
+     * benefit from the hint.
+     * <p>
+     * Instances are obtained from {@link KeyFrames#cursor()}. Typically, each {@link TimingTarget} that evaluates a
+     * key frames instance holds its own cursor.
+     * 
+     * @param <T>
+     *            the type of the values.
+     */
+    public static final class Cursor<T> {
+
+        final KeyFrames<T> f_keyFrames;
+
+        /**
+         * The interval found by the last lookup. Always in the range [0, size() - 2].
+         */
+        int f_interval = 0;
+
+        Cursor(KeyFrames<T> keyFrames) {
+            f_keyFrames = keyFrames;
+        }
+
+        /**
+         * Gets the key frames instance this cursor is a position within.
+         * 
+         * @return the key frames instance.
+         */
+        public KeyFrames<T> getKeyFrames() {
+            return f_keyFrames;
+        }
+
+        /**
+         * Returns the same interval of time as {@link KeyFrames#getFrameIndexAt(double)} and remembers it.
+         * 
+         * @param fraction
+         *            a time fraction in the range [0,1].
+         * @return the index of the key frame closest to, but not after, the passed time fraction.
+         */
+        public int getFrameIndexAt(double fraction) {
+            final int hint = f_interval;
+            final int interval = f_keyFrames.getFrameIndexNear(fraction, hint);
+            if (interval != hint) {
+                f_interval = interval;
+            }
+            return interval;
+        }
+
+        /**
+         * Returns the same value as {@link KeyFrames#getInterpolatedValueAt(double)}, using this cursor to find the
+         * interval of time that contains the passed time fraction.
+         * 
+         * @param fraction
+         *            a time fraction in the range [0,1].
+         * @return the evaluated value at the passed time fraction.
+         */
+        public T getInterpolatedValueAt(double fraction) {
+            return f_keyFrames.getInterpolatedValueAt(getFrameIndexAt(fraction), fraction);
+        }
+
+        /**
+         * Returns the same value as {@link KeyFrames#getInterpolatedValueInto(double, Object)}, using this cursor to
+         * find the interval of time that contains the passed time fraction.
+         * 
+         * @param fraction
+         *            a time fraction in the range [0,1].
+         * @param out
+         *            a value previously returned by this method, or {@code null}.
+         * @return the evaluated value at the passed time fraction, either <tt>out</tt> or a new value.
+         */
+        public T getInterpolatedValueInto(double fraction, T out) {
+            return f_keyFrames.getInterpolatedValueInto(getFrameIndexAt(fraction), fraction, out);
+        }
+    }
+
+    /**
+     * Constructs a new cursor positioned at the first interval of time of this key frames instance.
+     * 
+     * @return a cursor.
+     */
+    public Cursor<T> cursor() {
+        return new Cursor<T>(this);
+    }
+
     /**
      * Gets the number of key frames contained in this list. The returned value is never less that two.
      * 
@@ -773,13 +904,127 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
      * @return the index of the key frame closest to, but not after, the passed time fraction.
      */
     public int getFrameIndexAt(double fraction) {
-        final int size = size();
-        for (int i = 1; i < size; ++i) {
-            if (fraction <= f_frames[i].getTimeFraction()) {
-                return i - 1;
+        return getFrameIndexAt(f_timeFractions, fraction);
+    }
+
+    /**
+     * Returns the interval of time, of key frames with the passed time fractions, that contains the passed time
+     * fraction.
+     * 
+     * @param timeFractions
+     *            the time fractions of at least two key frames, in order.
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @return the index of the key frame closest to, but not after, the passed time fraction.
+     * 
+     * @see #getFrameIndexAt(double)
+     */
+    static int getFrameIndexAt(double[] timeFractions, double fraction) {
+        /*
+         * Binary search for the first key frame, after the first, whose time fraction is not less than the passed time
+         * fraction. If there is none, including when the passed time fraction is NaN, the last interval is returned.
+         */
+        int low = 1;
+        int high = timeFractions.length - 1;
+        if (!(fraction <= timeFractions[high])) {
+            return high - 1;
+        }
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (fraction <= timeFractions[mid]) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Returns the same interval of time as {@link #getFrameIndexAt(double)}, searching outward from the passed
+     * interval in steps that double in size and then finishing with a binary search.
+     * 
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @param hint
+     *            an interval of time, in the range [0, size() - 2], that is likely to be near the result.
+     * @return the index of the key frame closest to, but not after, the passed time fraction.
+     */
+    int getFrameIndexNear(double fraction, int hint) {
+        return getFrameIndexNear(f_timeFractions, fraction, hint);
+    }
+
+    /**
+     * Returns the interval of time, of key frames with the passed time fractions, that contains the passed time
+     * fraction, searching outward from the passed interval.
+     * 
+     * @param timeFractions
+     *            the time fractions of at least two key frames, in order.
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @param hint
+     *            an interval of time, in the range [0, timeFractions.length - 2], that is likely to be near the result.
+     * @return the index of the key frame closest to, but not after, the passed time fraction.
+     * 
+     * @see #getFrameIndexNear(double, int)
+     */
+    static int getFrameIndexNear(double[] timeFractions, double fraction, int hint) {
+        final int last = timeFractions.length - 1;
+        if (!(fraction <= timeFractions[last])) {
+            return last - 1;
+        }
+        /*
+         * Find a range [low, high] of key frames that holds the first key frame, after the first, whose time fraction
+         * is not less than the passed time fraction.
+         */
+        int low;
+        int high = hint + 1;
+        int step = 1;
+        if (fraction <= timeFractions[high]) {
+            while (true) {
+                final int probe = high - step;
+                if (probe < 1) {
+                    low = 1;
+                    break;
+                }
+                if (fraction <= timeFractions[probe]) {
+                    high = probe;
+                    step <<= 1;
+                }
+                else {
+                    low = probe + 1;
+                    break;
+                }
+            }
+        }
+        else {
+            int below = high;
+            while (true) {
+                final int probe = below + step;
+                if (probe >= last) {
+                    high = last;
+                    break;
+                }
+                if (fraction <= timeFractions[probe]) {
+                    high = probe;
+                    break;
+                }
+                below = probe;
+                step <<= 1;
+            }
+            low = below + 1;
+        }
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (fraction <= timeFractions[mid]) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
             }
         }
-        return size - 2;
+        return low - 1;
     }
 
     /**
@@ -792,29 +1037,101 @@ public class KeyFrames<T> implements Iterable<Frame<T>> {
      * @return the evaluated value at the passed time fraction.
      */
     public T getInterpolatedValueAt(double fraction) {
-        final int interval = getFrameIndexAt(fraction);
+        return getInterpolatedValueAt(getFrameIndexAt(fraction), fraction);
+    }
+
+    /**
+     * Gets the interpolated value at the passed time fraction, storing it into the passed value if possible. This
+     * returns the same value as {@link #getInterpolatedValueAt(double)}, but if the key frames' evaluator is a
+     * {@link MutableEvaluator} and <tt>out</tt> is of the same class as the value of the key frame at the start of the
+     * interval of time, then the result is stored into <tt>out</tt> and no new value is constructed.
+     * <p>
+     * A typical use, on each tick of an animation, is
+     * 
+     * <pre>
+     * f_value = keyFrames.getInterpolatedValueInto(fraction, f_value);
+     * </pre>
+     * 
+     * Callers must not pass a value that any other code may still use, such as a value that has been passed to the
+     * setter of a property that keeps a reference to it.
+     * 
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @param out
+     *            a value previously returned by this method, or {@code null}.
+     * @return the evaluated value at the passed time fraction, either <tt>out</tt> or a new value.
+     * 
+     * @see MutableEvaluator
+     */
+    public T getInterpolatedValueInto(double fraction, T out) {
+        return getInterpolatedValueInto(getFrameIndexAt(fraction), fraction, out);
+    }
+
+    /**
+     * Gets the interpolated value at the passed time fraction, which is within the passed interval of time, storing
+     * it into the passed value if possible.
+     */
+    T getInterpolatedValueInto(int interval, double fraction, T out) {
+        if (out == null || !(f_evaluator instanceof MutableEvaluator)) {
+            return getInterpolatedValueAt(interval, fraction);
+        }
+        final T v0 = f_frames[interval].getValue();
+        if (out.getClass() != v0.getClass()) {
+            return getInterpolatedValueAt(interval, fraction);
+        }
+        final double iFraction =
+            getIntervalFraction(f_timeFractions, f_frames[interval + 1].getInterpolator(), interval, fraction);
+        final T v1 = f_frames[interval + 1].getValue();
+        ((MutableEvaluator<T>) f_evaluator).evaluateInto(v0, v1, iFraction, out);
+        return out;
+    }
+
+    /**
+     * Gets the interpolated value at the passed time fraction, which is within the passed interval of time.
+     */
+    T getInterpolatedValueAt(int interval, double fraction) {
+        /*
+         * First, figure out the real fraction to use.
+         */
+        final double iFraction =
+            getIntervalFraction(f_timeFractions, f_frames[interval + 1].getInterpolator(), interval, fraction);
         /*
-         * First, figure out the real fraction to use, given the interpolation type and start and end time of the
-         * interval.
+         * Second evaluate between the two key values.
          */
-        final double t0 = f_frames[interval].getTimeFraction();
-        final double t1 = f_frames[interval + 1].getTimeFraction();
+        final T v0 = f_frames[interval].getValue();
+        final T v1 = f_frames[interval + 1].getValue();
+        return f_evaluator.evaluate(v0, v1, iFraction);
+    }
+
+    /**
+     * Figures out the fraction to evaluate between the two key values of an interval of time, given the interpolator
+     * and the start and end time of the interval.
+     * 
+     * @param timeFractions
+     *            the time fractions of the key frames.
+     * @param interpolator
+     *            the interpolator of the key frame at the end of the interval.
+     * @param interval
+     *            the interval of time that contains the passed time fraction.
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @return the fraction, clamped to [0,1], to evaluate between the two key values.
+     */
+    static double getIntervalFraction(double[] timeFractions, Interpolator interpolator, int interval,
+        double fraction) {
+        final double t0 = timeFractions[interval];
+        final double t1 = timeFractions[interval + 1];
         final double t = (fraction - t0) / (t1 - t0);
-        double iFraction = f_frames[interval + 1].getInterpolator().interpolate(t);
+        final double iFraction = interpolator.interpolate(t);
         /*
          * Clamp to [0,1] to any avoid problems with buggy interpolators.
          */
         if (iFraction < 0) {
-            iFraction = 0;
+            return 0;
         }
         else if (iFraction > 1) {
-            iFraction = 1;
+            return 1;
         }
-        /*
-         * Second evaluate between the two key values.
-         */
-        final T v0 = f_frames[interval].getValue();
-        final T v1 = f_frames[interval + 1].getValue();
-        return f_evaluator.evaluate(v0, v1, iFraction);
+        return iFraction;
     }
 }
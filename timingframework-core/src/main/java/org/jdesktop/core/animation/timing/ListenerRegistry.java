@@ -0,0 +1,395 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.Arrays;
+
+/**
+ * A set of listeners, used by {@link TimingSource}, that is optimized for frequent additions and removals from any
+ * thread and for iteration, without copying, once per tick of time.
+ * <p>
+ * Calls to {@link #add(Object)} and {@link #remove(Object)} are O(1): they only queue the change. Queued changes are
+ * applied, in the order they were made, by {@link #applyPending()}, which a timing source invokes at the start of each
+ * tick. Listeners are held in an array in the order they were added. A removal leaves an empty slot in the array, and
+ * empty slots are compacted away, at most once per call to {@link #applyPending()}, preserving the order of the
+ * remaining listeners.
+ * <p>
+ * Neither queuing nor applying a change allocates, except to grow the arrays used to hold the queued changes, the
+ * listeners, and the map from each listener to its slot.
+ * <p>
+ * Iteration over the listeners is done with {@link #getSlots()} and {@link #getCount()}. An iterating thread must skip
+ * {@code null} slots. A listener added while a tick is in progress is not notified until the next tick and a listener
+ * removed while a tick is in progress may still be notified during that tick, which is the same behavior as iterating
+ * over a snapshot of a copy-on-write set.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <L>
+ *            the type of the listeners.
+ */
+final class ListenerRegistry<L> {
+
+    /**
+     * A map from each listener to its slot that neither boxes the slot nor allocates an entry per listener. It uses
+     * open addressing with linear probing and, like a {@link java.util.HashMap}, compares listeners with
+     * {@link Object#equals(Object)}.
+     * <p>
+     * This class is not thread-safe.
+     */
+    static final class SlotMap {
+
+        Object[] f_keys = new Object[32];
+
+        int[] f_values = new int[32];
+
+        int f_size = 0;
+
+        static int hash(Object key) {
+            final int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Finds the index in {@link #f_keys} of the passed key.
+         *
+         * @return the index of the key, or {@code -1} if it is not in the map.
+         */
+        int indexOf(Object key) {
+            final Object[] keys = f_keys;
+            final int mask = keys.length - 1;
+            for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+                final Object k = keys[i];
+                if (k == null) {
+                    return -1;
+                }
+                if (k.equals(key)) {
+                    return i;
+                }
+            }
+        }
+
+        boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        /**
+         * Maps the passed key to the passed slot, replacing any slot it was mapped to.
+         */
+        void put(Object key, int slot) {
+            final int index = indexOf(key);
+            if (index != -1) {
+                f_values[index] = slot;
+                return;
+            }
+            if (2 * (f_size + 1) > f_keys.length) {
+                final Object[] keys = f_keys;
+                final int[] values = f_values;
+                f_keys = new Object[2 * keys.length];
+                f_values = new int[2 * keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != null) {
+                        insert(keys[i], values[i]);
+                    }
+                }
+            }
+            insert(key, slot);
+            f_size++;
+        }
+
+        /**
+         * Inserts a key that is not in the map into the first free index of its probe sequence.
+         */
+        private void insert(Object key, int slot) {
+            final Object[] keys = f_keys;
+            final int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            f_values[i] = slot;
+        }
+
+        /**
+         * Removes the passed key from the map.
+         *
+         * @return the slot the key was mapped to, or {@code -1} if it is not in the map.
+         */
+        int remove(Object key) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return -1;
+            }
+            final Object[] keys = f_keys;
+            final int[] values = f_values;
+            final int mask = keys.length - 1;
+            final int slot = values[index];
+            /*
+             * Shift back any later key in the probe run whose home index is not after the freed index, so that no
+             * probe sequence is broken by the removal.
+             */
+            for (int i = (index + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+                final int home = hash(keys[i]) & mask;
+                final boolean stays = index <= i ? index < home && home <= i : index < home || home <= i;
+                if (!stays) {
+                    keys[index] = keys[i];
+                    values[index] = values[i];
+                    index = i;
+                }
+            }
+            keys[index] = null;
+            f_size--;
+            return slot;
+        }
+
+        int size() {
+            return f_size;
+        }
+    }
+
+    static final byte ADD = 0;
+
+    static final byte REMOVE = 1;
+
+    static final byte ADD_ALL = 2;
+
+    static final byte REMOVE_ALL = 3;
+
+    /**
+     * Guards the queue of changes that have not yet been applied. It is only held to append a change, or to swap the
+     * queue for an empty one, so it is never held while a change is applied.
+     */
+    final Object f_pendingLock = new Object();
+
+    /*
+     * The changes that have not yet been applied, in the order they were made: a listener, or a batch of listeners, and
+     * the kind of change. Guarded by f_pendingLock. The count is volatile so it can be checked without the lock.
+     */
+
+    Object[] f_pendingChanges = new Object[16];
+
+    byte[] f_pendingKinds = new byte[16];
+
+    volatile int f_pendingCount = 0;
+
+    /*
+     * The arrays swapped with the pending changes by applyPending(), so that queuing changes does not allocate once the
+     * arrays have grown large enough. Guarded by a lock on this.
+     */
+
+    Object[] f_spareChanges = new Object[16];
+
+    byte[] f_spareKinds = new byte[16];
+
+    /*
+     * Only mutated while holding a lock on this. An append only writes a slot at or beyond the published count, and a
+     * compaction always publishes a new array, so a slot below the count of an array is never reused for a different
+     * listener. A removal writes null to the listener's slot in place: a thread iterating over the array concurrently
+     * sees either the listener or null, and either is correct because a listener removed while a tick is in progress
+     * may still be notified during that tick.
+     */
+
+    volatile Object[] f_slots = new Object[16];
+
+    volatile int f_count = 0;
+
+    /**
+     * Maps each listener to its slot. Guarded by a lock on this.
+     */
+    final SlotMap f_slotOf = new SlotMap();
+
+    /**
+     * The number of empty slots below {@link #f_count}. Guarded by a lock on this.
+     */
+    int f_emptySlots = 0;
+
+    /**
+     * Queues the addition of the passed listener. Has no effect, when applied, if the listener has already been added.
+     *
+     * @param listener
+     *            a non-null listener.
+     */
+    void add(L listener) {
+        enqueue(listener, ADD);
+    }
+
+    /**
+     * Queues the removal of the passed listener. Has no effect, when applied, if the listener is not in the set.
+     *
+     * @param listener
+     *            a listener.
+     */
+    void remove(Object listener) {
+        if (listener == null) {
+            return;
+        }
+        enqueue(listener, REMOVE);
+    }
+
+    /**
+     * Queues the addition of the passed listeners as one change. Listeners that have already been added, and
+     * {@code null} elements, are skipped when the change is applied.
+     *
+     * @param listeners
+     *            a non-null array of listeners. The array is held until the change is applied and must not be mutated.
+     */
+    void addAll(Object[] listeners) {
+        enqueue(listeners, ADD_ALL);
+    }
+
+    /**
+     * Queues the removal of the passed listeners as one change. Listeners that are not in the set, and {@code null}
+     * elements, are skipped when the change is applied.
+     *
+     * @param listeners
+     *            a non-null array of listeners. The array is held until the change is applied and must not be mutated.
+     */
+    void removeAll(Object[] listeners) {
+        enqueue(listeners, REMOVE_ALL);
+    }
+
+    /**
+     * Appends a change to the queue of changes that have not yet been applied.
+     */
+    private void enqueue(Object change, byte kind) {
+        synchronized (f_pendingLock) {
+            final int count = f_pendingCount;
+            if (count == f_pendingChanges.length) {
+                f_pendingChanges = Arrays.copyOf(f_pendingChanges, 2 * count);
+                f_pendingKinds = Arrays.copyOf(f_pendingKinds, 2 * count);
+            }
+            f_pendingChanges[count] = change;
+            f_pendingKinds[count] = kind;
+            f_pendingCount = count + 1;
+        }
+    }
+
+    /**
+     * Checks if there are any queued additions or removals.
+     *
+     * @return {@code true} if there are queued changes, {@code false} otherwise.
+     */
+    boolean hasPending() {
+        return f_pendingCount != 0;
+    }
+
+    /**
+     * Applies all queued additions and removals, then compacts away any empty slots.
+     */
+    void applyPending() {
+        if (f_pendingCount == 0) {
+            return;
+        }
+        synchronized (this) {
+            final Object[] changes;
+            final byte[] kinds;
+            final int pending;
+            synchronized (f_pendingLock) {
+                changes = f_pendingChanges;
+                kinds = f_pendingKinds;
+                pending = f_pendingCount;
+                f_pendingChanges = f_spareChanges;
+                f_pendingKinds = f_spareKinds;
+                f_pendingCount = 0;
+            }
+            for (int i = 0; i < pending; i++) {
+                final byte kind = kinds[i];
+                if (kind == ADD || kind == REMOVE) {
+                    apply(changes[i], kind == ADD);
+                }
+                else {
+                    for (Object listener : (Object[]) changes[i]) {
+                        if (listener != null) {
+                            apply(listener, kind == ADD_ALL);
+                        }
+                    }
+                }
+                changes[i] = null;
+            }
+            f_spareChanges = changes;
+            f_spareKinds = kinds;
+            if (f_emptySlots > 0) {
+                final Object[] slots = f_slots;
+                final int count = f_count;
+                final Object[] compacted = new Object[Math.max(16, slots.length)];
+                int to = 0;
+                for (int from = 0; from < count; from++) {
+                    final Object listener = slots[from];
+                    if (listener != null) {
+                        compacted[to] = listener;
+                        f_slotOf.put(listener, to);
+                        to++;
+                    }
+                }
+                f_slots = compacted;
+                f_count = to;
+                f_emptySlots = 0;
+            }
+        }
+    }
+
+    /**
+     * Applies one addition or removal. Only invoked while holding a lock on this.
+     */
+    private void apply(Object listener, boolean add) {
+        if (add) {
+            if (!f_slotOf.containsKey(listener)) {
+                Object[] slots = f_slots;
+                final int count = f_count;
+                if (count == slots.length) {
+                    slots = Arrays.copyOf(slots, count * 2);
+                    f_slots = slots;
+                }
+                slots[count] = listener;
+                f_slotOf.put(listener, count);
+                f_count = count + 1;
+            }
+        }
+        else {
+            final int slot = f_slotOf.remove(listener);
+            if (slot != -1) {
+                f_slots[slot] = null;
+                f_emptySlots++;
+            }
+        }
+    }
+
+    /**
+     * Gets the listener slots for iteration. Only the first {@link #getCount()} slots may be occupied, and any of them
+     * may be {@code null}. Read the count before the slots and bound iteration by the smaller of the count and the
+     * length of the array.
+     *
+     * @return the listener slots.
+     */
+    Object[] getSlots() {
+        return f_slots;
+    }
+
+    /**
+     * Gets the number of slots that may be occupied.
+     *
+     * @return the number of slots that may be occupied.
+     */
+    int getCount() {
+        return f_count;
+    }
+
+    /**
+     * Checks if there are no listeners and no queued changes.
+     *
+     * @return {@code true} if the set is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return f_count == 0 && f_pendingCount == 0;
+    }
+
+    /**
+     * Applies all queued changes and returns the number of listeners. Intended for testing.
+     *
+     * @return the number of listeners.
+     */
+    int size() {
+        applyPending();
+        synchronized (this) {
+            return f_slotOf.size();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.jdesktop.core.animation.timing;
+
+/**
+ * An evaluator for a mutable type that can store the evaluated value into an existing instance rather than constructing
+ * a new one. {@link KeyFrames#getInterpolatedValueInto(double, Object)} and the timing targets returned by
+ * {@link PropertySetter} use this to reuse a scratch value on each tick of an animation rather than producing a new
+ * value that immediately becomes garbage.
+ * <p>
+ * Implementations of {@link #evaluate(Object, Object, double)} must always return a new instance, never one of the
+ * boundary values, because the returned instance may later be passed to {@link #evaluateInto} and mutated.
+ *
+ * @param <T>
+ *            the type the implementation evaluates.
+ */
+public interface MutableEvaluator<T> extends Evaluator<T> {
+
+    /**
+     * Evaluates between two boundary values and stores the result into the passed instance. The result is the same as
+     * {@link #evaluate(Object, Object, double)} would return.
+     * <p>
+     * <tt>out</tt> may be the same instance as <tt>v0</tt> or <tt>v1</tt>. Implementations must read both boundary
+     * values before mutating <tt>out</tt>.
+     *
+     * @param v0
+     *            the value at a fraction of zero.
+     * @param v1
+     *            the value at a fraction of one.
+     * @param fraction
+     *            a fraction in the range [0,1].
+     * @param out
+     *            the instance to store the evaluated value into. It must have been returned by
+     *            {@link #evaluate(Object, Object, double)} for boundary values of the same class as <tt>v0</tt>.
+     */
+    void evaluateInto(T v0, T v1, double fraction, T out);
+}
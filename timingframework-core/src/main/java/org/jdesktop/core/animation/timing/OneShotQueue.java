@@ -0,0 +1,188 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource.OverflowPolicy;
+
+/**
+ * A bounded multi-producer, single-consumer queue of "one shot" tasks used by {@link TimingSource}. Adding a task to
+ * the queue does not allocate unless the queue is full and its {@link OverflowPolicy} is
+ * {@link OverflowPolicy#SPILL}.
+ * <p>
+ * The queue is a ring buffer where each slot has a sequence number that tells producers and the consumer whose turn it
+ * is to use the slot. A producer claims a slot by advancing the tail with a compare-and-set, writes the task, and then
+ * publishes it by advancing the slot's sequence number. The consumer only reads slots that have been published.
+ * <p>
+ * When the ring buffer is full tasks are handled according to the queue's overflow policy. Spilled tasks are placed in
+ * an unbounded overflow queue, and while any task is in the overflow queue producers add to it rather than to the ring
+ * buffer so that tasks are run in the order they were received.
+ * <p>
+ * This class is thread-safe, however, {@link #poll()} must only be called by one thread at a time.
+ */
+final class OneShotQueue {
+
+    final int f_mask;
+
+    final AtomicReferenceArray<Runnable> f_buffer;
+
+    final AtomicLongArray f_sequence;
+
+    /**
+     * The next slot a producer will claim.
+     */
+    final AtomicLong f_tail = new AtomicLong();
+
+    /**
+     * The next slot the consumer will read. Only written by the consumer.
+     */
+    volatile long f_head = 0;
+
+    /**
+     * Tasks that did not fit in the ring buffer.
+     */
+    final ConcurrentLinkedQueue<Runnable> f_overflow = new ConcurrentLinkedQueue<Runnable>();
+
+    volatile OverflowPolicy f_overflowPolicy = OverflowPolicy.SPILL;
+
+    /**
+     * The queue of the timing source whose tick the current thread is running in, or {@code null}. This includes the
+     * thread running {@link TimingSource#runPerTick()} and, if parallel dispatch is on, the threads notifying tick
+     * listeners for it. Used to avoid a producer blocking on a full queue that is not drained until the tick it is
+     * part of has completed.
+     */
+    static final ThreadLocal<OneShotQueue> TICKING = new ThreadLocal<OneShotQueue>();
+
+    /**
+     * Marks the current thread as running in the tick of the timing source that owns this queue.
+     *
+     * @return the queue the current thread was previously marked with, to pass to {@link #exitTick(OneShotQueue)}.
+     */
+    OneShotQueue enterTick() {
+        final OneShotQueue previous = TICKING.get();
+        TICKING.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the mark of the current thread replaced by {@link #enterTick()}.
+     *
+     * @param previous
+     *            the value returned by {@link #enterTick()}.
+     */
+    static void exitTick(OneShotQueue previous) {
+        TICKING.set(previous);
+    }
+
+    /**
+     * Constructs a new queue.
+     *
+     * @param capacity
+     *            the capacity of the ring buffer. This value is rounded up to a power of two.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>capacity</tt> is less than one.
+     */
+    OneShotQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(I18N.err(60, capacity));
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        f_mask = size - 1;
+        f_buffer = new AtomicReferenceArray<Runnable>(size);
+        f_sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            f_sequence.set(i, i);
+        }
+    }
+
+    /**
+     * Gets the capacity of the ring buffer.
+     *
+     * @return the capacity of the ring buffer.
+     */
+    int capacity() {
+        return f_mask + 1;
+    }
+
+    /**
+     * Adds a task to the queue, applying the overflow policy if the ring buffer is full.
+     *
+     * @param task
+     *            a non-null task.
+     *
+     * @throws IllegalStateException
+     *             if the ring buffer is full and the overflow policy is {@link OverflowPolicy#REJECT}.
+     */
+    void add(Runnable task) {
+        while (true) {
+            if (f_overflow.isEmpty() && offer(task)) {
+                return;
+            }
+            final OverflowPolicy policy = f_overflowPolicy;
+            if (policy == OverflowPolicy.REJECT) {
+                throw new IllegalStateException(I18N.err(61, task));
+            }
+            if (policy == OverflowPolicy.BLOCK && TICKING.get() != this) {
+                LockSupport.parkNanos(1000);
+                continue;
+            }
+            f_overflow.add(task);
+            return;
+        }
+    }
+
+    /**
+     * Tries to add a task to the ring buffer.
+     *
+     * @return {@code true} if the task was added, {@code false} if the ring buffer is full.
+     */
+    boolean offer(Runnable task) {
+        while (true) {
+            final long tail = f_tail.get();
+            final int index = (int) tail & f_mask;
+            final long sequence = f_sequence.get(index);
+            if (sequence == tail) {
+                if (f_tail.compareAndSet(tail, tail + 1)) {
+                    f_buffer.lazySet(index, task);
+                    f_sequence.lazySet(index, tail + 1);
+                    return true;
+                }
+            }
+            else if (sequence < tail) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the oldest task in the queue. Must only be called by one thread at a time.
+     *
+     * @return the oldest task, or {@code null} if the queue is empty.
+     */
+    Runnable poll() {
+        final long head = f_head;
+        final int index = (int) head & f_mask;
+        if (f_sequence.get(index) == head + 1) {
+            final Runnable task = f_buffer.get(index);
+            f_buffer.lazySet(index, null);
+            f_sequence.lazySet(index, head + f_mask + 1);
+            f_head = head + 1;
+            return task;
+        }
+        return f_overflow.poll();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return f_tail.get() == f_head && f_overflow.isEmpty();
+    }
+}
@@ -0,0 +1,189 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource.ThreadAffineTickListener;
+import org.jdesktop.core.animation.timing.TimingSource.TickListener;
+
+/**
+ * Notifies the {@link TickListener}s of a {@link TimingSource} in parallel. The listeners are split into contiguous
+ * partitions, in registration order, and each partition is run as a task on an {@link Executor}. The first partition,
+ * and every thread-affine {@link ThreadAffineTickListener}, is run in the thread context of the timing source. The
+ * dispatch does not return until every partition has completed, so the timing source's
+ * {@link TimingSource.PostTickListener}s are not notified until all the tick listeners have been.
+ * <p>
+ * The partition tasks are created once and reused every tick.
+ * <p>
+ * This class is not thread-safe, {@link #dispatch(TimingSource, Object[], int, long)} must only be called in the thread
+ * context of the timing source.
+ */
+final class ParallelTickDispatcher {
+
+    /**
+     * A contiguous range of tick listeners notified by one task.
+     */
+    final class Partition implements Runnable {
+
+        TimingSource f_source;
+
+        Object[] f_slots;
+
+        int f_from;
+
+        int f_to;
+
+        long f_nanoTime;
+
+        @Override
+        public void run() {
+            final OneShotQueue previous = f_source.f_oneShotQueue.enterTick();
+            try {
+                for (int i = f_from; i < f_to; i++) {
+                    final Object listener = f_slots[i];
+                    if (listener != null && !isThreadAffine(listener)) {
+                        notifyListener((TickListener) listener, f_source, f_nanoTime);
+                    }
+                }
+            }
+            finally {
+                OneShotQueue.exitTick(previous);
+                if (f_pending.decrementAndGet() == 0) {
+                    LockSupport.unpark(f_waiter);
+                }
+            }
+        }
+    }
+
+    final Executor f_executor;
+
+    final Partition[] f_partitions;
+
+    /**
+     * The number of partitions of the current tick that have not completed.
+     */
+    final AtomicInteger f_pending = new AtomicInteger();
+
+    /**
+     * The first exception thrown by a listener during the current tick.
+     */
+    final AtomicReference<Throwable> f_failure = new AtomicReference<Throwable>();
+
+    /**
+     * The thread waiting for all the partitions of the current tick to complete.
+     */
+    volatile Thread f_waiter;
+
+    /**
+     * Constructs a new dispatcher.
+     *
+     * @param executor
+     *            the executor to run partitions on.
+     * @param partitions
+     *            the maximum number of partitions to split the listeners into each tick.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>executor</tt> is {@code null} or <tt>partitions</tt> is less than one.
+     */
+    ParallelTickDispatcher(Executor executor, int partitions) {
+        if (executor == null) {
+            throw new IllegalArgumentException(I18N.err(1, "executor"));
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException(I18N.err(74, partitions));
+        }
+        f_executor = executor;
+        f_partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            f_partitions[i] = new Partition();
+        }
+    }
+
+    /**
+     * Notifies the passed tick listeners in parallel and waits until all have been notified. If any listener throws
+     * an exception then, after all the partitions have completed, the first exception thrown is rethrown.
+     *
+     * @param source
+     *            the timing source that is ticking.
+     * @param slots
+     *            the listener slots, any of which may be {@code null}.
+     * @param count
+     *            the number of slots to notify.
+     * @param nanoTime
+     *            the time of the tick.
+     */
+    void dispatch(TimingSource source, Object[] slots, int count, long nanoTime) {
+        final int partitions = Math.min(f_partitions.length, count);
+        final int perPartition = (count + partitions - 1) / partitions;
+        int used = 0;
+        for (int from = 0; from < count; from += perPartition) {
+            final Partition partition = f_partitions[used++];
+            partition.f_source = source;
+            partition.f_slots = slots;
+            partition.f_from = from;
+            partition.f_to = Math.min(from + perPartition, count);
+            partition.f_nanoTime = nanoTime;
+        }
+        f_waiter = Thread.currentThread();
+        f_pending.set(used);
+        for (int i = 1; i < used; i++) {
+            try {
+                f_executor.execute(f_partitions[i]);
+            }
+            catch (RejectedExecutionException e) {
+                f_partitions[i].run();
+            }
+        }
+        f_partitions[0].run();
+        /*
+         * Thread-affine listeners are notified while the other partitions run.
+         */
+        for (int i = 0; i < count; i++) {
+            final Object listener = slots[i];
+            if (isThreadAffine(listener)) {
+                notifyListener((TickListener) listener, source, nanoTime);
+            }
+        }
+        while (f_pending.get() != 0) {
+            LockSupport.park(this);
+        }
+        for (int i = 0; i < used; i++) {
+            f_partitions[i].f_source = null;
+            f_partitions[i].f_slots = null;
+        }
+        final Throwable failure = f_failure.getAndSet(null);
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    /**
+     * Checks if the passed listener slot holds a listener that must be notified in the thread context of the timing
+     * source.
+     */
+    static boolean isThreadAffine(Object listener) {
+        return listener instanceof ThreadAffineTickListener && ((ThreadAffineTickListener) listener).isThreadAffine();
+    }
+
+    /**
+     * Notifies one listener, remembering the first exception thrown during this tick.
+     */
+    void notifyListener(TickListener listener, TimingSource source, long nanoTime) {
+        try {
+            listener.timingSourceTick(source, nanoTime);
+        }
+        catch (Throwable t) {
+            f_failure.compareAndSet(null, t);
+        }
+    }
+}
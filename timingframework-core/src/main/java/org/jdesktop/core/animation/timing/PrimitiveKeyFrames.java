@@ -0,0 +1,181 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.interpolators.LinearInterpolator;
+
+/**
+ * The common base of key frames that hold values of a primitive type in an array, rather than as objects in
+ * {@link KeyFrames.Frame} instances. The key times and interpolators are managed exactly as they are by
+ * {@link KeyFrames}, but no values are boxed when the key frames are built or evaluated, so a numeric animation
+ * driven by one of these key frames instances does not allocate on each tick.
+ * <p>
+ * This class is only subclassed within this package by {@link DoubleKeyFrames}, {@link FloatKeyFrames}, and
+ * {@link IntKeyFrames}. Instances are immutable and thread-safe.
+ *
+ * @see KeyFrames
+ */
+public abstract class PrimitiveKeyFrames {
+
+    /**
+     * The time fraction of each key frame, in order. The first is always zero and the last is always one.
+     */
+    final double[] f_timeFractions;
+
+    /**
+     * The interpolator between the previous key frame and each key frame. The first element is always {@code null}.
+     */
+    final Interpolator[] f_interpolators;
+
+    PrimitiveKeyFrames(double[] timeFractions, Interpolator[] interpolators) {
+        f_timeFractions = timeFractions;
+        f_interpolators = interpolators;
+    }
+
+    /**
+     * Gets the number of key frames contained in this list. The returned value is never less that two.
+     *
+     * @return the number of key frames in this list.
+     */
+    public final int size() {
+        return f_timeFractions.length;
+    }
+
+    /**
+     * Gets the time fraction in the range [0,1] when the value of the key frame at the specified position occurs.
+     *
+     * @param index
+     *            index of a key frame.
+     * @return the time fraction of the key frame at the specified position.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range ( <tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public final double getTimeFraction(int index) {
+        return f_timeFractions[index];
+    }
+
+    /**
+     * Gets the interpolator used between the previous key frame and the key frame at the specified position.
+     *
+     * @param index
+     *            index of a key frame.
+     * @return the interpolator of the key frame at the specified position, or {@code null} for the first key frame.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range ( <tt>index &lt; 0 || index &gt;= size()</tt>)
+     */
+    public final Interpolator getInterpolator(int index) {
+        return f_interpolators[index];
+    }
+
+    /**
+     * Returns the interval of time that contains the passed time fraction. The result is the same as
+     * {@link KeyFrames#getFrameIndexAt(double)} returns for key frames with the same time fractions.
+     *
+     * @param fraction
+     *            a time fraction in the range [0,1].
+     * @return the index of the key frame closest to, but not after, the passed time fraction.
+     */
+    public final int getFrameIndexAt(double fraction) {
+        return KeyFrames.getFrameIndexAt(f_timeFractions, fraction);
+    }
+
+    /**
+     * Returns the same interval of time as {@link #getFrameIndexAt(double)}, searching outward from the passed
+     * interval. Used by timing targets that remember the interval found on the previous tick.
+     */
+    final int getFrameIndexNear(double fraction, int hint) {
+        return KeyFrames.getFrameIndexNear(f_timeFractions, fraction, hint);
+    }
+
+    /**
+     * Returns the fraction, clamped to [0,1], to evaluate between the two key values of the passed interval of time.
+     */
+    final double getIntervalFraction(int interval, double fraction) {
+        return KeyFrames.getIntervalFraction(f_timeFractions, f_interpolators[interval + 1], interval, fraction);
+    }
+
+    /**
+     * The key frames added to a builder of primitive key frames. Values are held as <tt>double</tt>, which represents
+     * any <tt>float</tt> or <tt>int</tt> value exactly.
+     * <p>
+     * Instances of this class are not thread safe and are intended to be thread-confined.
+     */
+    static final class FrameList {
+
+        private double[] f_values = new double[8];
+
+        private int f_size = 0;
+
+        private final LinkedList<Double> f_timeFractions = new LinkedList<Double>();
+
+        private final List<Interpolator> f_interpolators = new ArrayList<Interpolator>();
+
+        private Interpolator f_interpolator = null;
+
+        /**
+         * Adds a key frame.
+         *
+         * @param value
+         *            the value of the key frame.
+         * @param atTimeFraction
+         *            the time fraction in the range [0,1] when the value should occur. A negative value indicates that
+         *            the time fraction should be calculated, linearly, from the previous and next specified time
+         *            fractions.
+         * @param interpolator
+         *            the interpolator between the previous key frame and the one being added, or {@code null}.
+         */
+        void add(double value, double atTimeFraction, Interpolator interpolator) {
+            if (f_size == f_values.length) {
+                f_values = Arrays.copyOf(f_values, f_size * 2);
+            }
+            f_values[f_size++] = value;
+            f_timeFractions.add(atTimeFraction < 0 ? null : Double.valueOf(atTimeFraction));
+            f_interpolators.add(interpolator);
+        }
+
+        void setInterpolator(Interpolator interpolator) {
+            f_interpolator = interpolator;
+        }
+
+        /**
+         * Gets the values of the key frames added.
+         *
+         * @return the values, in order.
+         *
+         * @throws IllegalArgumentException
+         *             if less than two key frames were added.
+         */
+        double[] values() {
+            if (f_size < 2) {
+                throw new IllegalArgumentException(I18N.err(20));
+            }
+            return Arrays.copyOf(f_values, f_size);
+        }
+
+        /**
+         * Resolves the time fractions of the key frames added, as {@link KeyFrames.Builder#build()} does.
+         *
+         * @return the time fractions, in order.
+         *
+         * @throws IllegalArgumentException
+         *             if the time fractions do not increase.
+         */
+        double[] timeFractions() {
+            return KeyFrames.resolveTimeFractions(new LinkedList<Double>(f_timeFractions));
+        }
+
+        /**
+         * Resolves the interpolators of the key frames added, as {@link KeyFrames.Builder#build()} does. A key frame
+         * without an interpolator uses {@link LinearInterpolator}.
+         *
+         * @return the interpolators, in order.
+         */
+        Interpolator[] interpolators() {
+            return KeyFrames.resolveInterpolators(f_interpolators, f_interpolator);
+        }
+    }
+}
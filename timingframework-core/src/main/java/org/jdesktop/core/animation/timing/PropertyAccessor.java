@@ -0,0 +1,383 @@
+package org.jdesktop.core.animation.timing;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.jdesktop.core.animation.i18n.I18N;
+
+/**
+ * The setter, and optionally the getter, of an object property bound once, when a timing target is constructed by
+ * {@link PropertySetter}, so that each tick of an animation does not make a reflective
+ * {@link Method#invoke(Object, Object...)} call with its access checks and argument array.
+ * <p>
+ * A setter is bound, in order of preference, to
+ * <ol>
+ * <li>a class generated by {@link LambdaMetafactory} that calls the setter directly. This call can be inlined by the
+ * JIT. It is only used if the class that declares the setter, and the type of its parameter, are visible from the
+ * class loader of this library.</li>
+ * <li>a {@link MethodHandle}.</li>
+ * <li>the reflective {@link Method} if it is not accessible through a method handle.</li>
+ * </ol>
+ * The bound setters are cached, by {@link PropertySetter}, and shared by timing targets. This class is thread-safe.
+ */
+final class PropertyAccessor {
+
+    /**
+     * A setter passed boxed values.
+     */
+    interface ObjectSetter {
+        void set(Object object, Object value) throws Throwable;
+    }
+
+    /**
+     * A setter passed <tt>double</tt> values.
+     */
+    interface DoubleSetter {
+        void set(Object object, double value) throws Throwable;
+    }
+
+    /**
+     * A setter passed <tt>float</tt> values.
+     */
+    interface FloatSetter {
+        void set(Object object, float value) throws Throwable;
+    }
+
+    /**
+     * A setter passed <tt>int</tt> values.
+     */
+    interface IntSetter {
+        void set(Object object, int value) throws Throwable;
+    }
+
+    static final MethodType GET_OBJECT = MethodType.methodType(Object.class, Object.class);
+
+    final Method f_setter;
+
+    final ObjectSetter f_boundSetter;
+
+    /**
+     * May be {@code null} if no getter is needed.
+     */
+    final Method f_getter;
+
+    /**
+     * The getter as a method handle of type {@link #GET_OBJECT}, or {@code null} if there is no getter or it must be
+     * invoked reflectively. The getter is only invoked at the start of an animation, so it is not worth generating a
+     * class for it.
+     */
+    final MethodHandle f_getterHandle;
+
+    /*
+     * The setter bound to be passed primitive values, bound when first needed. It may be bound more than once if
+     * there is a race, which is harmless.
+     */
+
+    private volatile DoubleSetter f_doubleSetter;
+
+    private volatile FloatSetter f_floatSetter;
+
+    private volatile IntSetter f_intSetter;
+
+    /**
+     * Constructs an instance.
+     *
+     * @param setter
+     *            a setter method that takes one argument.
+     * @param getter
+     *            a getter method that takes no arguments, or {@code null} if no getter is needed.
+     * @param valueType
+     *            the type of the values that will be passed to the setter.
+     */
+    PropertyAccessor(Method setter, Method getter, Class<?> valueType) {
+        f_setter = setter;
+        f_boundSetter = bindObjectSetter(setter, valueType);
+        f_getter = getter;
+        f_getterHandle = getter == null ? null : bind(getter, GET_OBJECT);
+    }
+
+    /**
+     * Invokes the setter. Boxed values are unboxed and widened, if the setter takes a primitive, as
+     * {@link Method#invoke(Object, Object...)} would.
+     *
+     * @param object
+     *            the object whose property is set.
+     * @param value
+     *            the value to set.
+     *
+     * @throws IllegalStateException
+     *             if the setter throws an exception.
+     */
+    void set(Object object, Object value) {
+        try {
+            f_boundSetter.set(object, value);
+        }
+        catch (Throwable e) {
+            throw setterFailed(object, e);
+        }
+    }
+
+    /**
+     * Invokes the getter.
+     *
+     * @param object
+     *            the object whose property is obtained.
+     * @return the value of the property, boxed if the getter returns a primitive.
+     *
+     * @throws IllegalStateException
+     *             if the getter throws an exception.
+     */
+    Object get(Object object) {
+        try {
+            if (f_getterHandle != null) {
+                return f_getterHandle.invokeExact(object);
+            }
+            else {
+                return f_getter.invoke(object);
+            }
+        }
+        catch (InvocationTargetException e) {
+            throw new IllegalStateException(I18N.err(31, f_getter.getName(), object.toString()), e.getCause());
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException(I18N.err(31, f_getter.getName(), object.toString()), e);
+        }
+    }
+
+    /**
+     * Constructs the exception thrown when the setter fails.
+     *
+     * @param object
+     *            the object whose property was being set.
+     * @param e
+     *            the exception thrown by the setter.
+     * @return the exception to throw.
+     */
+    IllegalStateException setterFailed(Object object, Throwable e) {
+        return new IllegalStateException(I18N.err(31, f_setter.getName(), object.toString()), e);
+    }
+
+    /**
+     * Gets the setter bound, when first needed, so that it can be passed <tt>double</tt> values. A setter that takes a
+     * <tt>double</tt> is invoked without boxing; other setters are passed the boxed value.
+     *
+     * @return the bound setter.
+     */
+    DoubleSetter getDoubleSetter() {
+        DoubleSetter result = f_doubleSetter;
+        if (result == null) {
+            result = f_doubleSetter = bindDoubleSetter();
+        }
+        return result;
+    }
+
+    private DoubleSetter bindDoubleSetter() {
+        final MethodType type = MethodType.methodType(void.class, f_setter.getDeclaringClass(), double.class);
+        final DoubleSetter result = (DoubleSetter) generate(f_setter, DoubleSetter.class, type);
+        if (result != null) {
+            return result;
+        }
+        final MethodHandle handle = bind(f_setter, MethodType.methodType(void.class, Object.class, double.class));
+        if (handle != null) {
+            return new DoubleSetter() {
+                public void set(Object object, double value) throws Throwable {
+                    handle.invokeExact(object, value);
+                }
+            };
+        }
+        return new DoubleSetter() {
+            public void set(Object object, double value) throws Throwable {
+                f_boundSetter.set(object, value);
+            }
+        };
+    }
+
+    /**
+     * Gets the setter bound, when first needed, so that it can be passed <tt>float</tt> values. A setter that takes a
+     * <tt>float</tt>, or a <tt>double</tt>, is invoked without boxing; other setters are passed the boxed value.
+     *
+     * @return the bound setter.
+     */
+    FloatSetter getFloatSetter() {
+        FloatSetter result = f_floatSetter;
+        if (result == null) {
+            result = f_floatSetter = bindFloatSetter();
+        }
+        return result;
+    }
+
+    private FloatSetter bindFloatSetter() {
+        final MethodType type = MethodType.methodType(void.class, f_setter.getDeclaringClass(), float.class);
+        final FloatSetter result = (FloatSetter) generate(f_setter, FloatSetter.class, type);
+        if (result != null) {
+            return result;
+        }
+        final MethodHandle handle = bind(f_setter, MethodType.methodType(void.class, Object.class, float.class));
+        if (handle != null) {
+            return new FloatSetter() {
+                public void set(Object object, float value) throws Throwable {
+                    handle.invokeExact(object, value);
+                }
+            };
+        }
+        return new FloatSetter() {
+            public void set(Object object, float value) throws Throwable {
+                f_boundSetter.set(object, value);
+            }
+        };
+    }
+
+    /**
+     * Gets the setter bound, when first needed, so that it can be passed <tt>int</tt> values. A setter that takes an
+     * <tt>int</tt>, or a wider primitive type, is invoked without boxing; other setters are passed the boxed value.
+     *
+     * @return the bound setter.
+     */
+    IntSetter getIntSetter() {
+        IntSetter result = f_intSetter;
+        if (result == null) {
+            result = f_intSetter = bindIntSetter();
+        }
+        return result;
+    }
+
+    private IntSetter bindIntSetter() {
+        final MethodType type = MethodType.methodType(void.class, f_setter.getDeclaringClass(), int.class);
+        final IntSetter result = (IntSetter) generate(f_setter, IntSetter.class, type);
+        if (result != null) {
+            return result;
+        }
+        final MethodHandle handle = bind(f_setter, MethodType.methodType(void.class, Object.class, int.class));
+        if (handle != null) {
+            return new IntSetter() {
+                public void set(Object object, int value) throws Throwable {
+                    handle.invokeExact(object, value);
+                }
+            };
+        }
+        return new IntSetter() {
+            public void set(Object object, int value) throws Throwable {
+                f_boundSetter.set(object, value);
+            }
+        };
+    }
+
+    /**
+     * Binds a setter so that it can be passed boxed values.
+     *
+     * @param setter
+     *            a setter method that takes one argument.
+     * @param valueType
+     *            the type of the values that will be passed to the setter.
+     * @return the bound setter.
+     */
+    private static ObjectSetter bindObjectSetter(final Method setter, Class<?> valueType) {
+        /*
+         * A generated class casts the value to the type of the setter's parameter, or to its wrapper type, so it is
+         * only used if the values are of that type. Method handles and reflection also unbox and widen, e.g., a Byte
+         * passed to a setter that takes an int.
+         */
+        final Class<?> parameterType = setter.getParameterTypes()[0];
+        final Class<?> castType =
+            parameterType.isPrimitive() ? MethodType.methodType(parameterType).wrap().returnType() : parameterType;
+        if (castType.isAssignableFrom(valueType)) {
+            final MethodType type = MethodType.methodType(void.class, setter.getDeclaringClass(), castType);
+            final ObjectSetter result = (ObjectSetter) generate(setter, ObjectSetter.class, type);
+            if (result != null) {
+                return result;
+            }
+        }
+        final MethodHandle handle = bind(setter, MethodType.methodType(void.class, Object.class, Object.class));
+        if (handle != null) {
+            return new ObjectSetter() {
+                public void set(Object object, Object value) throws Throwable {
+                    handle.invokeExact(object, value);
+                }
+            };
+        }
+        return new ObjectSetter() {
+            public void set(Object object, Object value) throws Throwable {
+                try {
+                    setter.invoke(object, value);
+                }
+                catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+    }
+
+    /**
+     * Generates a class, with {@link LambdaMetafactory}, that implements the passed functional interface by calling
+     * the passed method.
+     *
+     * @param method
+     *            the method to call.
+     * @param functionalInterface
+     *            one of the setter interfaces nested in this class.
+     * @param instantiatedType
+     *            the type the single method of the functional interface is specialized to.
+     * @return an instance of the generated class, or {@code null} if a class could not be generated.
+     */
+    private static Object generate(Method method, Class<?> functionalInterface, MethodType instantiatedType) {
+        for (Class<?> c : instantiatedType.parameterArray()) {
+            if (!isVisible(c)) {
+                return null;
+            }
+        }
+        if (!isVisible(method.getParameterTypes()[0])) {
+            return null;
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            return LambdaMetafactory.metafactory(lookup, "set", MethodType.methodType(functionalInterface),
+                instantiatedType.erase(), lookup.unreflect(method), instantiatedType).getTarget().invoke();
+        }
+        catch (Throwable e) {
+            /*
+             * The method is not accessible, e.g., IllegalAccessException, or the instantiated type cannot be converted
+             * to the type of the method, e.g., LambdaConversionException.
+             */
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a generated class, which is defined by the class loader of this library, can refer to the passed
+     * class.
+     */
+    private static boolean isVisible(Class<?> c) {
+        if (c.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(c.getName(), false, PropertyAccessor.class.getClassLoader()) == c;
+        }
+        catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Binds a method to a method handle of the passed type.
+     *
+     * @return the method handle, or {@code null} if the method is not accessible through a method handle or its type
+     *         cannot be converted to the passed type.
+     */
+    private static MethodHandle bind(Method method, MethodType type) {
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        }
+        catch (IllegalAccessException e) {
+            return null;
+        }
+        catch (WrongMethodTypeException e) {
+            return null;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.jdesktop.core.animation.timing;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.jdesktop.core.animation.i18n.I18N;
@@ -119,6 +121,30 @@ import org.jdesktop.core.animation.timing.interpolators.SplineInterpolator;
  * TimingTarget ps = PropertySetter.getTarget(obj, &quot;background&quot;, Color.BLUE, Color.RED);
  * </pre>
  * 
+ * <p>
+ * By default the setter is passed a new value on each tick. If <tt>true</tt> is passed for <tt>reuseValues</tt> to
+ * {@link #getTarget(Object, String, KeyFrames, boolean)} or {@link #getTargetTo(Object, String, KeyFrames, boolean)},
+ * and the {@link Evaluator} of the key frames is a {@link MutableEvaluator}, then the returned timing target instead
+ * alternates between two values that it mutates. This avoids allocating on each tick, but a setter that keeps a
+ * reference to the value it is passed, rather than copying it, will see that value change two ticks later.
+ * 
+ * <p>
+ * The setter, and getter for a "to" animation, of the property is found and bound to a method handle once, when the
+ * timing target is constructed, rather than being invoked reflectively on each tick. The bound setter and getter are
+ * cached per class, property name, and value type, so constructing further timing targets for the same property of
+ * objects of the same class does not search the methods of the class again.
+ * 
+ * <p>
+ * Numeric animations can avoid boxing altogether by passing {@link DoubleKeyFrames}, {@link FloatKeyFrames}, or
+ * {@link IntKeyFrames} to <tt>getTarget</tt>, with either the name of a property or a setter. The returned timing
+ * target does not allocate on each tick of the animation if the property's setter takes the primitive type.
+ * 
+ * <pre>
+ * DoubleKeyFrames kf = new DoubleKeyFrames.Builder(0).addFrames(100, 50).build();
+ * TimingTarget ps = PropertySetter.getTarget(shape, &quot;x&quot;, kf);
+ * TimingTarget ps2 = PropertySetter.getTarget(kf, x -&gt; shape.x = x);
+ * </pre>
+ * 
  * @author Chet Haase
  * @author Tim Halloran
  */
@@ -138,7 +164,30 @@ public final class PropertySetter {
      * @return a timing target.
      */
     public static <T> TimingTargetAdapter getTarget(Object object, String propertyName, KeyFrames<T> keyFrames) {
-        return getTargetHelper(object, propertyName, keyFrames, false);
+        return getTargetHelper(object, propertyName, keyFrames, false, false);
+    }
+
+    /**
+     * Constructs a timing target that changes an object's property over time, optionally reusing the values it passes
+     * to the property's setter.
+     * 
+     * @param <T>
+     *            the type of the object's property.
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property to manipulate on <tt>object</tt>.
+     * @param keyFrames
+     *            a key frames instance that define how the property's value changes over time.
+     * @param reuseValues
+     *            {@code true} if, when the evaluator of <tt>keyFrames</tt> is a {@link MutableEvaluator}, the values
+     *            passed to the property's setter may be mutated and passed again two ticks later, {@code false} if a
+     *            new value is passed on each tick.
+     * @return a timing target.
+     */
+    public static <T> TimingTargetAdapter getTarget(
+        Object object, String propertyName, KeyFrames<T> keyFrames, boolean reuseValues) {
+        return getTargetHelper(object, propertyName, keyFrames, false, reuseValues);
     }
 
     /**
@@ -199,7 +248,31 @@ public final class PropertySetter {
      * @return a timing target.
      */
     public static <T> TimingTargetAdapter getTargetTo(Object object, String propertyName, KeyFrames<T> keyFrames) {
-        return getTargetHelper(object, propertyName, keyFrames, true);
+        return getTargetHelper(object, propertyName, keyFrames, true, false);
+    }
+
+    /**
+     * Constructs a timing target that changes an object's property from its current value over time, optionally
+     * reusing the values it passes to the property's setter. This is referred to as a "to" animation.
+     * 
+     * @param <T>
+     *            the type of the object's property.
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property to manipulate on <tt>object</tt>.
+     * @param keyFrames
+     *            a key frames instance that define how the property's value changes over time. The initial value is
+     *            ignored and replaced with the current value of the object's property.
+     * @param reuseValues
+     *            {@code true} if, when the evaluator of <tt>keyFrames</tt> is a {@link MutableEvaluator}, the values
+     *            passed to the property's setter may be mutated and passed again two ticks later, {@code false} if a
+     *            new value is passed on each tick.
+     * @return a timing target.
+     */
+    public static <T> TimingTargetAdapter getTargetTo(
+        Object object, String propertyName, KeyFrames<T> keyFrames, boolean reuseValues) {
+        return getTargetHelper(object, propertyName, keyFrames, true, reuseValues);
     }
 
     /**
@@ -248,12 +321,311 @@ public final class PropertySetter {
         return getTargetTo(object, propertyName, keyFrames);
     }
 
+    /**
+     * Constructs a timing target that passes the values of primitive key frames to a setter over time. Neither the
+     * key frames nor the returned timing target box values or allocate on each tick of the animation.
+     * 
+     * @param keyFrames
+     *            a key frames instance that define how the value changes over time.
+     * @param setter
+     *            the setter that receives the value on each tick of the animation.
+     * @return a timing target.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>keyFrames</tt> or <tt>setter</tt> is {@code null}.
+     */
+    public static TimingTargetAdapter getTarget(DoubleKeyFrames keyFrames, DoubleKeyFrames.Setter setter) {
+        if (keyFrames == null) {
+            throw new IllegalArgumentException(I18N.err(1, "keyFrames"));
+        }
+        if (setter == null) {
+            throw new IllegalArgumentException(I18N.err(1, "setter"));
+        }
+        return new DoubleSetterTimingTarget(keyFrames, setter);
+    }
+
+    /**
+     * Constructs a timing target that passes the values of primitive key frames to a setter over time. Neither the
+     * key frames nor the returned timing target box values or allocate on each tick of the animation.
+     * 
+     * @param keyFrames
+     *            a key frames instance that define how the value changes over time.
+     * @param setter
+     *            the setter that receives the value on each tick of the animation.
+     * @return a timing target.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>keyFrames</tt> or <tt>setter</tt> is {@code null}.
+     */
+    public static TimingTargetAdapter getTarget(FloatKeyFrames keyFrames, FloatKeyFrames.Setter setter) {
+        if (keyFrames == null) {
+            throw new IllegalArgumentException(I18N.err(1, "keyFrames"));
+        }
+        if (setter == null) {
+            throw new IllegalArgumentException(I18N.err(1, "setter"));
+        }
+        return new FloatSetterTimingTarget(keyFrames, setter);
+    }
+
+    /**
+     * Constructs a timing target that passes the values of primitive key frames to a setter over time. Neither the
+     * key frames nor the returned timing target box values or allocate on each tick of the animation.
+     * 
+     * @param keyFrames
+     *            a key frames instance that define how the value changes over time.
+     * @param setter
+     *            the setter that receives the value on each tick of the animation.
+     * @return a timing target.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>keyFrames</tt> or <tt>setter</tt> is {@code null}.
+     */
+    public static TimingTargetAdapter getTarget(IntKeyFrames keyFrames, IntKeyFrames.Setter setter) {
+        if (keyFrames == null) {
+            throw new IllegalArgumentException(I18N.err(1, "keyFrames"));
+        }
+        if (setter == null) {
+            throw new IllegalArgumentException(I18N.err(1, "setter"));
+        }
+        return new IntSetterTimingTarget(keyFrames, setter);
+    }
+
+    /**
+     * Constructs a timing target that changes an object's <tt>double</tt> property over time. The setter of the
+     * property is bound once, so if it takes a <tt>double</tt> then no values are boxed and no reflection is used on
+     * each tick of the animation.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property to manipulate on <tt>object</tt>.
+     * @param keyFrames
+     *            a key frames instance that define how the property's value changes over time.
+     * @return a timing target.
+     */
+    public static TimingTargetAdapter getTarget(Object object, String propertyName, DoubleKeyFrames keyFrames) {
+        checkPropertyArguments(object, propertyName, keyFrames);
+        final PropertyAccessor accessor = getAccessor(object, propertyName, Double.class, false);
+        final TimingTargetAdapter result = getTarget(keyFrames, new DoublePropertySetter(object, accessor));
+        result.setDebugName(propertyName);
+        return result;
+    }
+
+    /**
+     * Constructs a timing target that changes an object's <tt>float</tt> property over time. The setter of the property
+     * is bound once, so if it takes a <tt>float</tt> then no values are boxed and no reflection is used on each tick of
+     * the animation.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property to manipulate on <tt>object</tt>.
+     * @param keyFrames
+     *            a key frames instance that define how the property's value changes over time.
+     * @return a timing target.
+     */
+    public static TimingTargetAdapter getTarget(Object object, String propertyName, FloatKeyFrames keyFrames) {
+        checkPropertyArguments(object, propertyName, keyFrames);
+        final PropertyAccessor accessor = getAccessor(object, propertyName, Float.class, false);
+        final TimingTargetAdapter result = getTarget(keyFrames, new FloatPropertySetter(object, accessor));
+        result.setDebugName(propertyName);
+        return result;
+    }
+
+    /**
+     * Constructs a timing target that changes an object's <tt>int</tt> property over time. The setter of the property
+     * is bound once, so if it takes a <tt>int</tt> then no values are boxed and no reflection is used on each tick of
+     * the animation.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property to manipulate on <tt>object</tt>.
+     * @param keyFrames
+     *            a key frames instance that define how the property's value changes over time.
+     * @return a timing target.
+     */
+    public static TimingTargetAdapter getTarget(Object object, String propertyName, IntKeyFrames keyFrames) {
+        checkPropertyArguments(object, propertyName, keyFrames);
+        final PropertyAccessor accessor = getAccessor(object, propertyName, Integer.class, false);
+        final TimingTargetAdapter result = getTarget(keyFrames, new IntPropertySetter(object, accessor));
+        result.setDebugName(propertyName);
+        return result;
+    }
+
     private PropertySetter() {
         throw new AssertionError();
     }
 
-    static <T> TimingTargetAdapter getTargetHelper(
-        final Object object, final String propertyName, final KeyFrames<T> keyFrames, final boolean isToAnimation) {
+    static <T> TimingTargetAdapter getTargetHelper(final Object object, final String propertyName,
+        final KeyFrames<T> keyFrames, final boolean isToAnimation, final boolean reuseValues) {
+        checkPropertyArguments(object, propertyName, keyFrames);
+        @SuppressWarnings("unchecked")
+        final KeyFrames<Object> objectKeyFrames = (KeyFrames<Object>) keyFrames;
+        /*
+         * The getter method for the property is only needed if this is a "to" animation.
+         */
+        final PropertyAccessor accessor =
+            getAccessor(object, propertyName, keyFrames.getClassOfValue(), isToAnimation);
+        if (isToAnimation) {
+            /*
+             * Setup "to" animation.
+             */
+            return new PropertySetterToTimingTarget(objectKeyFrames, object, accessor, propertyName, reuseValues);
+        }
+        else {
+            /*
+             * Setup animation.
+             */
+            return new PropertySetterTimingTarget(objectKeyFrames, object, accessor, propertyName, reuseValues);
+        }
+    }
+
+    /**
+     * The accessors found so far for classes that can see this library, per class of the animated objects.
+     * <p>
+     * A {@link ClassValue} is used so that the cache does not keep a class, or its class loader, from being unloaded.
+     * Values cached for a class refer to this library, and to the type of the values passed to the setter, so those
+     * must be loaded by the class loader of the class or one of its ancestors. Otherwise the cached values would keep
+     * their class loaders from being unloaded for as long as the class is loaded.
+     */
+    static final ClassValue<ConcurrentMap<AccessorKey, PropertyAccessor>> ACCESSORS =
+        new ClassValue<ConcurrentMap<AccessorKey, PropertyAccessor>>() {
+            @Override
+            protected ConcurrentMap<AccessorKey, PropertyAccessor> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<AccessorKey, PropertyAccessor>();
+            }
+        };
+
+    /**
+     * The accessors found so far for classes loaded by the class loader of this library or one of its ancestors, such
+     * as Swing components. These classes outlive this library, so this library may refer to them.
+     */
+    static final ConcurrentMap<Class<?>, ConcurrentMap<AccessorKey, PropertyAccessor>> ANCESTOR_ACCESSORS =
+        new ConcurrentHashMap<Class<?>, ConcurrentMap<AccessorKey, PropertyAccessor>>();
+
+    /**
+     * The key of an accessor within {@link #ACCESSORS} or {@link #ANCESTOR_ACCESSORS}.
+     */
+    static final class AccessorKey {
+
+        final String f_propertyName;
+
+        final Class<?> f_valueType;
+
+        final boolean f_withGetter;
+
+        AccessorKey(String propertyName, Class<?> valueType, boolean withGetter) {
+            f_propertyName = propertyName;
+            f_valueType = valueType;
+            f_withGetter = withGetter;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof AccessorKey)) {
+                return false;
+            }
+            final AccessorKey other = (AccessorKey) obj;
+            return f_propertyName.equals(other.f_propertyName) && f_valueType == other.f_valueType
+                && f_withGetter == other.f_withGetter;
+        }
+
+        @Override
+        public int hashCode() {
+            return (f_propertyName.hashCode() * 31 + f_valueType.hashCode()) * 31 + (f_withGetter ? 1 : 0);
+        }
+    }
+
+    /**
+     * Gets the accessor of a property, from the cache if the property has been accessed before on an object of the
+     * same class.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property on <tt>object</tt>.
+     * @param valueType
+     *            the type of the values that will be passed to the setter.
+     * @param withGetter
+     *            {@code true} if the getter of the property is needed.
+     * @return the accessor.
+     * 
+     * @throws IllegalArgumentException
+     *             if no setter, or no getter if one is needed, can be found.
+     */
+    static PropertyAccessor getAccessor(Object object, String propertyName, Class<?> valueType, boolean withGetter) {
+        final ConcurrentMap<AccessorKey, PropertyAccessor> accessors = getAccessors(object.getClass(), valueType);
+        final AccessorKey key = new AccessorKey(propertyName, valueType, withGetter);
+        if (accessors != null) {
+            final PropertyAccessor cached = accessors.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final Method setter = findSetter(object, propertyName, valueType);
+        final Method getter = withGetter ? findGetter(object, propertyName) : null;
+        final PropertyAccessor result = new PropertyAccessor(setter, getter, valueType);
+        if (accessors != null) {
+            final PropertyAccessor raced = accessors.putIfAbsent(key, result);
+            if (raced != null) {
+                return raced;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the cached accessors of a class for values of the passed type.
+     * 
+     * @return the cached accessors, or {@code null} if caching the accessors could keep a class loader from being
+     *         unloaded.
+     */
+    static ConcurrentMap<AccessorKey, PropertyAccessor> getAccessors(Class<?> type, Class<?> valueType) {
+        if (!isLoadedBySameOrAncestor(valueType, type)) {
+            return null;
+        }
+        if (isLoadedBySameOrAncestor(PropertySetter.class, type)) {
+            return ACCESSORS.get(type);
+        }
+        if (isLoadedBySameOrAncestor(type, PropertySetter.class)) {
+            ConcurrentMap<AccessorKey, PropertyAccessor> result = ANCESTOR_ACCESSORS.get(type);
+            if (result == null) {
+                final ConcurrentMap<AccessorKey, PropertyAccessor> accessors =
+                    new ConcurrentHashMap<AccessorKey, PropertyAccessor>();
+                result = ANCESTOR_ACCESSORS.putIfAbsent(type, accessors);
+                if (result == null) {
+                    result = accessors;
+                }
+            }
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the class loader of a class is the class loader of another class, or one of its ancestors, so that
+     * the first class cannot be unloaded before the second.
+     */
+    static boolean isLoadedBySameOrAncestor(Class<?> c, Class<?> other) {
+        final ClassLoader loader = c.getClassLoader();
+        if (loader == null) {
+            return true; // the bootstrap class loader
+        }
+        try {
+            for (ClassLoader l = other.getClassLoader(); l != null; l = l.getParent()) {
+                if (l == loader) {
+                    return true;
+                }
+            }
+        }
+        catch (SecurityException ignore) {
+            // fall through
+        }
+        return false;
+    }
+
+    static void checkPropertyArguments(Object object, String propertyName, Object keyFrames) {
         if (object == null) {
             throw new IllegalArgumentException(I18N.err(1, "object"));
         }
@@ -263,15 +635,24 @@ public final class PropertySetter {
         if (keyFrames == null) {
             throw new IllegalArgumentException(I18N.err(1, "keyFrames"));
         }
-        @SuppressWarnings("unchecked")
-        final KeyFrames<Object> objectKeyFrames = (KeyFrames<Object>) keyFrames;
-        /*
-         * Find the setter method for the property.
-         */
-        final String firstChar = propertyName.substring(0, 1);
-        final String remainder = propertyName.substring(1);
-        final String propertySetterName = "set" + firstChar.toUpperCase(Locale.ENGLISH) + remainder;
-        final Class<?> argType = keyFrames.getClassOfValue();
+    }
+
+    /**
+     * Finds the setter method for a property.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property on <tt>object</tt>.
+     * @param argType
+     *            the type of the values that will be passed to the setter.
+     * @return the setter method.
+     * 
+     * @throws IllegalArgumentException
+     *             if no setter can be found.
+     */
+    static Method findSetter(Object object, String propertyName, Class<?> argType) {
+        final String propertySetterName = accessorName("set", propertyName);
         final ArrayList<Method> potentials = new ArrayList<Method>();
         final Method propertySetter;
         try {
@@ -291,42 +672,51 @@ public final class PropertySetter {
         catch (SecurityException e) {
             throw new IllegalArgumentException(I18N.err(30, propertySetterName, propertyName, object.toString()), e);
         }
-        /*
-         * Find the getter method for the property if this is a "to" animations
-         */
-        if (isToAnimation) {
-            final String propertyGetterName = "get" + firstChar.toUpperCase(Locale.ENGLISH) + remainder;
-            Method propertyGetter = null;
-            try {
-                for (Method m : object.getClass().getMethods()) {
-                    if (m.getName().equals(propertyGetterName)) {
-                        if (m.getParameterTypes().length == 0) {
-                            propertyGetter = m;
-                            break;
-                        }
+        return propertySetter;
+    }
+
+    /**
+     * Finds the getter method for a property.
+     * 
+     * @param object
+     *            an object.
+     * @param propertyName
+     *            the name of the the property on <tt>object</tt>.
+     * @return the getter method.
+     * 
+     * @throws IllegalArgumentException
+     *             if no getter can be found.
+     */
+    static Method findGetter(Object object, String propertyName) {
+        final String propertyGetterName = accessorName("get", propertyName);
+        Method propertyGetter = null;
+        try {
+            for (Method m : object.getClass().getMethods()) {
+                if (m.getName().equals(propertyGetterName)) {
+                    if (m.getParameterTypes().length == 0) {
+                        propertyGetter = m;
+                        break;
                     }
                 }
-                if (propertyGetter == null) {
-                    throw new IllegalArgumentException(
-                        I18N.err(30, propertyGetterName, propertyName, object.toString()));
-                }
             }
-            catch (SecurityException e) {
-                throw new IllegalArgumentException(I18N.err(30, propertyGetterName, propertyName, object.toString()),
-                    e);
+            if (propertyGetter == null) {
+                throw new IllegalArgumentException(I18N.err(30, propertyGetterName, propertyName, object.toString()));
             }
-            /*
-             * Setup "to" animation.
-             */
-            return new PropertySetterToTimingTarget(objectKeyFrames, object, propertyGetter, propertySetter,
-                propertyName);
         }
-        else {
-            /*
-             * Setup animation.
-             */
-            return new PropertySetterTimingTarget(objectKeyFrames, object, propertySetter, propertyName);
+        catch (SecurityException e) {
+            throw new IllegalArgumentException(I18N.err(30, propertyGetterName, propertyName, object.toString()), e);
         }
+        return propertyGetter;
+    }
+
+    /**
+     * Constructs the name of the setter or getter of a property, e.g., <tt>setBackground</tt> for the property
+     * <tt>background</tt>.
+     */
+    static String accessorName(String prefix, String propertyName) {
+        final String firstChar = propertyName.substring(0, 1);
+        final String remainder = propertyName.substring(1);
+        return prefix + firstChar.toUpperCase(Locale.ENGLISH) + remainder;
     }
 
     /**
@@ -409,28 +799,60 @@ public final class PropertySetter {
 
     static class PropertySetterTimingTarget extends TimingTargetAdapter {
 
-        protected final AtomicReference<KeyFrames<Object>> f_keyFrames = new AtomicReference<KeyFrames<Object>>();
+        /**
+         * A cursor within the key frames evaluated by this target. Successive ticks of an animation are close in time,
+         * so the cursor makes finding the key frames to evaluate between a constant time operation.
+         */
+        protected final AtomicReference<KeyFrames.Cursor<Object>> f_keyFrames =
+            new AtomicReference<KeyFrames.Cursor<Object>>();
 
         protected final Object f_object;
 
-        protected final Method f_propertySetter;
+        protected final PropertyAccessor f_accessor;
 
-        PropertySetterTimingTarget(KeyFrames<Object> keyFrames, Object object, Method propertySetter,
-            String propertyName) {
-            f_keyFrames.set(keyFrames);
+        /**
+         * {@code true} if values previously passed to the property setter may be reused, when the key frames'
+         * evaluator is a {@link MutableEvaluator}.
+         */
+        final boolean f_reuseAllowed;
+
+        /**
+         * {@code true} if reuse is allowed and the key frames' evaluator is a {@link MutableEvaluator}, so that values
+         * previously passed to the property setter are reused. Otherwise the scratch values are not touched on each
+         * tick.
+         */
+        boolean f_reuseValues;
+
+        /**
+         * Values previously passed to the property setter, reused when {@link #f_reuseValues} is {@code true}. Two are
+         * used in turn so that the value passed on one tick is not mutated until two ticks later, by which time the
+         * property refers to the value passed on the tick in between.
+         */
+        final Object[] f_scratch = new Object[2];
+
+        int f_nextScratch = 0;
+
+        PropertySetterTimingTarget(KeyFrames<Object> keyFrames, Object object, PropertyAccessor accessor,
+            String propertyName, boolean reuseValues) {
+            f_keyFrames.set(keyFrames.cursor());
+            f_reuseAllowed = reuseValues;
+            f_reuseValues = reuseValues && keyFrames.f_evaluator instanceof MutableEvaluator;
             f_object = object;
-            f_propertySetter = propertySetter;
+            f_accessor = accessor;
             f_debugName = propertyName;
         }
 
         @Override
         public void timingEvent(Animator source, double fraction) {
-            try {
-                f_propertySetter.invoke(f_object, f_keyFrames.get().getInterpolatedValueAt(fraction));
-            }
-            catch (Exception e) {
-                throw new IllegalStateException(I18N.err(31, f_propertySetter.getName(), f_object.toString()), e);
+            final KeyFrames.Cursor<Object> cursor = f_keyFrames.get();
+            if (!f_reuseValues) {
+                f_accessor.set(f_object, cursor.getInterpolatedValueAt(fraction));
+                return;
             }
+            final Object value = cursor.getInterpolatedValueInto(fraction, f_scratch[f_nextScratch]);
+            f_scratch[f_nextScratch] = value;
+            f_nextScratch ^= 1;
+            f_accessor.set(f_object, value);
         }
 
         @Override
@@ -442,34 +864,198 @@ public final class PropertySetter {
 
     static final class PropertySetterToTimingTarget extends PropertySetterTimingTarget {
 
-        final Method f_propertyGetter;
+        PropertySetterToTimingTarget(KeyFrames<Object> keyFrames, Object object, PropertyAccessor accessor,
+            String propertyName, boolean reuseValues) {
+            super(keyFrames, object, accessor, propertyName, reuseValues);
+        }
+
+        @Override
+        public void begin(Animator source) {
+            final Object startValue = f_accessor.get(f_object);
+            final KeyFrames.Builder<Object> builder = new KeyFrames.Builder<Object>(startValue);
+            boolean first = true;
+            for (KeyFrames.Frame<Object> frame : f_keyFrames.get().getKeyFrames()) {
+                if (first) {
+                    first = false;
+                }
+                else {
+                    builder.addFrame(frame);
+                }
+            }
+            final KeyFrames<Object> keyFrames = builder.build();
+            f_keyFrames.set(keyFrames.cursor());
+            f_reuseValues = f_reuseAllowed && keyFrames.f_evaluator instanceof MutableEvaluator;
+            /*
+             * The start value may be a value we passed to the setter in a previous run, so it must no longer be
+             * mutated.
+             */
+            f_scratch[0] = f_scratch[1] = null;
+            super.begin(source); // set the initial value
+        }
+    }
+
+    static final class DoubleSetterTimingTarget extends TimingTargetAdapter {
+
+        final DoubleKeyFrames f_keyFrames;
+
+        final DoubleKeyFrames.Setter f_setter;
+
+        /**
+         * The interval of time found on the last tick, used as the starting point of the search on the next tick.
+         */
+        int f_interval = 0;
 
-        PropertySetterToTimingTarget(KeyFrames<Object> keyFrames, Object object, Method propertyGetter,
-            Method propertySetter, String propertyName) {
-            super(keyFrames, object, propertySetter, propertyName);
-            f_propertyGetter = propertyGetter;
+        DoubleSetterTimingTarget(DoubleKeyFrames keyFrames, DoubleKeyFrames.Setter setter) {
+            f_keyFrames = keyFrames;
+            f_setter = setter;
+        }
+
+        @Override
+        public void timingEvent(Animator source, double fraction) {
+            final int interval = f_keyFrames.getFrameIndexNear(fraction, f_interval);
+            f_interval = interval;
+            f_setter.set(f_keyFrames.getInterpolatedDoubleAt(interval, fraction));
+        }
+
+        @Override
+        public void begin(Animator source) {
+            final double fraction = source.getCurrentDirection() == Direction.FORWARD ? 0.0 : 1.0;
+            timingEvent(source, fraction);
+        }
+    }
+
+    static final class FloatSetterTimingTarget extends TimingTargetAdapter {
+
+        final FloatKeyFrames f_keyFrames;
+
+        final FloatKeyFrames.Setter f_setter;
+
+        /**
+         * The interval of time found on the last tick, used as the starting point of the search on the next tick.
+         */
+        int f_interval = 0;
+
+        FloatSetterTimingTarget(FloatKeyFrames keyFrames, FloatKeyFrames.Setter setter) {
+            f_keyFrames = keyFrames;
+            f_setter = setter;
+        }
+
+        @Override
+        public void timingEvent(Animator source, double fraction) {
+            final int interval = f_keyFrames.getFrameIndexNear(fraction, f_interval);
+            f_interval = interval;
+            f_setter.set(f_keyFrames.getInterpolatedFloatAt(interval, fraction));
         }
 
         @Override
         public void begin(Animator source) {
+            final double fraction = source.getCurrentDirection() == Direction.FORWARD ? 0.0 : 1.0;
+            timingEvent(source, fraction);
+        }
+    }
+
+    static final class IntSetterTimingTarget extends TimingTargetAdapter {
+
+        final IntKeyFrames f_keyFrames;
+
+        final IntKeyFrames.Setter f_setter;
+
+        /**
+         * The interval of time found on the last tick, used as the starting point of the search on the next tick.
+         */
+        int f_interval = 0;
+
+        IntSetterTimingTarget(IntKeyFrames keyFrames, IntKeyFrames.Setter setter) {
+            f_keyFrames = keyFrames;
+            f_setter = setter;
+        }
+
+        @Override
+        public void timingEvent(Animator source, double fraction) {
+            final int interval = f_keyFrames.getFrameIndexNear(fraction, f_interval);
+            f_interval = interval;
+            f_setter.set(f_keyFrames.getInterpolatedIntAt(interval, fraction));
+        }
+
+        @Override
+        public void begin(Animator source) {
+            final double fraction = source.getCurrentDirection() == Direction.FORWARD ? 0.0 : 1.0;
+            timingEvent(source, fraction);
+        }
+    }
+
+    static final class DoublePropertySetter implements DoubleKeyFrames.Setter {
+
+        final Object f_object;
+
+        final PropertyAccessor f_accessor;
+
+        final PropertyAccessor.DoubleSetter f_setter;
+
+        DoublePropertySetter(Object object, PropertyAccessor accessor) {
+            f_object = object;
+            f_accessor = accessor;
+            f_setter = accessor.getDoubleSetter();
+        }
+
+        @Override
+        public void set(double value) {
             try {
-                final Object startValue = f_propertyGetter.invoke(f_object);
-                final KeyFrames.Builder<Object> builder = new KeyFrames.Builder<Object>(startValue);
-                boolean first = true;
-                for (KeyFrames.Frame<Object> frame : f_keyFrames.get()) {
-                    if (first) {
-                        first = false;
-                    }
-                    else {
-                        builder.addFrame(frame);
-                    }
-                }
-                f_keyFrames.set(builder.build());
+                f_setter.set(f_object, value);
             }
-            catch (Exception e) {
-                throw new IllegalStateException(I18N.err(31, f_propertyGetter.getName(), f_object.toString()), e);
+            catch (Throwable e) {
+                throw f_accessor.setterFailed(f_object, e);
+            }
+        }
+    }
+
+    static final class FloatPropertySetter implements FloatKeyFrames.Setter {
+
+        final Object f_object;
+
+        final PropertyAccessor f_accessor;
+
+        final PropertyAccessor.FloatSetter f_setter;
+
+        FloatPropertySetter(Object object, PropertyAccessor accessor) {
+            f_object = object;
+            f_accessor = accessor;
+            f_setter = accessor.getFloatSetter();
+        }
+
+        @Override
+        public void set(float value) {
+            try {
+                f_setter.set(f_object, value);
+            }
+            catch (Throwable e) {
+                throw f_accessor.setterFailed(f_object, e);
+            }
+        }
+    }
+
+    static final class IntPropertySetter implements IntKeyFrames.Setter {
+
+        final Object f_object;
+
+        final PropertyAccessor f_accessor;
+
+        final PropertyAccessor.IntSetter f_setter;
+
+        IntPropertySetter(Object object, PropertyAccessor accessor) {
+            f_object = object;
+            f_accessor = accessor;
+            f_setter = accessor.getIntSetter();
+        }
+
+        @Override
+        public void set(int value) {
+            try {
+                f_setter.set(f_object, value);
+            }
+            catch (Throwable e) {
+                throw f_accessor.setterFailed(f_object, e);
             }
-            super.begin(source); // set the initial value
         }
     }
 }
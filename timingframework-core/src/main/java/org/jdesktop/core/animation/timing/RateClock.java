@@ -0,0 +1,127 @@
+package org.jdesktop.core.animation.timing;
+
+import org.jdesktop.core.animation.i18n.I18N;
+
+/**
+ * A linear mapping from one clock, in nanoseconds, to a clock that runs at a rate relative to it. Used by
+ * {@link TimingSource} for its global rate and by {@link Animator} for its playback rate.
+ * <p>
+ * A rate change replaces the mapping with one whose origin is the time of the change, so the scaled clock is
+ * continuous: it never jumps, it only runs faster or slower from then on. Anything measured in the scaled clock, such
+ * as the fraction of an animation cycle, is therefore continuous across rate changes as well.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+final class RateClock {
+
+    /**
+     * The time, in the source clock, of the last rate change.
+     */
+    final long f_originNanos;
+
+    /**
+     * The time, in the scaled clock, of the last rate change.
+     */
+    final long f_originScaledNanos;
+
+    final double f_rate;
+
+    RateClock(long originNanos, long originScaledNanos, double rate) {
+        f_originNanos = originNanos;
+        f_originScaledNanos = originScaledNanos;
+        f_rate = rate;
+    }
+
+    /**
+     * Maps a time of the source clock to the scaled clock.
+     *
+     * @param nanoTime
+     *            a time of the source clock.
+     * @return the time of the scaled clock.
+     */
+    long scale(long nanoTime) {
+        return f_originScaledNanos + (long) Math.floor((nanoTime - f_originNanos) * f_rate);
+    }
+
+    /**
+     * Maps a time of the scaled clock to the earliest time of the source clock that is mapped to it or later.
+     *
+     * @param scaledNanoTime
+     *            a time of the scaled clock. {@link Long#MAX_VALUE} is mapped to itself.
+     * @return the time of the source clock.
+     */
+    long unscale(long scaledNanoTime) {
+        if (scaledNanoTime == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return f_originNanos + (long) Math.ceil((scaledNanoTime - f_originScaledNanos) / f_rate);
+    }
+
+    /**
+     * Maps a time of the source clock to the scaled clock of the passed mapping.
+     *
+     * @param clock
+     *            a mapping, or {@code null} for the identity mapping.
+     * @param nanoTime
+     *            a time of the source clock.
+     * @return the time of the scaled clock.
+     */
+    static long scale(RateClock clock, long nanoTime) {
+        return clock == null ? nanoTime : clock.scale(nanoTime);
+    }
+
+    /**
+     * Maps a time of the scaled clock of the passed mapping to the source clock.
+     *
+     * @param clock
+     *            a mapping, or {@code null} for the identity mapping.
+     * @param scaledNanoTime
+     *            a time of the scaled clock.
+     * @return the time of the source clock.
+     */
+    static long unscale(RateClock clock, long scaledNanoTime) {
+        return clock == null ? scaledNanoTime : clock.unscale(scaledNanoTime);
+    }
+
+    /**
+     * Gets the rate of the passed mapping.
+     *
+     * @param clock
+     *            a mapping, or {@code null} for the identity mapping.
+     * @return the rate.
+     */
+    static double rateOf(RateClock clock) {
+        return clock == null ? 1.0 : clock.f_rate;
+    }
+
+    /**
+     * Constructs a mapping that continues the passed mapping at the passed time and from then on runs at the passed
+     * rate.
+     *
+     * @param clock
+     *            the current mapping, or {@code null} for the identity mapping.
+     * @param nanoTime
+     *            the time of the source clock at which the rate changes.
+     * @param rate
+     *            the new rate.
+     * @return the new mapping.
+     */
+    static RateClock rebase(RateClock clock, long nanoTime, double rate) {
+        return new RateClock(nanoTime, scale(clock, nanoTime), rate);
+    }
+
+    /**
+     * Checks that the passed value is a valid rate.
+     *
+     * @param rate
+     *            a rate.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>rate</tt> is not a positive finite number.
+     */
+    static void checkRate(double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException(I18N.err(77, rate));
+        }
+    }
+}
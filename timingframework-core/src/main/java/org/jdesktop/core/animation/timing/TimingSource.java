@@ -1,7 +1,14 @@
 package org.jdesktop.core.animation.timing;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jdesktop.core.animation.i18n.I18N;
 
 /**
  * This class provides provides a base implementation for arbitrary timers that may be used with the Timing Framework.
@@ -47,6 +54,52 @@ public abstract class TimingSource {
         public void timingSourceTick(TimingSource source, long nanoTime);
     }
 
+    /**
+     * This interface is implemented by a {@link TickListener} that can predict when it next needs to be notified.
+     * Timing sources that are not driven by real time, such as
+     * {@link org.jdesktop.core.animation.timing.sources.VirtualTimingSource}, use this prediction to jump directly from
+     * one interesting instant to the next rather than ticking at a fixed period.
+     * <p>
+     * {@link Animator} and {@link AnimatorGroup} implement this interface.
+     */
+    public interface PredictableTickListener extends TickListener {
+
+        /**
+         * Gets the earliest time after the passed time at which this listener needs to be notified for its state to
+         * change, for example, when a start delay expires, a cycle ends, or an animation ends.
+         * 
+         * @param nanoTime
+         *            the current time of the timing source, in nanoseconds.
+         * @return a time, in nanoseconds, that is greater than <tt>nanoTime</tt>, or {@link Long#MAX_VALUE} if this
+         *         listener does not need to be notified again.
+         */
+        long getNextTickTime(long nanoTime);
+    }
+
+    /**
+     * This interface is implemented by a {@link TickListener} that must always be notified in the thread context of the
+     * {@link TimingSource}, even when parallel dispatch has been turned on via
+     * {@link TimingSource#setParallelDispatch(Executor, int)}. For example, a listener that updates Swing components
+     * directly would implement this interface.
+     * <p>
+     * {@link Animator} and {@link AnimatorGroup} implement this interface and are thread-affine unless they were
+     * constructed otherwise, so the callbacks they make to their timing targets stay in the thread context of the
+     * timing source.
+     */
+    public interface ThreadAffineTickListener extends TickListener {
+
+        /**
+         * Gets if this listener must be notified in the thread context of the {@link TimingSource}. The result must not
+         * change while this listener is registered with a timing source.
+         * 
+         * @return {@code true} if this listener must be notified in the thread context of the timing source,
+         *         {@code false} if it may be notified in any thread.
+         */
+        default boolean isThreadAffine() {
+            return true;
+        }
+    }
+
     /**
      * This interface is implemented by any object wishing to receive "tick" events from a {@link TimingSource} object
      * after all registered {@link TickListener} objects have been notified. The {@link PostTickListener} implementation
@@ -70,6 +123,54 @@ public abstract class TimingSource {
         public void timingSourcePostTick(TimingSource source, long nanoTime);
     }
 
+    /**
+     * This enumeration defines what {@link TimingSource#submit(Runnable)} does when the bounded queue of "one shot"
+     * tasks is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The task is placed in an unbounded overflow queue. Tasks are still run in the order they were received. This
+         * is the default.
+         */
+        SPILL,
+        /**
+         * The caller waits until there is room in the queue. If the caller is running in a tick of the timing source,
+         * for example a task or a listener of the timing source, which would wait forever because the queue is not
+         * drained until the next tick, the task is spilled.
+         */
+        BLOCK,
+        /**
+         * The task is rejected with an {@link IllegalStateException}.
+         */
+        REJECT
+    }
+
+    /**
+     * The default capacity of the queue of "one shot" tasks.
+     */
+    public static final int DEFAULT_ONE_SHOT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Constructs a timing source with the default capacity for its queue of "one shot" tasks.
+     */
+    protected TimingSource() {
+        this(DEFAULT_ONE_SHOT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a timing source with the passed capacity for its queue of "one shot" tasks.
+     * 
+     * @param oneShotQueueCapacity
+     *            the number of tasks that can be queued, via {@link #submit(Runnable)}, before the
+     *            {@link OverflowPolicy} is applied. This value is rounded up to a power of two.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>oneShotQueueCapacity</tt> is less than one.
+     */
+    protected TimingSource(int oneShotQueueCapacity) {
+        f_oneShotQueue = new OneShotQueue(oneShotQueueCapacity);
+    }
+
     /**
      * Starts up the timing source.
      */
@@ -90,11 +191,14 @@ public abstract class TimingSource {
     /**
      * Listeners that will receive "tick" events.
      */
-    final CopyOnWriteArraySet<TickListener> f_tickListeners = new CopyOnWriteArraySet<TickListener>();
+    final ListenerRegistry<TickListener> f_tickListeners = new ListenerRegistry<TickListener>();
 
     /**
      * Adds a {@link TickListener} to the set of listeners that receive timing events from this {@link TimingSource}.
      * Has no effect if the listener has already been added.
+     * <p>
+     * This method does not block and runs in constant time. The listener is added at the start of the next tick of
+     * time, so it is not notified of a tick that is in progress.
      * 
      * @param listener
      *            the listener to be added.
@@ -104,27 +208,128 @@ public abstract class TimingSource {
             return;
         }
         f_tickListeners.add(listener);
+        onPendingChange();
+        resumeIfSuspended();
     }
 
     /**
      * Removes a {@link TickListener} from the set of listeners that receive timing events from this
      * {@link TimingSource}. Has no effect if the listener is not in the set of listeners.
+     * <p>
+     * This method does not block and runs in constant time. The listener is removed at the start of the next tick of
+     * time, so it may be notified of a tick that is in progress.
      * 
      * @param listener
      *            the listener to be removed.
      */
     public final void removeTickListener(TickListener listener) {
         f_tickListeners.remove(listener);
+        f_delayedTickListeners.cancel(listener);
+        onPendingChange();
+    }
+
+    /**
+     * Adds the passed {@link TickListener}s, as one change, to the set of listeners that receive timing events from
+     * this {@link TimingSource}. Listeners that have already been added, and {@code null} elements, are skipped.
+     * 
+     * @param listeners
+     *            the listeners to be added. The array is held until the start of the next tick and must not be
+     *            mutated.
+     */
+    final void addTickListeners(TickListener[] listeners) {
+        if (listeners.length == 0) {
+            return;
+        }
+        f_tickListeners.addAll(listeners);
+        onPendingChange();
+        resumeIfSuspended();
+    }
+
+    /**
+     * Removes the passed {@link TickListener}s, as one change, from the set of listeners that receive timing events
+     * from this {@link TimingSource}. Any delayed addition of the listeners is cancelled.
+     * 
+     * @param listeners
+     *            the listeners to be removed. The array is held until the start of the next tick and must not be
+     *            mutated.
+     */
+    final void removeTickListeners(TickListener[] listeners) {
+        if (listeners.length == 0) {
+            return;
+        }
+        f_tickListeners.removeAll(listeners);
+        for (TickListener listener : listeners) {
+            f_delayedTickListeners.cancel(listener);
+        }
+        onPendingChange();
+    }
+
+    /**
+     * Tick listeners whose addition has been delayed.
+     */
+    final TimingWheel<TickListener> f_delayedTickListeners = new TimingWheel<TickListener>();
+
+    /**
+     * Adds a {@link TickListener} to the set of listeners that receive timing events from this {@link TimingSource}
+     * after the passed delay has elapsed. Has no effect, when the delay has elapsed, if the listener has already been
+     * added. Calling this method again before the delay has elapsed replaces the delay, and a call to
+     * {@link #removeTickListener(TickListener)} before the delay has elapsed cancels the addition.
+     * <p>
+     * A listener waiting for its delay to elapse is held in a timing wheel, so that it costs nothing each tick. It is
+     * added at the start of the first tick at or after the delay has elapsed. This method does not block and runs in
+     * constant time.
+     * <p>
+     * The delay is measured by the scaled clock of this timing source, so it is stretched or shortened by the global
+     * rate set with {@link #setRate(double)}.
+     * 
+     * @param listener
+     *            the listener to be added.
+     * @param delay
+     *            the amount of time to wait before adding the listener.
+     * @param unit
+     *            the time unit of delay parameter.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>delay</tt> is negative or <tt>unit</tt> is {@code null}.
+     */
+    public final void addTickListener(TickListener listener, long delay, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        if (delay < 0) {
+            throw new IllegalArgumentException(I18N.err(75, delay));
+        }
+        addTickListenerAt(listener, getScaledNanoTime() + unit.toNanos(delay));
+    }
+
+    /**
+     * Adds a {@link TickListener} at the start of the first tick at or after the passed time of the scaled clock of
+     * this timing source.
+     * 
+     * @param listener
+     *            the listener to be added.
+     * @param nanoTime
+     *            the time, as returned by {@link #getScaledNanoTime()}, to add the listener at.
+     */
+    final void addTickListenerAt(TickListener listener, long nanoTime) {
+        if (listener == null) {
+            return;
+        }
+        f_delayedTickListeners.schedule(listener, nanoTime);
+        onPendingChange();
+        resumeIfSuspended();
     }
 
     /**
      * Listeners that will receive "tick" events after all the registered {@link TickListener}s have been notified.
      */
-    final CopyOnWriteArraySet<PostTickListener> f_postTickListeners = new CopyOnWriteArraySet<PostTickListener>();
+    final ListenerRegistry<PostTickListener> f_postTickListeners = new ListenerRegistry<PostTickListener>();
 
     /**
      * Adds a {@link PostTickListener} to the set of listeners that receive timing events from this
      * {@link TimingSource}. Has no effect if the listener has already been added.
+     * <p>
+     * Like {@link #addTickListener(TickListener)}, the listener is added at the start of the next tick of time.
      * 
      * @param listener
      *            the listener to be added.
@@ -134,23 +339,64 @@ public abstract class TimingSource {
             return;
         }
         f_postTickListeners.add(listener);
+        onPendingChange();
+        resumeIfSuspended();
     }
 
     /**
      * Removes a {@link PostTickListener} from the set of listeners that receive timing events from this
      * {@link TimingSource}. Has no effect if the listener is not in the set of listeners.
+     * <p>
+     * Like {@link #removeTickListener(TickListener)}, the listener is removed at the start of the next tick of time.
      * 
      * @param listener
      *            the listener to be removed.
      */
     public final void removePostTickListener(PostTickListener listener) {
         f_postTickListeners.remove(listener);
+        onPendingChange();
     }
 
     /**
      * Holds "one shot" tasks to be run on the next tick.
      */
-    final ConcurrentLinkedQueue<Runnable> f_oneShotQueue = new ConcurrentLinkedQueue<Runnable>();
+    final OneShotQueue f_oneShotQueue;
+
+    /**
+     * Sets what {@link #submit(Runnable)} does when the queue of "one shot" tasks is full. The default is
+     * {@link OverflowPolicy#SPILL}.
+     * 
+     * @param policy
+     *            an overflow policy.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>policy</tt> is {@code null}.
+     */
+    public final void setOverflowPolicy(OverflowPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException(I18N.err(1, "policy"));
+        }
+        f_oneShotQueue.f_overflowPolicy = policy;
+    }
+
+    /**
+     * Gets what {@link #submit(Runnable)} does when the queue of "one shot" tasks is full.
+     * 
+     * @return the overflow policy.
+     */
+    public final OverflowPolicy getOverflowPolicy() {
+        return f_oneShotQueue.f_overflowPolicy;
+    }
+
+    /**
+     * Gets the number of tasks that can be queued, via {@link #submit(Runnable)}, before the {@link OverflowPolicy} is
+     * applied.
+     * 
+     * @return the capacity of the queue of "one shot" tasks.
+     */
+    public final int getOneShotQueueCapacity() {
+        return f_oneShotQueue.capacity();
+    }
 
     /**
      * Runs the passed task in the thread context of this timing source. The task is not run immediately but, rather, it
@@ -158,7 +404,11 @@ public abstract class TimingSource {
      * block for execution of the task and the task will not execute until after {@link #init()} has not been called.
      * Tasks are executed in the order they are received.
      * <p>
-     * The task is wrapped, via {@link WrappedRunnable}, to log an error if it fails due to an unhandled exception.
+     * An error is logged if the task fails due to an unhandled exception, in the same manner as
+     * {@link WrappedRunnable}, and the remaining tasks are run.
+     * <p>
+     * Tasks are held in a bounded queue, that does not allocate, until they are run. If the queue is full the task is
+     * handled according to the {@link OverflowPolicy} of this timing source.
      * <p>
      * This method is used to execute a snippet of code in the thread context used for {@link TickListener}s and
      * {@link PostTickListener}s.
@@ -166,22 +416,267 @@ public abstract class TimingSource {
      * @param task
      *            a task.
      * 
-     * @see WrappedRunnable
+     * @throws IllegalStateException
+     *             if the queue is full and the overflow policy is {@link OverflowPolicy#REJECT}.
+     * 
+     * @see #setOverflowPolicy(OverflowPolicy)
      */
     public final void submit(Runnable task) {
         if (task == null) {
             return;
         }
-        final WrappedRunnable wrapped = new WrappedRunnable(task);
-        f_oneShotQueue.add(wrapped);
+        f_oneShotQueue.add(task);
+        onPendingChange();
+        resumeIfSuspended();
+    }
+
+    /**
+     * Non-null if tick listeners are notified in parallel.
+     */
+    volatile ParallelTickDispatcher f_parallelDispatcher;
+
+    /**
+     * Turns on parallel notification of the {@link TickListener}s of this timing source. Each tick, the listeners are
+     * split, in registration order, into up to <tt>partitions</tt> contiguous partitions. The first partition is
+     * notified in the thread context of this timing source and the others are notified by tasks run on the passed
+     * executor. Listeners within a partition are notified in registration order.
+     * <p>
+     * Thread-affine listeners, those that implement {@link ThreadAffineTickListener}, are always notified in the thread
+     * context of this timing source. By default every {@link Animator} and {@link AnimatorGroup} is thread-affine. All
+     * the tick listeners complete before any {@link PostTickListener} is notified, so a post-tick listener can still
+     * safely render the program's state.
+     * <p>
+     * If a tick listener throws an exception, the other listeners are still notified and the first exception thrown
+     * is rethrown from {@link #runPerTick()} after all of them have completed.
+     * 
+     * @param executor
+     *            the executor to run partitions on, or {@code null} to notify listeners serially (the default).
+     * @param partitions
+     *            the maximum number of partitions. Ignored if <tt>executor</tt> is {@code null}.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>executor</tt> is non-null and <tt>partitions</tt> is less than one.
+     */
+    public final void setParallelDispatch(Executor executor, int partitions) {
+        f_parallelDispatcher = executor == null ? null : new ParallelTickDispatcher(executor, partitions);
+    }
+
+    /**
+     * Turns parallel notification of the {@link TickListener}s of this timing source on or off. When on, partitions
+     * are run on {@link ForkJoinPool#commonPool()} and the number of partitions is the number of available processors.
+     * 
+     * @param on
+     *            {@code true} to notify listeners in parallel, {@code false} to notify them serially.
+     * 
+     * @see #setParallelDispatch(Executor, int)
+     */
+    public final void setParallelDispatch(boolean on) {
+        if (on) {
+            setParallelDispatch(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+        }
+        else {
+            setParallelDispatch(null, 0);
+        }
+    }
+
+    /**
+     * Gets if tick listeners are notified in parallel.
+     * 
+     * @return {@code true} if tick listeners are notified in parallel, {@code false} if they are notified serially.
+     */
+    public final boolean isParallelDispatch() {
+        return f_parallelDispatcher != null;
+    }
+
+    /**
+     * The number of consecutive idle ticks after which this timing source suspends itself, or zero if auto-suspend is
+     * off.
+     */
+    volatile int f_autoSuspendAfter = 0;
+
+    /**
+     * The number of consecutive idle ticks seen. Only accessed in the thread context of this timing source.
+     */
+    int f_idleTickCount = 0;
+
+    /**
+     * {@code true} if this timing source has suspended itself.
+     */
+    final AtomicBoolean f_suspended = new AtomicBoolean(false);
+
+    /**
+     * The number of calls to {@link #runPerTick()}. Intended for testing.
+     */
+    volatile long f_tickCount = 0;
+
+    /**
+     * Sets this timing source to suspend itself after the passed number of consecutive idle ticks. A tick is idle if,
+     * when it completes, there are no registered {@link TickListener}s or {@link PostTickListener}s and no queued
+     * "one shot" tasks. A suspended timing source stops waking up the CPU until the next call to
+     * {@link #addTickListener(TickListener)}, {@link #addPostTickListener(PostTickListener)}, or
+     * {@link #submit(Runnable)}, which resumes it.
+     * <p>
+     * Auto-suspend only has an effect on timing source implementations that override {@link #onSuspend()} and
+     * {@link #onResume()}.
+     * 
+     * @param idleTicks
+     *            the number of consecutive idle ticks before suspending, or zero to turn auto-suspend off. The default
+     *            is zero.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>idleTicks</tt> is negative.
+     */
+    public final void setAutoSuspendAfter(int idleTicks) {
+        if (idleTicks < 0) {
+            throw new IllegalArgumentException(I18N.err(73, idleTicks));
+        }
+        f_autoSuspendAfter = idleTicks;
+        if (idleTicks == 0) {
+            resumeIfSuspended();
+        }
+    }
+
+    /**
+     * Gets the number of consecutive idle ticks after which this timing source suspends itself.
+     * 
+     * @return the number of consecutive idle ticks before suspending, or zero if auto-suspend is off.
+     */
+    public final int getAutoSuspendAfter() {
+        return f_autoSuspendAfter;
+    }
+
+    /**
+     * Gets if this timing source has suspended itself because it was idle.
+     * 
+     * @return {@code true} if this timing source is suspended, {@code false} otherwise.
+     * 
+     * @see #setAutoSuspendAfter(int)
+     */
+    public final boolean isSuspended() {
+        return f_suspended.get();
+    }
+
+    /**
+     * Called, in the thread context of this timing source, when this timing source suspends itself. Implementations
+     * should stop their timer so that {@link #runPerTick()} is no longer invoked. By default this method does nothing.
+     * <p>
+     * A call to {@link #onResume()}, possibly from another thread, may follow immediately after this method returns.
+     */
+    protected void onSuspend() {
+        // nothing to do
+    }
+
+    /**
+     * Called, in the thread context of the caller of {@link #addTickListener(TickListener)},
+     * {@link #addPostTickListener(PostTickListener)}, or {@link #submit(Runnable)}, to resume a suspended timing
+     * source. Implementations should restart their timer in phase with its original period, and should do nothing if
+     * the timing source has been disposed. By default this method does nothing.
+     * <p>
+     * This method is only called after a matching call to {@link #onSuspend()} has returned.
+     */
+    protected void onResume() {
+        // nothing to do
+    }
+
+    /**
+     * Called, in the thread context of the caller, after a task is submitted via {@link #submit(Runnable)} or a
+     * listener is added or removed. Timing sources that are not driven by real time, and that wait while
+     * {@link #getNextTickTime(long, long)} reports that no tick is needed, override this method to stop waiting. By
+     * default this method does nothing.
+     */
+    protected void onPendingChange() {
+        // nothing to do
+    }
+
+    /**
+     * Checks if there are no listeners and no queued "one shot" tasks.
+     */
+    boolean isIdle() {
+        return f_tickListeners.isEmpty() && f_postTickListeners.isEmpty() && f_oneShotQueue.isEmpty()
+                && f_delayedTickListeners.isEmpty();
+    }
+
+    /**
+     * Suspends this timing source. Only invoked in the thread context of this timing source.
+     * <p>
+     * The suspended flag is set after {@link #onSuspend()} returns and the idle check is repeated after the flag is
+     * set. Producers check the flag after they have queued their change. Therefore, either the producer sees the flag
+     * or the repeated idle check sees the producer's change, and exactly one of them resumes this timing source.
+     */
+    void suspend() {
+        onSuspend();
+        f_suspended.set(true);
+        if (!isIdle() || f_autoSuspendAfter == 0) {
+            resumeIfSuspended();
+        }
+    }
+
+    /**
+     * Resumes this timing source if it is suspended.
+     */
+    void resumeIfSuspended() {
+        if (f_suspended.get() && f_suspended.compareAndSet(true, false)) {
+            onResume();
+        }
+    }
+
+    /**
+     * Used by timing source implementations that are not driven by real time to find the next time at which
+     * {@link #runPerTick()} needs to be called. The result is:
+     * <ul>
+     * <li><tt>nanoTime</tt> if any "one shot" tasks or listener additions or removals are queued;</li>
+     * <li>otherwise the earliest time predicted by a registered {@link PredictableTickListener}, the earliest time at
+     * which a delayed addition of a {@link TickListener} is due, or <tt>nanoTime + unpredictablePeriodNanos</tt> if
+     * any registered {@link TickListener} does not implement {@link PredictableTickListener};</li>
+     * <li>{@link Long#MAX_VALUE} if no tick is needed.</li>
+     * </ul>
+     * {@link PostTickListener}s are notified each tick but do not cause ticks.
+     * 
+     * @param nanoTime
+     *            the current time of this timing source, in nanoseconds.
+     * @param unpredictablePeriodNanos
+     *            the period to tick at, in nanoseconds, for listeners that cannot predict when they need to be
+     *            notified.
+     * @return the next time, in nanoseconds, at which {@link #runPerTick()} needs to be called.
+     */
+    protected final long getNextTickTime(long nanoTime, long unpredictablePeriodNanos) {
+        if (!f_oneShotQueue.isEmpty() || f_tickListeners.hasPending() || f_postTickListeners.hasPending()) {
+            return nanoTime;
+        }
+        final RateClock rateClock = f_rateClock.get();
+        long next = RateClock.unscale(rateClock,
+            f_delayedTickListeners.getNextDeadline(RateClock.scale(rateClock, nanoTime)));
+        final int count = f_tickListeners.getCount();
+        final Object[] slots = f_tickListeners.getSlots();
+        for (int i = 0; i < Math.min(count, slots.length); i++) {
+            final Object listener = slots[i];
+            final long time;
+            if (listener instanceof PredictableTickListener) {
+                time = ((PredictableTickListener) listener).getNextTickTime(nanoTime);
+            }
+            else if (listener != null) {
+                time = nanoTime + unpredictablePeriodNanos;
+            }
+            else {
+                continue;
+            }
+            if (time < next) {
+                next = time;
+            }
+        }
+        return next;
     }
 
     /**
      * Used by timing source implementations to perform the following actions in the listed order:
      * <ol>
      * <li>Execute all queued "one shot" tasks in the order they were received.</li>
-     * <li>Notify all registered {@link TickListener}s</li>
+     * <li>Add the tick listeners whose delayed addition is due.</li>
+     * <li>Apply all queued additions and removals of listeners in the order they were made.</li>
+     * <li>Notify all registered {@link TickListener}s, in parallel if {@link #setParallelDispatch(Executor, int)} has
+     * been used to turn on parallel dispatch</li>
      * <li>Notify all registered {@link PostTickListener}s</li>
+     * <li>If auto-suspend is on and this tick was idle, possibly suspend this timing source.</li>
      * </ol>
      * A typical implementation will invoke this method when its particular timer calls back each tick of time. It is
      * critical that this method is run within the <i>correct thread context of the timing source</i> implementation.
@@ -191,26 +686,156 @@ public abstract class TimingSource {
      * it, because many implementations invoke this method within nested classes.
      */
     public void runPerTick() {
+        final OneShotQueue previous = f_oneShotQueue.enterTick();
+        try {
+            runTickActions();
+        }
+        finally {
+            OneShotQueue.exitTick(previous);
+        }
+    }
+
+    /**
+     * Performs the actions of {@link #runPerTick()} while the current thread is marked as running in a tick of this
+     * timing source.
+     */
+    private void runTickActions() {
         while (true) {
             final Runnable task = f_oneShotQueue.poll();
             if (task == null) {
                 break;
             }
-            task.run();
+            try {
+                task.run();
+            }
+            catch (Exception e) {
+                Logger.getAnonymousLogger().log(Level.SEVERE, I18N.err(4, e.getClass().getSimpleName()), e);
+            }
         }
         final long nanoTime = getNanoTime();
-        if (!f_tickListeners.isEmpty()) {
-            for (TickListener listener : f_tickListeners) {
-                listener.timingSourceTick(TimingSource.this, nanoTime);
+        f_delayedTickListeners.advance(toScaledNanoTime(nanoTime), f_tickListeners);
+        f_tickListeners.applyPending();
+        f_postTickListeners.applyPending();
+        int count = f_tickListeners.getCount();
+        final ParallelTickDispatcher parallelDispatcher = f_parallelDispatcher;
+        if (count > 1 && parallelDispatcher != null) {
+            final Object[] slots = f_tickListeners.getSlots();
+            parallelDispatcher.dispatch(this, slots, Math.min(count, slots.length), nanoTime);
+        }
+        else if (count > 0) {
+            final Object[] slots = f_tickListeners.getSlots();
+            count = Math.min(count, slots.length);
+            for (int i = 0; i < count; i++) {
+                final TickListener listener = (TickListener) slots[i];
+                if (listener != null) {
+                    listener.timingSourceTick(TimingSource.this, nanoTime);
+                }
             }
         }
-        if (!f_postTickListeners.isEmpty()) {
-            for (PostTickListener listener : f_postTickListeners) {
-                listener.timingSourcePostTick(TimingSource.this, nanoTime);
+        count = f_postTickListeners.getCount();
+        if (count > 0) {
+            final Object[] slots = f_postTickListeners.getSlots();
+            count = Math.min(count, slots.length);
+            for (int i = 0; i < count; i++) {
+                final PostTickListener listener = (PostTickListener) slots[i];
+                if (listener != null) {
+                    listener.timingSourcePostTick(TimingSource.this, nanoTime);
+                }
+            }
+        }
+        f_tickCount++;
+        final int autoSuspendAfter = f_autoSuspendAfter;
+        if (autoSuspendAfter > 0) {
+            if (isIdle()) {
+                if (++f_idleTickCount >= autoSuspendAfter) {
+                    f_idleTickCount = 0;
+                    suspend();
+                }
+            }
+            else {
+                f_idleTickCount = 0;
             }
         }
     }
     
+    /**
+     * The mapping from {@link #getNanoTime()} to the scaled clock of this timing source, or {@code null} if the rate
+     * has never been changed.
+     */
+    final AtomicReference<RateClock> f_rateClock = new AtomicReference<RateClock>();
+
+    /**
+     * Sets the global rate of the animations driven by this timing source. The animations run at the product of this
+     * rate and their own rate, set with {@link Animator#setRate(double)}. For example, a rate of 0.1 plays every
+     * animation in slow motion and a rate of 4 plays them four times as fast. The default rate is 1.
+     * <p>
+     * Animations measure time with the scaled clock of this timing source, returned by {@link #getScaledNanoTime()},
+     * which runs at this rate relative to {@link #getNanoTime()}. The scaled clock does not jump when the rate is
+     * changed, so running animations continue from the same fraction, including those that are paused or waiting
+     * for their start delay to elapse. The listeners of this timing source are still notified at the same ticks.
+     * 
+     * @param rate
+     *            the rate, a positive finite number.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>rate</tt> is not a positive finite number.
+     */
+    public final void setRate(double rate) {
+        RateClock.checkRate(rate);
+        final long nanoTime = getNanoTime();
+        RateClock rateClock;
+        do {
+            rateClock = f_rateClock.get();
+        }
+        while (!f_rateClock.compareAndSet(rateClock, RateClock.rebase(rateClock, nanoTime, rate)));
+    }
+
+    /**
+     * Gets the global rate of the animations driven by this timing source.
+     * 
+     * @return the rate.
+     * 
+     * @see #setRate(double)
+     */
+    public final double getRate() {
+        return RateClock.rateOf(f_rateClock.get());
+    }
+
+    /**
+     * Returns the current time of the scaled clock of this timing source, which runs at the rate set with
+     * {@link #setRate(double)} relative to {@link #getNanoTime()}. If the rate has never been changed the two clocks
+     * are the same.
+     * 
+     * @return the time of the scaled clock in nanoseconds.
+     */
+    public final long getScaledNanoTime() {
+        return toScaledNanoTime(getNanoTime());
+    }
+
+    /**
+     * Maps a time returned by {@link #getNanoTime()}, such as the time passed to
+     * {@link TickListener#timingSourceTick(TimingSource, long)}, to the scaled clock of this timing source.
+     * 
+     * @param nanoTime
+     *            a time returned by {@link #getNanoTime()}.
+     * @return the time of the scaled clock in nanoseconds.
+     */
+    public final long toScaledNanoTime(long nanoTime) {
+        return RateClock.scale(f_rateClock.get(), nanoTime);
+    }
+
+    /**
+     * Maps a time of the scaled clock of this timing source to the earliest time returned by {@link #getNanoTime()}
+     * that is mapped to it or later, at the current rate.
+     * 
+     * @param scaledNanoTime
+     *            a time of the scaled clock. {@link Long#MAX_VALUE} is mapped to itself.
+     * @return the time of the clock returned by {@link #getNanoTime()} in nanoseconds.
+     */
+    public final long fromScaledNanoTime(long scaledNanoTime) {
+        return RateClock.unscale(f_rateClock.get(), scaledNanoTime);
+    }
+
     /**
      * Returns the reference time of this TimingSource in nanoseconds.
      * By default, this method delegates to {@link System#nanoTime()}.
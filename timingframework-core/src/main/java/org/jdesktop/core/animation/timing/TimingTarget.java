@@ -13,7 +13,12 @@ package org.jdesktop.core.animation.timing;
  * <p>
  * The thread context of calls to all the methods defined below is that of the
  * of the timing source being used by the animation. This thread context is
- * typically documented for each {@link TimingSource} subclass.
+ * typically documented for each {@link TimingSource} subclass. This holds even
+ * if the timing source notifies its tick listeners in parallel, unless the
+ * animation was built with {@link Animator.Builder#setThreadAffine(boolean)}
+ * set to {@code false}, in which case the methods may be called in any thread
+ * the timing source dispatches to, though never concurrently for one
+ * animation.
  * 
  * @author Chet Haase
  * @author Tim Halloran
@@ -0,0 +1,351 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A hierarchical timing wheel, used by {@link TimingSource}, that holds tick listeners whose registration has been
+ * delayed until a deadline. A listener held by the wheel costs nothing per tick: only the listeners whose deadline has
+ * arrived are handed to the timing source's {@link ListenerRegistry}.
+ * <p>
+ * Time is divided into granules of about one millisecond. The wheel has several levels of 64 slots. A slot at the
+ * lowest level holds the listeners due in one granule, a slot at the next level holds the listeners due in 64
+ * granules, and so on. As time advances, the slots of the higher levels are cascaded down into the lower levels and
+ * listeners in an expired lowest-level slot are moved to a short list of imminent listeners, which is checked against
+ * their exact deadline every tick. Deadlines beyond the range of the top level are held in its farthest slot and
+ * re-placed when that slot is cascaded.
+ * <p>
+ * Calls to {@link #schedule(Object, long)} and {@link #cancel(Object)} may be made from any thread and only queue the
+ * change, like the calls to {@link ListenerRegistry}. Queued changes are applied, in the order they were made, by
+ * {@link #advance(long, ListenerRegistry)}. All other methods must only be called in the thread context of the timing
+ * source.
+ *
+ * @param <L>
+ *            the type of the listeners.
+ */
+final class TimingWheel<L> {
+
+    static final int GRANULE_SHIFT = 20;
+
+    static final int SLOT_BITS = 6;
+
+    static final int SLOTS = 1 << SLOT_BITS;
+
+    static final int SLOT_MASK = SLOTS - 1;
+
+    static final int LEVELS = 4;
+
+    /**
+     * A listener held by the wheel, linked into a slot or into the imminent list.
+     */
+    static final class Entry {
+        final Object f_listener;
+        final long f_deadlineNanos;
+        Entry f_prev;
+        Entry f_next;
+        /**
+         * The level of the slot holding this entry, or {@link #LEVELS} if the entry is in the imminent list.
+         */
+        int f_level;
+        int f_slot;
+
+        Entry(Object listener, long deadlineNanos) {
+            f_listener = listener;
+            f_deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * A queued scheduling or cancellation.
+     */
+    static final class Op {
+        final Object f_listener;
+        final long f_deadlineNanos;
+        final boolean f_schedule;
+
+        Op(Object listener, long deadlineNanos, boolean schedule) {
+            f_listener = listener;
+            f_deadlineNanos = deadlineNanos;
+            f_schedule = schedule;
+        }
+    }
+
+    /**
+     * Schedulings and cancellations that have not yet been applied.
+     */
+    final ConcurrentLinkedQueue<Op> f_pending = new ConcurrentLinkedQueue<Op>();
+
+    /**
+     * Set once a listener has been scheduled, so that cancellations need not be queued for a wheel that was never
+     * used.
+     */
+    volatile boolean f_used = false;
+
+    /**
+     * The number of listeners held. Only written in the thread context of the timing source.
+     */
+    volatile int f_size = 0;
+
+    /*
+     * Only accessed in the thread context of the timing source.
+     */
+
+    final Entry[][] f_slots = new Entry[LEVELS][SLOTS];
+
+    final int[] f_levelSize = new int[LEVELS];
+
+    Entry f_imminent;
+
+    final HashMap<Object, Entry> f_entryOf = new HashMap<Object, Entry>();
+
+    boolean f_started = false;
+
+    long f_originNanos;
+
+    /**
+     * The granule of the last call to {@link #advance(long, ListenerRegistry)}.
+     */
+    long f_currentGranule;
+
+    /**
+     * Queues the scheduling of the passed listener. When applied, any previous scheduling of the listener is replaced.
+     *
+     * @param listener
+     *            a non-null listener.
+     * @param deadlineNanos
+     *            the time at which the listener should be registered.
+     */
+    void schedule(L listener, long deadlineNanos) {
+        f_used = true;
+        f_pending.add(new Op(listener, deadlineNanos, true));
+    }
+
+    /**
+     * Queues the cancellation of any scheduling of the passed listener.
+     *
+     * @param listener
+     *            a listener.
+     */
+    void cancel(Object listener) {
+        if (listener == null || !f_used) {
+            return;
+        }
+        f_pending.add(new Op(listener, 0, false));
+    }
+
+    /**
+     * Checks if there are no listeners held and no queued changes.
+     *
+     * @return {@code true} if the wheel is empty, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return f_size == 0 && f_pending.isEmpty();
+    }
+
+    /**
+     * Checks if there are any queued schedulings or cancellations.
+     *
+     * @return {@code true} if there are queued changes, {@code false} otherwise.
+     */
+    boolean hasPending() {
+        return !f_pending.isEmpty();
+    }
+
+    /**
+     * Advances the wheel to the passed time, applies queued changes, and adds every listener whose deadline is at or
+     * before the passed time to the passed registry.
+     *
+     * @param nanoTime
+     *            the current time of the timing source.
+     * @param registry
+     *            the registry to add listeners to when their deadline arrives.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(long nanoTime, ListenerRegistry<L> registry) {
+        if (!f_started) {
+            if (f_pending.isEmpty()) {
+                return;
+            }
+            f_started = true;
+            f_originNanos = nanoTime;
+            f_currentGranule = 0;
+        }
+        final long target = granuleOf(nanoTime);
+        while (f_currentGranule < target) {
+            step(target);
+        }
+        while (true) {
+            final Op op = f_pending.poll();
+            if (op == null) {
+                break;
+            }
+            final Entry existing = f_entryOf.remove(op.f_listener);
+            if (existing != null) {
+                unlink(existing);
+            }
+            if (op.f_schedule) {
+                final Entry entry = new Entry(op.f_listener, op.f_deadlineNanos);
+                f_entryOf.put(op.f_listener, entry);
+                place(entry);
+            }
+        }
+        Entry entry = f_imminent;
+        while (entry != null) {
+            final Entry next = entry.f_next;
+            if (entry.f_deadlineNanos - nanoTime <= 0) {
+                f_entryOf.remove(entry.f_listener);
+                unlink(entry);
+                registry.add((L) entry.f_listener);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Gets the earliest deadline of the listeners held by the wheel.
+     *
+     * @param nanoTime
+     *            the current time of the timing source.
+     * @return the earliest deadline, <tt>nanoTime</tt> if changes are queued, or {@link Long#MAX_VALUE} if the wheel is
+     *         empty.
+     */
+    long getNextDeadline(long nanoTime) {
+        if (!f_pending.isEmpty()) {
+            return nanoTime;
+        }
+        if (f_size == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = earliest(f_imminent, Long.MAX_VALUE);
+        for (int level = 0; level < LEVELS; level++) {
+            if (f_levelSize[level] == 0) {
+                continue;
+            }
+            /*
+             * The slots of a level cover consecutive ranges of time starting after the current slot, so the first
+             * non-empty slot holds the earliest listeners of the level.
+             */
+            final long current = f_currentGranule >> (SLOT_BITS * level);
+            for (int i = 1; i <= SLOTS; i++) {
+                final Entry head = f_slots[level][(int) (current + i) & SLOT_MASK];
+                if (head != null) {
+                    next = earliest(head, next);
+                    break;
+                }
+            }
+        }
+        return next;
+    }
+
+    private long granuleOf(long nanoTime) {
+        return (nanoTime - f_originNanos) >> GRANULE_SHIFT;
+    }
+
+    private static long earliest(Entry head, long next) {
+        for (Entry entry = head; entry != null; entry = entry.f_next) {
+            if (entry.f_deadlineNanos < next) {
+                next = entry.f_deadlineNanos;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Moves the current granule forward toward the target, cascading and expiring slots. When the lower levels are
+     * empty the wheel jumps directly to the next boundary of the lowest level that holds a listener.
+     */
+    private void step(long target) {
+        int lowest = 0;
+        while (lowest < LEVELS && f_levelSize[lowest] == 0) {
+            lowest++;
+        }
+        if (lowest == LEVELS) {
+            f_currentGranule = target;
+            return;
+        }
+        final long boundaryMask = (1L << (SLOT_BITS * lowest)) - 1;
+        final long next = Math.min(target, (f_currentGranule | boundaryMask) + 1);
+        f_currentGranule = next;
+        /*
+         * Cascade the higher levels first so that their listeners trickle down into the slot expired below.
+         */
+        for (int level = LEVELS - 1; level > 0; level--) {
+            final long mask = (1L << (SLOT_BITS * level)) - 1;
+            if ((next & mask) == 0) {
+                cascade(level, (int) (next >> (SLOT_BITS * level)) & SLOT_MASK);
+            }
+        }
+        cascade(0, (int) next & SLOT_MASK);
+    }
+
+    /**
+     * Removes all the listeners in the passed slot and places them again relative to the current granule.
+     */
+    private void cascade(int level, int slot) {
+        Entry entry = f_slots[level][slot];
+        while (entry != null) {
+            final Entry next = entry.f_next;
+            unlink(entry);
+            place(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Links the passed entry into the slot for its deadline, or into the imminent list if its granule has arrived.
+     */
+    private void place(Entry entry) {
+        final long granule = granuleOf(entry.f_deadlineNanos);
+        long delta = granule - f_currentGranule;
+        if (delta <= 0) {
+            link(entry, LEVELS, 0);
+            return;
+        }
+        final long maxDelta = (1L << (SLOT_BITS * LEVELS)) - 1;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        final long placed = delta > maxDelta ? f_currentGranule + maxDelta : granule;
+        link(entry, level, (int) (placed >> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private void link(Entry entry, int level, int slot) {
+        entry.f_level = level;
+        entry.f_slot = slot;
+        entry.f_prev = null;
+        if (level == LEVELS) {
+            entry.f_next = f_imminent;
+            f_imminent = entry;
+        }
+        else {
+            entry.f_next = f_slots[level][slot];
+            f_slots[level][slot] = entry;
+            f_levelSize[level]++;
+        }
+        if (entry.f_next != null) {
+            entry.f_next.f_prev = entry;
+        }
+        f_size++;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.f_prev != null) {
+            entry.f_prev.f_next = entry.f_next;
+        }
+        else if (entry.f_level == LEVELS) {
+            f_imminent = entry.f_next;
+        }
+        else {
+            f_slots[entry.f_level][entry.f_slot] = entry.f_next;
+        }
+        if (entry.f_next != null) {
+            entry.f_next.f_prev = entry.f_prev;
+        }
+        if (entry.f_level != LEVELS) {
+            f_levelSize[entry.f_level]--;
+        }
+        entry.f_prev = entry.f_next = null;
+        f_size--;
+    }
+}
@@ -1,20 +1,33 @@
 package org.jdesktop.core.animation.timing.evaluators;
 
 import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.DoubleEvaluator;
 
 /**
- * An evaluator for {@link Double}.
+ * An evaluator for {@link Double} and, without boxing, for <tt>double</tt>.
  * 
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorDouble implements Evaluator<Double> {
+public final class EvaluatorDouble implements Evaluator<Double>, DoubleEvaluator {
 
     @Override
     public Double evaluate(Double v0, Double v1, double fraction) {
         return v0 + ((v1 - v0) * fraction);
     }
 
+    @Override
+    public double evaluate(double v0, double v1, double fraction) {
+        return v0 + ((v1 - v0) * fraction);
+    }
+
+    @Override
+    public void evaluate(double[] v0, double[] v1, double fraction, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = v0[i] + ((v1[i] - v0[i]) * fraction);
+        }
+    }
+
     @Override
     public Class<Double> getEvaluatorClass() {
         return Double.class;
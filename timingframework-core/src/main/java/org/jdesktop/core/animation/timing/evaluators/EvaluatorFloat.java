@@ -1,20 +1,34 @@
 package org.jdesktop.core.animation.timing.evaluators;
 
 import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.FloatEvaluator;
 
 /**
- * An evaluator for {@link Float}.
+ * An evaluator for {@link Float} and, without boxing, for <tt>float</tt>.
  * 
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorFloat implements Evaluator<Float> {
+public final class EvaluatorFloat implements Evaluator<Float>, FloatEvaluator {
 
     @Override
     public Float evaluate(Float v0, Float v1, double fraction) {
         return v0 + ((v1 - v0) * (float) fraction);
     }
 
+    @Override
+    public float evaluate(float v0, float v1, double fraction) {
+        return v0 + ((v1 - v0) * (float) fraction);
+    }
+
+    @Override
+    public void evaluate(float[] v0, float[] v1, double fraction, float[] out, int from, int to) {
+        final float f = (float) fraction;
+        for (int i = from; i < to; i++) {
+            out[i] = v0[i] + ((v1[i] - v0[i]) * f);
+        }
+    }
+
     @Override
     public Class<Float> getEvaluatorClass() {
         return Float.class;
@@ -1,20 +1,33 @@
 package org.jdesktop.core.animation.timing.evaluators;
 
 import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.IntEvaluator;
 
 /**
- * An evaluator for {@link Integer}.
+ * An evaluator for {@link Integer} and, without boxing, for <tt>int</tt>.
  * 
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorInteger implements Evaluator<Integer> {
+public final class EvaluatorInteger implements Evaluator<Integer>, IntEvaluator {
 
     @Override
     public Integer evaluate(Integer v0, Integer v1, double fraction) {
         return v0 + (int) ((v1 - v0) * fraction);
     }
 
+    @Override
+    public int evaluate(int v0, int v1, double fraction) {
+        return v0 + (int) ((v1 - v0) * fraction);
+    }
+
+    @Override
+    public void evaluate(int[] v0, int[] v1, double fraction, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = v0[i] + (int) ((v1[i] - v0[i]) * fraction);
+        }
+    }
+
     @Override
     public Class<Integer> getEvaluatorClass() {
         return Integer.class;
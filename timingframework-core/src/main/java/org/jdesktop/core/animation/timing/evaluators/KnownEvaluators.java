@@ -1,6 +1,11 @@
 package org.jdesktop.core.animation.timing.evaluators;
 
-import java.lang.reflect.Constructor;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jdesktop.core.animation.timing.Evaluator;
@@ -8,8 +13,17 @@ import org.jdesktop.core.animation.timing.Evaluator;
 /**
  * Manages a set of known immutable evaluator implementations that the program can find by the type they work with.
  * <p>
- * This maintains a clean separation between the core of the Timing Framework and the Swing and SWT portions by using
- * reflection to attempt to load the non-core evaluators.
+ * The evaluator found for each type is remembered until an evaluator is registered or unregistered, so repeated
+ * requests for the same type, such as building many {@link org.jdesktop.core.animation.timing.KeyFrames} without an
+ * explicit evaluator, do not search the known evaluators each time.
+ * <p>
+ * This maintains a clean separation between the core of the Timing Framework and the Swing and SWT portions by
+ * discovering the non-core evaluators with a {@link ServiceLoader}. A module provides its evaluators by listing their
+ * class names in a <tt>META-INF/services/org.jdesktop.core.animation.timing.Evaluator</tt> resource. Each must be
+ * immutable and have a public no-argument constructor. They are registered after the evaluators in core, as if they
+ * were found when this was created, but they are not discovered until an evaluator is registered or one is requested
+ * for a type that no evaluator in core is for exactly. Programs that only animate the types in core never pay for the
+ * discovery.
  * 
  * @author Tim Halloran
  */
@@ -22,69 +36,125 @@ public final class KnownEvaluators {
     }
 
     private KnownEvaluators() {
-        final KnownEvaluators iThis = this;
         /*
          * Add implementations in core.
          */
-        iThis.register(new EvaluatorByte());
-        iThis.register(new EvaluatorShort());
-        iThis.register(new EvaluatorInteger());
-        iThis.register(new EvaluatorLong());
-        iThis.register(new EvaluatorFloat());
-        iThis.register(new EvaluatorDouble());
+        f_immutableImplementations.add(new EvaluatorByte());
+        f_immutableImplementations.add(new EvaluatorShort());
+        f_immutableImplementations.add(new EvaluatorInteger());
+        f_immutableImplementations.add(new EvaluatorLong());
+        f_immutableImplementations.add(new EvaluatorFloat());
+        f_immutableImplementations.add(new EvaluatorDouble());
+    }
 
-        /*
-         * Add known non-core immutable implementations if we can find them. If not, that just means we are missing that
-         * code (e.g., Swing or SWT). We do not want to report the missing code as a problem.
-         */
-        for (final String className : f_nonCoreImmutable) {
-            try {
-                /*
-                 * The below is a bit messy. For these types we know nothing about the static typing so we cast to
-                 * Object. We check the types dynamically in the createFor method below so this is not a problem.
-                 */
-                @SuppressWarnings("unchecked")
-                final Class<? extends Evaluator<Object>> evaluatorType =
-                    (Class<? extends Evaluator<Object>>) Class.forName(className);
-                Evaluator<Object> evaluator = iThis.construct(evaluatorType);
-                iThis.register(evaluator);
+    /**
+     * Set once the non-core evaluators have been discovered and registered.
+     */
+    private volatile boolean f_providersRegistered;
+
+    /**
+     * Discovers and registers the non-core evaluators, if this has not already been done.
+     * <p>
+     * Until this is done only the evaluators in core are known, because {@link #register(Evaluator)} and
+     * {@link #unregister(Evaluator)} call this first. The discovered evaluators are added after them, so an evaluator
+     * in core that is for exactly a requested type remains the one found for it. Any other resolution made while this
+     * runs is made stale.
+     */
+    private void registerProviders() {
+        if (f_providersRegistered) {
+            return;
+        }
+        synchronized (this) {
+            if (f_providersRegistered) {
+                return;
             }
-            catch (Exception ignore) {
-                // ignore
+            /*
+             * A missing module (e.g., Swing or SWT) simply provides nothing. A provider that cannot be loaded or
+             * constructed is skipped: we do not want to report it as a problem.
+             */
+            final List<Evaluator<?>> providers = new ArrayList<Evaluator<?>>();
+            @SuppressWarnings("rawtypes")
+            final Iterator<Evaluator> iterator =
+                ServiceLoader.load(Evaluator.class, KnownEvaluators.class.getClassLoader()).iterator();
+            while (true) {
+                try {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    providers.add(iterator.next());
+                }
+                catch (ServiceConfigurationError ignore) {
+                    // ignore
+                }
             }
+            f_immutableImplementations.addAll(providers);
+            f_generation++;
+            f_providersRegistered = true;
         }
     }
 
-    private final String[] f_nonCoreImmutable =
-        { "org.jdesktop.swing.animation.timing.evaluators.EvaluatorArc2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorColor",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorCubicCurve2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorDimension2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorEllipse2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorLine2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorPoint2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorQuadCurve2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorRectangle2D",
-            "org.jdesktop.swing.animation.timing.evaluators.EvaluatorRoundRectangle2D",
-            "org.jdesktop.swt.animation.timing.evaluators.EvaluatorColor",
-            "org.jdesktop.swt.animation.timing.evaluators.EvaluatorPoint",
-            "org.jdesktop.swt.animation.timing.evaluators.EvaluatorRectangle",
-            "org.jdesktop.swt.animation.timing.evaluators.EvaluatorRGB" };
-
     /**
      * A list of known immutable evaluators. The single instance stored in this list is shared by all requesters.
      */
     private final CopyOnWriteArrayList<Evaluator<?>> f_immutableImplementations =
         new CopyOnWriteArrayList<Evaluator<?>>();
 
+    /**
+     * Incremented each time the known evaluators change, which makes every evaluator found before the change stale.
+     */
+    private volatile int f_generation;
+
+    /**
+     * The most recent evaluator found for each type, or not found if {@link Resolution#f_found} is {@code false}. A
+     * {@link ClassValue} is used so that this singleton does not keep the requested types, and their class loaders,
+     * from being unloaded.
+     */
+    private final ClassValue<ResolutionHolder> f_resolutions = new ClassValue<ResolutionHolder>() {
+        @Override
+        protected ResolutionHolder computeValue(Class<?> type) {
+            return new ResolutionHolder();
+        }
+    };
+
+    /**
+     * The evaluator found for a type, if one was, and the generation of the known evaluators it was found in.
+     * <p>
+     * The evaluator is referred to weakly. A resolution is only replaced when its type is requested again, so a stale
+     * one could otherwise keep an unregistered evaluator, and its class loader, reachable for as long as its type is
+     * loaded, which for a type such as {@link Double} is forever. While the evaluator is registered the list of known
+     * evaluators keeps it reachable, so it is only cleared once the resolution is stale.
+     */
+    static final class Resolution extends WeakReference<Evaluator<?>> {
+
+        final int f_generation;
+
+        final boolean f_found;
+
+        Resolution(int generation, Evaluator<?> evaluator) {
+            super(evaluator);
+            f_generation = generation;
+            f_found = evaluator != null;
+        }
+    }
+
+    /**
+     * Holds the most recent resolution for a type.
+     */
+    static final class ResolutionHolder {
+
+        volatile Resolution f_resolution;
+    }
+
     /**
      * Registers an immutable evaluator as known. The single instance passed to this method is shared by all requesters.
      * 
      * @param singleton
      *            an immutable evaluator instance.
      */
-    public void register(Evaluator<?> singleton) {
+    public synchronized void register(Evaluator<?> singleton) {
+        registerProviders();
         f_immutableImplementations.add(singleton);
+        f_generation++;
     }
 
     /**
@@ -94,13 +164,21 @@ public final class KnownEvaluators {
      * @param singleton
      *            an immutable evaluator instance.
      */
-    public void unregister(Evaluator<?> singleton) {
-        f_immutableImplementations.remove(singleton);
+    public synchronized void unregister(Evaluator<?> singleton) {
+        registerProviders();
+        if (f_immutableImplementations.remove(singleton)) {
+            f_generation++;
+        }
     }
 
     /**
      * Gets the evaluator for the passed type. This class only registers immutable evaluator implementations so multiple
      * requests for the same type will share the same evaluator.
+     * <p>
+     * An evaluator for exactly the passed type is preferred. Otherwise the most specific evaluator whose type is
+     * assignable from the passed type is returned: one for {@link Integer} rather than one for {@link Number}, for
+     * example. If several are equally specific, such as evaluators for two interfaces the passed type implements, the
+     * one registered first is returned.
      * 
      * @param <T>
      *            a type for which an evaluator is requested.
@@ -112,32 +190,21 @@ public final class KnownEvaluators {
      *             if no evaluator is registered for <tt>T</tt>.
      */
     public <T> Evaluator<T> getEvaluatorFor(Class<T> type) {
-        Evaluator<T> result = null;
+        final ResolutionHolder holder = f_resolutions.get(type);
+        final Resolution resolution = holder.f_resolution;
         /*
-         * Look in the registered implementations.
+         * Read the generation before searching, so a change to the known evaluators during the search makes the
+         * resolution stale rather than being missed.
          */
-        for (Evaluator<?> e : f_immutableImplementations) {
-            if (e.getEvaluatorClass().equals(type)) {
-                /*
-                 * Exact type match, cast to the correct (static) type and return.
-                 */
-                @SuppressWarnings("unchecked")
-                final Evaluator<T> exact = (Evaluator<T>) e;
-                return exact;
-            }
-            else {
-                if (e.getEvaluatorClass().isAssignableFrom(type)) {
-                    /*
-                     * Assignable type match, cast to the correct (static) type and store. We'll continue to look for an
-                     * exact type match and only return this result if none is found.
-                     */
-                    @SuppressWarnings("unchecked")
-                    final Evaluator<T> assignable = (Evaluator<T>) e;
-                    result = assignable;
-                }
-            }
+        final int generation = f_generation;
+        Evaluator<?> evaluator = resolution != null ? resolution.get() : null;
+        if (resolution == null || resolution.f_generation != generation || resolution.f_found && evaluator == null) {
+            evaluator = find(type);
+            holder.f_resolution = new Resolution(generation, evaluator);
         }
-        if (result != null) {
+        if (evaluator != null) {
+            @SuppressWarnings("unchecked")
+            final Evaluator<T> result = (Evaluator<T>) evaluator;
             return result;
         }
 
@@ -146,49 +213,56 @@ public final class KnownEvaluators {
     }
 
     /**
-     * Constructs a new evaluator instance from its class object.
-     * 
-     * @param <T>
-     *            a type for which a new evaluator instance is requested.
-     * @param evaluatorType
-     *            the {@link Class} object for an implementation of <tt>Evaluator<T></tt>.
-     * @return an evaluator for <tt>T</tt>.
+     * Searches the known evaluators for the evaluator to use for the passed type, discovering the non-core evaluators
+     * first unless an evaluator in core is for exactly that type.
      * 
-     * @throws IllegalStateException
-     *             if something goes wrong. For example, if the evaluator implementation does not have a no-argument
-     *             constructor.
+     * @param type
+     *            a type for which an evaluator is requested.
+     * @return the evaluator for exactly <tt>type</tt> if one is known, otherwise the first most specific evaluator for
+     *         a supertype of <tt>type</tt>, or {@code null} if none is known.
      */
-    private <T> Evaluator<T> construct(Class<? extends Evaluator<T>> evaluatorType) {
-        Constructor<? extends Evaluator<T>> ctor = null;
+    private Evaluator<?> find(Class<?> type) {
         /*
-         * The getDeclaredConstructors call is not parameterized correctly.
+         * Read before searching: if the discovered evaluators are added during the search it may not see them.
          */
-        @SuppressWarnings("unchecked")
-        final Constructor<? extends Evaluator<T>>[] ctors =
-            (Constructor<? extends Evaluator<T>>[]) evaluatorType.getDeclaredConstructors();
-        for (Constructor<? extends Evaluator<T>> c : ctors) {
-            final boolean noArg = c.getParameterTypes().length == 0;
-            if (noArg) {
-                ctor = c;
-            }
-        }
-        Exception cause = null;
-        if (ctor != null) {
-            try {
-                final Evaluator<T> result = ctor.newInstance();
-                return result;
+        final boolean providersRegistered = f_providersRegistered;
+        final List<Evaluator<?>> assignable = new ArrayList<Evaluator<?>>();
+        for (Evaluator<?> e : f_immutableImplementations) {
+            final Class<?> evaluatorClass = e.getEvaluatorClass();
+            if (evaluatorClass.equals(type)) {
+                /*
+                 * Exact type match.
+                 */
+                return e;
             }
-            catch (Exception e) {
-                cause = e;
+            else if (evaluatorClass.isAssignableFrom(type)) {
+                assignable.add(e);
             }
         }
-        String msg =
-            "Unable to construct an instance of " + evaluatorType + ", does this class have a no-argument constructor?";
-        if (cause == null) {
-            throw new IllegalStateException(msg);
+        if (!providersRegistered) {
+            /*
+             * A discovered evaluator may be for exactly this type, or be more specific than those in core.
+             */
+            registerProviders();
+            return find(type);
         }
-        else {
-            throw new IllegalStateException(msg, cause);
+        /*
+         * Return the first assignable type match that no other is more specific than.
+         */
+        for (Evaluator<?> e : assignable) {
+            final Class<?> evaluatorClass = e.getEvaluatorClass();
+            boolean mostSpecific = true;
+            for (Evaluator<?> other : assignable) {
+                final Class<?> otherClass = other.getEvaluatorClass();
+                if (!otherClass.equals(evaluatorClass) && evaluatorClass.isAssignableFrom(otherClass)) {
+                    mostSpecific = false;
+                    break;
+                }
+            }
+            if (mostSpecific) {
+                return e;
+            }
         }
+        return null;
     }
 }
@@ -44,6 +44,24 @@ public class AccelerationInterpolator implements Interpolator {
 
     @Override
     public double interpolate(double fraction) {
+        return accelerate(fraction);
+    }
+
+    @Override
+    public void interpolate(double[] in, double[] out, int from, int to) {
+        if (getClass() != AccelerationInterpolator.class) {
+            /*
+             * A subclass may override interpolate(double).
+             */
+            Interpolator.super.interpolate(in, out, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = accelerate(in[i]);
+        }
+    }
+
+    private double accelerate(double fraction) {
         if (f_acceleration != 0 || f_deceleration != 0) {
             double runRate = 1.0 / (1.0 - f_acceleration / 2.0 - f_deceleration / 2.0);
             if (fraction < f_acceleration) {
@@ -52,6 +52,13 @@ public final class DiscreteInterpolator implements Interpolator {
         return 1;
     }
 
+    @Override
+    public void interpolate(double[] in, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = in[i] < 1 ? 0 : 1;
+        }
+    }
+
     @Override
     public String toString() {
         return DiscreteInterpolator.class.getSimpleName();
@@ -42,6 +42,13 @@ public final class LinearInterpolator implements Interpolator {
         return fraction;
     }
 
+    @Override
+    public void interpolate(double[] in, double[] out, int from, int to) {
+        if (to > from) {
+            System.arraycopy(in, from, out, from, to - from);
+        }
+    }
+
     @Override
     public String toString() {
         return LinearInterpolator.class.getSimpleName();
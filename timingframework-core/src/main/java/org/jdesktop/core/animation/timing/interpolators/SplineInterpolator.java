@@ -1,9 +1,9 @@
 package org.jdesktop.core.animation.timing.interpolators;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.jdesktop.core.animation.i18n.I18N;
 import org.jdesktop.core.animation.timing.Interpolator;
 
 /**
@@ -14,21 +14,85 @@ import org.jdesktop.core.animation.timing.Interpolator;
  * For more information on how splines are used to interpolate, refer to the SMIL specification at
  * <a href="http://w3c.org">http://w3c.org</a>.
  * <p>
+ * By default a fraction of time is interpreted as a fraction of the length of the spline, see {@link Mode#ARC_LENGTH}.
+ * Passing {@link Mode#SOLVE_X} interprets it as the x value of a point on the spline instead, as SMIL and CSS do.
+ * <p>
  * Instances of this class contain no mutable state and can be safely shared. In fact, due to the non-trivial setup and
- * memory use of this implementation, instance sharing is recommended. This class is thread-safe.
+ * memory use of this implementation, instance sharing is recommended. The <tt>getInstance</tt> static factory methods
+ * return a shared instance for control points that have been used before. This class is thread-safe.
  * 
  * @author Chet Haase
  * @author Tim Halloran
  */
 public final class SplineInterpolator implements Interpolator {
 
+    /**
+     * How a fraction of time is mapped to a point on the spline, whose y value is the interpolated fraction.
+     */
+    public enum Mode {
+        /**
+         * The fraction of time is the fraction of the length of the spline from (0,0) to the point. The point is found
+         * by linear interpolation in a table of the lengths of the spline at 101 evenly spaced parametric values, which
+         * is computed when the interpolator is constructed. This is how this class has always interpolated.
+         */
+        ARC_LENGTH,
+
+        /**
+         * The fraction of time is the x value of the point. The parametric value of the point is solved for with
+         * Newton-Raphson iteration, falling back to bisection, to a precision of 1e-10. This matches the
+         * <tt>keySplines</tt> of SMIL and the <tt>cubic-bezier</tt> timing function of CSS, and needs no table.
+         */
+        SOLVE_X
+    }
+
+    /**
+     * The number of entries in the table of lengths used by {@link Mode#ARC_LENGTH}.
+     */
+    private static final int TABLE_SIZE = 101;
+
+    /**
+     * The precision, for {@link Mode#SOLVE_X}, of the parametric value solved for. Where the slope of x(t) is zero a
+     * double cannot represent x(t) precisely enough to reach it, so the error may be larger there.
+     */
+    private static final double SOLVE_EPSILON = 1e-10;
+
+    private static final int NEWTON_ITERATIONS = 8;
+
+    /**
+     * The most instances that {@link #getInstance(double, double, double, double, Mode)} shares. Further control points
+     * get a new instance each time, so that a program that constructs many distinct splines does not fill the heap.
+     */
+    private static final int MAX_SHARED = 256;
+
+    private static final ConcurrentMap<Key, SplineInterpolator> SHARED =
+        new ConcurrentHashMap<Key, SplineInterpolator>();
+
     final double f_x1, f_y1, f_x2, f_y2;
 
-    private final List<LengthItem> f_lengths;
+    final Mode f_mode;
+
+    /**
+     * The fraction of the total length of the spline at each parametric value in {@link #f_ts}, or {@code null} if the
+     * mode is not {@link Mode#ARC_LENGTH}.
+     */
+    private final double[] f_lengthFractions;
+
+    /**
+     * Parametric values at increments of 0.01, or {@code null} if the mode is not {@link Mode#ARC_LENGTH}.
+     */
+    private final double[] f_ts;
+
+    /*
+     * Coefficients of the polynomial form of x(t) and y(t), e.g., x(t) = ((ax * t + bx) * t + cx) * t, used by
+     * Mode.SOLVE_X.
+     */
+
+    private final double f_ax, f_bx, f_cx, f_ay, f_by, f_cy;
 
     /**
      * Creates a new instance of SplineInterpolator with the control points defined by (x1,y1) and (x2,y2). The anchor
-     * points are implicitly defined as (0,0) and (1,1).
+     * points are implicitly defined as (0,0) and (1,1). A fraction of time is interpreted as a fraction of the length
+     * of the spline.
      * 
      * @param x1
      *            the x value of the first control point.
@@ -43,45 +107,149 @@ public final class SplineInterpolator implements Interpolator {
      *             This exception is thrown when values beyond the allowed [0,1] range are passed in.
      */
     public SplineInterpolator(double x1, double y1, double x2, double y2) {
-        if (x1 < 0 || x1 > 1 || y1 < 0 || y1 > 1.0f || x2 < 0 || x2 > 1 || y2 < 0 || y2 > 1) {
-            throw new IllegalArgumentException("Control points must be in the range [0,1].");
-        }
+        this(x1, y1, x2, y2, Mode.ARC_LENGTH);
+    }
+
+    /**
+     * Creates a new instance of SplineInterpolator with the control points defined by (x1,y1) and (x2,y2). The anchor
+     * points are implicitly defined as (0,0) and (1,1).
+     * 
+     * @param x1
+     *            the x value of the first control point.
+     * @param y1
+     *            the y value of the first control point.
+     * @param x2
+     *            the x value of the second control point.
+     * @param y2
+     *            the y value of the second control point.
+     * @param mode
+     *            how a fraction of time is mapped to a point on the spline.
+     * 
+     * @throws IllegalArgumentException
+     *             This exception is thrown when values beyond the allowed [0,1] range are passed in, or if
+     *             <tt>mode</tt> is {@code null}.
+     */
+    public SplineInterpolator(double x1, double y1, double x2, double y2, Mode mode) {
+        checkArguments(x1, y1, x2, y2, mode);
 
         f_x1 = x1;
         f_y1 = y1;
         f_x2 = x2;
         f_y2 = y2;
+        f_mode = mode;
+
+        f_cx = 3 * x1;
+        f_bx = 3 * (x2 - x1) - f_cx;
+        f_ax = 1 - f_cx - f_bx;
+        f_cy = 3 * y1;
+        f_by = 3 * (y2 - y1) - f_cy;
+        f_ay = 1 - f_cy - f_by;
+
+        if (mode != Mode.ARC_LENGTH) {
+            f_lengthFractions = null;
+            f_ts = null;
+            return;
+        }
 
         /*
          * Now construct the array of all lengths to t in [0,1] at 0.01 increments.
          */
-        final ArrayList<LengthItemBase> baseLengths = new ArrayList<LengthItemBase>();
+        final double[] lengths = new double[TABLE_SIZE];
+        final double[] ts = new double[TABLE_SIZE];
         double prevX = 0;
         double prevY = 0;
         double cumulativeLength = 0;
-        for (double t = 0; t < 1.01; t += 0.01) {
-            Point2D xy = getXY(t);
-            double length =
-                cumulativeLength + Math.sqrt((xy.x - prevX) * (xy.x - prevX) + (xy.y - prevY) * (xy.y - prevY));
-            final LengthItemBase lengthItem = new LengthItemBase(length, t);
-            baseLengths.add(lengthItem);
+        double t = 0;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            final double x = getX(t);
+            final double y = getY(t);
+            final double length = cumulativeLength + Math.sqrt((x - prevX) * (x - prevX) + (y - prevY) * (y - prevY));
+            lengths[i] = length;
+            ts[i] = t;
             cumulativeLength = length;
-            prevX = xy.x;
-            prevY = xy.y;
+            prevX = x;
+            prevY = y;
+            t += 0.01;
         }
         /*
          * Now calculate the fractions so that we can access the lengths array with values in [0,1]. cumulativeLength
          * now holds the total length of the spline.
          */
-        final ArrayList<LengthItem> resultLengths = new ArrayList<LengthItem>();
-        for (LengthItemBase length : baseLengths) {
-            resultLengths.add(new LengthItem(length.getLength(), length.getT(), cumulativeLength));
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            lengths[i] /= cumulativeLength;
+        }
+        f_lengthFractions = lengths;
+        f_ts = ts;
+    }
+
+    private static void checkArguments(double x1, double y1, double x2, double y2, Mode mode) {
+        if (x1 < 0 || x1 > 1 || y1 < 0 || y1 > 1.0f || x2 < 0 || x2 > 1 || y2 < 0 || y2 > 1) {
+            throw new IllegalArgumentException("Control points must be in the range [0,1].");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException(I18N.err(1, "mode"));
+        }
+    }
+
+    /**
+     * Gets a spline interpolator with the control points defined by (x1,y1) and (x2,y2), which interprets a fraction
+     * of time as a fraction of the length of the spline. The same instance is returned for the same control points.
+     * 
+     * @param x1
+     *            the x value of the first control point.
+     * @param y1
+     *            the y value of the first control point.
+     * @param x2
+     *            the x value of the second control point.
+     * @param y2
+     *            the y value of the second control point.
+     * @return a spline interpolator.
+     * 
+     * @throws IllegalArgumentException
+     *             This exception is thrown when values beyond the allowed [0,1] range are passed in.
+     */
+    public static SplineInterpolator getInstance(double x1, double y1, double x2, double y2) {
+        return getInstance(x1, y1, x2, y2, Mode.ARC_LENGTH);
+    }
+
+    /**
+     * Gets a spline interpolator with the control points defined by (x1,y1) and (x2,y2). The same instance is returned
+     * for the same control points and mode.
+     * 
+     * @param x1
+     *            the x value of the first control point.
+     * @param y1
+     *            the y value of the first control point.
+     * @param x2
+     *            the x value of the second control point.
+     * @param y2
+     *            the y value of the second control point.
+     * @param mode
+     *            how a fraction of time is mapped to a point on the spline.
+     * @return a spline interpolator.
+     * 
+     * @throws IllegalArgumentException
+     *             This exception is thrown when values beyond the allowed [0,1] range are passed in, or if
+     *             <tt>mode</tt> is {@code null}.
+     */
+    public static SplineInterpolator getInstance(double x1, double y1, double x2, double y2, Mode mode) {
+        checkArguments(x1, y1, x2, y2, mode);
+        final Key key = new Key(x1, y1, x2, y2, mode);
+        SplineInterpolator result = SHARED.get(key);
+        if (result == null) {
+            result = new SplineInterpolator(x1, y1, x2, y2, mode);
+            if (SHARED.size() < MAX_SHARED) {
+                final SplineInterpolator raced = SHARED.putIfAbsent(key, result);
+                if (raced != null) {
+                    result = raced;
+                }
+            }
         }
-        f_lengths = Collections.unmodifiableList(resultLengths);
+        return result;
     }
 
     /**
-     * Calculates the XY point for a given <i>t</i> value.
+     * Calculates the X value for a given <i>t</i> value.
      * 
      * The general spline equation is
      * <p>
@@ -98,17 +266,16 @@ public final class SplineInterpolator implements Interpolator {
      * @param t
      *            parametric value for spline calculation.
      */
-    private Point2D getXY(double t) {
+    private double getX(double t) {
         final double invT = 1 - t;
         final double b1 = 3 * t * invT * invT;
         final double b2 = 3 * t * t * invT;
         final double b3 = t * t * t;
-        final Point2D xy = new Point2D((b1 * f_x1) + (b2 * f_x2) + b3, (b1 * f_y1) + (b2 * f_y2) + b3);
-        return xy;
+        return (b1 * f_x1) + (b2 * f_x2) + b3;
     }
 
     /**
-     * Utility function: When we are evaluating the spline, we only care about the Y values. See {@link #getXY} for the
+     * Utility function: When we are evaluating the spline, we only care about the Y values. See {@link #getX} for the
      * details.
      */
     private double getY(double t) {
@@ -120,12 +287,12 @@ public final class SplineInterpolator implements Interpolator {
     }
 
     /**
-     * Given a fraction of time along the spline (which we can interpret as the length along a spline), return the
-     * interpolated value of the spline.
+     * Given a fraction of time along the spline, return the interpolated value of the spline.
      * <p>
-     * We first calculate the <i>t</i> value for the length by doing a lookup in our array of previously calculated
-     * values and then linearly interpolating between the nearest values. Then we calculate the Y value for this
-     * <i>t</i>.
+     * For {@link Mode#ARC_LENGTH} we first calculate the <i>t</i> value for the length by doing a lookup in our array
+     * of previously calculated values and then linearly interpolating between the nearest values. For
+     * {@link Mode#SOLVE_X} we solve for the <i>t</i> value whose X value is the fraction. Then we calculate the Y value
+     * for this <i>t</i>.
      * 
      * @param fraction
      *            a value between 0 and 1, representing the elapsed fraction of a time interval.
@@ -133,16 +300,42 @@ public final class SplineInterpolator implements Interpolator {
      */
     @Override
     public double interpolate(double fraction) {
+        if (f_lengthFractions == null) {
+            return solveY(fraction);
+        }
+        return lookupY(fraction);
+    }
+
+    @Override
+    public void interpolate(double[] in, double[] out, int from, int to) {
+        if (f_lengthFractions == null) {
+            for (int i = from; i < to; i++) {
+                out[i] = solveY(in[i]);
+            }
+        }
+        else {
+            for (int i = from; i < to; i++) {
+                out[i] = lookupY(in[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the Y value of the point on the spline whose length from (0,0) is the passed fraction of the length of the
+     * spline, for {@link Mode#ARC_LENGTH}.
+     */
+    private double lookupY(double fraction) {
+        final double[] lengthFractions = f_lengthFractions;
         int low = 1;
-        int high = f_lengths.size() - 1;
+        int high = TABLE_SIZE - 1;
         int mid = 0;
         while (low <= high) {
-            mid = (low + high) / 2;
+            mid = (low + high) >>> 1;
 
-            if (fraction > f_lengths.get(mid).getFraction()) {
+            if (fraction > lengthFractions[mid]) {
                 low = mid + 1;
             }
-            else if (mid > 0 && fraction < f_lengths.get(mid - 1).getFraction()) {
+            else if (mid > 0 && fraction < lengthFractions[mid - 1]) {
                 high = mid - 1;
             }
             else {
@@ -152,16 +345,57 @@ public final class SplineInterpolator implements Interpolator {
         /*
          * The answer lies between the "mid" item and its predecessor.
          */
-        final LengthItem prevItem = f_lengths.get(mid - 1);
-        final double prevFraction = prevItem.getFraction();
-        final double prevT = prevItem.getT();
-
-        final LengthItem item = f_lengths.get(mid);
-        final double proportion = (fraction - prevFraction) / (item.getFraction() - prevFraction);
-        final double interpolatedT = prevT + (proportion * (item.getT() - prevT));
+        final double prevFraction = lengthFractions[mid - 1];
+        final double prevT = f_ts[mid - 1];
+        final double proportion = (fraction - prevFraction) / (lengthFractions[mid] - prevFraction);
+        final double interpolatedT = prevT + (proportion * (f_ts[mid] - prevT));
         return getY(interpolatedT);
     }
 
+    /**
+     * Gets the Y value of the point on the spline whose X value is the passed fraction, for {@link Mode#SOLVE_X}.
+     */
+    private double solveY(double fraction) {
+        if (fraction <= 0) {
+            return 0;
+        }
+        if (fraction >= 1) {
+            return 1;
+        }
+        /*
+         * Newton-Raphson converges in a few iterations unless the slope of x(t) is close to zero, in which case
+         * bisection, which always converges because x(t) is monotonic for control points in [0,1], is used.
+         */
+        double t = fraction;
+        for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+            final double slope = (3 * f_ax * t + 2 * f_bx) * t + f_cx;
+            if (Math.abs(slope) < 1e-6) {
+                break;
+            }
+            final double step = (((f_ax * t + f_bx) * t + f_cx) * t - fraction) / slope;
+            t -= step;
+            if (t < 0 || t > 1) {
+                break;
+            }
+            if (Math.abs(step) < SOLVE_EPSILON) {
+                return ((f_ay * t + f_by) * t + f_cy) * t;
+            }
+        }
+        double low = 0;
+        double high = 1;
+        while (high - low > SOLVE_EPSILON) {
+            t = (low + high) / 2;
+            if (((f_ax * t + f_bx) * t + f_cx) * t < fraction) {
+                low = t;
+            }
+            else {
+                high = t;
+            }
+        }
+        t = (low + high) / 2;
+        return ((f_ay * t + f_by) * t + f_cy) * t;
+    }
+
     @Override
     public String toString() {
         final StringBuilder b = new StringBuilder();
@@ -170,68 +404,49 @@ public final class SplineInterpolator implements Interpolator {
         b.append(", y1=").append(f_y1);
         b.append(", x1=").append(f_x2);
         b.append(", y2=").append(f_y2);
+        if (f_mode != Mode.ARC_LENGTH) {
+            b.append(", mode=").append(f_mode);
+        }
         b.append(')');
         return b.toString();
     }
 
     /**
-     * Base class used to store information about length values. This base class allows the construction of full
-     * {@link LengthItem} instances that are immutable.
-     * 
-     * @see LengthItem
+     * The key of a shared instance.
      */
-    private static class LengthItemBase {
-        private final double f_length;
+    private static final class Key {
 
-        private final double f_t;
+        final double f_x1, f_y1, f_x2, f_y2;
 
-        LengthItemBase(double length, double t) {
-            f_length = length;
-            f_t = t;
-        }
+        final Mode f_mode;
 
-        public double getLength() {
-            return f_length;
+        Key(double x1, double y1, double x2, double y2, Mode mode) {
+            f_x1 = x1;
+            f_y1 = y1;
+            f_x2 = x2;
+            f_y2 = y2;
+            f_mode = mode;
         }
 
-        public double getT() {
-            return f_t;
-        }
-    }
-
-    /**
-     * Used to store information about length values. Specifically, each item stores the "length" (which can be thought
-     * of as the time elapsed along the spline path), the <i>t</i> value at this length (used to calculate the (x,y)
-     * point along the spline), and the <i>fraction</i> which is equal to the length divided by the total absolute
-     * length of the spline.
-     * <p>
-     * After we calculate all LengthItems for a given spline, we have a list of entries which can return the <i>t</i>
-     * values for fractional lengths from 0 to 1.
-     */
-    private static final class LengthItem extends LengthItemBase {
-        private final double fraction;
-
-        LengthItem(double length, double t, double totalLength) {
-            super(length, t);
-            fraction = length / totalLength;
-        }
-
-        public double getFraction() {
-            return fraction;
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return Double.doubleToLongBits(f_x1) == Double.doubleToLongBits(other.f_x1)
+                && Double.doubleToLongBits(f_y1) == Double.doubleToLongBits(other.f_y1)
+                && Double.doubleToLongBits(f_x2) == Double.doubleToLongBits(other.f_x2)
+                && Double.doubleToLongBits(f_y2) == Double.doubleToLongBits(other.f_y2) && f_mode == other.f_mode;
         }
-    }
-
-    /**
-     * Stores a simple tuple containing an X and Y value.
-     */
-    private static final class Point2D {
-        final double x;
-
-        final double y;
 
-        Point2D(double x, double y) {
-            this.x = x;
-            this.y = y;
+        @Override
+        public int hashCode() {
+            long bits = Double.doubleToLongBits(f_x1);
+            bits = bits * 31 + Double.doubleToLongBits(f_y1);
+            bits = bits * 31 + Double.doubleToLongBits(f_x2);
+            bits = bits * 31 + Double.doubleToLongBits(f_y2);
+            return (int) (bits ^ (bits >>> 32)) * 31 + f_mode.hashCode();
         }
     }
 }
@@ -0,0 +1,443 @@
+package org.jdesktop.core.animation.timing.interpolators;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.Interpolator;
+
+/**
+ * This class interpolates fractional values by looking them up in a table of values sampled, at evenly spaced
+ * fractions, from another interpolator. This makes each call to {@link #interpolate(double)} a constant time operation
+ * that does not call the sampled interpolator, which is useful if that interpolator is expensive, e.g., a
+ * physics-based easing curve or a chain of composed interpolators.
+ * <p>
+ * Instances are constructed with a {@link Builder}, which can set the size of the table, a bound on the error of the
+ * table, how values between samples are looked up, and whether the table is sampled when the instance is constructed
+ * or on its first use. For example, here is a table of a spline interpolator that is within 1e-5 of the spline:
+ * 
+ * <pre>
+ * Interpolator spline = new SplineInterpolator(0.25, 0.1, 0.25, 1, SplineInterpolator.Mode.SOLVE_X);
+ * TabulatedInterpolator i = new TabulatedInterpolator.Builder(spline).setMaxError(1e-5).build();
+ * </pre>
+ * 
+ * The {@link #getInstance(Interpolator)} static factory method returns a shared instance for an interpolator that has
+ * been tabulated recently.
+ * <p>
+ * The sampled interpolator must return the same value each time it is passed the same fraction, and must be
+ * thread-safe if the table is sampled on first use. Instances of this class can be safely shared. This class is
+ * thread-safe.
+ */
+public final class TabulatedInterpolator implements Interpolator {
+
+    /**
+     * How values between two samples of a table are looked up.
+     */
+    public enum Lookup {
+        /**
+         * Linear interpolation between the two samples.
+         */
+        LINEAR,
+
+        /**
+         * Cubic Hermite interpolation between the two samples, with the slope at each sample estimated from its
+         * neighbors. This is more accurate than {@link #LINEAR} for smooth interpolators, for the same size of table,
+         * but is slower.
+         */
+        CUBIC_HERMITE
+    }
+
+    /**
+     * The number of samples in a table unless a different size is set.
+     */
+    public static final int DEFAULT_SIZE = 257;
+
+    /**
+     * The most samples in a table grown to meet a bound on its error.
+     */
+    public static final int MAX_SIZE = 65537;
+
+    /**
+     * The number of fractions, strictly between each pair of samples, at which the error of a table is measured.
+     */
+    private static final int ERROR_PROBES = 7;
+
+    /**
+     * Builds {@link TabulatedInterpolator} instances.
+     * <p>
+     * This class is not thread safe.
+     */
+    public static final class Builder {
+
+        final Interpolator f_interpolator;
+
+        int f_size = DEFAULT_SIZE;
+
+        double f_maxError = 0;
+
+        Lookup f_lookup = Lookup.LINEAR;
+
+        boolean f_lazy = false;
+
+        /**
+         * Constructs a builder to tabulate the passed interpolator.
+         * 
+         * @param interpolator
+         *            the interpolator to sample.
+         * 
+         * @throws IllegalArgumentException
+         *             if <tt>interpolator</tt> is {@code null}.
+         */
+        public Builder(Interpolator interpolator) {
+            if (interpolator == null) {
+                throw new IllegalArgumentException(I18N.err(1, "interpolator"));
+            }
+            f_interpolator = interpolator;
+        }
+
+        /**
+         * Sets the number of samples in the table. The default value is {@link TabulatedInterpolator#DEFAULT_SIZE}. If
+         * a bound on the error is set this is the initial size of the table.
+         * 
+         * @param value
+         *            the number of samples in the table, which must be >= 2.
+         * @return this builder (to allow chained operations).
+         * 
+         * @throws IllegalArgumentException
+         *             if value is not >= 2.
+         */
+        public Builder setSize(int value) {
+            if (value < 2) {
+                throw new IllegalArgumentException(I18N.err(80, value));
+            }
+            f_size = value;
+            return this;
+        }
+
+        /**
+         * Sets a bound on the error of the table. The table is grown, by doubling the number of intervals between its
+         * samples, until the error measured between its samples is at most the passed value, or until it has
+         * {@link TabulatedInterpolator#MAX_SIZE} samples. The table of a discontinuous interpolator, such as a
+         * {@link DiscreteInterpolator}, does not meet a bound. By default the table is not grown.
+         * 
+         * @param value
+         *            a bound on the error of the table, which must be positive.
+         * @return this builder (to allow chained operations).
+         * 
+         * @throws IllegalArgumentException
+         *             if value is not a positive finite number.
+         * 
+         * @see TabulatedInterpolator#getMaxError()
+         */
+        public Builder setMaxError(double value) {
+            if (!(value > 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException(I18N.err(81, value));
+            }
+            f_maxError = value;
+            return this;
+        }
+
+        /**
+         * Sets how values between two samples of the table are looked up. The default value is
+         * {@link Lookup#LINEAR}.
+         * 
+         * @param value
+         *            how values between two samples of the table are looked up. A {@code null} value is equivalent
+         *            to setting the default value.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder setLookup(Lookup value) {
+            f_lookup = value != null ? value : Lookup.LINEAR;
+            return this;
+        }
+
+        /**
+         * Sets if the table is sampled on the first use of the interpolator, rather than when it is built. The default
+         * value is {@code false}.
+         * 
+         * @param value
+         *            {@code true} if the table is sampled on first use.
+         * @return this builder (to allow chained operations).
+         */
+        public Builder setLazy(boolean value) {
+            f_lazy = value;
+            return this;
+        }
+
+        /**
+         * Constructs a tabulated interpolator with the settings defined by this builder.
+         * 
+         * @return a tabulated interpolator.
+         */
+        public TabulatedInterpolator build() {
+            return new TabulatedInterpolator(this);
+        }
+    }
+
+    /**
+     * The most tabulated interpolators held by {@link #getInstance(Interpolator)}.
+     */
+    static final int SHARED_CAPACITY = 64;
+
+    /**
+     * The tabulated interpolators shared by {@link #getInstance(Interpolator)}, least recently used first. A tabulated
+     * interpolator refers to the interpolator it samples, so a map with weak keys would never release an entry. Instead
+     * the map is bounded, and the least recently used entry is dropped when it is full, so at most
+     * {@link #SHARED_CAPACITY} interpolators, and their classes, are kept reachable by this map.
+     */
+    private static final Map<Interpolator, TabulatedInterpolator> SHARED =
+        new LinkedHashMap<Interpolator, TabulatedInterpolator>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Interpolator, TabulatedInterpolator> eldest) {
+                return size() > SHARED_CAPACITY;
+            }
+        };
+
+    /**
+     * Gets a tabulated interpolator, with the default settings of a {@link Builder} except that its table is sampled
+     * on first use, for the passed interpolator. The same instance is returned for the same interpolator, as compared
+     * by its <tt>equals</tt> method, unless more than {@link #SHARED_CAPACITY} other interpolators have been passed to
+     * this method since it was last passed.
+     * 
+     * @param interpolator
+     *            the interpolator to sample.
+     * @return a tabulated interpolator, or <tt>interpolator</tt> if it is a tabulated interpolator.
+     * 
+     * @throws IllegalArgumentException
+     *             if <tt>interpolator</tt> is {@code null}.
+     */
+    public static TabulatedInterpolator getInstance(Interpolator interpolator) {
+        if (interpolator == null) {
+            throw new IllegalArgumentException(I18N.err(1, "interpolator"));
+        }
+        if (interpolator instanceof TabulatedInterpolator) {
+            return (TabulatedInterpolator) interpolator;
+        }
+        synchronized (SHARED) {
+            TabulatedInterpolator result = SHARED.get(interpolator);
+            if (result == null) {
+                result = new Builder(interpolator).setLazy(true).build();
+                SHARED.put(interpolator, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A sampled table.
+     */
+    static final class Table {
+
+        /**
+         * The values of the sampled interpolator at evenly spaced fractions from 0 to 1.
+         */
+        final double[] f_values;
+
+        /**
+         * The slope at each sample multiplied by the distance between samples, or {@code null} if the lookup is not
+         * {@link Lookup#CUBIC_HERMITE}.
+         */
+        final double[] f_tangents;
+
+        Table(double[] values, double[] tangents) {
+            f_values = values;
+            f_tangents = tangents;
+        }
+    }
+
+    final Interpolator f_interpolator;
+
+    final Lookup f_lookup;
+
+    private final int f_initialSize;
+
+    private final double f_maxErrorBound;
+
+    /**
+     * The table, or {@code null} if it has not been sampled yet.
+     */
+    volatile Table f_table;
+
+    /**
+     * The measured maximum error of the table, or <tt>NaN</tt> if it has not been measured yet.
+     */
+    private volatile double f_maxError = Double.NaN;
+
+    TabulatedInterpolator(Builder builder) {
+        f_interpolator = builder.f_interpolator;
+        f_lookup = builder.f_lookup;
+        f_initialSize = builder.f_size;
+        f_maxErrorBound = builder.f_maxError;
+        if (!builder.f_lazy) {
+            table();
+        }
+    }
+
+    /**
+     * Gets the table, sampling it if it has not been sampled yet. If there is a race the table may be sampled more
+     * than once, which is harmless.
+     */
+    private Table table() {
+        Table result = f_table;
+        if (result == null) {
+            int size = f_initialSize;
+            result = sample(size);
+            if (f_maxErrorBound > 0) {
+                double error = measureError(result);
+                while (error > f_maxErrorBound && (size - 1) * 2 + 1 <= MAX_SIZE) {
+                    size = (size - 1) * 2 + 1;
+                    result = sample(size);
+                    error = measureError(result);
+                }
+                f_maxError = error;
+            }
+            f_table = result;
+        }
+        return result;
+    }
+
+    private Table sample(int size) {
+        final int intervals = size - 1;
+        final double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = f_interpolator.interpolate((double) i / intervals);
+        }
+        if (f_lookup != Lookup.CUBIC_HERMITE) {
+            return new Table(values, null);
+        }
+        /*
+         * Finite difference estimates of the slope, one-sided at either end of the table.
+         */
+        final double[] tangents = new double[size];
+        tangents[0] = values[1] - values[0];
+        tangents[intervals] = values[intervals] - values[intervals - 1];
+        for (int i = 1; i < intervals; i++) {
+            tangents[i] = (values[i + 1] - values[i - 1]) / 2;
+        }
+        return new Table(values, tangents);
+    }
+
+    /**
+     * Measures the maximum error of a table at fractions between its samples.
+     */
+    private double measureError(Table table) {
+        final int intervals = table.f_values.length - 1;
+        double result = 0;
+        for (int i = 0; i < intervals; i++) {
+            for (int probe = 1; probe <= ERROR_PROBES; probe++) {
+                final double fraction = (i + (double) probe / (ERROR_PROBES + 1)) / intervals;
+                final double error = Math.abs(f_interpolator.interpolate(fraction) - lookup(table, fraction));
+                if (!(error <= result)) {
+                    result = error; // also propagates NaN
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the interpolator that the table is sampled from.
+     * 
+     * @return the interpolator that the table is sampled from.
+     */
+    public Interpolator getInterpolator() {
+        return f_interpolator;
+    }
+
+    /**
+     * Gets how values between two samples of the table are looked up.
+     * 
+     * @return how values between two samples of the table are looked up.
+     */
+    public Lookup getLookup() {
+        return f_lookup;
+    }
+
+    /**
+     * Gets the number of samples in the table. The table is sampled if it has not been sampled yet.
+     * 
+     * @return the number of samples in the table.
+     */
+    public int getSize() {
+        return table().f_values.length;
+    }
+
+    /**
+     * Gets the maximum difference, measured between the samples of the table, between the value of the table and the
+     * value of the sampled interpolator. The table is sampled, and its error measured, if this has not been done yet.
+     * 
+     * @return the measured maximum error of the table.
+     */
+    public double getMaxError() {
+        final Table table = table();
+        double result = f_maxError;
+        if (Double.isNaN(result)) {
+            result = f_maxError = measureError(table);
+        }
+        return result;
+    }
+
+    /**
+     * Looks up the passed fraction in the table. Fractions outside of [0,1] are looked up as the nearest of 0 or 1.
+     * 
+     * @param fraction
+     *            a value between 0 and 1, representing the elapsed fraction of a time interval.
+     * @return an interpolated fraction.
+     */
+    @Override
+    public double interpolate(double fraction) {
+        return lookup(table(), fraction);
+    }
+
+    @Override
+    public void interpolate(double[] in, double[] out, int from, int to) {
+        final Table table = table();
+        for (int i = from; i < to; i++) {
+            out[i] = lookup(table, in[i]);
+        }
+    }
+
+    private static double lookup(Table table, double fraction) {
+        final double[] values = table.f_values;
+        final int intervals = values.length - 1;
+        if (!(fraction > 0)) {
+            return values[0];
+        }
+        if (fraction >= 1) {
+            return values[intervals];
+        }
+        final double position = fraction * intervals;
+        int i = (int) position;
+        if (i >= intervals) {
+            i = intervals - 1;
+        }
+        final double s = position - i;
+        final double v0 = values[i];
+        final double v1 = values[i + 1];
+        final double[] tangents = table.f_tangents;
+        if (tangents == null) {
+            return v0 + s * (v1 - v0);
+        }
+        final double s2 = s * s;
+        final double s3 = s2 * s;
+        return (2 * s3 - 3 * s2 + 1) * v0 + (s3 - 2 * s2 + s) * tangents[i] + (3 * s2 - 2 * s3) * v1
+            + (s3 - s2) * tangents[i + 1];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(TabulatedInterpolator.class.getSimpleName());
+        b.append('(').append(f_lookup);
+        final Table table = f_table;
+        if (table != null) {
+            b.append(", size=").append(table.f_values.length);
+        }
+        b.append(", ").append(f_interpolator);
+        b.append(')');
+        return b.toString();
+    }
+}
@@ -0,0 +1,298 @@
+package org.jdesktop.core.animation.timing.sources;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource;
+
+/**
+ * A factory for timing sources that share a small, fixed number of scheduler threads. Each timing source returned by
+ * {@link #getTimingSource(long, TimeUnit)} is a lightweight logical source: it does not own a thread. Instead, all the
+ * initialized logical sources with the same period are ticked, one after another, by a single periodic task on one of
+ * the factory's threads.
+ * <p>
+ * A typical use, where {@code tl} is a {@code TickListener} object, would be
+ *
+ * <pre>
+ * MultiplexedTimingSourceFactory factory = new MultiplexedTimingSourceFactory();
+ * TimingSource ts = factory.getTimingSource(15, TimeUnit.MILLISECONDS);
+ * ts.init(); // attaches ts to the shared scheduler
+ *
+ * ts.addTickListener(tl); // tl gets tick notifications
+ *
+ * ts.removeTickListener(tl); // tl stops getting notifications
+ *
+ * ts.dispose(); // detaches ts, the shared scheduler keeps running
+ *
+ * factory.dispose(); // done using the factory and all its timing sources
+ * </pre>
+ *
+ * The ticks of every period are phase-aligned to the time the factory was constructed. A logical source with a
+ * period of <i>p</i> ticks at the times <i>epoch</i> + <i>kp</i>. Periods that are multiples of one another, for
+ * example 15 and 30 milliseconds, are ticked by the same factory thread, so that thread wakes up once for both when
+ * their ticks coincide. Other periods are spread over the factory's threads in turn.
+ * <p>
+ * Tasks submitted to {@link TimingSource#submit(Runnable)} and calls to registered {@code TickListener} and
+ * {@code PostTickListener} objects from a logical source are always made in the context of a single factory thread.
+ * Because the thread is shared, a listener that takes a long time to run delays the ticks of the other logical sources
+ * with the same period.
+ */
+public final class MultiplexedTimingSourceFactory {
+
+    /**
+     * The logical sources with one period, ticked together by one periodic task.
+     */
+    static final class Lane implements Runnable {
+
+        final CopyOnWriteArrayList<LogicalTimingSource> f_members = new CopyOnWriteArrayList<LogicalTimingSource>();
+
+        ScheduledFuture<?> f_future; // guarded by the factory's lock
+
+        int f_executorIndex; // guarded by the factory's lock
+
+        @Override
+        public void run() {
+            for (LogicalTimingSource member : f_members) {
+                /*
+                 * An exception that escaped this task would cancel it, and stop the ticks of every logical source in
+                 * the lane, so report it and go on to the next one.
+                 */
+                try {
+                    member.runPerTick();
+                }
+                catch (RuntimeException e) {
+                    Logger.getAnonymousLogger().log(Level.SEVERE, I18N.err(4, e.getClass().getSimpleName()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A timing source that is ticked by a lane of its factory.
+     */
+    final class LogicalTimingSource extends TimingSource {
+
+        final long f_periodNanos;
+
+        final AtomicBoolean f_initialized = new AtomicBoolean(false);
+
+        final AtomicBoolean f_disposed = new AtomicBoolean(false);
+
+        LogicalTimingSource(long periodNanos) {
+            f_periodNanos = periodNanos;
+        }
+
+        @Override
+        public void init() {
+            if (!f_disposed.get() && f_initialized.compareAndSet(false, true)) {
+                attach(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (f_disposed.compareAndSet(false, true) && f_initialized.get()) {
+                detach(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return f_disposed.get();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder b = new StringBuilder();
+            b.append(MultiplexedTimingSourceFactory.class.getSimpleName()).append('.');
+            b.append(LogicalTimingSource.class.getSimpleName()).append('@').append(Integer.toHexString(hashCode()));
+            b.append("(period=").append(f_periodNanos).append(' ').append(TimeUnit.NANOSECONDS.toString());
+            b.append(')');
+            return b.toString();
+        }
+    }
+
+    private final ScheduledExecutorService[] f_executors;
+
+    /**
+     * The time that the ticks of every lane are phase-aligned to.
+     */
+    private final long f_epochNanos;
+
+    /*
+     * Accesses must be guarded by a lock on f_lanes.
+     */
+
+    private final HashMap<Long, Lane> f_lanes = new HashMap<Long, Lane>();
+
+    private int f_nextExecutor = 0;
+
+    /**
+     * Constructs a new factory that uses a single shared scheduler thread. The {@link #dispose()} method should be
+     * called to stop the thread.
+     */
+    public MultiplexedTimingSourceFactory() {
+        this(1);
+    }
+
+    /**
+     * Constructs a new factory that uses the passed number of shared scheduler threads. All the logical sources with
+     * the same period, or with periods that are multiples of one another, are ticked by the same thread. The
+     * {@link #dispose()} method should be called to stop the threads.
+     *
+     * @param threadCount
+     *            the number of scheduler threads, for example
+     *            <tt>Runtime.getRuntime().availableProcessors()</tt>.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>threadCount</tt> is less than one.
+     */
+    public MultiplexedTimingSourceFactory(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(I18N.err(72, threadCount));
+        }
+        f_executors = new ScheduledExecutorService[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final String name = MultiplexedTimingSourceFactory.class.getSimpleName() + "-" + i;
+            f_executors[i] = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    return new Thread(r, name);
+                }
+            });
+        }
+        f_epochNanos = System.nanoTime();
+    }
+
+    /**
+     * Constructs a new logical timing source. The {@link TimingSource#init()} must be called on the new instance to
+     * attach it to a shared scheduler thread. The {@link TimingSource#dispose()} method detaches it.
+     *
+     * @param period
+     *            the period of time between "tick" events.
+     * @param unit
+     *            the time unit of period parameter.
+     * @return a new logical timing source.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>period</tt> is less than one or <tt>unit</tt> is {@code null}.
+     */
+    public TimingSource getTimingSource(long period, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        if (period < 1) {
+            throw new IllegalArgumentException(I18N.err(70, period));
+        }
+        return new LogicalTimingSource(unit.toNanos(period));
+    }
+
+    /**
+     * Gets the number of distinct periods that currently have at least one initialized, undisposed, logical source.
+     *
+     * @return the number of periodic tasks scheduled by this factory.
+     */
+    public int getActivePeriodCount() {
+        synchronized (f_lanes) {
+            return f_lanes.size();
+        }
+    }
+
+    /**
+     * Stops all the shared scheduler threads. No logical source created by this factory will tick after this call, and
+     * calling {@link TimingSource#init()} on a logical source after this call has no effect.
+     */
+    public void dispose() {
+        synchronized (f_lanes) {
+            for (ScheduledExecutorService executor : f_executors) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Gets if this factory has had {@link #dispose()} invoked on it.
+     *
+     * @return {@code true} if this factory has had {@link #dispose()} invoked on it, {@code false} otherwise.
+     */
+    public boolean isDisposed() {
+        return f_executors[0].isShutdown();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(MultiplexedTimingSourceFactory.class.getSimpleName()).append('@');
+        b.append(Integer.toHexString(hashCode()));
+        b.append("(threads=").append(f_executors.length);
+        b.append(", periods=").append(getActivePeriodCount());
+        b.append(')');
+        return b.toString();
+    }
+
+    /**
+     * Adds the passed logical source to the lane for its period, scheduling the lane if needed. Does nothing if this
+     * factory has been disposed.
+     */
+    void attach(LogicalTimingSource source) {
+        synchronized (f_lanes) {
+            if (isDisposed()) {
+                return;
+            }
+            Lane lane = f_lanes.get(source.f_periodNanos);
+            if (lane == null) {
+                lane = new Lane();
+                final long period = source.f_periodNanos;
+                lane.f_executorIndex = executorIndexFor(period);
+                f_lanes.put(period, lane);
+                final long sinceEpoch = System.nanoTime() - f_epochNanos;
+                final long initialDelay = (period - sinceEpoch % period) % period;
+                lane.f_future = f_executors[lane.f_executorIndex].scheduleAtFixedRate(lane, initialDelay, period,
+                    TimeUnit.NANOSECONDS);
+            }
+            lane.f_members.add(source);
+        }
+    }
+
+    /**
+     * Chooses the thread for a new lane. A lane whose period is a multiple, or a divisor, of the passed period shares
+     * its thread, otherwise the next thread in turn is used. Only invoked while holding a lock on {@link #f_lanes}.
+     */
+    private int executorIndexFor(long period) {
+        for (Map.Entry<Long, Lane> entry : f_lanes.entrySet()) {
+            final long other = entry.getKey();
+            if (other % period == 0 || period % other == 0) {
+                return entry.getValue().f_executorIndex;
+            }
+        }
+        final int index = f_nextExecutor;
+        f_nextExecutor = (f_nextExecutor + 1) % f_executors.length;
+        return index;
+    }
+
+    /**
+     * Removes the passed logical source from the lane for its period, cancelling the lane if it is now empty.
+     */
+    void detach(LogicalTimingSource source) {
+        synchronized (f_lanes) {
+            final Lane lane = f_lanes.get(source.f_periodNanos);
+            if (lane != null) {
+                lane.f_members.remove(source);
+                if (lane.f_members.isEmpty()) {
+                    lane.f_future.cancel(false);
+                    f_lanes.remove(source.f_periodNanos);
+                }
+            }
+        }
+    }
+}
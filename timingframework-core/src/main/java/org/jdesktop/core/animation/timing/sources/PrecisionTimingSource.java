@@ -0,0 +1,386 @@
+package org.jdesktop.core.animation.timing.sources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource;
+
+/**
+ * A timing source that uses a dedicated thread to tick at a precise period. The thread parks until shortly before each
+ * tick is due and then spins until the deadline is reached, which avoids most of the wakeup latency of
+ * {@link LockSupport#parkNanos(long)} and {@link Thread#sleep(long)}. Deadlines are absolute: the <i>n</i>th tick is
+ * due <i>n</i> periods after {@link #init()} was called, so errors do not accumulate from tick to tick.
+ * <p>
+ * A typical use, where {@code tl} is a {@code TickListener} object, would be
+ *
+ * <pre>
+ * TimingSource ts = new PrecisionTimingSource(15, TimeUnit.MILLISECONDS);
+ * ts.init(); // starts the timer
+ *
+ * ts.addTickListener(tl); // tl gets tick notifications
+ *
+ * ts.removeTickListener(tl); // tl stops getting notifications
+ *
+ * ts.dispose(); // done using ts
+ * </pre>
+ *
+ * If the timing thread is stalled for more than one period (e.g., by a long garbage collection or a slow listener)
+ * then the {@link CatchUpPolicy} determines what happens to the ticks that were missed. The default,
+ * {@link CatchUpPolicy#SKIP}, drops them and resumes ticking on the original schedule.
+ * <p>
+ * The lateness of each tick, relative to its deadline, is measured and can be obtained by calling
+ * {@link #getJitterStatistics()}.
+ * <p>
+ * Tasks submitted to {@link #submit(Runnable)} and calls to registered {@code TickListener} and
+ * {@code PostTickListener} objects from this timing source are always made in the context of a single daemon thread
+ * created by this timing source.
+ */
+public final class PrecisionTimingSource extends TimingSource {
+
+    /**
+     * This enumeration defines what a {@link PrecisionTimingSource} does when it falls behind its schedule by more than
+     * one period.
+     */
+    public enum CatchUpPolicy {
+        /**
+         * The missed ticks are dropped, the next tick is made immediately, and ticking continues on the original
+         * schedule. The number of dropped ticks is reported by {@link JitterStatistics#getMissedTickCount()}.
+         */
+        SKIP,
+        /**
+         * The missed ticks are made back-to-back, as fast as possible, until the timing source has caught up with its
+         * schedule. This is the behavior of {@link java.util.concurrent.ScheduledExecutorService#scheduleAtFixedRate}.
+         */
+        BURST
+    }
+
+    /**
+     * An immutable snapshot of the measured lateness of the ticks of a {@link PrecisionTimingSource}.
+     */
+    public static final class JitterStatistics {
+
+        private final long f_tickCount;
+
+        private final double f_meanNanos;
+
+        private final long f_maxNanos;
+
+        private final double f_standardDeviationNanos;
+
+        private final long f_missedTickCount;
+
+        JitterStatistics(long tickCount, double meanNanos, long maxNanos, double standardDeviationNanos,
+                long missedTickCount) {
+            f_tickCount = tickCount;
+            f_meanNanos = meanNanos;
+            f_maxNanos = maxNanos;
+            f_standardDeviationNanos = standardDeviationNanos;
+            f_missedTickCount = missedTickCount;
+        }
+
+        /**
+         * Gets the number of ticks measured.
+         *
+         * @return the number of ticks measured.
+         */
+        public long getTickCount() {
+            return f_tickCount;
+        }
+
+        /**
+         * Gets the mean lateness of the measured ticks relative to their deadline.
+         *
+         * @return the mean lateness in nanoseconds.
+         */
+        public double getMeanNanos() {
+            return f_meanNanos;
+        }
+
+        /**
+         * Gets the maximum lateness of the measured ticks relative to their deadline.
+         *
+         * @return the maximum lateness in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return f_maxNanos;
+        }
+
+        /**
+         * Gets the standard deviation of the lateness of the measured ticks.
+         *
+         * @return the standard deviation of the lateness in nanoseconds.
+         */
+        public double getStandardDeviationNanos() {
+            return f_standardDeviationNanos;
+        }
+
+        /**
+         * Gets the number of ticks dropped under the {@link CatchUpPolicy#SKIP} policy.
+         *
+         * @return the number of ticks dropped.
+         */
+        public long getMissedTickCount() {
+            return f_missedTickCount;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder b = new StringBuilder();
+            b.append(JitterStatistics.class.getSimpleName());
+            b.append("(ticks=").append(f_tickCount);
+            b.append(", mean=").append(String.format("%.3f", f_meanNanos / 1000000.0)).append(" ms");
+            b.append(", max=").append(String.format("%.3f", f_maxNanos / 1000000.0)).append(" ms");
+            b.append(", stddev=").append(String.format("%.3f", f_standardDeviationNanos / 1000000.0)).append(" ms");
+            b.append(", missed=").append(f_missedTickCount);
+            b.append(')');
+            return b.toString();
+        }
+    }
+
+    /**
+     * The default amount of time before a deadline that the timing thread stops parking and starts spinning.
+     */
+    public static final long DEFAULT_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+
+    private final long f_period;
+
+    private final TimeUnit f_periodTimeUnit;
+
+    private final long f_periodNanos;
+
+    private final long f_spinNanos;
+
+    private volatile CatchUpPolicy f_catchUpPolicy = CatchUpPolicy.SKIP;
+
+    private final Thread f_thread;
+
+    private final AtomicBoolean f_started = new AtomicBoolean(false);
+
+    private volatile boolean f_disposed = false;
+
+    /*
+     * Jitter statistics, accesses must be guarded by a lock on f_statisticsLock. The mean and variance are accumulated
+     * using Welford's method.
+     */
+
+    private final Object f_statisticsLock = new Object();
+
+    private long f_tickCount;
+
+    private double f_meanNanos;
+
+    private double f_sumOfSquaredDeviations;
+
+    private long f_maxNanos;
+
+    private long f_missedTickCount;
+
+    /**
+     * Constructs a new instance. The {@link #init()} must be called on the new instance to start the timer. The
+     * {@link #dispose()} method should be called to stop the timer.
+     *
+     * @param period
+     *            the period of time between "tick" events.
+     * @param unit
+     *            the time unit of period parameter.
+     * @param spinNanos
+     *            the amount of time, in nanoseconds, before each deadline that the timing thread stops parking and
+     *            starts spinning. A value of zero never spins.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>period</tt> is less than one, <tt>unit</tt> is {@code null}, or <tt>spinNanos</tt> is
+     *             negative.
+     */
+    public PrecisionTimingSource(long period, TimeUnit unit, long spinNanos) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        if (period < 1) {
+            throw new IllegalArgumentException(I18N.err(70, period));
+        }
+        if (spinNanos < 0) {
+            throw new IllegalArgumentException(I18N.err(71, spinNanos));
+        }
+        f_period = period;
+        f_periodTimeUnit = unit;
+        f_periodNanos = unit.toNanos(period);
+        f_spinNanos = spinNanos;
+        f_thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                tickLoop();
+            }
+        }, PrecisionTimingSource.class.getSimpleName());
+        f_thread.setDaemon(true);
+    }
+
+    /**
+     * Constructs a new instance that spins for {@link #DEFAULT_SPIN_NANOS} before each deadline. The {@link #init()}
+     * must be called on the new instance to start the timer. The {@link #dispose()} method should be called to stop
+     * the timer.
+     *
+     * @param period
+     *            the period of time between "tick" events.
+     * @param unit
+     *            the time unit of period parameter.
+     */
+    public PrecisionTimingSource(long period, TimeUnit unit) {
+        this(period, unit, DEFAULT_SPIN_NANOS);
+    }
+
+    /**
+     * Constructs a new instance with a period of 15 milliseconds. The {@link #init()} must be called on the new
+     * instance to start the timer. The {@link #dispose()} method should be called to stop the timer.
+     */
+    public PrecisionTimingSource() {
+        this(15, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets what this timing source does when it falls behind its schedule by more than one period. The default is
+     * {@link CatchUpPolicy#SKIP}.
+     *
+     * @param policy
+     *            a catch-up policy.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>policy</tt> is {@code null}.
+     */
+    public void setCatchUpPolicy(CatchUpPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException(I18N.err(1, "policy"));
+        }
+        f_catchUpPolicy = policy;
+    }
+
+    /**
+     * Gets what this timing source does when it falls behind its schedule by more than one period.
+     *
+     * @return the catch-up policy.
+     */
+    public CatchUpPolicy getCatchUpPolicy() {
+        return f_catchUpPolicy;
+    }
+
+    /**
+     * Gets a snapshot of the measured lateness of the ticks of this timing source.
+     *
+     * @return a snapshot of the jitter statistics.
+     */
+    public JitterStatistics getJitterStatistics() {
+        synchronized (f_statisticsLock) {
+            final double variance = f_tickCount > 1 ? f_sumOfSquaredDeviations / (f_tickCount - 1) : 0;
+            return new JitterStatistics(f_tickCount, f_meanNanos, f_maxNanos, Math.sqrt(variance), f_missedTickCount);
+        }
+    }
+
+    /**
+     * Clears the measured jitter statistics.
+     */
+    public void resetJitterStatistics() {
+        synchronized (f_statisticsLock) {
+            f_tickCount = f_maxNanos = f_missedTickCount = 0;
+            f_meanNanos = f_sumOfSquaredDeviations = 0;
+        }
+    }
+
+    @Override
+    public void init() {
+        if (f_started.compareAndSet(false, true)) {
+            f_thread.start();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        f_disposed = true;
+        LockSupport.unpark(f_thread);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return f_disposed;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(PrecisionTimingSource.class.getSimpleName()).append('@').append(Integer.toHexString(hashCode()));
+        b.append("(period=").append(f_period).append(' ').append(f_periodTimeUnit.toString());
+        b.append(", catchUpPolicy=").append(f_catchUpPolicy.toString());
+        b.append(')');
+        return b.toString();
+    }
+
+    /**
+     * The body of the timing thread.
+     */
+    void tickLoop() {
+        long deadline = System.nanoTime();
+        while (!f_disposed) {
+            /*
+             * Park until we are close to the deadline, then spin.
+             */
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (f_disposed) {
+                    return;
+                }
+                if (remaining > f_spinNanos) {
+                    LockSupport.parkNanos(remaining - f_spinNanos);
+                }
+            }
+            if (f_disposed) {
+                return;
+            }
+            recordLateness(-remaining, 0);
+            /*
+             * An exception that escaped would end the timing thread and freeze every animation using this source, so
+             * report it and keep to the schedule.
+             */
+            try {
+                runPerTick();
+            }
+            catch (RuntimeException e) {
+                Logger.getAnonymousLogger().log(Level.SEVERE, I18N.err(4, e.getClass().getSimpleName()), e);
+            }
+            deadline += f_periodNanos;
+            final long behind = System.nanoTime() - deadline;
+            if (behind >= f_periodNanos && f_catchUpPolicy == CatchUpPolicy.SKIP) {
+                /*
+                 * Drop the missed ticks but stay in phase with the original schedule.
+                 */
+                final long missed = behind / f_periodNanos;
+                deadline += missed * f_periodNanos;
+                recordLateness(-1, missed);
+            }
+        }
+    }
+
+    /**
+     * Updates the jitter statistics.
+     *
+     * @param latenessNanos
+     *            the lateness of a tick, or a negative value if no tick was made.
+     * @param missedTicks
+     *            the number of ticks dropped.
+     */
+    private void recordLateness(long latenessNanos, long missedTicks) {
+        synchronized (f_statisticsLock) {
+            f_missedTickCount += missedTicks;
+            if (latenessNanos >= 0) {
+                f_tickCount++;
+                final double delta = latenessNanos - f_meanNanos;
+                f_meanNanos += delta / f_tickCount;
+                f_sumOfSquaredDeviations += delta * (latenessNanos - f_meanNanos);
+                if (latenessNanos > f_maxNanos) {
+                    f_maxNanos = latenessNanos;
+                }
+            }
+        }
+    }
+}
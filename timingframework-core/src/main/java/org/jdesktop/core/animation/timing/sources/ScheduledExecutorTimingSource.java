@@ -2,6 +2,7 @@ package org.jdesktop.core.animation.timing.sources;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.jdesktop.core.animation.timing.TimingSource;
@@ -29,6 +30,10 @@ import org.jdesktop.core.animation.timing.TimingSource;
  * Tasks submitted to {@link #submit(Runnable)} and calls to registered {@code TickListener} and
  * {@code PostTickListener} objects from this timing source are always made in the context of a single thread. This
  * thread is the thread created by {@link Executors#newSingleThreadScheduledExecutor()}.
+ * <p>
+ * This timing source supports {@link #setAutoSuspendAfter(int)}. While suspended its periodic task is cancelled, so
+ * the executor thread does not wake up. When resumed, ticks continue in phase with the period as it was when
+ * {@link #init()} was called.
  * 
  * @author Tim Halloran
  */
@@ -40,6 +45,23 @@ public final class ScheduledExecutorTimingSource extends TimingSource {
 
     private final TimeUnit f_periodTimeUnit;
 
+    private final long f_periodNanos;
+
+    private final Runnable f_tickTask = new Runnable() {
+        @Override
+        public void run() {
+            runPerTick();
+        }
+    };
+
+    /*
+     * Accesses must be guarded by a lock on this.
+     */
+
+    private ScheduledFuture<?> f_future;
+
+    private long f_phaseOriginNanos;
+
     /**
      * Constructs a new instance. The {@link #init()} must be called on the new instance to start the timer. The
      * {@link #dispose()} method should be called to stop the timer.
@@ -52,6 +74,7 @@ public final class ScheduledExecutorTimingSource extends TimingSource {
     public ScheduledExecutorTimingSource(long period, TimeUnit unit) {
         f_period = period;
         f_periodTimeUnit = unit;
+        f_periodNanos = unit.toNanos(period);
         f_executor = Executors.newSingleThreadScheduledExecutor();
     }
 
@@ -65,17 +88,38 @@ public final class ScheduledExecutorTimingSource extends TimingSource {
 
     @Override
     public void init() {
-        f_executor.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                runPerTick();
+        synchronized (this) {
+            f_phaseOriginNanos = System.nanoTime();
+            f_future = f_executor.scheduleAtFixedRate(f_tickTask, 0, f_periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected void onSuspend() {
+        synchronized (this) {
+            if (f_future != null) {
+                f_future.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        synchronized (this) {
+            if (f_future == null || f_executor.isShutdown()) {
+                return;
             }
-        }, 0, f_period, f_periodTimeUnit);
+            final long sincePhaseOrigin = System.nanoTime() - f_phaseOriginNanos;
+            final long initialDelay = (f_periodNanos - sincePhaseOrigin % f_periodNanos) % f_periodNanos;
+            f_future = f_executor.scheduleAtFixedRate(f_tickTask, initialDelay, f_periodNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public void dispose() {
-        f_executor.shutdown();
+        synchronized (this) {
+            f_executor.shutdown();
+        }
     }
 
     @Override
@@ -0,0 +1,296 @@
+package org.jdesktop.core.animation.timing.sources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.jdesktop.core.animation.i18n.I18N;
+import org.jdesktop.core.animation.timing.TimingSource;
+
+/**
+ * A timing source with a virtual clock that only advances when told to. This timing source is intended for running
+ * animations faster than real time, for example, to render previews or in tests that would otherwise need to wait for
+ * many seconds of animation.
+ * <p>
+ * The clock is advanced by {@link #advance(long, TimeUnit)} or {@link #runUntil(BooleanSupplier, long, TimeUnit)}.
+ * Rather than ticking at a fixed period, these methods jump the clock directly to the next instant that a registered
+ * {@link TimingSource.PredictableTickListener}, such as an {@link org.jdesktop.core.animation.timing.Animator}, needs
+ * to be notified: when a start delay expires, a cycle ends, or an animation ends. Listeners that cannot predict when
+ * they need to be notified are ticked every frame period, 15 milliseconds by default. Whenever tasks are queued via
+ * {@link #submit(Runnable)} a tick is made without advancing the clock.
+ * <p>
+ * A typical use, where {@code animator} uses this timing source, would be
+ *
+ * <pre>
+ * VirtualTimingSource ts = new VirtualTimingSource();
+ * animator.start();
+ * ts.advance(10, TimeUnit.MINUTES); // returns as soon as the ten virtual minutes are processed
+ * </pre>
+ *
+ * If {@link #init()} is called then a daemon driver thread advances the clock, as fast as it can, whenever there is
+ * something to tick. This allows code that waits for an animation, such as
+ * {@link org.jdesktop.core.animation.timing.Animator#await()}, to work with this timing source. When no tick is
+ * needed, because no tasks are queued and no registered listener needs to be notified, the driver thread parks until
+ * a task is submitted or a listener is added or removed. A {@link TimingSource.PredictableTickListener} that has
+ * returned {@link Long#MAX_VALUE} and later needs to be notified must therefore be registered again, as an
+ * {@link org.jdesktop.core.animation.timing.Animator} is when it is resumed, or submit a task.
+ * <p>
+ * Tasks submitted to {@link #submit(Runnable)} and calls to registered {@code TickListener} and
+ * {@code PostTickListener} objects are made in the context of the thread that advances the clock: the caller of
+ * {@link #advance(long, TimeUnit)} or {@link #runUntil(BooleanSupplier, long, TimeUnit)}, or the driver thread. The
+ * clock is only advanced by one thread at a time.
+ * <p>
+ * The clock starts at an arbitrary non-zero time.
+ */
+public final class VirtualTimingSource extends TimingSource {
+
+    /**
+     * The virtual clock, in nanoseconds. Only changed while holding a lock on f_lock.
+     */
+    private volatile long f_nanoTime = 1;
+
+    private final long f_framePeriodNanos;
+
+    /**
+     * Serializes advancement of the clock.
+     */
+    private final Object f_lock = new Object();
+
+    private final AtomicBoolean f_started = new AtomicBoolean(false);
+
+    private volatile boolean f_disposed = false;
+
+    private volatile Thread f_driver;
+
+    /**
+     * {@code true} while the driver thread is, or is about to be, parked because no tick is needed.
+     */
+    private volatile boolean f_waiting = false;
+
+    /**
+     * Constructs a new instance. Listeners that are not a {@link TimingSource.PredictableTickListener} are ticked at
+     * the passed frame period.
+     *
+     * @param framePeriod
+     *            the period of time between "tick" events for listeners that cannot predict when they need to be
+     *            notified.
+     * @param unit
+     *            the time unit of framePeriod parameter.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>framePeriod</tt> is less than one or <tt>unit</tt> is {@code null}.
+     */
+    public VirtualTimingSource(long framePeriod, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        if (framePeriod < 1) {
+            throw new IllegalArgumentException(I18N.err(70, framePeriod));
+        }
+        f_framePeriodNanos = unit.toNanos(framePeriod);
+    }
+
+    /**
+     * Constructs a new instance with a frame period of 15 milliseconds.
+     */
+    public VirtualTimingSource() {
+        this(15, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the current time of the virtual clock.
+     *
+     * @return the virtual time in nanoseconds.
+     */
+    @Override
+    public long getNanoTime() {
+        return f_nanoTime;
+    }
+
+    /**
+     * Advances the virtual clock by the passed amount of time, ticking at each interesting instant along the way and
+     * once more at the end.
+     *
+     * @param amount
+     *            the amount of time to advance the clock.
+     * @param unit
+     *            the time unit of amount parameter.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>amount</tt> is negative or <tt>unit</tt> is {@code null}.
+     * @throws IllegalStateException
+     *             if this timing source has been disposed.
+     */
+    public void advance(long amount, TimeUnit unit) {
+        final long amountNanos = checkAmount(amount, unit);
+        synchronized (f_lock) {
+            advanceTo(f_nanoTime + amountNanos, null);
+        }
+    }
+
+    /**
+     * Advances the virtual clock, from one interesting instant to the next, until the passed condition is true or the
+     * passed amount of virtual time has elapsed. The condition is checked before each tick.
+     *
+     * @param condition
+     *            the condition to wait for.
+     * @param timeout
+     *            the maximum amount of virtual time to advance the clock.
+     * @param unit
+     *            the time unit of timeout parameter.
+     * @return {@code true} if the condition became true, {@code false} if the timeout elapsed first.
+     *
+     * @throws IllegalArgumentException
+     *             if <tt>condition</tt> is {@code null}, <tt>timeout</tt> is negative, or <tt>unit</tt> is
+     *             {@code null}.
+     * @throws IllegalStateException
+     *             if this timing source has been disposed.
+     */
+    public boolean runUntil(BooleanSupplier condition, long timeout, TimeUnit unit) {
+        if (condition == null) {
+            throw new IllegalArgumentException(I18N.err(1, "condition"));
+        }
+        final long timeoutNanos = checkAmount(timeout, unit);
+        synchronized (f_lock) {
+            return advanceTo(f_nanoTime + timeoutNanos, condition);
+        }
+    }
+
+    /**
+     * Starts a daemon driver thread that advances the virtual clock, as fast as it can, whenever there is something to
+     * tick.
+     */
+    @Override
+    public void init() {
+        if (f_started.compareAndSet(false, true)) {
+            setAutoSuspendAfter(1);
+            final Thread driver = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    drive();
+                }
+            }, VirtualTimingSource.class.getSimpleName());
+            driver.setDaemon(true);
+            f_driver = driver;
+            driver.start();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        f_disposed = true;
+        LockSupport.unpark(f_driver);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return f_disposed;
+    }
+
+    @Override
+    protected void onResume() {
+        LockSupport.unpark(f_driver);
+    }
+
+    @Override
+    protected void onPendingChange() {
+        if (f_waiting) {
+            LockSupport.unpark(f_driver);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(VirtualTimingSource.class.getSimpleName()).append('@').append(Integer.toHexString(hashCode()));
+        b.append("(nanoTime=").append(f_nanoTime);
+        b.append(", framePeriod=").append(f_framePeriodNanos).append(' ').append(TimeUnit.NANOSECONDS.toString());
+        b.append(')');
+        return b.toString();
+    }
+
+    private long checkAmount(long amount, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException(I18N.err(1, "unit"));
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException(I18N.err(75, amount));
+        }
+        if (f_disposed) {
+            throw new IllegalStateException(I18N.err(76, toString()));
+        }
+        return unit.toNanos(amount);
+    }
+
+    /**
+     * Ticks at each interesting instant up to the passed time. Must be called holding a lock on f_lock.
+     */
+    private boolean advanceTo(long targetNanos, BooleanSupplier condition) {
+        while (true) {
+            if (condition != null && condition.getAsBoolean()) {
+                return true;
+            }
+            final long next = getNextTickTime(f_nanoTime, f_framePeriodNanos);
+            if (next > targetNanos) {
+                break;
+            }
+            if (next > f_nanoTime) {
+                f_nanoTime = next;
+            }
+            runPerTick();
+        }
+        f_nanoTime = targetNanos;
+        runPerTick();
+        return condition != null && condition.getAsBoolean();
+    }
+
+    /**
+     * The body of the driver thread.
+     */
+    void drive() {
+        while (!f_disposed) {
+            final boolean ticked;
+            synchronized (f_lock) {
+                final long next = getNextTickTime(f_nanoTime, f_framePeriodNanos);
+                if (next != Long.MAX_VALUE) {
+                    if (next > f_nanoTime) {
+                        f_nanoTime = next;
+                    }
+                    runPerTick();
+                    ticked = true;
+                }
+                else {
+                    ticked = false;
+                }
+            }
+            if (!ticked) {
+                if (isSuspended()) {
+                    LockSupport.park(this);
+                }
+                else {
+                    /*
+                     * Let an idle tick happen so that this timing source can suspend itself. If it is not idle then
+                     * its listeners do not need a tick, so wait for a producer to change that. The flag is set before
+                     * checking again, and producers check the flag after they have queued their change, so a change is
+                     * never missed.
+                     */
+                    synchronized (f_lock) {
+                        runPerTick();
+                    }
+                    if (!isSuspended()) {
+                        f_waiting = true;
+                        final boolean tickNeeded;
+                        synchronized (f_lock) {
+                            tickNeeded = getNextTickTime(f_nanoTime, f_framePeriodNanos) != Long.MAX_VALUE;
+                        }
+                        if (!tickNeeded && !f_disposed) {
+                            LockSupport.park(this);
+                        }
+                        f_waiting = false;
+                    }
+                }
+            }
+        }
+    }
+}
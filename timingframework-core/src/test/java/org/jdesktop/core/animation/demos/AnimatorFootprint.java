@@ -0,0 +1,62 @@
+package org.jdesktop.core.animation.demos;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.jdesktop.core.animation.timing.Animator;
+import org.jdesktop.core.animation.timing.AnimatorSpec;
+import org.jdesktop.core.animation.timing.TimingTargetAdapter;
+import org.jdesktop.core.animation.timing.sources.ManualTimingSource;
+
+/**
+ * Measures the heap retained per {@link Animator} when many animations are created from one template. Run with a
+ * fixed heap, e.g., <tt>-Xms1g -Xmx1g</tt>, for stable results.
+ */
+public final class AnimatorFootprint {
+
+  static final int COUNT = 200000;
+
+  public static void main(String[] args) {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final Animator.Builder template = new Animator.Builder(ts).setDuration(250, MILLISECONDS).setRepeatCount(2)
+        .setDebugName("template").addTarget(new TimingTargetAdapter());
+
+    for (int round = 0; round < 3; round++) {
+      System.out.printf("copy(template).build(): %6.1f bytes/animator%n", measure(new Factory() {
+        public Animator create() {
+          return new Animator.Builder(ts).copy(template).build();
+        }
+      }));
+      final AnimatorSpec spec = template.buildSpec();
+      System.out.printf("spec.newAnimator():     %6.1f bytes/animator%n", measure(new Factory() {
+        public Animator create() {
+          return spec.newAnimator();
+        }
+      }));
+    }
+  }
+
+  interface Factory {
+    Animator create();
+  }
+
+  static double measure(Factory factory) {
+    final Animator[] animators = new Animator[COUNT];
+    final long before = usedHeap();
+    for (int i = 0; i < COUNT; i++) {
+      animators[i] = factory.create();
+    }
+    final long after = usedHeap();
+    if (animators[COUNT - 1] == null) {
+      throw new IllegalStateException();
+    }
+    return (double) (after - before) / COUNT;
+  }
+
+  static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,80 @@
+package org.jdesktop.core.animation.demos;
+
+import org.jdesktop.core.animation.timing.DoubleEvaluator;
+import org.jdesktop.core.animation.timing.Interpolator;
+import org.jdesktop.core.animation.timing.evaluators.EvaluatorDouble;
+import org.jdesktop.core.animation.timing.interpolators.AccelerationInterpolator;
+import org.jdesktop.core.animation.timing.interpolators.DiscreteInterpolator;
+import org.jdesktop.core.animation.timing.interpolators.LinearInterpolator;
+import org.jdesktop.core.animation.timing.interpolators.SplineInterpolator;
+
+/**
+ * Compares the time per value to interpolate, and to evaluate, an array of values one call at a time with
+ * {@link Interpolator#interpolate(double)} and {@link DoubleEvaluator#evaluate(double, double, double)}, and with the
+ * batch methods {@link Interpolator#interpolate(double[], double[], int, int)} and
+ * {@link DoubleEvaluator#evaluate(double[], double[], double, double[], int, int)}. The calls one at a time are made
+ * from a single call site for all the interpolators, as they are within key frames.
+ */
+public final class BatchInterpolateBenchmark {
+
+  static final int VALUES = 4096;
+
+  public static void main(String[] args) {
+    final Interpolator[] interpolators = { LinearInterpolator.getInstance(), DiscreteInterpolator.getInstance(),
+        new AccelerationInterpolator(0.3, 0.2), new SplineInterpolator(0.8, 0.2, 0.2, 0.8),
+        new SplineInterpolator(0.25, 0.1, 0.25, 1, SplineInterpolator.Mode.SOLVE_X) };
+    final String[] names = { "Linear", "Discrete", "Acceleration", "Spline ARC_LENGTH", "Spline SOLVE_X" };
+    final double[] in = new double[VALUES];
+    final double[] out = new double[VALUES];
+    final double[] v1 = new double[VALUES];
+    for (int i = 0; i < VALUES; i++) {
+      in[i] = (double) i / (VALUES - 1);
+      v1[i] = i * 2.5;
+    }
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%18s %14s %14s%n", "", "call ns/value", "batch ns/value");
+      for (int index = 0; index < interpolators.length; index++) {
+        final Interpolator interpolator = interpolators[index];
+        final double call = measure(new Runnable() {
+          public void run() {
+            interpolateEach(interpolator, in, out);
+          }
+        });
+        final double batch = measure(new Runnable() {
+          public void run() {
+            interpolator.interpolate(in, out, 0, VALUES);
+            Benchmarks.sink += out[VALUES / 2];
+          }
+        });
+        System.out.printf("%18s %14.2f %14.2f%n", names[index], call, batch);
+      }
+      final DoubleEvaluator evaluator = new EvaluatorDouble();
+      final double call = measure(new Runnable() {
+        public void run() {
+          for (int i = 0; i < VALUES; i++) {
+            out[i] = evaluator.evaluate(in[i], v1[i], 0.3);
+          }
+          Benchmarks.sink += out[VALUES / 2];
+        }
+      });
+      final double batch = measure(new Runnable() {
+        public void run() {
+          evaluator.evaluate(in, v1, 0.3, out, 0, VALUES);
+          Benchmarks.sink += out[VALUES / 2];
+        }
+      });
+      System.out.printf("%18s %14.2f %14.2f%n", "EvaluatorDouble", call, batch);
+    }
+  }
+
+  static void interpolateEach(Interpolator interpolator, double[] in, double[] out) {
+    for (int i = 0; i < in.length; i++) {
+      out[i] = interpolator.interpolate(in[i]);
+    }
+    Benchmarks.sink += out[in.length / 2];
+  }
+
+  static double measure(Runnable pass) {
+    return Benchmarks.measure(pass, 2000, VALUES).f_nanosPerOperation;
+  }
+}
@@ -0,0 +1,69 @@
+package org.jdesktop.core.animation.demos;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The measurement loop shared by the benchmarks in this package.
+ */
+final class Benchmarks {
+
+  /**
+   * The least amount of time, in nanoseconds, that a pass is run for after its warm up.
+   */
+  static final long MIN_NANOS = 200000000L;
+
+  /**
+   * Benchmarks add the results they compute to this so that the JIT compiler cannot remove the work.
+   */
+  static double sink;
+
+  /**
+   * The time and the heap allocated per operation of a pass.
+   */
+  static final class Measurement {
+
+    final double f_nanosPerOperation;
+
+    /**
+     * {@link Double#NaN} if the JVM can't measure the heap allocated by a thread.
+     */
+    final double f_bytesPerOperation;
+
+    Measurement(double nanosPerOperation, double bytesPerOperation) {
+      f_nanosPerOperation = nanosPerOperation;
+      f_bytesPerOperation = bytesPerOperation;
+    }
+  }
+
+  /**
+   * Runs the passed pass the passed number of times to warm up, then repeatedly for at least {@link #MIN_NANOS}, and
+   * returns the time and the heap allocated per operation. Allocation is measured with
+   * <tt>com.sun.management.ThreadMXBean</tt>, so it needs a HotSpot based JVM.
+   */
+  static Measurement measure(Runnable pass, int warmUpPasses, int operationsPerPass) {
+    for (int i = 0; i < warmUpPasses; i++) {
+      pass.run();
+    }
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final com.sun.management.ThreadMXBean allocation = threads instanceof com.sun.management.ThreadMXBean
+        ? (com.sun.management.ThreadMXBean) threads : null;
+    final long thread = Thread.currentThread().getId();
+    final long bytesBefore = allocation != null ? allocation.getThreadAllocatedBytes(thread) : 0;
+    long passes = 0;
+    final long start = System.nanoTime();
+    long elapsed;
+    do {
+      pass.run();
+      passes++;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < MIN_NANOS);
+    final double bytes = allocation != null ? allocation.getThreadAllocatedBytes(thread) - bytesBefore : Double.NaN;
+    final long operations = passes * operationsPerPass;
+    return new Measurement((double) elapsed / operations, bytes / operations);
+  }
+
+  private Benchmarks() {
+    // utility
+  }
+}
@@ -0,0 +1,86 @@
+package org.jdesktop.core.animation.demos;
+
+import java.util.Random;
+
+import org.jdesktop.core.animation.timing.KeyFrames;
+
+/**
+ * Compares the cost of finding the interval of time that contains a time fraction in key frames of increasing size:
+ * the original linear scan, {@link KeyFrames#getFrameIndexAt(double)}, and a {@link KeyFrames.Cursor}. Lookups are
+ * made at the fractions of the ticks of a ten second animation at 60 frames per second, as a timing target would
+ * make them, and at random fractions.
+ */
+public final class KeyFramesLookupBenchmark {
+
+  static final int[] FRAME_COUNTS = { 10, 1000, 10000, 100000 };
+
+  static final int TICKS = 600;
+
+  public static void main(String[] args) {
+    final Random random = new Random(1);
+    final double[] randomFractions = new double[TICKS];
+    for (int i = 0; i < TICKS; i++) {
+      randomFractions[i] = random.nextDouble();
+    }
+    final double[] tickFractions = new double[TICKS];
+    for (int i = 0; i < TICKS; i++) {
+      tickFractions[i] = (double) i / (TICKS - 1);
+    }
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%8s %8s %14s %14s %14s%n", "frames", "access", "linear ns/op", "binary ns/op",
+          "cursor ns/op");
+      for (int frameCount : FRAME_COUNTS) {
+        final KeyFrames<Integer> kf = build(frameCount);
+        report(kf, "ticks", tickFractions);
+        report(kf, "random", randomFractions);
+      }
+    }
+  }
+
+  static KeyFrames<Integer> build(int frameCount) {
+    final KeyFrames.Builder<Integer> b = new KeyFrames.Builder<Integer>(0);
+    for (int i = 1; i < frameCount; i++) {
+      b.addFrame(i);
+    }
+    return b.build();
+  }
+
+  static void report(final KeyFrames<Integer> kf, String access, final double[] fractions) {
+    final double linear = Benchmarks.measure(new Runnable() {
+      public void run() {
+        for (double fraction : fractions) {
+          Benchmarks.sink += linearFrameIndexAt(kf, fraction);
+        }
+      }
+    }, 20, fractions.length).f_nanosPerOperation;
+    final double binary = Benchmarks.measure(new Runnable() {
+      public void run() {
+        for (double fraction : fractions) {
+          Benchmarks.sink += kf.getFrameIndexAt(fraction);
+        }
+      }
+    }, 20, fractions.length).f_nanosPerOperation;
+    final KeyFrames.Cursor<Integer> cursor = kf.cursor();
+    final double cursored = Benchmarks.measure(new Runnable() {
+      public void run() {
+        for (double fraction : fractions) {
+          Benchmarks.sink += cursor.getFrameIndexAt(fraction);
+        }
+      }
+    }, 20, fractions.length).f_nanosPerOperation;
+    System.out.printf("%8d %8s %14.1f %14.1f %14.1f%n", kf.size(), access, linear, binary, cursored);
+  }
+
+  /**
+   * The linear scan that {@link KeyFrames#getFrameIndexAt(double)} was originally implemented with.
+   */
+  static int linearFrameIndexAt(KeyFrames<?> kf, double fraction) {
+    final int size = kf.size();
+    for (int i = 1; i < size; ++i) {
+      if (fraction <= kf.getFrame(i).getTimeFraction()) {
+        return i - 1;
+      }
+    }
+    return size - 2;
+  }
+}
@@ -0,0 +1,74 @@
+package org.jdesktop.core.animation.demos;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.KeyFrames;
+import org.jdesktop.core.animation.timing.evaluators.KnownEvaluators;
+
+/**
+ * Measures the time to find an evaluator with {@link KnownEvaluators#getEvaluatorFor(Class)}, for an exact and for an
+ * assignable match, and to build key frames that find their evaluator. Unrelated evaluators are registered first so
+ * that as many are known as when the Swing evaluators are on the class path.
+ */
+public final class KnownEvaluatorsBenchmark {
+
+  static final int CALLS = 1000;
+
+  public static void main(String[] args) {
+    final KnownEvaluators known = KnownEvaluators.getInstance();
+    for (Class<?> type : new Class<?>[] { Date.class, BigDecimal.class, BigInteger.class, UUID.class, File.class,
+        URI.class, Locale.class, Currency.class }) {
+      known.register(filler(type));
+    }
+    known.register(filler(Number.class));
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%30s %10s%n", "", "ns/call");
+      report("getEvaluatorFor(Double)", new Runnable() {
+        public void run() {
+          for (int i = 0; i < CALLS; i++) {
+            Benchmarks.sink += known.getEvaluatorFor(Double.class).hashCode();
+          }
+        }
+      });
+      report("getEvaluatorFor(AtomicInteger)", new Runnable() {
+        public void run() {
+          for (int i = 0; i < CALLS; i++) {
+            Benchmarks.sink += known.getEvaluatorFor(AtomicInteger.class).hashCode();
+          }
+        }
+      });
+      report("KeyFrames.Builder.build()", new Runnable() {
+        public void run() {
+          for (int i = 0; i < CALLS; i++) {
+            Benchmarks.sink += new KeyFrames.Builder<Double>(0.0).addFrame(1.0).build().size();
+          }
+        }
+      });
+    }
+  }
+
+  static <T> Evaluator<T> filler(final Class<T> type) {
+    return new Evaluator<T>() {
+      public T evaluate(T v0, T v1, double fraction) {
+        return fraction < 0.5 ? v0 : v1;
+      }
+
+      public Class<T> getEvaluatorClass() {
+        return type;
+      }
+    };
+  }
+
+  static void report(String name, Runnable pass) {
+    System.out.printf("%30s %10.1f%n", name, Benchmarks.measure(pass, 200, CALLS).f_nanosPerOperation);
+  }
+}
@@ -0,0 +1,28 @@
+package org.jdesktop.core.animation.demos;
+
+import org.jdesktop.core.animation.timing.evaluators.KnownEvaluators;
+
+/**
+ * Measures, in a freshly started JVM, the time to initialize {@link KnownEvaluators} and to make the first request to
+ * {@link KnownEvaluators#getEvaluatorFor(Class)} for {@link Double} and, if a class name is passed, for that class.
+ * The passed class is loaded before the timing starts. Run this several times, with and without the Swing module on
+ * the class path, and compare the medians.
+ */
+public final class KnownEvaluatorsStartup {
+
+  public static void main(String[] args) throws ClassNotFoundException {
+    final Class<?> other = args.length > 0 ? Class.forName(args[0]) : null;
+    final long start = System.nanoTime();
+    final KnownEvaluators known = KnownEvaluators.getInstance();
+    final long initialized = System.nanoTime();
+    known.getEvaluatorFor(Double.class);
+    final long found = System.nanoTime();
+    if (other != null) {
+      known.getEvaluatorFor(other);
+    }
+    final long foundOther = System.nanoTime();
+    System.out.printf("getInstance() %8.1f us, first getEvaluatorFor(Double) %8.1f us, then %s %8.1f us%n",
+        (initialized - start) / 1e3, (found - initialized) / 1e3, other == null ? "-" : other.getSimpleName(),
+        (foundOther - found) / 1e3);
+  }
+}
@@ -0,0 +1,22 @@
+package org.jdesktop.core.animation.demos;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.jdesktop.core.animation.timing.TimingSource;
+import org.jdesktop.core.animation.timing.sources.PrecisionTimingSource;
+
+/**
+ * Provides instance of {@link PrecisionTimingSource}.
+ */
+public final class PrecisionTimingSourceFactory implements TimingSourceFactory {
+
+  @Override
+  public TimingSource getTimingSource(int periodMillis) {
+    return new PrecisionTimingSource(periodMillis, MILLISECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "PrecisionTimingSource (Calls in timer thread)";
+  }
+}
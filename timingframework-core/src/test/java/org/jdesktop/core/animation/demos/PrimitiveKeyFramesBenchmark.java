@@ -0,0 +1,58 @@
+package org.jdesktop.core.animation.demos;
+
+import org.jdesktop.core.animation.timing.DoubleKeyFrames;
+import org.jdesktop.core.animation.timing.KeyFrames;
+import org.jdesktop.core.animation.timing.PropertySetter;
+import org.jdesktop.core.animation.timing.TimingTarget;
+
+/**
+ * Compares the time and the heap allocated per tick of a numeric animation driven by the {@link KeyFrames}&lt;
+ * {@link Double}&gt; target returned by {@link PropertySetter#getTarget(Object, String, KeyFrames)} and by the
+ * {@link DoubleKeyFrames} target returned by {@link PropertySetter#getTarget(DoubleKeyFrames, DoubleKeyFrames.Setter)}.
+ * Allocation is measured with <tt>com.sun.management.ThreadMXBean</tt>, so this needs a HotSpot based JVM.
+ */
+public final class PrimitiveKeyFramesBenchmark {
+
+  static final int TICKS = 600;
+
+  public static final class Shape {
+
+    double x;
+
+    public void setX(double x) {
+      this.x = x;
+    }
+  }
+
+  public static void main(String[] args) {
+    final Shape shape = new Shape();
+    final KeyFrames<Double> boxed = new KeyFrames.Builder<Double>(0.0).addFrames(100.0, 50.0, 75.0).build();
+    final DoubleKeyFrames primitive = new DoubleKeyFrames.Builder(0).addFrames(100, 50, 75).build();
+    final TimingTarget boxedTarget = PropertySetter.getTarget(shape, "x", boxed);
+    final TimingTarget primitiveTarget = PropertySetter.getTarget(primitive, new DoubleKeyFrames.Setter() {
+      public void set(double value) {
+        shape.x = value;
+      }
+    });
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%12s %10s %12s%n", "target", "ns/tick", "bytes/tick");
+      report("boxed", boxedTarget);
+      report("primitive", primitiveTarget);
+    }
+  }
+
+  static void report(String name, final TimingTarget target) {
+    final Benchmarks.Measurement m = Benchmarks.measure(new Runnable() {
+      public void run() {
+        pass(target);
+      }
+    }, 20, TICKS);
+    System.out.printf("%12s %10.1f %12.2f%n", name, m.f_nanosPerOperation, m.f_bytesPerOperation);
+  }
+
+  static void pass(TimingTarget target) {
+    for (int i = 0; i < TICKS; i++) {
+      target.timingEvent(null, (double) i / (TICKS - 1));
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.jdesktop.core.animation.demos;
+
+import java.lang.reflect.Method;
+
+import org.jdesktop.core.animation.timing.Animator;
+import org.jdesktop.core.animation.timing.DoubleKeyFrames;
+import org.jdesktop.core.animation.timing.KeyFrames;
+import org.jdesktop.core.animation.timing.PropertySetter;
+import org.jdesktop.core.animation.timing.TimingTarget;
+import org.jdesktop.core.animation.timing.TimingTargetAdapter;
+
+/**
+ * Compares the time and the heap allocated per tick of a property animation: a target that invokes the setter through
+ * {@link Method#invoke(Object, Object...)} on each tick, as {@link PropertySetter} originally did, the target returned
+ * by {@link PropertySetter#getTarget(Object, String, KeyFrames)}, and the target returned by
+ * {@link PropertySetter#getTarget(Object, String, DoubleKeyFrames)}. Allocation is measured with
+ * <tt>com.sun.management.ThreadMXBean</tt>, so this needs a HotSpot based JVM.
+ */
+public final class PropertySetterBenchmark {
+
+  static final int TICKS = 600;
+
+  public static final class Shape {
+
+    double x;
+
+    public void setX(double x) {
+      this.x = x;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final Shape shape = new Shape();
+    final KeyFrames<Double> boxed = new KeyFrames.Builder<Double>(0.0).addFrames(100.0, 50.0, 75.0).build();
+    final DoubleKeyFrames primitive = new DoubleKeyFrames.Builder(0).addFrames(100, 50, 75).build();
+    final Method setX = Shape.class.getMethod("setX", double.class);
+    final TimingTarget reflective = new TimingTargetAdapter() {
+      final KeyFrames.Cursor<Double> f_cursor = boxed.cursor();
+
+      @Override
+      public void timingEvent(Animator source, double fraction) {
+        try {
+          setX.invoke(shape, f_cursor.getInterpolatedValueAt(fraction));
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+    final TimingTarget bound = PropertySetter.getTarget(shape, "x", boxed);
+    final TimingTarget boundPrimitive = PropertySetter.getTarget(shape, "x", primitive);
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%16s %10s %12s%n", "target", "ns/tick", "bytes/tick");
+      report("Method.invoke", reflective);
+      report("bound", bound);
+      report("bound primitive", boundPrimitive);
+    }
+  }
+
+  static void report(String name, final TimingTarget target) {
+    final Benchmarks.Measurement m = Benchmarks.measure(new Runnable() {
+      public void run() {
+        pass(target);
+      }
+    }, 50, TICKS);
+    System.out.printf("%16s %10.1f %12.2f%n", name, m.f_nanosPerOperation, m.f_bytesPerOperation);
+  }
+
+  static void pass(TimingTarget target) {
+    for (int i = 0; i < TICKS; i++) {
+      target.timingEvent(null, (double) i / (TICKS - 1));
+    }
+  }
+}
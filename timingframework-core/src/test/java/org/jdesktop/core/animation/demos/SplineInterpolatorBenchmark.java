@@ -0,0 +1,185 @@
+package org.jdesktop.core.animation.demos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jdesktop.core.animation.timing.Interpolator;
+import org.jdesktop.core.animation.timing.interpolators.SplineInterpolator;
+
+/**
+ * Compares the time and the heap allocated to construct a {@link SplineInterpolator}, and the time of a call to
+ * {@link Interpolator#interpolate(double)}: the original implementation, which stored its table of lengths in a list
+ * of objects, {@link SplineInterpolator} with each {@link SplineInterpolator.Mode}, and
+ * {@link SplineInterpolator#getInstance(double, double, double, double)}. Allocation is measured with
+ * <tt>com.sun.management.ThreadMXBean</tt>, so this needs a HotSpot based JVM.
+ */
+public final class SplineInterpolatorBenchmark {
+
+  static final int CALLS = 1000;
+
+  interface Factory {
+    Interpolator create(double x1, double y1, double x2, double y2);
+  }
+
+  public static void main(String[] args) {
+    final Factory[] factories = { new Factory() {
+      public Interpolator create(double x1, double y1, double x2, double y2) {
+        return new ListSplineInterpolator(x1, y1, x2, y2);
+      }
+    }, new Factory() {
+      public Interpolator create(double x1, double y1, double x2, double y2) {
+        return new SplineInterpolator(x1, y1, x2, y2);
+      }
+    }, new Factory() {
+      public Interpolator create(double x1, double y1, double x2, double y2) {
+        return new SplineInterpolator(x1, y1, x2, y2, SplineInterpolator.Mode.SOLVE_X);
+      }
+    }, new Factory() {
+      public Interpolator create(double x1, double y1, double x2, double y2) {
+        return SplineInterpolator.getInstance(x1, y1, x2, y2);
+      }
+    } };
+    final String[] names = { "original", "ARC_LENGTH", "SOLVE_X", "getInstance" };
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("%n%12s %16s %16s %16s%n", "spline", "construct ns", "construct bytes", "interpolate ns");
+      for (int i = 0; i < factories.length; i++) {
+        report(names[i], factories[i]);
+      }
+    }
+  }
+
+  static void report(String name, final Factory factory) {
+    final Benchmarks.Measurement construct = Benchmarks.measure(new Runnable() {
+      public void run() {
+        Benchmarks.sink += factory.create(0.25, 0.1, 0.25, 1).interpolate(0.5);
+      }
+    }, 2000, 1);
+    final Interpolator spline = factory.create(0.25, 0.1, 0.25, 1);
+    final double interpolate = Benchmarks.measure(new Runnable() {
+      public void run() {
+        for (int i = 0; i < CALLS; i++) {
+          Benchmarks.sink += spline.interpolate((double) i / (CALLS - 1));
+        }
+      }
+    }, 2000, CALLS).f_nanosPerOperation;
+    System.out.printf("%12s %16.1f %16.1f %16.1f%n", name, construct.f_nanosPerOperation,
+        construct.f_bytesPerOperation, interpolate);
+  }
+
+  /**
+   * The implementation of {@link SplineInterpolator} before its table of lengths was stored in arrays.
+   */
+  static final class ListSplineInterpolator implements Interpolator {
+
+    final double f_x1, f_y1, f_x2, f_y2;
+
+    final List<LengthItem> f_lengths;
+
+    ListSplineInterpolator(double x1, double y1, double x2, double y2) {
+      f_x1 = x1;
+      f_y1 = y1;
+      f_x2 = x2;
+      f_y2 = y2;
+      final ArrayList<LengthItemBase> baseLengths = new ArrayList<LengthItemBase>();
+      double prevX = 0;
+      double prevY = 0;
+      double cumulativeLength = 0;
+      for (double t = 0; t < 1.01; t += 0.01) {
+        Point2D xy = getXY(t);
+        double length = cumulativeLength
+            + Math.sqrt((xy.x - prevX) * (xy.x - prevX) + (xy.y - prevY) * (xy.y - prevY));
+        baseLengths.add(new LengthItemBase(length, t));
+        cumulativeLength = length;
+        prevX = xy.x;
+        prevY = xy.y;
+      }
+      final ArrayList<LengthItem> resultLengths = new ArrayList<LengthItem>();
+      for (LengthItemBase length : baseLengths) {
+        resultLengths.add(new LengthItem(length.getLength(), length.getT(), cumulativeLength));
+      }
+      f_lengths = Collections.unmodifiableList(resultLengths);
+    }
+
+    Point2D getXY(double t) {
+      final double invT = 1 - t;
+      final double b1 = 3 * t * invT * invT;
+      final double b2 = 3 * t * t * invT;
+      final double b3 = t * t * t;
+      return new Point2D((b1 * f_x1) + (b2 * f_x2) + b3, (b1 * f_y1) + (b2 * f_y2) + b3);
+    }
+
+    double getY(double t) {
+      final double invT = 1 - t;
+      final double b1 = 3 * t * invT * invT;
+      final double b2 = 3 * t * t * invT;
+      final double b3 = t * t * t;
+      return (b1 * f_y1) + (b2 * f_y2) + b3;
+    }
+
+    public double interpolate(double fraction) {
+      int low = 1;
+      int high = f_lengths.size() - 1;
+      int mid = 0;
+      while (low <= high) {
+        mid = (low + high) / 2;
+        if (fraction > f_lengths.get(mid).getFraction()) {
+          low = mid + 1;
+        } else if (mid > 0 && fraction < f_lengths.get(mid - 1).getFraction()) {
+          high = mid - 1;
+        } else {
+          break;
+        }
+      }
+      final LengthItem prevItem = f_lengths.get(mid - 1);
+      final double prevFraction = prevItem.getFraction();
+      final double prevT = prevItem.getT();
+      final LengthItem item = f_lengths.get(mid);
+      final double proportion = (fraction - prevFraction) / (item.getFraction() - prevFraction);
+      return getY(prevT + (proportion * (item.getT() - prevT)));
+    }
+  }
+
+  static class LengthItemBase {
+    final double f_length;
+
+    final double f_t;
+
+    LengthItemBase(double length, double t) {
+      f_length = length;
+      f_t = t;
+    }
+
+    double getLength() {
+      return f_length;
+    }
+
+    double getT() {
+      return f_t;
+    }
+  }
+
+  static final class LengthItem extends LengthItemBase {
+    final double f_fraction;
+
+    LengthItem(double length, double t, double totalLength) {
+      super(length, t);
+      f_fraction = length / totalLength;
+    }
+
+    double getFraction() {
+      return f_fraction;
+    }
+  }
+
+  static final class Point2D {
+    final double x;
+
+    final double y;
+
+    Point2D(double x, double y) {
+      this.x = x;
+      this.y = y;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timing source whose clock is set by the test. Each call to {@link #tickAt(long)} sets the clock and ticks.
+ */
+public final class ClockTimingSource extends TimingSource {
+
+    long f_now = 1;
+
+    @Override
+    public void init() {
+        // nothing to do
+    }
+
+    @Override
+    public void dispose() {
+        // nothing to do
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return false;
+    }
+
+    @Override
+    public long getNanoTime() {
+        return f_now;
+    }
+
+    void tickAt(long millis) {
+        f_now = 1 + TimeUnit.MILLISECONDS.toNanos(millis);
+        runPerTick();
+    }
+}
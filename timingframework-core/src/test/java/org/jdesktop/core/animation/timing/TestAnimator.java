@@ -3,8 +3,11 @@ package org.jdesktop.core.animation.timing;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jdesktop.core.animation.timing.Animator.Direction;
 import org.jdesktop.core.animation.timing.Animator.EndBehavior;
@@ -298,6 +301,31 @@ public final class TestAnimator {
         Assertions.assertEquals(1, cct.getEndCount());
     }
 
+    @Test
+    public void restartMoreTimesThanCommandsPacked() {
+        ManualTimingSource ts = new ManualTimingSource();
+        CountingTimingTarget cct = new CountingTimingTarget();
+        Animator a = new Animator.Builder(ts).build();
+        a.addTarget(cct);
+        a.start();
+        ts.tick();
+        for (int i = 0; i < 3 * Animator.MAX_LIFECYCLE_COMMANDS; i++) {
+            if (i % 2 == 0) {
+                a.restart();
+            }
+            else {
+                a.restartReverse();
+            }
+        }
+        ts.tick();
+        ts.tick();
+        Assertions.assertEquals(2, cct.getBeginCount());
+        Assertions.assertEquals(1, cct.getEndCount());
+        Assertions.assertTrue(a.isRunning());
+        Assertions.assertSame(Animator.Direction.FORWARD, a.getCurrentDirection());
+        Assertions.assertEquals(0, a.f_lifecycleCommands);
+    }
+
     @Test
     public void restartThenStart() {
         ManualTimingSource ts = new ManualTimingSource();
@@ -1290,4 +1318,360 @@ public final class TestAnimator {
             ts.dispose();
         }
     }
+
+    @Test
+    public void fractionAt() {
+        final ManualTimingSource ts = new ManualTimingSource();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).setRepeatCount(3)
+                .setStartDelay(50, MILLISECONDS).build();
+        Assertions.assertEquals(0.0, a.fractionAt(-1), 1e-9);
+        Assertions.assertEquals(0.0, a.fractionAt(MILLISECONDS.toNanos(50)), 1e-9);
+        Assertions.assertEquals(0.25, a.fractionAt(MILLISECONDS.toNanos(75)), 1e-9);
+        // second cycle reverses
+        Assertions.assertEquals(0.75, a.fractionAt(MILLISECONDS.toNanos(175)), 1e-9);
+        Assertions.assertEquals(0.25, a.fractionAt(MILLISECONDS.toNanos(275)), 1e-9);
+        // hold at the end of the third, forward, cycle
+        Assertions.assertEquals(1.0, a.fractionAt(SECONDS.toNanos(10)), 1e-9);
+        Assertions.assertFalse(a.isRunning());
+
+        final Animator b = new Animator.Builder(ts).setDuration(100, MILLISECONDS).setRepeatCount(2)
+                .setRepeatBehavior(RepeatBehavior.LOOP).setEndBehavior(EndBehavior.RESET)
+                .setStartDirection(Direction.BACKWARD).setInterpolator(new AccelerationInterpolator(0.5, 0.5)).build();
+        Assertions.assertEquals(1.0, b.fractionAt(0), 1e-9);
+        Assertions.assertEquals(b.getInterpolator().interpolate(0.6), b.fractionAt(MILLISECONDS.toNanos(140)), 1e-9);
+        Assertions.assertEquals(0.0, b.fractionAt(MILLISECONDS.toNanos(200)), 1e-9);
+    }
+
+    @Test
+    public void seekTo() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final List<Double> fractions = new ArrayList<Double>();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).setRepeatCount(4)
+                .addTarget(new TimingTargetAdapter() {
+                    @Override
+                    public void timingEvent(Animator source, double fraction) {
+                        fractions.add(fraction);
+                    }
+                }).build();
+        Assertions.assertFalse(a.seekTo(10, MILLISECONDS));
+        ts.tickAt(0);
+        a.start();
+        ts.tickAt(10);
+        Assertions.assertTrue(a.seekTo(130, MILLISECONDS));
+        ts.tickAt(10);
+        Assertions.assertEquals(0.7, fractions.get(fractions.size() - 1), 1e-9);
+        Assertions.assertEquals(Direction.BACKWARD, a.getCurrentDirection());
+        ts.tickAt(30);
+        Assertions.assertEquals(a.fractionAt(MILLISECONDS.toNanos(150)), fractions.get(fractions.size() - 1), 1e-9);
+        a.pause();
+        Assertions.assertTrue(a.seekTo(220, MILLISECONDS));
+        ts.tickAt(500);
+        a.resume();
+        ts.tickAt(510);
+        Assertions.assertEquals(0.3, fractions.get(fractions.size() - 1), 1e-9);
+        Assertions.assertEquals(Direction.FORWARD, a.getCurrentDirection());
+        Assertions.assertTrue(a.seekTo(1, SECONDS));
+        ts.tickAt(511);
+        ts.tickAt(512);
+        Assertions.assertFalse(a.isRunning());
+        Assertions.assertEquals(0.0, fractions.get(fractions.size() - 1), 1e-9);
+    }
+
+    @Test
+    public void startDelayDoesNotTick() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final List<Double> fractions = new ArrayList<Double>();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).setStartDelay(1, SECONDS)
+                .addTarget(new TimingTargetAdapter() {
+                    @Override
+                    public void timingEvent(Animator source, double fraction) {
+                        fractions.add(fraction);
+                    }
+                }).build();
+        ts.tickAt(0);
+        a.start();
+        ts.tickAt(10);
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        Assertions.assertEquals(1, ts.f_delayedTickListeners.f_size);
+        // a pause during the start delay moves the registration back
+        a.pause();
+        ts.tickAt(500);
+        Assertions.assertEquals(0, ts.f_delayedTickListeners.f_size);
+        a.resume();
+        ts.tickAt(1000);
+        ts.tickAt(1489);
+        Assertions.assertTrue(fractions.isEmpty());
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        ts.tickAt(1490);
+        ts.tickAt(1540);
+        Assertions.assertEquals(1, ts.f_tickListeners.size());
+        Assertions.assertEquals(0.5, fractions.get(fractions.size() - 1), 1e-9);
+        ts.tickAt(1600);
+        ts.tickAt(1610);
+        Assertions.assertFalse(a.isRunning());
+    }
+
+    @Test
+    public void concurrentControlKeepsRegistrationConsistent() throws InterruptedException {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator a = new Animator.Builder(ts).setDuration(1, SECONDS).setRepeatCount(Animator.INFINITE)
+                .addTarget(new TimingTargetAdapter()).build();
+        ts.tickAt(0);
+        a.start();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        a.pause();
+                        a.reverseNow();
+                        a.resume();
+                        a.reverseNow();
+                        a.seekTo(j, MILLISECONDS);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (int tick = 1; tick < 2000; tick++) {
+            ts.tickAt(tick);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        a.resume();
+        ts.tickAt(2000);
+        Assertions.assertTrue(a.isRunning());
+        Assertions.assertFalse(a.isPaused());
+        Assertions.assertEquals(1, ts.f_tickListeners.size());
+        a.pause();
+        ts.tickAt(2001);
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        a.resume();
+        a.stop();
+        ts.tickAt(2002);
+        ts.tickAt(2003);
+        Assertions.assertFalse(a.isRunning());
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        Assertions.assertEquals(0, ts.f_delayedTickListeners.f_size);
+    }
+
+    @Test
+    public void completion() throws Exception {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).build();
+        Assertions.assertTrue(a.completion().isDone());
+        Assertions.assertTrue(a.await(1, MILLISECONDS));
+        ts.tickAt(0);
+        a.start();
+        // nobody has asked for the future yet
+        Assertions.assertNull(a.f_state.f_completion);
+        final CompletableFuture<Animator> completion = a.completion();
+        // each caller gets its own future, so completing or cancelling one does not affect the animation
+        final CompletableFuture<Animator> cancelled = a.completion();
+        Assertions.assertNotSame(completion, cancelled);
+        Assertions.assertTrue(cancelled.cancel(false));
+        Assertions.assertTrue(a.completion().complete(null));
+        Assertions.assertTrue(a.isRunning());
+        Assertions.assertFalse(completion.isDone());
+        final Thread[] completedIn = new Thread[1];
+        completion.thenRun(new Runnable() {
+            @Override
+            public void run() {
+                completedIn[0] = Thread.currentThread();
+            }
+        });
+        Assertions.assertFalse(a.await(10, MILLISECONDS));
+        ts.tickAt(50);
+        Assertions.assertFalse(completion.isDone());
+        ts.tickAt(100);
+        ts.tickAt(110);
+        Assertions.assertSame(a, completion.getNow(null));
+        Assertions.assertSame(Thread.currentThread(), completedIn[0]);
+        Assertions.assertTrue(cancelled.isCancelled());
+        Assertions.assertTrue(a.await(1, MILLISECONDS));
+        Assertions.assertFalse(a.isRunning());
+        // a new run has a new future
+        a.start();
+        Assertions.assertNotSame(completion, a.completion());
+        Assertions.assertFalse(a.cancelAndAwait(10, MILLISECONDS));
+        ts.tickAt(120);
+        Assertions.assertTrue(a.completion().isDone());
+    }
+
+    @Test
+    public void stopAndAwaitRestoresInterrupt() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).build();
+        a.start();
+        Thread.currentThread().interrupt();
+        a.stopAndAwait(); // the timing source never ticks, returns because of the interrupt
+        Assertions.assertTrue(Thread.interrupted());
+        Assertions.assertTrue(a.isRunning());
+        ts.tickAt(10);
+        Assertions.assertFalse(a.isRunning());
+    }
+
+    @Test
+    public void sharedSpec() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final TimingTargetAdapter shared = new TimingTargetAdapter();
+        final AnimatorSpec spec = new Animator.Builder(ts).setDuration(100, MILLISECONDS).addTarget(shared)
+            .buildSpec();
+        final Animator a = spec.newAnimator();
+        final Animator b = spec.newAnimator();
+        Assertions.assertSame(spec, a.getSpec());
+        Assertions.assertSame(spec, b.getSpec());
+        Assertions.assertEquals(100, a.getDuration());
+        a.addTarget(new TimingTargetAdapter());
+        b.removeTarget(shared);
+        Assertions.assertEquals(2, a.getTargets().size());
+        Assertions.assertEquals(0, b.getTargets().size());
+        Assertions.assertEquals(1, spec.getTargets().size());
+        Assertions.assertEquals(1, spec.newAnimator().getTargets().size());
+        ts.tickAt(0);
+        a.start();
+        Assertions.assertTrue(a.isRunning());
+        Assertions.assertFalse(b.isRunning());
+        ts.tickAt(100);
+        ts.tickAt(110);
+        Assertions.assertFalse(a.isRunning());
+    }
+
+    @Test
+    public void bulkOperations() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final ClockTimingSource other = new ClockTimingSource();
+        final AtomicInteger begins = new AtomicInteger();
+        final AtomicInteger ends = new AtomicInteger();
+        final TimingTarget counter = new TimingTargetAdapter() {
+            @Override
+            public void begin(Animator source) {
+                begins.incrementAndGet();
+            }
+
+            @Override
+            public void end(Animator source) {
+                ends.incrementAndGet();
+            }
+        };
+        final AnimatorSpec spec = new Animator.Builder(ts).setDuration(100, MILLISECONDS).addTarget(counter)
+                .buildSpec();
+        final List<Animator> animators = new ArrayList<Animator>();
+        for (int i = 0; i < 5; i++) {
+            animators.add(spec.newAnimator());
+        }
+        animators.add(new Animator.Builder(other).setDuration(100, MILLISECONDS).addTarget(counter).build());
+        animators.add(null);
+        ts.tickAt(0);
+        other.tickAt(0);
+        animators.get(0).start();
+        Assertions.assertEquals(5, Animator.startAll(animators));
+        Assertions.assertEquals(0, Animator.startAll(animators));
+        ts.tickAt(10);
+        other.tickAt(10);
+        Assertions.assertEquals(6, begins.get());
+        Assertions.assertEquals(5, ts.f_tickListeners.size());
+        Assertions.assertEquals(1, other.f_tickListeners.size());
+        // started together, so they run in step
+        final long elapsed = animators.get(1).getTotalElapsedTime();
+        for (int i = 2; i < 5; i++) {
+            Assertions.assertEquals(elapsed, animators.get(i).getTotalElapsedTime());
+        }
+        Assertions.assertEquals(6, Animator.pauseAll(animators));
+        Assertions.assertEquals(0, Animator.reverseAll(animators));
+        ts.tickAt(20);
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertTrue(animators.get(i).isPaused());
+        }
+        Assertions.assertEquals(6, Animator.resumeAll(animators));
+        Assertions.assertEquals(6, Animator.reverseAll(animators));
+        ts.tickAt(30);
+        Assertions.assertEquals(5, ts.f_tickListeners.size());
+        Assertions.assertEquals(Direction.BACKWARD, animators.get(1).getCurrentDirection());
+        Assertions.assertEquals(6, Animator.stopAll(animators));
+        Assertions.assertEquals(0, Animator.cancelAll(animators));
+        ts.tickAt(40);
+        other.tickAt(40);
+        Assertions.assertEquals(6, ends.get());
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        Assertions.assertEquals(0, other.f_tickListeners.size());
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertFalse(animators.get(i).isRunning());
+        }
+        Assertions.assertEquals(0, Animator.stopAll(null));
+    }
+
+    @Test
+    public void rate() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final double[] fraction = new double[1];
+        final Animator a = new Animator.Builder(ts).setDuration(1, SECONDS).addTarget(new TimingTargetAdapter() {
+            @Override
+            public void timingEvent(Animator source, double f) {
+                fraction[0] = f;
+            }
+        }).build();
+        Assertions.assertEquals(1.0, a.getRate(), 0);
+        ts.tickAt(0);
+        a.start();
+        ts.tickAt(500);
+        Assertions.assertEquals(0.5, fraction[0], 1e-6);
+        // the fraction is continuous across a rate change
+        a.setRate(0.5);
+        Assertions.assertEquals(0.5, a.getRate(), 0);
+        ts.tickAt(500);
+        Assertions.assertEquals(0.5, fraction[0], 1e-6);
+        ts.tickAt(700);
+        Assertions.assertEquals(0.6, fraction[0], 1e-6);
+        a.setRate(2);
+        ts.tickAt(800);
+        Assertions.assertEquals(0.8, fraction[0], 1e-6);
+        // changed while paused
+        a.pause();
+        a.setRate(1);
+        ts.tickAt(900);
+        a.resume();
+        ts.tickAt(950);
+        Assertions.assertEquals(0.85, fraction[0], 1e-6);
+        // the global rate multiplies the rate of the animation
+        ts.setRate(0.5);
+        a.setRate(0.5);
+        ts.tickAt(1150);
+        Assertions.assertEquals(0.9, fraction[0], 1e-6);
+        Assertions.assertEquals(0.9, (double) a.getCycleElapsedTime() / SECONDS.toNanos(1), 1e-6);
+        a.reverseNow();
+        ts.tickAt(1150);
+        ts.tickAt(1350);
+        Assertions.assertEquals(Direction.BACKWARD, a.getCurrentDirection());
+        Assertions.assertEquals(0.85, fraction[0], 1e-6);
+        ts.setRate(1);
+        a.setRate(1);
+        ts.tickAt(2200);
+        Assertions.assertEquals(0.0, fraction[0], 1e-6);
+        ts.tickAt(2210);
+        ts.tickAt(2220);
+        Assertions.assertFalse(a.isRunning());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.setRate(0));
+    }
+
+    @Test
+    public void rateShortensStartDelay() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator a = new Animator.Builder(ts).setDuration(100, MILLISECONDS).setStartDelay(100, MILLISECONDS)
+                .build();
+        a.setRate(2);
+        ts.tickAt(0);
+        a.start();
+        ts.tickAt(1);
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        Assertions.assertEquals(1, ts.f_delayedTickListeners.f_size);
+        ts.tickAt(51);
+        Assertions.assertEquals(1, ts.f_tickListeners.size());
+        ts.tickAt(101);
+        ts.tickAt(102);
+        Assertions.assertFalse(a.isRunning());
+    }
 }
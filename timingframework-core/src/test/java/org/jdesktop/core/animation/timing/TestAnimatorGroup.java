@@ -0,0 +1,204 @@
+package org.jdesktop.core.animation.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jdesktop.core.animation.timing.Animator.Direction;
+import org.jdesktop.core.animation.timing.Animator.EndBehavior;
+import org.jdesktop.core.animation.timing.Animator.RepeatBehavior;
+import org.jdesktop.core.animation.timing.interpolators.AccelerationInterpolator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class TestAnimatorGroup {
+
+    /**
+     * Records the callbacks of one animation in the same format for an {@link Animator} and an {@link AnimatorGroup}.
+     */
+    static final class Recorder extends AnimatorGroup.TargetAdapter implements TimingTarget {
+
+        final List<String> f_log = new ArrayList<String>();
+
+        public void begin(Animator source) {
+            f_log.add("begin");
+        }
+
+        public void end(Animator source) {
+            f_log.add("end");
+        }
+
+        public void repeat(Animator source) {
+            f_log.add("repeat");
+        }
+
+        public void reverse(Animator source) {
+            f_log.add("reverse");
+        }
+
+        public void timingEvent(Animator source, double fraction) {
+            f_log.add(String.format("%.6f", fraction));
+        }
+
+        @Override
+        public void begin(AnimatorGroup group, int index) {
+            f_log.add("begin");
+        }
+
+        @Override
+        public void end(AnimatorGroup group, int index) {
+            f_log.add("end");
+        }
+
+        @Override
+        public void repeat(AnimatorGroup group, int index) {
+            f_log.add("repeat");
+        }
+
+        @Override
+        public void reverse(AnimatorGroup group, int index) {
+            f_log.add("reverse");
+        }
+
+        @Override
+        public void timingEvent(AnimatorGroup group, int index, double fraction) {
+            f_log.add(String.format("%.6f", fraction));
+        }
+    }
+
+    /**
+     * Drives an {@link Animator} and an {@link AnimatorGroup} with a single animation built from the same builder
+     * through the same ticks and checks that the same callbacks are made.
+     */
+    private void assertSameAsAnimator(ClockTimingSource ts, Animator.Builder builder, long[] tickMillis,
+            int reverseAtTick) {
+        final Recorder animatorLog = new Recorder();
+        final Animator a = builder.addTarget(animatorLog).build();
+        final Recorder groupLog = new Recorder();
+        final AnimatorGroup group = new AnimatorGroup(ts, groupLog);
+        final int index = group.add(a);
+        ts.tickAt(0);
+        a.start();
+        group.start(index);
+        for (int i = 0; i < tickMillis.length; i++) {
+            if (i == reverseAtTick) {
+                a.reverseNow();
+                group.reverseNow(index);
+            }
+            ts.tickAt(tickMillis[i]);
+        }
+        // the animator makes its end callback on the tick after the last timing event
+        ts.tickAt(tickMillis[tickMillis.length - 1] + 1);
+        Assertions.assertEquals(animatorLog.f_log, groupLog.f_log);
+        Assertions.assertFalse(a.isRunning());
+        Assertions.assertFalse(group.isRunning(index));
+    }
+
+    @Test
+    public void sameAsAnimatorSimple() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        assertSameAsAnimator(ts, new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS),
+                new long[] { 10, 25, 50, 99, 100, 150 }, -1);
+    }
+
+    @Test
+    public void sameAsAnimatorRepeatReverse() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        assertSameAsAnimator(ts, new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS).setRepeatCount(3)
+                .setInterpolator(new AccelerationInterpolator(0.3, 0.3)),
+                new long[] { 30, 90, 130, 210, 260, 299, 310 }, -1);
+    }
+
+    @Test
+    public void sameAsAnimatorRepeatLoopResetBackward() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        assertSameAsAnimator(ts, new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS).setRepeatCount(2)
+                .setRepeatBehavior(RepeatBehavior.LOOP).setEndBehavior(EndBehavior.RESET)
+                .setStartDirection(Direction.BACKWARD), new long[] { 30, 130, 170, 250 }, -1);
+    }
+
+    @Test
+    public void sameAsAnimatorStartDelay() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        assertSameAsAnimator(ts, new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS)
+                .setStartDelay(50, TimeUnit.MILLISECONDS), new long[] { 10, 50, 60, 120, 160 }, -1);
+    }
+
+    @Test
+    public void sameAsAnimatorReverseNow() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        assertSameAsAnimator(ts, new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS),
+                new long[] { 20, 40, 60, 80, 100, 120 }, 2);
+    }
+
+    @Test
+    public void stopAndCancel() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator template = new Animator.Builder(ts).setDuration(1, TimeUnit.SECONDS).build();
+        final Recorder log = new Recorder();
+        final AnimatorGroup group = new AnimatorGroup(ts, log);
+        final int i0 = group.add(template);
+        final int i1 = group.add(template);
+        Assertions.assertEquals(2, group.size());
+        Assertions.assertEquals(2, group.startAll());
+        Assertions.assertEquals(2, group.getRunningCount());
+        try {
+            group.start(i0);
+            Assertions.fail("start on a running animation should fail");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        ts.tickAt(100);
+        Assertions.assertTrue(group.stop(i0));
+        Assertions.assertFalse(group.stop(i0));
+        Assertions.assertTrue(group.cancel(i1));
+        ts.tickAt(200);
+        Assertions.assertFalse(group.isRunning(i0));
+        Assertions.assertFalse(group.isRunning(i1));
+        Assertions.assertEquals(0, group.getRunningCount());
+        // begin and timing event for each, then only the stopped animation ends
+        Assertions.assertEquals(5, log.f_log.size());
+        Assertions.assertEquals("end", log.f_log.get(4));
+    }
+
+    @Test
+    public void pauseResume() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator template = new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS).build();
+        final AnimatorGroup group = new AnimatorGroup(ts, new AnimatorGroup.TargetAdapter());
+        final int index = group.add(template);
+        ts.tickAt(0);
+        group.start(index);
+        ts.tickAt(40);
+        Assertions.assertEquals(0.4, group.getFraction(index), 0.0001);
+        group.pause(index);
+        Assertions.assertTrue(group.isPaused(index));
+        Assertions.assertFalse(group.reverseNow(index));
+        ts.tickAt(500);
+        Assertions.assertEquals(0.4, group.getFraction(index), 0.0001);
+        group.resume(index);
+        Assertions.assertFalse(group.isPaused(index));
+        ts.tickAt(520);
+        Assertions.assertEquals(0.6, group.getFraction(index), 0.0001);
+        Assertions.assertTrue(group.isRunning(index));
+    }
+
+    @Test
+    public void unregistersWhenIdle() {
+        final ClockTimingSource ts = new ClockTimingSource();
+        final Animator template = new Animator.Builder(ts).setDuration(100, TimeUnit.MILLISECONDS).build();
+        final AnimatorGroup group = new AnimatorGroup(ts, new AnimatorGroup.TargetAdapter());
+        for (int i = 0; i < 1000; i++) {
+            group.add(template);
+        }
+        ts.tickAt(0);
+        group.startAll();
+        Assertions.assertEquals(1, ts.f_tickListeners.size());
+        ts.tickAt(100);
+        Assertions.assertEquals(0, group.getRunningCount());
+        Assertions.assertEquals(0, ts.f_tickListeners.size());
+        group.startReverse(999);
+        Assertions.assertEquals(Direction.BACKWARD, group.getCurrentDirection(999));
+        Assertions.assertEquals(1, ts.f_tickListeners.size());
+    }
+}
@@ -1,8 +1,13 @@
 package org.jdesktop.core.animation.timing;
 
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
+import org.jdesktop.core.animation.timing.evaluators.EvaluatorDouble;
+import org.jdesktop.core.animation.timing.evaluators.EvaluatorFloat;
 import org.jdesktop.core.animation.timing.evaluators.EvaluatorInteger;
 import org.jdesktop.core.animation.timing.evaluators.KnownEvaluators;
 import org.jdesktop.core.animation.timing.interpolators.AccelerationInterpolator;
@@ -761,6 +766,109 @@ public final class TestKeyFrames {
         }
     }
 
+    static <T> Evaluator<T> holdEvaluator(final Class<T> type) {
+        return new Evaluator<T>() {
+            @Override
+            public Class<T> getEvaluatorClass() {
+                return type;
+            }
+
+            @Override
+            public T evaluate(T v0, T v1, double fraction) {
+                return fraction < 0.5 ? v0 : v1;
+            }
+        };
+    }
+
+    @Test
+    public void evaluatorResolution() {
+        final KnownEvaluators known = KnownEvaluators.getInstance();
+        final Evaluator<Object> objectEvaluator = holdEvaluator(Object.class);
+        final Evaluator<CharSequence> charSequenceEvaluator = holdEvaluator(CharSequence.class);
+        final Evaluator<Comparable> comparableEvaluator = holdEvaluator(Comparable.class);
+        final Evaluator<StringBuilder> stringBuilderEvaluator = holdEvaluator(StringBuilder.class);
+        // a miss is remembered, but not past a registration
+        Assertions.assertThrows(IllegalArgumentException.class, () -> known.getEvaluatorFor(StringBuilder.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> known.getEvaluatorFor(StringBuilder.class));
+        known.register(objectEvaluator);
+        try {
+            Assertions.assertSame(objectEvaluator, known.getEvaluatorFor(StringBuilder.class));
+            // the most specific assignable evaluator wins, whatever the order of registration
+            Assertions.assertSame(known.getEvaluatorFor(Integer.class), known.getEvaluatorFor(Integer.class));
+            Assertions.assertEquals(Integer.class, known.getEvaluatorFor(Integer.class).getEvaluatorClass());
+            known.register(charSequenceEvaluator);
+            known.register(comparableEvaluator);
+            Assertions.assertSame(charSequenceEvaluator, known.getEvaluatorFor(StringBuilder.class));
+            // String implements both interfaces, so the one registered first wins
+            Assertions.assertSame(charSequenceEvaluator, known.getEvaluatorFor(String.class));
+            known.register(stringBuilderEvaluator);
+            Assertions.assertSame(stringBuilderEvaluator, known.getEvaluatorFor(StringBuilder.class));
+            Assertions.assertSame(charSequenceEvaluator, known.getEvaluatorFor(String.class));
+            known.unregister(charSequenceEvaluator);
+            Assertions.assertSame(comparableEvaluator, known.getEvaluatorFor(String.class));
+            Assertions.assertSame(stringBuilderEvaluator, known.getEvaluatorFor(StringBuilder.class));
+        }
+        finally {
+            known.unregister(objectEvaluator);
+            known.unregister(charSequenceEvaluator);
+            known.unregister(comparableEvaluator);
+            known.unregister(stringBuilderEvaluator);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> known.getEvaluatorFor(StringBuilder.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> known.getEvaluatorFor(String.class));
+    }
+
+    @Test
+    public void unregisteredEvaluatorNotKeptByResolution() throws InterruptedException {
+        final KnownEvaluators known = KnownEvaluators.getInstance();
+        Evaluator<Number> numberEvaluator = holdEvaluator(Number.class);
+        final WeakReference<Evaluator<Number>> reference = new WeakReference<Evaluator<Number>>(numberEvaluator);
+        known.register(numberEvaluator);
+        try {
+            Assertions.assertSame(numberEvaluator, known.getEvaluatorFor(BigDecimal.class));
+        }
+        finally {
+            known.unregister(numberEvaluator);
+        }
+        // the stale resolution for BigDecimal, a bootstrap class, is not requested again
+        numberEvaluator = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(reference.get());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> known.getEvaluatorFor(BigDecimal.class));
+    }
+
+    public static final class Discovered {
+    }
+
+    /**
+     * Listed in <tt>META-INF/services/org.jdesktop.core.animation.timing.Evaluator</tt> in the test resources.
+     */
+    public static final class DiscoveredEvaluator implements Evaluator<Discovered> {
+
+        @Override
+        public Class<Discovered> getEvaluatorClass() {
+            return Discovered.class;
+        }
+
+        @Override
+        public Discovered evaluate(Discovered v0, Discovered v1, double fraction) {
+            return fraction < 0.5 ? v0 : v1;
+        }
+    }
+
+    @Test
+    public void evaluatorDiscovered() {
+        final Evaluator<Discovered> e = KnownEvaluators.getInstance().getEvaluatorFor(Discovered.class);
+        Assertions.assertTrue(e instanceof DiscoveredEvaluator);
+        Assertions.assertSame(e, KnownEvaluators.getInstance().getEvaluatorFor(Discovered.class));
+        final KeyFrames<Discovered> kf = new KeyFrames.Builder<Discovered>(new Discovered()).addFrame(new Discovered())
+            .build();
+        Assertions.assertSame(e, kf.f_evaluator);
+    }
+
     @Test
     public void overall1() {
         final KeyFrames.Builder<Integer> b = new KeyFrames.Builder<Integer>(1);
@@ -787,4 +895,195 @@ public final class TestKeyFrames {
         Assertions.assertEquals("last", kf.getInterpolatedValueAt(0.501));
         Assertions.assertEquals("last", kf.getInterpolatedValueAt(1));
     }
+
+    /**
+     * The linear scan that {@link KeyFrames#getFrameIndexAt(double)} was originally implemented with.
+     */
+    static int linearFrameIndexAt(KeyFrames<?> kf, double fraction) {
+        for (int i = 1; i < kf.size(); ++i) {
+            if (fraction <= kf.getFrame(i).getTimeFraction()) {
+                return i - 1;
+            }
+        }
+        return kf.size() - 2;
+    }
+
+    @Test
+    public void frameIndexAtMatchesLinearScan() {
+        final Random random = new Random(42);
+        for (int size = 2; size < 40; size++) {
+            final KeyFrames.Builder<Integer> b = new KeyFrames.Builder<Integer>(0);
+            // repeated time fractions are allowed
+            double at = 0;
+            for (int i = 1; i < size - 1; i++) {
+                if (random.nextInt(4) != 0) {
+                    at += random.nextDouble() * (1 - at) / 4;
+                }
+                b.addFrame(i, at);
+            }
+            b.addFrame(size - 1, 1);
+            final KeyFrames<Integer> kf = b.build();
+            final KeyFrames.Cursor<Integer> cursor = kf.cursor();
+            Assertions.assertSame(kf, cursor.getKeyFrames());
+            final List<Double> fractions = new ArrayList<Double>();
+            for (int i = 0; i < kf.size(); i++) {
+                fractions.add(kf.getFrame(i).getTimeFraction());
+            }
+            fractions.add(-1.0);
+            fractions.add(2.0);
+            fractions.add(Double.NaN);
+            for (int i = 0; i < 200; i++) {
+                fractions.add(random.nextDouble());
+            }
+            // ticks of an animation going forward then backward
+            for (int i = 0; i <= 100; i++) {
+                fractions.add(i / 100.0);
+            }
+            for (int i = 100; i >= 0; i--) {
+                fractions.add(i / 100.0);
+            }
+            for (double fraction : fractions) {
+                final int expected = linearFrameIndexAt(kf, fraction);
+                Assertions.assertEquals(expected, kf.getFrameIndexAt(fraction));
+                Assertions.assertEquals(expected, cursor.getFrameIndexAt(fraction));
+                if (!Double.isNaN(fraction)) {
+                    Assertions.assertEquals(kf.getInterpolatedValueAt(fraction),
+                        cursor.getInterpolatedValueAt(fraction));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void primitiveKeyFramesMatchBoxed() {
+        final Interpolator spline = new SplineInterpolator(0.8, 0.2, 0.2, 0.8);
+        final Interpolator acceleration = new AccelerationInterpolator(0.5, 0.5);
+        final KeyFrames<Double> kfd = new KeyFrames.Builder<Double>(-3.5).addFrame(10.25, 0.3, spline)
+            .addFrame(7.0, acceleration).addFrame(100.0).build();
+        final DoubleKeyFrames dkf = new DoubleKeyFrames.Builder(-3.5).addFrame(10.25, 0.3, spline)
+            .addFrame(7.0, acceleration).addFrame(100.0).build();
+        final KeyFrames<Float> kff = new KeyFrames.Builder<Float>().addFrames(1f, 2.5f, -8f).build();
+        final FloatKeyFrames fkf = new FloatKeyFrames.Builder().addFrames(1f, 2.5f, -8f).build();
+        final KeyFrames<Integer> kfi =
+            new KeyFrames.Builder<Integer>(0).setInterpolator(spline).addFrames(100, 40, 40, 1000).build();
+        final IntKeyFrames ikf =
+            new IntKeyFrames.Builder(0).setInterpolator(spline).addFrames(100, 40, 40, 1000).build();
+        Assertions.assertEquals(kfd.size(), dkf.size());
+        for (int i = 0; i < kfd.size(); i++) {
+            Assertions.assertEquals(kfd.getFrame(i).getValue().doubleValue(), dkf.getValue(i));
+            Assertions.assertEquals(kfd.getFrame(i).getTimeFraction(), dkf.getTimeFraction(i));
+            Assertions.assertSame(kfd.getFrame(i).getInterpolator(), dkf.getInterpolator(i));
+        }
+        Assertions.assertEquals(kff.size(), fkf.size());
+        Assertions.assertEquals(kfi.size(), ikf.size());
+        Assertions.assertNull(ikf.getInterpolator(0));
+        Assertions.assertSame(spline, ikf.getInterpolator(1));
+        for (int i = 0; i <= 1000; i++) {
+            final double fraction = i / 1000.0;
+            Assertions.assertEquals(kfd.getFrameIndexAt(fraction), dkf.getFrameIndexAt(fraction));
+            Assertions.assertEquals(kfd.getInterpolatedValueAt(fraction).doubleValue(),
+                dkf.getInterpolatedDoubleAt(fraction));
+            Assertions.assertEquals(kff.getInterpolatedValueAt(fraction).floatValue(),
+                fkf.getInterpolatedFloatAt(fraction));
+            Assertions.assertEquals(kfi.getInterpolatedValueAt(fraction).intValue(),
+                ikf.getInterpolatedIntAt(fraction));
+        }
+        final IntKeyFrames stepped = new IntKeyFrames.Builder(0).addFrame(10)
+            .setEvaluator((v0, v1, fraction) -> fraction < 0.5 ? v0 : v1).build();
+        Assertions.assertEquals(0, stepped.getInterpolatedIntAt(0.4));
+        Assertions.assertEquals(10, stepped.getInterpolatedIntAt(0.6));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DoubleKeyFrames.Builder(1.0).build());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new IntKeyFrames.Builder(1).addFrame(2, 0.6).addFrame(3, 0.5).addFrame(4).build());
+    }
+
+    static final class Mutable {
+
+        double value;
+
+        Mutable(double value) {
+            this.value = value;
+        }
+    }
+
+    static final class MutableEvaluatorImpl implements MutableEvaluator<Mutable> {
+
+        int evaluateCount = 0;
+
+        @Override
+        public Mutable evaluate(Mutable v0, Mutable v1, double fraction) {
+            evaluateCount++;
+            final Mutable value = new Mutable(0);
+            evaluateInto(v0, v1, fraction, value);
+            return value;
+        }
+
+        @Override
+        public void evaluateInto(Mutable v0, Mutable v1, double fraction, Mutable out) {
+            out.value = v0.value + ((v1.value - v0.value) * fraction);
+        }
+
+        @Override
+        public Class<Mutable> getEvaluatorClass() {
+            return Mutable.class;
+        }
+    }
+
+    @Test
+    public void interpolatedValueInto() {
+        final MutableEvaluatorImpl evaluator = new MutableEvaluatorImpl();
+        final KeyFrames<Mutable> kf = new KeyFrames.Builder<Mutable>(new Mutable(0))
+            .addFrames(new Mutable(10), new Mutable(-10)).setEvaluator(evaluator).build();
+        final KeyFrames.Cursor<Mutable> cursor = kf.cursor();
+        Mutable out = kf.getInterpolatedValueInto(0.25, null);
+        Assertions.assertEquals(5, out.value, 1e-9);
+        Assertions.assertEquals(1, evaluator.evaluateCount);
+        for (int i = 0; i <= 100; i++) {
+            final double fraction = i / 100.0;
+            final double expected = kf.getInterpolatedValueAt(fraction).value;
+            Assertions.assertSame(out, kf.getInterpolatedValueInto(fraction, out));
+            Assertions.assertEquals(expected, out.value, 1e-9);
+            Assertions.assertSame(out, cursor.getInterpolatedValueInto(fraction, out));
+            Assertions.assertEquals(expected, out.value, 1e-9);
+        }
+        Assertions.assertEquals(102, evaluator.evaluateCount);
+        // an immutable type always gets a new value
+        final KeyFrames<Integer> kfi = new KeyFrames.Builder<Integer>(0).addFrame(10).build();
+        Assertions.assertEquals(5, kfi.getInterpolatedValueInto(0.5, 3).intValue());
+    }
+
+    @Test
+    public void batchEvaluate() {
+        final double[] d0 = { 0, 1, -2.5, 1e9, 3 };
+        final double[] d1 = { 10, 1, 2.5, -1e9, 4 };
+        final double[] dOut = new double[5];
+        final float[] f0 = { 0, 1, -2.5f, 1e9f, 3 };
+        final float[] f1 = { 10, 1, 2.5f, -1e9f, 4 };
+        final float[] fOut = new float[5];
+        final int[] i0 = { 0, 1, -25, 1000000000, 3 };
+        final int[] i1 = { 10, 1, 25, -1000000000, 4 };
+        final int[] iOut = new int[5];
+        final DoubleEvaluator de = new EvaluatorDouble();
+        final FloatEvaluator fe = new EvaluatorFloat();
+        final IntEvaluator ie = new EvaluatorInteger();
+        final DoubleEvaluator defaultDe = (v0, v1, fraction) -> v0 + (v1 - v0) * fraction;
+        for (double fraction : new double[] { 0, 0.1, 0.5, 0.77, 1 }) {
+            de.evaluate(d0, d1, fraction, dOut, 0, 5);
+            fe.evaluate(f0, f1, fraction, fOut, 0, 5);
+            ie.evaluate(i0, i1, fraction, iOut, 0, 5);
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(de.evaluate(d0[i], d1[i], fraction), dOut[i]);
+                Assertions.assertEquals(fe.evaluate(f0[i], f1[i], fraction), fOut[i]);
+                Assertions.assertEquals(ie.evaluate(i0[i], i1[i], fraction), iOut[i]);
+            }
+            defaultDe.evaluate(d0, d1, fraction, dOut, 1, 3);
+            Assertions.assertEquals(de.evaluate(d0[1], d1[1], fraction), dOut[1]);
+            Assertions.assertEquals(de.evaluate(d0[2], d1[2], fraction), dOut[2]);
+        }
+        // the output may be one of the inputs
+        final double[] d = d0.clone();
+        de.evaluate(d, d1, 0.5, d, 0, 5);
+        Assertions.assertEquals(5, d[0]);
+        Assertions.assertEquals(3.5, d[4]);
+    }
 }
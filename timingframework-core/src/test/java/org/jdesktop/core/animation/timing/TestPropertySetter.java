@@ -1,5 +1,12 @@
 package org.jdesktop.core.animation.timing;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 import org.jdesktop.core.animation.timing.Animator.Direction;
 import org.jdesktop.core.animation.timing.sources.ManualTimingSource;
 import org.jdesktop.core.animation.timing.sources.ScheduledExecutorTimingSource;
@@ -282,4 +289,158 @@ public final class TestPropertySetter {
 
         Assertions.assertEquals(50, pt.getValue());
     }
+
+    @Test
+    public void primitiveSetter() {
+        final double[] value = { -999 };
+        final DoubleKeyFrames kf = new DoubleKeyFrames.Builder(1).addFrames(2, 3).build();
+        TimingTarget tt = PropertySetter.getTarget(kf, v -> value[0] = v);
+        ManualTimingSource ts = new ManualTimingSource();
+        Animator a = new Animator.Builder(ts).addTarget(tt).build();
+        a.start();
+        ts.tick();
+        Assertions.assertEquals(1, value[0], 0.1);
+        while (a.isRunning()) {
+            ts.tick();
+        }
+        Assertions.assertEquals(3, value[0], 1e-9);
+        a.startReverse();
+        ts.tick();
+        Assertions.assertEquals(3, value[0], 0.1);
+        while (a.isRunning()) {
+            ts.tick();
+        }
+        Assertions.assertEquals(1, value[0], 1e-9);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PropertySetter.getTarget(kf, null));
+    }
+
+    public static class MutableProps {
+
+        final List<TestKeyFrames.Mutable> values = new ArrayList<TestKeyFrames.Mutable>();
+
+        public void setValue(TestKeyFrames.Mutable value) {
+            values.add(value);
+        }
+    }
+
+    @Test
+    public void mutableValueReused() {
+        MutableProps pt = new MutableProps();
+        KeyFrames<TestKeyFrames.Mutable> kf =
+            new KeyFrames.Builder<TestKeyFrames.Mutable>(new TestKeyFrames.Mutable(0))
+                .addFrame(new TestKeyFrames.Mutable(10)).setEvaluator(new TestKeyFrames.MutableEvaluatorImpl()).build();
+        TimingTarget tt = PropertySetter.getTarget(pt, "value", kf, true);
+        ManualTimingSource ts = new ManualTimingSource();
+        Animator a = new Animator.Builder(ts).addTarget(tt).build();
+        a.start();
+        while (a.isRunning()) {
+            ts.tick();
+        }
+        Assertions.assertEquals(10, pt.values.get(pt.values.size() - 1).value, 1e-9);
+        Assertions.assertTrue(pt.values.size() > 3);
+        // two values are used in turn
+        for (int i = 2; i < pt.values.size(); i++) {
+            Assertions.assertSame(pt.values.get(i - 2), pt.values.get(i));
+            Assertions.assertNotSame(pt.values.get(i - 1), pt.values.get(i));
+        }
+    }
+
+    @Test
+    public void mutableValueNotReusedByDefault() {
+        MutableProps pt = new MutableProps();
+        KeyFrames<TestKeyFrames.Mutable> kf =
+            new KeyFrames.Builder<TestKeyFrames.Mutable>(new TestKeyFrames.Mutable(0))
+                .addFrame(new TestKeyFrames.Mutable(10)).setEvaluator(new TestKeyFrames.MutableEvaluatorImpl()).build();
+        TimingTarget tt = PropertySetter.getTarget(pt, "value", kf);
+        ManualTimingSource ts = new ManualTimingSource();
+        Animator a = new Animator.Builder(ts).addTarget(tt).build();
+        a.start();
+        while (a.isRunning()) {
+            ts.tick();
+        }
+        Assertions.assertEquals(10, pt.values.get(pt.values.size() - 1).value, 1e-9);
+        Assertions.assertTrue(pt.values.size() > 3);
+        // a new value is passed on each tick
+        final Set<TestKeyFrames.Mutable> distinct =
+            Collections.newSetFromMap(new IdentityHashMap<TestKeyFrames.Mutable, Boolean>());
+        distinct.addAll(pt.values);
+        Assertions.assertEquals(pt.values.size(), distinct.size());
+    }
+
+    @Test
+    public void primitiveProperty() {
+        MyProps pt = new MyProps();
+        DoubleKeyFrames dkf = new DoubleKeyFrames.Builder(1).addFrames(2, 3).build();
+        IntKeyFrames ikf = new IntKeyFrames.Builder(10).addFrame(20).build();
+        TimingTarget tt = PropertySetter.getTarget(pt, "value", dkf);
+        Assertions.assertEquals("value", ((TimingTargetAdapter) tt).getDebugName());
+        TimingTarget ttByte = PropertySetter.getTarget(pt, "byteValue", ikf);
+        ManualTimingSource ts = new ManualTimingSource();
+        Animator a = new Animator.Builder(ts).addTarget(tt).build();
+        a.start();
+        ts.tick();
+        Assertions.assertEquals(1, pt.getValue());
+        while (a.isRunning()) {
+            ts.tick();
+        }
+        Assertions.assertEquals(3, pt.getValue());
+        // setByteValue(byte) cannot be passed an int
+        Assertions.assertThrows(IllegalStateException.class, () -> ttByte.timingEvent(a, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PropertySetter.getTarget(pt, "wrong", dkf));
+    }
+
+    public static class ThrowingProps {
+
+        public void setValue(int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getValue() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void setterExceptionWrapped() {
+        ThrowingProps pt = new ThrowingProps();
+        TimingTarget tt = PropertySetter.getTarget(pt, "value", 1, 2);
+        IllegalStateException e =
+            Assertions.assertThrows(IllegalStateException.class, () -> tt.timingEvent(null, 0.5));
+        Assertions.assertTrue(e.getCause() instanceof UnsupportedOperationException);
+        TimingTarget ttTo = PropertySetter.getTargetTo(pt, "value", 1, 2);
+        Animator a = new Animator.Builder(new ManualTimingSource()).build();
+        e = Assertions.assertThrows(IllegalStateException.class, () -> ttTo.begin(a));
+        Assertions.assertTrue(e.getCause() instanceof UnsupportedOperationException);
+        TimingTarget ttInt = PropertySetter.getTarget(pt, "value", new IntKeyFrames.Builder(1).addFrame(2).build());
+        e = Assertions.assertThrows(IllegalStateException.class, () -> ttInt.timingEvent(null, 0.5));
+        Assertions.assertTrue(e.getCause() instanceof UnsupportedOperationException);
+    }
+
+    @Test
+    public void accessorCached() {
+        MyProps pt1 = new MyProps();
+        MyProps pt2 = new MyProps();
+        PropertySetter.PropertySetterTimingTarget tt1 =
+            (PropertySetter.PropertySetterTimingTarget) PropertySetter.getTarget(pt1, "value", 1, 2);
+        PropertySetter.PropertySetterTimingTarget tt2 =
+            (PropertySetter.PropertySetterTimingTarget) PropertySetter.getTarget(pt2, "value", 3, 4);
+        PropertySetter.PropertySetterTimingTarget ttTo =
+            (PropertySetter.PropertySetterTimingTarget) PropertySetter.getTargetTo(pt2, "value", 3, 4);
+        Assertions.assertSame(tt1.f_accessor, tt2.f_accessor);
+        Assertions.assertNotSame(tt1.f_accessor, ttTo.f_accessor);
+        Assertions.assertNull(tt1.f_accessor.f_getter);
+        Assertions.assertNotNull(ttTo.f_accessor.f_getter);
+        Assertions.assertSame(ttTo.f_accessor, PropertySetter.getAccessor(pt1, "value", Integer.class, true));
+        Assertions.assertNotSame(tt1.f_accessor, PropertySetter.getAccessor(pt1, "value", Double.class, false));
+        tt2.timingEvent(null, 1);
+        Assertions.assertEquals(4, pt2.getValue());
+        Assertions.assertEquals(0, pt1.getValue());
+        // a class of the JDK outlives this library, so it is cached by the library rather than in the class
+        Date d = new Date();
+        Assertions.assertSame(PropertySetter.getAccessor(d, "time", Long.class, false),
+            PropertySetter.getAccessor(d, "time", Long.class, false));
+        Assertions.assertTrue(PropertySetter.ANCESTOR_ACCESSORS.containsKey(Date.class));
+        Assertions.assertTrue(PropertySetter.isLoadedBySameOrAncestor(String.class, MyProps.class));
+        Assertions.assertFalse(PropertySetter.isLoadedBySameOrAncestor(MyProps.class, String.class));
+    }
 }
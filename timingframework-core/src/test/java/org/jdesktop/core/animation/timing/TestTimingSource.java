@@ -1,8 +1,25 @@
 package org.jdesktop.core.animation.timing;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
 import org.jdesktop.core.animation.timing.TimingSource.PostTickListener;
 import org.jdesktop.core.animation.timing.TimingSource.TickListener;
 import org.jdesktop.core.animation.timing.sources.ManualTimingSource;
+import org.jdesktop.core.animation.timing.sources.MultiplexedTimingSourceFactory;
+import org.jdesktop.core.animation.timing.sources.PrecisionTimingSource;
+import org.jdesktop.core.animation.timing.sources.ScheduledExecutorTimingSource;
+import org.jdesktop.core.animation.timing.sources.VirtualTimingSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -228,4 +245,758 @@ public final class TestTimingSource {
     ts.tick();
     Assertions.assertEquals(1, taskCounter);
   }
+
+  @Test
+  public void tickListenerChurn() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final List<Integer> order = new ArrayList<Integer>();
+    final TickListener[] listeners = new TickListener[5000];
+    for (int i = 0; i < listeners.length; i++) {
+      final int id = i;
+      listeners[i] = new TickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          order.add(id);
+        }
+      };
+      ts.addTickListener(listeners[i]);
+      ts.addTickListener(listeners[i]); // duplicate has no effect
+    }
+    for (int i = 0; i < listeners.length; i += 2)
+      ts.removeTickListener(listeners[i]);
+    ts.tick();
+    Assertions.assertEquals(listeners.length / 2, order.size());
+    for (int i = 0; i < order.size(); i++)
+      Assertions.assertEquals(2 * i + 1, order.get(i).intValue());
+    Assertions.assertEquals(listeners.length / 2, ((TimingSource) ts).f_tickListeners.size());
+  }
+
+  @Test
+  public void tickListenerChurnWithCollidingHashCodes() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final List<Integer> order = new ArrayList<Integer>();
+    final TickListener[] listeners = new TickListener[211];
+    for (int i = 0; i < listeners.length; i++) {
+      final int id = i;
+      listeners[i] = new TickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          order.add(id);
+        }
+
+        @Override
+        public int hashCode() {
+          return id % 3;
+        }
+      };
+      ts.addTickListener(listeners[i]);
+    }
+    final boolean[] removed = new boolean[listeners.length];
+    for (int i = 0; i < listeners.length; i += 2) {
+      final int id = (i * 97) % listeners.length;
+      removed[id] = true;
+      ts.removeTickListener(listeners[id]);
+    }
+    ts.tick();
+    int expected = 0;
+    for (int i = 0; i < listeners.length; i++) {
+      if (!removed[i]) {
+        Assertions.assertEquals(i, order.get(expected++).intValue());
+      }
+    }
+    Assertions.assertEquals(expected, order.size());
+    for (int i = listeners.length - 1; i >= 0; i--)
+      ts.removeTickListener(listeners[i]);
+    Assertions.assertEquals(0, ((TimingSource) ts).f_tickListeners.size());
+  }
+
+  @Test
+  public void tickListenerRemovedDuringTick() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    tickCounter = 0;
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        tickCounter++;
+        source.removeTickListener(this);
+        source.addTickListener(this);
+        source.removeTickListener(this);
+      }
+    });
+    ts.tick();
+    ts.tick();
+    ts.tick();
+    Assertions.assertEquals(1, tickCounter);
+    Assertions.assertEquals(0, ((TimingSource) ts).f_tickListeners.size());
+  }
+
+  @Test
+  public void delayedTickListener() {
+    final ClockTimingSource ts = new ClockTimingSource();
+    // staggered from 1 ms to about 10 hours so that every level of the wheel is used
+    final long[] delays = { 1, 70, 5000, 300000, 36000000 };
+    final long[] firstTick = new long[delays.length];
+    for (int i = 0; i < delays.length; i++) {
+      final int id = i;
+      ts.addTickListener(new TickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          if (firstTick[id] == 0)
+            firstTick[id] = nanoTime;
+        }
+      }, delays[i], TimeUnit.MILLISECONDS);
+    }
+    ts.tickAt(0);
+    Assertions.assertEquals(delays.length, ts.f_delayedTickListeners.f_size);
+    Assertions.assertEquals(0, ts.f_tickListeners.size());
+    for (int i = 0; i < delays.length; i++) {
+      ts.tickAt(delays[i] - 1);
+      Assertions.assertEquals(0, firstTick[i]);
+      ts.tickAt(delays[i]);
+      Assertions.assertEquals(1 + TimeUnit.MILLISECONDS.toNanos(delays[i]), firstTick[i]);
+      Assertions.assertEquals(i + 1, ts.f_tickListeners.size());
+    }
+    Assertions.assertEquals(0, ts.f_delayedTickListeners.f_size);
+  }
+
+  @Test
+  public void rate() {
+    final ClockTimingSource ts = new ClockTimingSource();
+    Assertions.assertEquals(1.0, ts.getRate(), 0);
+    Assertions.assertEquals(ts.getNanoTime(), ts.getScaledNanoTime());
+    ts.tickAt(100);
+    ts.setRate(0.25);
+    Assertions.assertEquals(0.25, ts.getRate(), 0);
+    final long scaled = ts.getScaledNanoTime();
+    ts.tickAt(500);
+    Assertions.assertEquals(scaled + TimeUnit.MILLISECONDS.toNanos(100), ts.getScaledNanoTime());
+    Assertions.assertEquals(ts.getNanoTime(), ts.fromScaledNanoTime(ts.getScaledNanoTime()));
+    // a delay is measured by the scaled clock
+    final long[] firstTick = new long[1];
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        if (firstTick[0] == 0)
+          firstTick[0] = nanoTime;
+      }
+    }, 10, TimeUnit.MILLISECONDS);
+    ts.tickAt(539);
+    Assertions.assertEquals(0, firstTick[0]);
+    ts.tickAt(540);
+    Assertions.assertEquals(ts.getNanoTime(), firstTick[0]);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ts.setRate(Double.NaN));
+  }
+
+  @Test
+  public void delayedTickListenerCancel() {
+    final ClockTimingSource ts = new ClockTimingSource();
+    tickCounter = 0;
+    final TickListener tl = new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        tickCounter++;
+      }
+    };
+    ts.addTickListener(tl, 100, TimeUnit.MILLISECONDS);
+    ts.tickAt(50);
+    ts.removeTickListener(tl);
+    ts.tickAt(100);
+    ts.tickAt(200);
+    Assertions.assertEquals(0, tickCounter);
+    Assertions.assertEquals(0, ts.f_delayedTickListeners.f_size);
+    // a second call replaces the delay
+    ts.addTickListener(tl, 100, TimeUnit.MILLISECONDS);
+    ts.addTickListener(tl, 300, TimeUnit.MILLISECONDS);
+    ts.tickAt(400);
+    Assertions.assertEquals(0, tickCounter);
+    ts.tickAt(500);
+    Assertions.assertEquals(1, tickCounter);
+    Assertions.assertEquals(1, ts.f_tickListeners.size());
+  }
+
+  @Test
+  public void runTasksInOrderPastCapacity() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final List<Integer> order = new ArrayList<Integer>();
+    final int count = 3 * ts.getOneShotQueueCapacity() + 7;
+    for (int i = 0; i < count; i++) {
+      final int id = i;
+      ts.submit(new Runnable() {
+        public void run() {
+          order.add(id);
+        }
+      });
+    }
+    ts.tick();
+    Assertions.assertEquals(count, order.size());
+    for (int i = 0; i < count; i++)
+      Assertions.assertEquals(i, order.get(i).intValue());
+  }
+
+  @Test
+  public void runTaskAfterFailingTask() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    taskCounter = 0;
+    ts.submit(new Runnable() {
+      public void run() {
+        throw new IllegalStateException("expected by runTaskAfterFailingTask()");
+      }
+    });
+    ts.submit(new Runnable() {
+      public void run() {
+        taskCounter++;
+      }
+    });
+    ts.tick();
+    Assertions.assertEquals(1, taskCounter);
+  }
+
+  @Test
+  public void rejectWhenFull() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    ts.setOverflowPolicy(TimingSource.OverflowPolicy.REJECT);
+    taskCounter = 0;
+    final Runnable task = new Runnable() {
+      public void run() {
+        taskCounter++;
+      }
+    };
+    for (int i = 0; i < ts.getOneShotQueueCapacity(); i++)
+      ts.submit(task);
+    try {
+      ts.submit(task);
+      Assertions.fail("submit to a full queue should have been rejected");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    ts.tick();
+    Assertions.assertEquals(ts.getOneShotQueueCapacity(), taskCounter);
+  }
+
+  @Test
+  public void blockSpillsWhenAListenerFillsTheQueue() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    ts.setOverflowPolicy(TimingSource.OverflowPolicy.BLOCK);
+    taskCounter = 0;
+    final Runnable task = new Runnable() {
+      public void run() {
+        taskCounter++;
+      }
+    };
+    final int count = ts.getOneShotQueueCapacity() + 10;
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        if (tickCounter++ == 0) {
+          for (int i = 0; i < count; i++)
+            source.submit(task);
+        }
+      }
+    });
+    tickCounter = 0;
+    Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ts.tick());
+    Assertions.assertEquals(0, taskCounter);
+    ts.tick();
+    Assertions.assertEquals(count, taskCounter);
+  }
+
+  @Test
+  public void blockSpillsWhenAParallelListenerFillsTheQueue() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    ts.setOverflowPolicy(TimingSource.OverflowPolicy.BLOCK);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ts.setParallelDispatch(executor, 2);
+      taskCounter = 0;
+      final Runnable task = new Runnable() {
+        public void run() {
+          taskCounter++;
+        }
+      };
+      final int count = ts.getOneShotQueueCapacity();
+      for (int l = 0; l < 2; l++) {
+        ts.addTickListener(new TickListener() {
+          public void timingSourceTick(TimingSource source, long nanoTime) {
+            if (taskCounter == 0) {
+              for (int i = 0; i < count; i++)
+                source.submit(task);
+            }
+          }
+        });
+      }
+      Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ts.tick());
+      ts.tick();
+      Assertions.assertEquals(2 * count, taskCounter);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void precisionTicks() throws InterruptedException {
+    final PrecisionTimingSource ts = new PrecisionTimingSource(5, TimeUnit.MILLISECONDS);
+    final AtomicInteger ticks = new AtomicInteger();
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        ticks.incrementAndGet();
+      }
+    });
+    ts.init();
+    Thread.sleep(200);
+    ts.dispose();
+    Assertions.assertTrue(ts.isDisposed());
+    Thread.sleep(20); // let a tick that was running when disposed finish
+    final int count = ticks.get();
+    Assertions.assertTrue(count > 10, "only " + count + " ticks in 200 ms");
+    Assertions.assertTrue(count <= 42, count + " ticks in 200 ms");
+    final PrecisionTimingSource.JitterStatistics stats = ts.getJitterStatistics();
+    Assertions.assertTrue(stats.getTickCount() >= count);
+    Assertions.assertTrue(stats.getMaxNanos() >= stats.getMeanNanos());
+    Thread.sleep(50);
+    Assertions.assertEquals(count, ticks.get());
+  }
+
+  @Test
+  public void precisionSurvivesAThrowingListener() throws InterruptedException {
+    final PrecisionTimingSource ts = new PrecisionTimingSource(5, TimeUnit.MILLISECONDS);
+    final CountDownLatch ticked = new CountDownLatch(5);
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        ticked.countDown();
+        throw new IllegalStateException("thrown on purpose by the test");
+      }
+    });
+    ts.init();
+    Assertions.assertTrue(ticked.await(5, TimeUnit.SECONDS));
+    ts.dispose();
+  }
+
+  @Test
+  public void precisionSkipsMissedTicks() throws InterruptedException {
+    final PrecisionTimingSource ts = new PrecisionTimingSource(5, TimeUnit.MILLISECONDS);
+    Assertions.assertEquals(PrecisionTimingSource.CatchUpPolicy.SKIP, ts.getCatchUpPolicy());
+    final CountDownLatch stalled = new CountDownLatch(1);
+    ts.submit(new Runnable() {
+      public void run() {
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+        stalled.countDown();
+      }
+    });
+    ts.init();
+    stalled.await();
+    Thread.sleep(20);
+    ts.dispose();
+    Assertions.assertTrue(ts.getJitterStatistics().getMissedTickCount() >= 5);
+  }
+
+  @Test
+  public void multiplexedSourcesShareAThread() throws InterruptedException {
+    final MultiplexedTimingSourceFactory factory = new MultiplexedTimingSourceFactory();
+    final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+    final CountDownLatch ticked = new CountDownLatch(30);
+    final TickListener tl = new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        threads.add(Thread.currentThread());
+        ticked.countDown();
+      }
+    };
+    final TimingSource[] sources = new TimingSource[10];
+    for (int i = 0; i < sources.length; i++) {
+      sources[i] = factory.getTimingSource(i % 2 == 0 ? 5 : 10, TimeUnit.MILLISECONDS);
+      sources[i].addTickListener(tl);
+      sources[i].init();
+    }
+    Assertions.assertEquals(2, factory.getActivePeriodCount());
+    Assertions.assertTrue(ticked.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(1, threads.size());
+    for (int i = 0; i < sources.length; i += 2)
+      sources[i].dispose();
+    Assertions.assertTrue(sources[0].isDisposed());
+    Assertions.assertEquals(1, factory.getActivePeriodCount());
+    for (int i = 1; i < sources.length; i += 2)
+      sources[i].dispose();
+    Assertions.assertEquals(0, factory.getActivePeriodCount());
+    Assertions.assertFalse(factory.isDisposed());
+    factory.dispose();
+    Assertions.assertTrue(factory.isDisposed());
+  }
+
+  @Test
+  public void multiplexedHarmonicPeriodsShareAThread() throws InterruptedException {
+    final MultiplexedTimingSourceFactory factory = new MultiplexedTimingSourceFactory(4);
+    final long[] periods = { 5, 7, 10, 20, 21 };
+    final Thread[] threads = new Thread[periods.length];
+    final CountDownLatch ticked = new CountDownLatch(periods.length);
+    for (int i = 0; i < periods.length; i++) {
+      final int id = i;
+      final TimingSource ts = factory.getTimingSource(periods[i], TimeUnit.MILLISECONDS);
+      ts.addTickListener(new TickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          if (threads[id] == null) {
+            threads[id] = Thread.currentThread();
+            ticked.countDown();
+          }
+        }
+      });
+      ts.init();
+    }
+    Assertions.assertTrue(ticked.await(5, TimeUnit.SECONDS));
+    factory.dispose();
+    Assertions.assertSame(threads[0], threads[2]);
+    Assertions.assertSame(threads[0], threads[3]);
+    Assertions.assertSame(threads[1], threads[4]);
+    Assertions.assertNotSame(threads[0], threads[1]);
+  }
+
+  @Test
+  public void multiplexedInitAfterFactoryDispose() throws InterruptedException {
+    final MultiplexedTimingSourceFactory factory = new MultiplexedTimingSourceFactory();
+    final TimingSource ts = factory.getTimingSource(5, TimeUnit.MILLISECONDS);
+    tickCounter = 0;
+    ts.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        tickCounter++;
+      }
+    });
+    factory.dispose();
+    ts.init();
+    Thread.sleep(20);
+    Assertions.assertEquals(0, tickCounter);
+    Assertions.assertEquals(0, factory.getActivePeriodCount());
+    ts.dispose();
+    Assertions.assertTrue(ts.isDisposed());
+  }
+
+  @Test
+  public void multiplexedLaneSurvivesAThrowingSource() throws InterruptedException {
+    final MultiplexedTimingSourceFactory factory = new MultiplexedTimingSourceFactory();
+    final TimingSource throwing = factory.getTimingSource(5, TimeUnit.MILLISECONDS);
+    final TimingSource other = factory.getTimingSource(5, TimeUnit.MILLISECONDS);
+    final CountDownLatch thrown = new CountDownLatch(3);
+    final CountDownLatch ticked = new CountDownLatch(10);
+    throwing.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        thrown.countDown();
+        throw new IllegalStateException("thrown on purpose by the test");
+      }
+    });
+    other.addTickListener(new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        ticked.countDown();
+      }
+    });
+    throwing.init();
+    other.init();
+    Assertions.assertTrue(thrown.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(ticked.await(5, TimeUnit.SECONDS));
+    factory.dispose();
+  }
+
+  int suspendCounter;
+  int resumeCounter;
+
+  @Test
+  public void autoSuspendProtocol() {
+    final TimingSource ts = new TimingSource() {
+      public void init() {
+        // nothing to do
+      }
+
+      public void dispose() {
+        // nothing to do
+      }
+
+      public boolean isDisposed() {
+        return false;
+      }
+
+      @Override
+      protected void onSuspend() {
+        suspendCounter++;
+      }
+
+      @Override
+      protected void onResume() {
+        resumeCounter++;
+      }
+    };
+    suspendCounter = resumeCounter = 0;
+    ts.setAutoSuspendAfter(3);
+    ts.runPerTick();
+    ts.runPerTick();
+    Assertions.assertFalse(ts.isSuspended());
+    ts.runPerTick();
+    Assertions.assertTrue(ts.isSuspended());
+    Assertions.assertEquals(1, suspendCounter);
+    final TickListener tl = new TickListener() {
+      public void timingSourceTick(TimingSource source, long nanoTime) {
+        tickCounter++;
+      }
+    };
+    ts.addTickListener(tl);
+    Assertions.assertFalse(ts.isSuspended());
+    Assertions.assertEquals(1, resumeCounter);
+    for (int i = 0; i < 10; i++)
+      ts.runPerTick();
+    Assertions.assertEquals(1, suspendCounter);
+    ts.removeTickListener(tl);
+    for (int i = 0; i < 4; i++)
+      ts.runPerTick();
+    Assertions.assertTrue(ts.isSuspended());
+    Assertions.assertEquals(2, suspendCounter);
+    ts.submit(new Runnable() {
+      public void run() {
+        // nothing to do
+      }
+    });
+    ts.submit(new Runnable() {
+      public void run() {
+        // nothing to do
+      }
+    });
+    Assertions.assertEquals(2, resumeCounter);
+  }
+
+  @Test
+  public void autoSuspendNoWakeupsWhileIdle() throws InterruptedException {
+    final ScheduledExecutorTimingSource ts = new ScheduledExecutorTimingSource(20,
+        TimeUnit.MILLISECONDS);
+    ts.setAutoSuspendAfter(2);
+    final long[] firstTick = new long[1];
+    ts.submit(new Runnable() {
+      public void run() {
+        firstTick[0] = System.nanoTime();
+      }
+    });
+    ts.init();
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (!ts.isSuspended() && System.currentTimeMillis() < deadline)
+      Thread.sleep(10);
+    Assertions.assertTrue(ts.isSuspended());
+    final long ticks = ((TimingSource) ts).f_tickCount;
+    Thread.sleep(200);
+    Assertions.assertEquals(ticks, ((TimingSource) ts).f_tickCount, "woke up while suspended");
+    final CountDownLatch resumed = new CountDownLatch(1);
+    final long[] resumedTick = new long[1];
+    ts.submit(new Runnable() {
+      public void run() {
+        resumedTick[0] = System.nanoTime();
+        resumed.countDown();
+      }
+    });
+    Assertions.assertFalse(ts.isSuspended());
+    Assertions.assertTrue(resumed.await(5, TimeUnit.SECONDS));
+    ts.dispose();
+    final long period = TimeUnit.MILLISECONDS.toNanos(20);
+    final long phase = (resumedTick[0] - firstTick[0]) % period;
+    final long phaseError = Math.min(phase, period - phase);
+    Assertions.assertTrue(phaseError < period / 2, "resumed tick is " + phaseError + " ns out of phase");
+  }
+
+  @Test
+  public void parallelDispatch() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ts.setParallelDispatch(executor, 4);
+      Assertions.assertTrue(ts.isParallelDispatch());
+      final AtomicInteger ticks = new AtomicInteger();
+      final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+      for (int i = 0; i < 400; i++) {
+        ts.addTickListener(new TickListener() {
+          public void timingSourceTick(TimingSource source, long nanoTime) {
+            threads.add(Thread.currentThread());
+            ticks.incrementAndGet();
+          }
+        });
+      }
+      final Thread timingThread = Thread.currentThread();
+      ts.addTickListener(new TimingSource.ThreadAffineTickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          Assertions.assertSame(timingThread, Thread.currentThread());
+          ticks.incrementAndGet();
+        }
+      });
+      ts.addPostTickListener(new PostTickListener() {
+        public void timingSourcePostTick(TimingSource source, long nanoTime) {
+          Assertions.assertEquals(0, ticks.get() % 401);
+        }
+      });
+      for (int i = 0; i < 100; i++)
+        ts.tick();
+      Assertions.assertEquals(40100, ticks.get());
+      Assertions.assertTrue(threads.size() > 1);
+      Assertions.assertTrue(threads.contains(timingThread));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelDispatchRethrows() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    ts.setParallelDispatch(true);
+    tickCounter = 0;
+    for (int i = 0; i < 10; i++) {
+      final int id = i;
+      ts.addTickListener(new TickListener() {
+        public void timingSourceTick(TimingSource source, long nanoTime) {
+          if (id == 7)
+            throw new IllegalStateException("expected by parallelDispatchRethrows()");
+          synchronized (TestTimingSource.this) {
+            tickCounter++;
+          }
+        }
+      });
+    }
+    try {
+      ts.tick();
+      Assertions.fail("listener exception should have been rethrown");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    synchronized (this) {
+      Assertions.assertEquals(9, tickCounter);
+    }
+    ts.setParallelDispatch(false);
+    Assertions.assertFalse(ts.isParallelDispatch());
+  }
+
+  @Test
+  public void parallelDispatchKeepsAnimatorsThreadAffine() {
+    final ManualTimingSource ts = new ManualTimingSource();
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ts.setParallelDispatch(executor, 2);
+      for (int i = 0; i < 10; i++) {
+        ts.addTickListener(new TickListener() {
+          public void timingSourceTick(TimingSource source, long nanoTime) {
+            // fills the first partition, so the animations are in the second
+          }
+        });
+      }
+      final Set<Thread> affineThreads = Collections.synchronizedSet(new HashSet<Thread>());
+      final Set<Thread> freeThreads = Collections.synchronizedSet(new HashSet<Thread>());
+      final Animator affine = new Animator.Builder(ts).setDuration(1, TimeUnit.HOURS)
+          .addTarget(new TimingTargetAdapter() {
+            @Override
+            public void timingEvent(Animator source, double fraction) {
+              affineThreads.add(Thread.currentThread());
+            }
+          }).build();
+      final Animator free = new Animator.Builder(ts).setDuration(1, TimeUnit.HOURS).setThreadAffine(false)
+          .addTarget(new TimingTargetAdapter() {
+            @Override
+            public void timingEvent(Animator source, double fraction) {
+              freeThreads.add(Thread.currentThread());
+            }
+          }).build();
+      final AnimatorGroup group = new AnimatorGroup(ts, new AnimatorGroup.TargetAdapter() {
+        @Override
+        public void timingEvent(AnimatorGroup group, int index, double fraction) {
+          affineThreads.add(Thread.currentThread());
+        }
+      });
+      group.add(affine);
+      Assertions.assertTrue(affine.isThreadAffine());
+      Assertions.assertFalse(free.isThreadAffine());
+      Assertions.assertFalse(new Animator.Builder(ts).copy(free).build().isThreadAffine());
+      Assertions.assertTrue(group.isThreadAffine());
+      Assertions.assertFalse(new AnimatorGroup(ts, new AnimatorGroup.TargetAdapter(), false).isThreadAffine());
+      affine.start();
+      free.start();
+      group.startAll();
+      for (int i = 0; i < 5; i++)
+        ts.tick();
+      affine.stop();
+      free.stop();
+      group.stopAll();
+      ts.tick();
+      Assertions.assertEquals(Collections.singleton(Thread.currentThread()), affineThreads);
+      Assertions.assertFalse(freeThreads.isEmpty());
+      Assertions.assertFalse(freeThreads.contains(Thread.currentThread()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void virtualJumpsToInterestingInstants() {
+    final VirtualTimingSource ts = new VirtualTimingSource();
+    final CountingTimingTarget counter = new CountingTimingTarget();
+    final Animator a = new Animator.Builder(ts).setDuration(10, TimeUnit.SECONDS)
+        .setRepeatCount(100).setStartDelay(1, TimeUnit.HOURS).addTarget(counter).build();
+    a.start();
+    ts.advance(59, TimeUnit.MINUTES);
+    Assertions.assertEquals(1, counter.getBeginCount());
+    Assertions.assertEquals(0, counter.getTimingEventCount());
+    final long start = System.nanoTime();
+    ts.advance(2, TimeUnit.HOURS);
+    Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    Assertions.assertFalse(a.isRunning());
+    Assertions.assertEquals(99, counter.getRepeatCount());
+    Assertions.assertEquals(1, counter.getEndCount());
+    // about two timing events per cycle rather than one per 15 ms frame
+    Assertions.assertTrue(counter.getTimingEventCount() <= 300, counter.getTimingEventCount() + " timing events");
+  }
+
+  @Test
+  public void virtualRunUntil() {
+    final VirtualTimingSource ts = new VirtualTimingSource();
+    final Animator a = new Animator.Builder(ts).setDuration(1, TimeUnit.MINUTES).build();
+    final long begin = ts.getNanoTime();
+    a.start();
+    Assertions.assertTrue(ts.runUntil(new BooleanSupplier() {
+      public boolean getAsBoolean() {
+        return !a.isRunning();
+      }
+    }, 1, TimeUnit.HOURS));
+    Assertions.assertEquals(TimeUnit.MINUTES.toNanos(1), ts.getNanoTime() - begin);
+    Assertions.assertFalse(ts.runUntil(new BooleanSupplier() {
+      public boolean getAsBoolean() {
+        return a.isRunning();
+      }
+    }, 1, TimeUnit.HOURS));
+  }
+
+  @Test
+  public void virtualAwait() throws InterruptedException {
+    final VirtualTimingSource ts = new VirtualTimingSource();
+    ts.init();
+    try {
+      final CountingTimingTarget counter = new CountingTimingTarget();
+      final Animator a = new Animator.Builder(ts).setDuration(1, TimeUnit.DAYS).setRepeatCount(3)
+          .addTarget(counter).build();
+      for (int i = 0; i < 3; i++) {
+        a.start();
+        a.await();
+        Assertions.assertEquals(i + 1, counter.getEndCount());
+      }
+    } finally {
+      ts.dispose();
+    }
+  }
+
+  @Test
+  public void virtualDriverWaitsWhenNoTickIsNeeded() throws InterruptedException {
+    final VirtualTimingSource ts = new VirtualTimingSource();
+    postTickCounter = 0;
+    ts.addPostTickListener(new PostTickListener() {
+      public void timingSourcePostTick(TimingSource source, long nanoTime) {
+        postTickCounter++;
+      }
+    });
+    ts.init();
+    try {
+      Thread.sleep(100);
+      // the driver should not tick every millisecond
+      Assertions.assertTrue(postTickCounter < 10, postTickCounter + " post ticks in 100 ms");
+      final CountDownLatch ran = new CountDownLatch(1);
+      ts.submit(new Runnable() {
+        public void run() {
+          ran.countDown();
+        }
+      });
+      Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+    } finally {
+      ts.dispose();
+    }
+  }
 }
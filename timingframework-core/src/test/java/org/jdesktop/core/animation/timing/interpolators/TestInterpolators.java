@@ -0,0 +1,200 @@
+package org.jdesktop.core.animation.timing.interpolators;
+
+import java.util.Arrays;
+
+import org.jdesktop.core.animation.timing.Interpolator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class TestInterpolators {
+
+    @Test
+    public void splineArcLength() {
+        final SplineInterpolator s = new SplineInterpolator(0.8, 0.2, 0.2, 0.8);
+        Assertions.assertEquals(SplineInterpolator.Mode.ARC_LENGTH, s.f_mode);
+        Assertions.assertEquals(0, s.interpolate(0), 1e-9);
+        Assertions.assertEquals(1, s.interpolate(1), 1e-9);
+        Assertions.assertEquals(0.5, s.interpolate(0.5), 1e-9); // symmetric control points
+        double prev = 0;
+        for (int i = 0; i <= 1000; i++) {
+            final double value = s.interpolate(i / 1000.0);
+            Assertions.assertTrue(value >= prev - 1e-12);
+            prev = value;
+        }
+        // a straight line is the same length at any t
+        final SplineInterpolator linear = new SplineInterpolator(0.25, 0.25, 0.75, 0.75);
+        for (int i = 0; i <= 100; i++) {
+            Assertions.assertEquals(i / 100.0, linear.interpolate(i / 100.0), 1e-4);
+        }
+    }
+
+    @Test
+    public void splineSolveX() {
+        final SplineInterpolator linear = new SplineInterpolator(0, 0, 1, 1, SplineInterpolator.Mode.SOLVE_X);
+        for (int i = 0; i <= 100; i++) {
+            Assertions.assertEquals(i / 100.0, linear.interpolate(i / 100.0), 1e-6);
+        }
+        // CSS "ease"
+        final SplineInterpolator ease = new SplineInterpolator(0.25, 0.1, 0.25, 1, SplineInterpolator.Mode.SOLVE_X);
+        Assertions.assertEquals(0, ease.interpolate(0));
+        Assertions.assertEquals(1, ease.interpolate(1));
+        Assertions.assertEquals(0.8024033877399112, ease.interpolate(0.5), 1e-6);
+        /*
+         * x(t) is flat at t = 0.5, where Newton-Raphson falls back to bisection. There a double can only distinguish
+         * values of t about 1e-6 apart.
+         */
+        final SplineInterpolator flat = new SplineInterpolator(1, 0, 0, 1, SplineInterpolator.Mode.SOLVE_X);
+        Assertions.assertEquals(0.5, flat.interpolate(0.5), 1e-5);
+        for (int i = 1; i < 1000; i++) {
+            final double fraction = i / 1000.0;
+            final double t = bisect(1, 0, fraction);
+            final double expected = 3 * t * t * (1 - t) + t * t * t;
+            Assertions.assertEquals(expected, flat.interpolate(fraction), 1e-5);
+        }
+        Assertions.assertTrue(ease.toString().contains("SOLVE_X"));
+    }
+
+    /**
+     * Solves x(t) = x for a spline whose control points have the passed x values.
+     */
+    static double bisect(double x1, double x2, double x) {
+        double low = 0;
+        double high = 1;
+        for (int i = 0; i < 100; i++) {
+            final double t = (low + high) / 2;
+            final double xt = 3 * t * (1 - t) * (1 - t) * x1 + 3 * t * t * (1 - t) * x2 + t * t * t;
+            if (xt < x) {
+                low = t;
+            }
+            else {
+                high = t;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    @Test
+    public void splineShared() {
+        final SplineInterpolator s = SplineInterpolator.getInstance(0.1, 0.2, 0.3, 0.4);
+        Assertions.assertSame(s, SplineInterpolator.getInstance(0.1, 0.2, 0.3, 0.4));
+        Assertions.assertNotSame(s,
+            SplineInterpolator.getInstance(0.1, 0.2, 0.3, 0.4, SplineInterpolator.Mode.SOLVE_X));
+        Assertions.assertNotSame(s, SplineInterpolator.getInstance(0.1, 0.2, 0.3, 0.5));
+        Assertions.assertEquals(new SplineInterpolator(0.1, 0.2, 0.3, 0.4).interpolate(0.3), s.interpolate(0.3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SplineInterpolator.getInstance(0, 0, 2, 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> SplineInterpolator.getInstance(0, 0, 1, 1, null));
+    }
+
+    @Test
+    public void tabulated() {
+        final SplineInterpolator spline = new SplineInterpolator(0.25, 0.1, 0.25, 1, SplineInterpolator.Mode.SOLVE_X);
+        final TabulatedInterpolator linear = new TabulatedInterpolator.Builder(spline).setSize(65).build();
+        Assertions.assertEquals(65, linear.getSize());
+        Assertions.assertSame(spline, linear.getInterpolator());
+        for (int i = 0; i <= 64; i++) {
+            Assertions.assertEquals(spline.interpolate(i / 64.0), linear.interpolate(i / 64.0), 1e-12);
+        }
+        Assertions.assertEquals(0, linear.interpolate(-1));
+        Assertions.assertEquals(1, linear.interpolate(2));
+        final TabulatedInterpolator hermite = new TabulatedInterpolator.Builder(spline).setSize(65)
+            .setLookup(TabulatedInterpolator.Lookup.CUBIC_HERMITE).build();
+        Assertions.assertTrue(hermite.getMaxError() < linear.getMaxError());
+        double maxError = 0;
+        for (int i = 0; i <= 10000; i++) {
+            final double fraction = i / 10000.0;
+            maxError = Math.max(maxError, Math.abs(spline.interpolate(fraction) - linear.interpolate(fraction)));
+        }
+        Assertions.assertEquals(maxError, linear.getMaxError(), maxError * 0.1);
+    }
+
+    @Test
+    public void tabulatedMaxError() {
+        final Interpolator acceleration = new AccelerationInterpolator(0.4, 0.4);
+        final TabulatedInterpolator t =
+            new TabulatedInterpolator.Builder(acceleration).setSize(3).setMaxError(1e-6).build();
+        Assertions.assertTrue(t.getMaxError() <= 1e-6);
+        Assertions.assertTrue(t.getSize() > 3);
+        Assertions.assertEquals(1, Integer.bitCount(t.getSize() - 1));
+        // a discontinuous interpolator grows the table to its maximum size
+        final TabulatedInterpolator discrete =
+            new TabulatedInterpolator.Builder(DiscreteInterpolator.getInstance()).setSize(2).setMaxError(0.1).build();
+        Assertions.assertEquals(TabulatedInterpolator.MAX_SIZE, discrete.getSize());
+        Assertions.assertTrue(discrete.getMaxError() > 0.1);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new TabulatedInterpolator.Builder(acceleration).setSize(1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new TabulatedInterpolator.Builder(acceleration).setMaxError(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TabulatedInterpolator.Builder(null));
+    }
+
+    @Test
+    public void tabulatedLazyAndShared() {
+        final int[] calls = { 0 };
+        final Interpolator counting = new Interpolator() {
+            @Override
+            public double interpolate(double fraction) {
+                calls[0]++;
+                return fraction * fraction;
+            }
+        };
+        final TabulatedInterpolator lazy = new TabulatedInterpolator.Builder(counting).setLazy(true).build();
+        Assertions.assertEquals(0, calls[0]);
+        Assertions.assertNull(lazy.f_table);
+        Assertions.assertEquals(0.25, lazy.interpolate(0.5), 1e-12);
+        Assertions.assertEquals(TabulatedInterpolator.DEFAULT_SIZE, calls[0]);
+        lazy.interpolate(0.3);
+        Assertions.assertEquals(TabulatedInterpolator.DEFAULT_SIZE, calls[0]);
+        final TabulatedInterpolator shared = TabulatedInterpolator.getInstance(counting);
+        Assertions.assertSame(shared, TabulatedInterpolator.getInstance(counting));
+        Assertions.assertSame(shared, TabulatedInterpolator.getInstance(shared));
+        Assertions.assertNotSame(shared, TabulatedInterpolator.getInstance(LinearInterpolator.getInstance()));
+        for (int i = 0; i < TabulatedInterpolator.SHARED_CAPACITY; i++) {
+            TabulatedInterpolator.getInstance(new AccelerationInterpolator(0.5, 0.5));
+        }
+        Assertions.assertNotSame(shared, TabulatedInterpolator.getInstance(counting));
+    }
+
+    @Test
+    public void batchMatchesScalar() {
+        final Interpolator[] interpolators = { LinearInterpolator.getInstance(), DiscreteInterpolator.getInstance(),
+            new AccelerationInterpolator(0.3, 0.2), new AccelerationInterpolator(0, 0),
+            new AccelerationInterpolator(0.5, 0.5) {
+                @Override
+                public double interpolate(double fraction) {
+                    return 1 - super.interpolate(fraction);
+                }
+            }, new SplineInterpolator(0.8, 0.2, 0.2, 0.8),
+            new SplineInterpolator(0.25, 0.1, 0.25, 1, SplineInterpolator.Mode.SOLVE_X),
+            new TabulatedInterpolator.Builder(new SplineInterpolator(0.8, 0.2, 0.2, 0.8)).setLazy(true).build(),
+            new Interpolator() {
+                @Override
+                public double interpolate(double fraction) {
+                    return fraction * fraction;
+                }
+            } };
+        final double[] in = new double[1003];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = (i - 1) / 1000.0; // includes fractions just outside [0,1]
+        }
+        for (Interpolator interpolator : interpolators) {
+            final double[] out = new double[in.length];
+            Arrays.fill(out, -7);
+            interpolator.interpolate(in, out, 2, in.length - 2);
+            for (int i = 0; i < in.length; i++) {
+                if (i < 2 || i >= in.length - 2) {
+                    Assertions.assertEquals(-7, out[i]);
+                }
+                else {
+                    Assertions.assertEquals(interpolator.interpolate(in[i]), out[i], interpolator.toString());
+                }
+            }
+            final double[] inOut = in.clone();
+            interpolator.interpolate(inOut, inOut, 0, inOut.length);
+            for (int i = 0; i < in.length; i++) {
+                Assertions.assertEquals(interpolator.interpolate(in[i]), inOut[i], interpolator.toString());
+            }
+            interpolator.interpolate(in, out, 5, 5); // empty range
+        }
+    }
+}
@@ -3,9 +3,15 @@ package org.jdesktop.swing.animation.timing.evaluators;
 import java.awt.Color;
 
 import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link Color}.
+ * <p>
+ * {@link Color} is immutable so, unlike the evaluators for the geometry types in this package, this evaluator is not
+ * a {@link MutableEvaluator}. It returns one of the boundary values, rather than a new instance, when the evaluated
+ * color is equal to it and the boundary value is exactly a {@link Color}, not a subclass such as
+ * {@link javax.swing.plaf.ColorUIResource} whose identity has a meaning of its own.
  * 
  * @author Chet Haase
  * @author Tim Halloran
@@ -18,6 +24,18 @@ public final class EvaluatorColor implements Evaluator<Color> {
         int g = v0.getGreen() + (int) ((v1.getGreen() - v0.getGreen()) * fraction + 0.5f);
         int b = v0.getBlue() + (int) ((v1.getBlue() - v0.getBlue()) * fraction + 0.5f);
         int a = v0.getAlpha() + (int) ((v1.getAlpha() - v0.getAlpha()) * fraction + 0.5f);
+        /*
+         * Color is immutable, so a new instance is needed unless the result is one of the boundary values, as it is at
+         * the ends of an interval of time and while a channel difference rounds to zero. Subclasses, such as
+         * ColorUIResource and SystemColor, are never returned because a new Color is not equivalent to them.
+         */
+        final int argb = (a << 24) | (r << 16) | (g << 8) | b;
+        if (argb == v0.getRGB() && v0.getClass() == Color.class) {
+            return v0;
+        }
+        if (argb == v1.getRGB() && v1.getClass() == Color.class) {
+            return v1;
+        }
         Color value = new Color(r, g, b, a);
         return value;
     }
@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.CubicCurve2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link CubicCurve2D}.
@@ -10,10 +10,17 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorCubicCurve2D implements Evaluator<CubicCurve2D> {
+public final class EvaluatorCubicCurve2D implements MutableEvaluator<CubicCurve2D> {
 
     @Override
     public CubicCurve2D evaluate(CubicCurve2D v0, CubicCurve2D v1, double fraction) {
+        final CubicCurve2D value = (CubicCurve2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(CubicCurve2D v0, CubicCurve2D v1, double fraction, CubicCurve2D out) {
         double x1 = v0.getX1() + ((v1.getX1() - v0.getX1()) * fraction);
         double y1 = v0.getY1() + ((v1.getY1() - v0.getY1()) * fraction);
         double x2 = v0.getX2() + ((v1.getX2() - v0.getX2()) * fraction);
@@ -22,9 +29,7 @@ public final class EvaluatorCubicCurve2D implements Evaluator<CubicCurve2D> {
         double ctrly1 = v0.getCtrlY1() + ((v1.getCtrlY1() - v0.getCtrlY1()) * fraction);
         double ctrlx2 = v0.getCtrlX2() + ((v1.getCtrlX2() - v0.getCtrlX2()) * fraction);
         double ctrly2 = v0.getCtrlY2() + ((v1.getCtrlY2() - v0.getCtrlY2()) * fraction);
-        CubicCurve2D value = (CubicCurve2D) v0.clone();
-        value.setCurve(x1, y1, ctrlx1, ctrly1, ctrlx2, ctrly2, x2, y2);
-        return value;
+        out.setCurve(x1, y1, ctrlx1, ctrly1, ctrlx2, ctrly2, x2, y2);
     }
 
     @Override
@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.Ellipse2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link Ellipse2D}.
@@ -10,17 +10,22 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorEllipse2D implements Evaluator<Ellipse2D> {
+public final class EvaluatorEllipse2D implements MutableEvaluator<Ellipse2D> {
 
     @Override
     public Ellipse2D evaluate(Ellipse2D v0, Ellipse2D v1, double fraction) {
+        final Ellipse2D value = (Ellipse2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(Ellipse2D v0, Ellipse2D v1, double fraction, Ellipse2D out) {
         double x = v0.getX() + ((v1.getX() - v0.getX()) * fraction);
         double y = v0.getY() + ((v1.getY() - v0.getY()) * fraction);
         double w = v0.getWidth() + ((v1.getWidth() - v0.getWidth()) * fraction);
         double h = v0.getHeight() + ((v1.getHeight() - v0.getHeight()) * fraction);
-        Ellipse2D value = (Ellipse2D) v0.clone();
-        value.setFrame(x, y, w, h);
-        return value;
+        out.setFrame(x, y, w, h);
     }
 
     @Override
@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.Line2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link Line2D}.
@@ -10,17 +10,22 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorLine2D implements Evaluator<Line2D> {
+public final class EvaluatorLine2D implements MutableEvaluator<Line2D> {
 
     @Override
     public Line2D evaluate(Line2D v0, Line2D v1, double fraction) {
+        final Line2D value = (Line2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(Line2D v0, Line2D v1, double fraction, Line2D out) {
         double x1 = v0.getX1() + ((v1.getX1() - v0.getX1()) * fraction);
         double y1 = v0.getY1() + ((v1.getY1() - v0.getY1()) * fraction);
         double x2 = v0.getX2() + ((v1.getX2() - v0.getX2()) * fraction);
         double y2 = v0.getY2() + ((v1.getY2() - v0.getY2()) * fraction);
-        Line2D value = (Line2D) v0.clone();
-        value.setLine(x1, y1, x2, y2);
-        return value;
+        out.setLine(x1, y1, x2, y2);
     }
 
     @Override
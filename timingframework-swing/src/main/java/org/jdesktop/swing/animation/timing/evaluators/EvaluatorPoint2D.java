@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.Point2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link Point2D}.
@@ -10,15 +10,20 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorPoint2D implements Evaluator<Point2D> {
+public final class EvaluatorPoint2D implements MutableEvaluator<Point2D> {
 
     @Override
     public Point2D evaluate(Point2D v0, Point2D v1, double fraction) {
+        final Point2D value = (Point2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(Point2D v0, Point2D v1, double fraction, Point2D out) {
         double x = v0.getX() + ((v1.getX() - v0.getX()) * fraction);
         double y = v0.getY() + ((v1.getY() - v0.getY()) * fraction);
-        Point2D value = (Point2D) v0.clone();
-        value.setLocation(x, y);
-        return value;
+        out.setLocation(x, y);
     }
 
     @Override
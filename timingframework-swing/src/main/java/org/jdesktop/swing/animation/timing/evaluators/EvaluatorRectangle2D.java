@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.Rectangle2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link Rectangle2D}.
@@ -10,17 +10,22 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorRectangle2D implements Evaluator<Rectangle2D> {
+public final class EvaluatorRectangle2D implements MutableEvaluator<Rectangle2D> {
 
     @Override
     public Rectangle2D evaluate(Rectangle2D v0, Rectangle2D v1, double fraction) {
+        final Rectangle2D value = (Rectangle2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(Rectangle2D v0, Rectangle2D v1, double fraction, Rectangle2D out) {
         double x = v0.getX() + ((v1.getX() - v0.getX()) * fraction);
         double y = v0.getY() + ((v1.getY() - v0.getY()) * fraction);
         double w = v0.getWidth() + ((v1.getWidth() - v0.getWidth()) * fraction);
         double h = v0.getHeight() + ((v1.getHeight() - v0.getHeight()) * fraction);
-        Rectangle2D value = (Rectangle2D) v0.clone();
-        value.setRect(x, y, w, h);
-        return value;
+        out.setRect(x, y, w, h);
     }
 
     @Override
@@ -2,7 +2,7 @@ package org.jdesktop.swing.animation.timing.evaluators;
 
 import java.awt.geom.RoundRectangle2D;
 
-import org.jdesktop.core.animation.timing.Evaluator;
+import org.jdesktop.core.animation.timing.MutableEvaluator;
 
 /**
  * An evaluator for {@link RoundRectangle2D}.
@@ -10,19 +10,24 @@ import org.jdesktop.core.animation.timing.Evaluator;
  * @author Chet Haase
  * @author Tim Halloran
  */
-public final class EvaluatorRoundRectangle2D implements Evaluator<RoundRectangle2D> {
+public final class EvaluatorRoundRectangle2D implements MutableEvaluator<RoundRectangle2D> {
 
     @Override
     public RoundRectangle2D evaluate(RoundRectangle2D v0, RoundRectangle2D v1, double fraction) {
+        final RoundRectangle2D value = (RoundRectangle2D) v0.clone();
+        evaluateInto(v0, v1, fraction, value);
+        return value;
+    }
+
+    @Override
+    public void evaluateInto(RoundRectangle2D v0, RoundRectangle2D v1, double fraction, RoundRectangle2D out) {
         double x = v0.getX() + ((v1.getX() - v0.getX()) * fraction);
         double y = v0.getY() + ((v1.getY() - v0.getY()) * fraction);
         double w = v0.getWidth() + ((v1.getWidth() - v0.getWidth()) * fraction);
         double h = v0.getHeight() + ((v1.getHeight() - v0.getHeight()) * fraction);
         double arcw = v0.getArcWidth() + ((v1.getArcWidth() - v0.getArcWidth()) * fraction);
         double arch = v0.getArcHeight() + ((v1.getArcHeight() - v0.getArcHeight()) * fraction);
-        RoundRectangle2D value = (RoundRectangle2D) v0.clone();
-        value.setRoundRect(x, y, w, h, arcw, arch);
-        return value;
+        out.setRoundRect(x, y, w, h, arcw, arch);
     }
 
     @Override
@@ -5,6 +5,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
@@ -34,6 +35,10 @@ import org.jdesktop.core.animation.timing.TimingSource;
  * <p>
  * Tasks submitted to {@link #submit(Runnable)} and calls to registered {@code TickListener} and
  * {@code PostTickListener} objects from this timing source are always made in the context of the Swing EDT.
+ * <p>
+ * This timing source supports {@link #setAutoSuspendAfter(int)}. While suspended its Swing {@link Timer} is stopped.
+ * When resumed, the first tick is delayed so that ticks continue in phase, to the nearest millisecond, with the period
+ * as it was when {@link #init()} was called.
  * 
  * @author Tim Halloran
  */
@@ -41,6 +46,10 @@ public final class SwingTimerTimingSource extends TimingSource {
 
     private final Timer f_timer;
 
+    private final AtomicBoolean f_disposed = new AtomicBoolean(false);
+
+    private volatile long f_phaseOriginNanos;
+
     /**
      * Constructs a new instance. The {@link #init()} must be called on the new instance to start the timer. The
      * {@link #dispose()} method should be called to stop the timer.
@@ -78,17 +87,40 @@ public final class SwingTimerTimingSource extends TimingSource {
 
     @Override
     public void init() {
+        f_phaseOriginNanos = System.nanoTime();
         f_timer.start();
     }
 
     @Override
     public void dispose() {
-        f_timer.stop();
+        synchronized (this) {
+            f_disposed.set(true);
+            f_timer.stop();
+        }
     }
 
     @Override
     public boolean isDisposed() {
-        return !f_timer.isRunning();
+        return f_disposed.get();
+    }
+
+    @Override
+    protected void onSuspend() {
+        f_timer.stop();
+    }
+
+    @Override
+    protected void onResume() {
+        synchronized (this) {
+            if (f_disposed.get()) {
+                return;
+            }
+            final long periodNanos = MILLISECONDS.toNanos(f_timer.getDelay());
+            final long sincePhaseOrigin = System.nanoTime() - f_phaseOriginNanos;
+            final long initialDelayNanos = (periodNanos - sincePhaseOrigin % periodNanos) % periodNanos;
+            f_timer.setInitialDelay((int) MILLISECONDS.convert(initialDelayNanos, TimeUnit.NANOSECONDS));
+            f_timer.restart();
+        }
     }
 
     @Override
@@ -14,6 +14,7 @@ import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
+import org.jdesktop.core.animation.demos.PrecisionTimingSourceFactory;
 import org.jdesktop.core.animation.demos.ScheduledExecutorFactory;
 import org.jdesktop.core.animation.demos.TimingSourceFactory;
 import org.jdesktop.core.animation.demos.TimingSourceResolutionThread;
@@ -86,7 +87,8 @@ public class TimingSourceResolution implements TimingSourceResolutionThread.Depo
     /*
      * Run the benchmarks in a thread outside the EDT.
      */
-    f_benchmarkThread = new TimingSourceResolutionThread(this, new ScheduledExecutorFactory(), new SwingTimerFactory());
+    f_benchmarkThread = new TimingSourceResolutionThread(this, new ScheduledExecutorFactory(),
+        new PrecisionTimingSourceFactory(), new SwingTimerFactory());
     f_benchmarkThread.start();
   }
 